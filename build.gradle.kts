@@ -32,6 +32,13 @@ repositories {
     maven("https://repo.codemc.io/repository/maven-public/")
 }
 
+configurations {
+    // Tests load the plugin classes, which need the server and hook APIs
+    testImplementation {
+        extendsFrom(configurations.compileOnly.get())
+    }
+}
+
 dependencies {
     compileOnly("io.papermc.paper:paper-api:1.20.4-R0.1-SNAPSHOT")
     compileOnly("dev.folia:folia-api:1.20.4-R0.1-SNAPSHOT")
@@ -49,6 +56,7 @@ dependencies {
     compileOnly("com.github.GriefPrevention:GriefPrevention:16.18.2")
     compileOnly("net.md-5:bungeecord-chat:1.16-R0.4")
     implementation("com.flowpowered:flow-math:1.0.3")
+    testImplementation("org.xerial:sqlite-jdbc:3.45.1.0")
     testImplementation("org.junit.jupiter:junit-jupiter-engine:5.7.1")
     testImplementation("org.junit.jupiter:junit-jupiter-params:5.7.1")
 }
@@ -57,6 +65,26 @@ tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
 }
 
+tasks.test {
+    useJUnitPlatform()
+}
+
+// Throughput harnesses, kept out of the test suite: gradlew benchmark -Pbenchmark=<class name>
+sourceSets {
+    create("benchmark") {
+        compileClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+        runtimeClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+    }
+}
+
+configurations["benchmarkImplementation"].extendsFrom(configurations.testImplementation.get())
+configurations["benchmarkRuntimeOnly"].extendsFrom(configurations.testRuntimeOnly.get())
+
+tasks.register<JavaExec>("benchmark") {
+    classpath = sourceSets["benchmark"].runtimeClasspath
+    mainClass.set("fr.xyness.SCS." + (project.findProperty("benchmark") as String? ?: "DatabaseWriterBenchmark"))
+}
+
 tasks.jar {
     manifest {
         attributes["Main-Class"] = "fr.xyness.SCS.SimpleClaimSystem"
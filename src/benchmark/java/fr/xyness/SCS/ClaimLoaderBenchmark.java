@@ -0,0 +1,52 @@
+package fr.xyness.SCS;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Map;
+
+import fr.xyness.SCS.Types.ChunkKeySet;
+
+/**
+ * Measures the queries of the claim loader on synthetic claims in SQLite.
+ * <p>
+ * Run with {@code gradlew benchmark -Pbenchmark=ClaimLoaderBenchmark}, the number of claims
+ * can be given as the first argument through {@code --args}.
+ */
+public final class ClaimLoaderBenchmark {
+
+	/** Default number of synthetic claims */
+	private static final int CLAIMS = 20000;
+
+	/**
+	 * Utility class, not instantiable.
+	 */
+	private ClaimLoaderBenchmark() {}
+
+	public static void main(String[] args) throws Exception {
+		int claims = args.length > 0 ? Integer.parseInt(args[0]) : CLAIMS;
+		File database = ClaimFixtures.createDatabase();
+		try (Connection connection = ClaimFixtures.open(database)) {
+			long start = System.nanoTime();
+			int chunks = ClaimFixtures.generate(connection, claims, 1L);
+			long generated = System.nanoTime();
+
+			Map<Integer, ChunkKeySet> claimsChunks = ClaimMain.loadClaimChunks(connection);
+			long relations = System.nanoTime();
+			int rows = 0;
+			try (PreparedStatement stmt = ClaimMain.prepareStreaming(connection, "SELECT * FROM scs_claims_2");
+					ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					if (claimsChunks.containsKey(rs.getInt("id"))) rows++;
+				}
+			}
+			long end = System.nanoTime();
+
+			System.out.printf("%d claims, %d chunks: generated in %d ms, relations %d ms, rows %d ms (%d rows/s)%n",
+					rows, chunks, (generated - start) / 1_000_000, (relations - generated) / 1_000_000, (end - relations) / 1_000_000,
+					rows * 1_000_000_000L / Math.max(1, end - relations));
+		}
+	}
+
+}
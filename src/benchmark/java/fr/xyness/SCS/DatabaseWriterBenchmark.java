@@ -0,0 +1,91 @@
+package fr.xyness.SCS;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Compares the write throughput of concurrent writers on SQLite, each with its own pooled
+ * connection as done before the single writer, and through the single writer.
+ * <p>
+ * Run with {@code gradlew benchmark -Pbenchmark=DatabaseWriterBenchmark}.
+ */
+public final class DatabaseWriterBenchmark {
+
+	/** Number of writes of each run */
+	private static final int WRITES = 2000;
+
+	/** Number of concurrent writers */
+	private static final int THREADS = 10;
+
+	/**
+	 * Utility class, not instantiable.
+	 */
+	private DatabaseWriterBenchmark() {}
+
+	public static void main(String[] args) throws Exception {
+		File database = DatabaseWriterTest.createDatabase();
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		DatabaseWriter writer = new DatabaseWriter(null);
+		try {
+			// Connection per writer, one auto-committed write each
+			AtomicLong pooledFailed = new AtomicLong();
+			long pooledTime;
+			try (HikariDataSource pool = new HikariDataSource(DatabaseWriterTest.config(database, "SQLitePool", THREADS))) {
+				List<Future<?>> pooled = new ArrayList<>(WRITES);
+				long start = System.nanoTime();
+				for (int i = 0; i < WRITES; i++) {
+					int id = i;
+					pooled.add(executor.submit(() -> {
+						try (Connection connection = pool.getConnection()) {
+							DatabaseWriterTest.insert(connection, id);
+						} catch (SQLException e) {
+							pooledFailed.incrementAndGet();
+						}
+					}));
+				}
+				for (Future<?> future : pooled) {
+					future.get();
+				}
+				pooledTime = Math.max(1, System.nanoTime() - start);
+			}
+
+			// Single writer
+			writer.start(new HikariDataSource(DatabaseWriterTest.config(database, "SQLiteWriter", 1)));
+			List<Future<CompletableFuture<Void>>> queued = new ArrayList<>(WRITES);
+			long start = System.nanoTime();
+			for (int i = 0; i < WRITES; i++) {
+				int id = WRITES + i;
+				queued.add(executor.submit(() -> writer.submit(connection -> DatabaseWriterTest.insert(connection, id))));
+			}
+			long writerFailed = 0;
+			for (Future<CompletableFuture<Void>> future : queued) {
+				try {
+					future.get().join();
+				} catch (CompletionException e) {
+					writerFailed++;
+				}
+			}
+			long writerTime = Math.max(1, System.nanoTime() - start);
+
+			System.out.printf("%d writes from %d threads%n", WRITES, THREADS);
+			System.out.printf("connection per writer: %d writes/s, %d failed%n", WRITES * 1_000_000_000L / pooledTime, pooledFailed.get());
+			System.out.printf("single writer:         %d writes/s, %d failed, %d transactions%n",
+					WRITES * 1_000_000_000L / writerTime, writerFailed, writer.getTransactionsCount());
+		} finally {
+			writer.stop();
+			executor.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,183 @@
+package fr.xyness.SCS.API;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import fr.xyness.SCS.Types.ChunkKeySet;
+import fr.xyness.SCS.Types.Claim;
+
+/**
+ * The changes of a claim during a flush window of the claim change stream.
+ * <p>
+ * The changes of a claim are coalesced: a chunk added then removed in the same window is not reported,
+ * and a claim created then deleted in the same window is not reported at all.
+ */
+public class ClaimChange {
+	
+	
+    // ***************
+    // *  Variables  *
+    // ***************
+	
+	
+	/**
+	 * The types of change of a claim.
+	 */
+	public enum Type {
+		
+		/** The claim was created. */
+		CREATED,
+		
+		/** Chunks were added to the claim. */
+		CHUNKS_ADDED,
+		
+		/** Chunks were removed from the claim. */
+		CHUNKS_REMOVED,
+		
+		/** The claim was renamed. */
+		RENAMED,
+		
+		/** The permissions of the claim changed. */
+		PERMISSIONS_CHANGED,
+		
+		/** The owner of the claim changed. */
+		OWNER_CHANGED,
+		
+		/** The claim was deleted, its chunks are the removed chunks. */
+		DELETED
+	}
+	
+	/** The claim */
+	private final Claim claim;
+	
+	/** The name of the world of the claim */
+	private final String worldName;
+	
+	/** The types of change */
+	private final Set<Type> types;
+	
+	/** The chunks added */
+	private final ChunkKeySet addedChunks;
+	
+	/** The chunks removed */
+	private final ChunkKeySet removedChunks;
+	
+	
+    // ******************
+    // *  Constructors  *
+    // ******************
+	
+	
+	/**
+	 * Main constructor.
+	 *
+	 * @param claim The claim
+	 * @param worldName The name of the world of the claim
+	 * @param types The types of change
+	 * @param addedChunks The packed keys of the chunks added
+	 * @param removedChunks The packed keys of the chunks removed
+	 */
+	public ClaimChange(Claim claim, String worldName, Set<Type> types, ChunkKeySet addedChunks, ChunkKeySet removedChunks) {
+		this.claim = claim;
+		this.worldName = worldName;
+		this.types = Collections.unmodifiableSet(types.isEmpty() ? EnumSet.noneOf(Type.class) : EnumSet.copyOf(types));
+		this.addedChunks = new ChunkKeySet(addedChunks);
+		this.removedChunks = new ChunkKeySet(removedChunks);
+	}
+	
+	
+    // *******************
+    // *  Other methods  *
+    // *******************
+	
+	
+	/**
+	 * Gets the claim.
+	 *
+	 * @return The claim
+	 */
+	public Claim getClaim() {
+		return claim;
+	}
+	
+	/**
+	 * Gets the name of the world of the claim.
+	 *
+	 * @return The world name
+	 */
+	public String getWorldName() {
+		return worldName;
+	}
+	
+	/**
+	 * Gets the types of change.
+	 *
+	 * @return The types of change
+	 */
+	public Set<Type> getTypes() {
+		return types;
+	}
+	
+	/**
+	 * Checks if the claim has a type of change.
+	 *
+	 * @param type The type of change
+	 * @return True if the claim has this type of change
+	 */
+	public boolean has(Type type) {
+		return types.contains(type);
+	}
+	
+	/**
+	 * Checks if a chunk was added to the claim.
+	 *
+	 * @param key The packed chunk key
+	 * @return True if the chunk was added
+	 */
+	public boolean isAdded(long key) {
+		return addedChunks.contains(key);
+	}
+	
+	/**
+	 * Checks if a chunk was removed from the claim.
+	 *
+	 * @param key The packed chunk key
+	 * @return True if the chunk was removed
+	 */
+	public boolean isRemoved(long key) {
+		return removedChunks.contains(key);
+	}
+	
+	/**
+	 * Checks if a chunk is affected by the change, in the claim or removed from it.
+	 *
+	 * @param worldName The name of the world of the chunk
+	 * @param key The packed chunk key
+	 * @return True if the chunk is affected
+	 */
+	public boolean affects(String worldName, long key) {
+		if (!this.worldName.equals(worldName)) return false;
+		if (removedChunks.contains(key)) return true;
+		return !types.contains(Type.DELETED) && claim.getChunkKeys().contains(key);
+	}
+	
+	/**
+	 * Gets the chunks added.
+	 *
+	 * @return A copy of the packed keys of the chunks added
+	 */
+	public ChunkKeySet getAddedChunks() {
+		return new ChunkKeySet(addedChunks);
+	}
+	
+	/**
+	 * Gets the chunks removed, all the chunks of the claim if it was deleted.
+	 *
+	 * @return A copy of the packed keys of the chunks removed
+	 */
+	public ChunkKeySet getRemovedChunks() {
+		return new ChunkKeySet(removedChunks);
+	}
+	
+}
@@ -1,6 +1,8 @@
 package fr.xyness.SCS.API;
 
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.bukkit.Chunk;
 import org.bukkit.Location;
@@ -336,4 +338,19 @@ public interface SimpleClaimSystemAPI {
      * @param chunk the chunk
      */
     void getMap(Player player, Chunk chunk);
+    
+    /**
+     * Subscribes to the claim changes (creation, chunks, name, permissions, owner, deletion).
+     * The changes are delivered in batches on an asynchronous thread, coalesced by claim.
+     *
+     * @param subscriber the subscriber, receiving the changes of each batch
+     */
+    void subscribeClaimChanges(Consumer<List<ClaimChange>> subscriber);
+    
+    /**
+     * Unsubscribes from the claim changes.
+     *
+     * @param subscriber the subscriber
+     */
+    void unsubscribeClaimChanges(Consumer<List<ClaimChange>> subscriber);
 }
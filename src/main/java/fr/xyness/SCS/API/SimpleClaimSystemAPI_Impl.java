@@ -1,6 +1,8 @@
 package fr.xyness.SCS.API;
 
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.bukkit.Bukkit;
@@ -135,7 +137,7 @@ public class SimpleClaimSystemAPI_Impl implements SimpleClaimSystemAPI {
 	public void kickPlayerFromClaim(Claim claim, String targetPlayerName) {
 		Player target = Bukkit.getPlayer(targetPlayerName);
 		if(target != null && target.isOnline()) {
-			if(claim.getChunks().contains(target.getLocation().getChunk())) {
+			if(claim.containsChunk(target.getLocation().getChunk())) {
 				instance.getMain().teleportPlayer(target, Bukkit.getWorlds().get(0).getSpawnLocation());
 			}
 		}
@@ -145,8 +147,7 @@ public class SimpleClaimSystemAPI_Impl implements SimpleClaimSystemAPI {
 	public void kickPlayerFromAllClaims(String owner, String targetPlayerName) {
 		Player target = Bukkit.getPlayer(targetPlayerName);
 		if(target != null && target.isOnline()) {
-			Set<Chunk> chunks = instance.getMain().getAllChunksFromAllClaims(owner);
-			if(chunks.contains(target.getLocation().getChunk())) {
+			if(owner.equals(instance.getMain().getOwnerInClaim(target.getLocation().getChunk()))) {
 				instance.getMain().teleportPlayer(target, Bukkit.getWorlds().get(0).getSpawnLocation());
 			}
 		}
@@ -248,5 +249,15 @@ public class SimpleClaimSystemAPI_Impl implements SimpleClaimSystemAPI {
 	public void getMap(Player player, Chunk chunk) {
 		instance.getMain().getMap(player, chunk, false);
 	}
+
+	@Override
+	public void subscribeClaimChanges(Consumer<List<ClaimChange>> subscriber) {
+		instance.getChangeBus().subscribe(subscriber);
+	}
+
+	@Override
+	public void unsubscribeClaimChanges(Consumer<List<ClaimChange>> subscriber) {
+		instance.getChangeBus().unsubscribe(subscriber);
+	}
 	
 }
@@ -30,13 +30,16 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.SkullMeta;
 import org.bukkit.profile.PlayerProfile;
 import org.bukkit.profile.PlayerTextures;
+import org.bukkit.scheduler.BukkitTask;
 
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
+import fr.xyness.SCS.API.ClaimChange;
 import fr.xyness.SCS.Types.CPlayer;
 import fr.xyness.SCS.Types.Claim;
 import fr.xyness.SCS.Types.CustomSet;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 
 /**
  * This class handles CPlayer management and methods
@@ -50,7 +53,7 @@ public class CPlayerMain {
     
 	
     /** A map of player uuid to CPlayer instances */
-    private Map<UUID, CPlayer> players = new HashMap<>();
+    private Map<UUID, CPlayer> players = new ConcurrentHashMap<>();
     
     /** A map of player uuid to players name instances */
     private Map<UUID, String> playersName = new HashMap<>();
@@ -88,6 +91,12 @@ public class CPlayerMain {
     /** Tracks the number of requests sent to calculate the scheduling delay for the next request */
     private int requestCount = 0;
     
+    /** BukkitTask of the permission profiles refresh. */
+    private BukkitTask BukkitTaskProfiles = null;
+    
+    /** ScheduledTask of the permission profiles refresh. */
+    private ScheduledTask ScheduledTaskProfiles = null;
+    
     /** Pattern for matching claim permissions */
     public static final Pattern CLAIM_PATTERN = Pattern.compile("scs\\.claim\\.(\\d+)");
     
@@ -156,7 +165,7 @@ public class CPlayerMain {
      * @param player The player to check and update claims for.
      */
     public void checkPlayer(Player player) {
-        instance.executeAsync(() -> {
+        instance.getIOExecutor().execute(() -> {
             UUID uuid = player.getUniqueId();
             String playerName = player.getName();
             String oldName = playersName.get(uuid);
@@ -175,7 +184,7 @@ public class CPlayerMain {
                 playersHashedTexture.put(playerName, textures == null ? "none" : textures);
 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection()) {
+                instance.getWriter().write(connection -> {
                     String dbProductName = connection.getMetaData().getDatabaseProductName().toLowerCase();
                     String updateQuery;
 
@@ -194,12 +203,8 @@ public class CPlayerMain {
                         preparedStatement.setString(4, "");
                         preparedStatement.setString(5, textures == null ? "none" : textures);
                         preparedStatement.executeUpdate();
-                    } catch (SQLException e) {
-                        e.printStackTrace();
                     }
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
+                });
 
                 // Log this
                 instance.getLogger().info(playerName + " is now registered (" + uuid.toString() + ").");
@@ -218,11 +223,12 @@ public class CPlayerMain {
                 CustomSet<Claim> claims = instance.getMain().getPlayerClaims(uuid);
                 claims.forEach(c -> {
                     c.setOwner(playerName);
-                    instance.getBossBars().activateBossBar(c.getChunks());
+                    instance.getChangeBus().publish(c, ClaimChange.Type.OWNER_CHANGED);
                 });
                 instance.getMain().setPlayerClaims(uuid, claims);
                 
-                try (Connection connection = instance.getDataSource().getConnection()) {
+                instance.getSnapshot().unseal();
+                instance.getWriter().write(connection -> {
 
 	                // Update database
 	                String updateQuery = "UPDATE scs_players SET player_name = ? WHERE uuid_server = ?";
@@ -230,23 +236,17 @@ public class CPlayerMain {
 	                    preparedStatement.setString(1, playerName);
 	                    preparedStatement.setString(2, uuid.toString());
 	                    preparedStatement.executeUpdate();
-	                } catch (SQLException e) {
-	                    e.printStackTrace();
 	                }
 	
 	                // Update database
-	                updateQuery = "UPDATE scs_claims_1 SET owner_name = ? WHERE owner_uuid = ?";
+	                updateQuery = "UPDATE scs_claims_2 SET owner_name = ? WHERE owner_uuid = ?";
 	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
 	                    preparedStatement.setString(1, playerName);
 	                    preparedStatement.setString(2, uuid.toString());
 	                    preparedStatement.executeUpdate();
-	                } catch (SQLException e) {
-	                    e.printStackTrace();
 	                }
 	                
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
+                });
             }
 
             // Refresh player head texture
@@ -265,7 +265,7 @@ public class CPlayerMain {
                 playersHead.put(playerName, head);
                 playersHashedTexture.put(playerName, textures);
                 
-                try (Connection connection = instance.getDataSource().getConnection()) {
+                instance.getWriter().write(connection -> {
 
                     // Update database
                     String updateQuery = "UPDATE scs_players SET player_textures = ? WHERE uuid_server = ?";
@@ -273,13 +273,9 @@ public class CPlayerMain {
                         preparedStatement.setString(1, textures);
                         preparedStatement.setString(2, uuid.toString());
                         preparedStatement.executeUpdate();
-                    } catch (SQLException e) {
-                        e.printStackTrace();
                     }
                     
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
+                });
 
             } else if (!playersHead.containsKey(playerName)) {
                 playersHead.put(playerName, new ItemStack(Material.PLAYER_HEAD));
@@ -562,6 +558,8 @@ public class CPlayerMain {
      */
     public void updatePlayerConfigSettings(UUID playerId, String key, Double value) {
     	playersConfigSettings.computeIfAbsent(playerId, k -> new HashMap<>()).put(key, value);
+    	CPlayer cPlayer = players.get(playerId);
+    	if (cPlayer != null) cPlayer.refreshProfile();
     }
     
     /**
@@ -590,6 +588,52 @@ public class CPlayerMain {
     	return player.hasPermission("scs.admin") ? true : player.hasPermission(perm);
     }
     
+    /**
+     * Computes again the permission profile of a player, after its permissions may have changed.
+     * 
+     * @param player The player
+     */
+    public void refreshProfile(Player player) {
+    	CPlayer cPlayer = players.get(player.getUniqueId());
+    	if (cPlayer != null) cPlayer.refreshProfile();
+    }
+    
+    /**
+     * Starts the periodic refresh of the permission profiles, stopping it first if it was running.
+     * Permission plugins give no common signal when the permissions of a player change, so the
+     * profiles are computed again on this interval, in addition to the join, world change and reload.
+     * 
+     * @param seconds The interval in seconds, 0 to disable
+     */
+    public void startProfilesRefresh(int seconds) {
+    	stopProfilesRefresh();
+    	if (seconds <= 0) return;
+    	
+    	if (instance.isFolia()) {
+    		ScheduledTaskProfiles = Bukkit.getAsyncScheduler().runAtFixedRate(instance, task -> {
+    			Bukkit.getOnlinePlayers().forEach(p -> p.getScheduler().run(instance, t -> refreshProfile(p), null));
+    		}, seconds, seconds, TimeUnit.SECONDS);
+    	} else {
+    		BukkitTaskProfiles = Bukkit.getScheduler().runTaskTimer(instance, () -> {
+    			Bukkit.getOnlinePlayers().forEach(p -> refreshProfile(p));
+    		}, seconds * 20L, seconds * 20L);
+    	}
+    }
+    
+    /**
+     * Stops the periodic refresh of the permission profiles.
+     */
+    public void stopProfilesRefresh() {
+    	if (BukkitTaskProfiles != null) {
+    		BukkitTaskProfiles.cancel();
+    		BukkitTaskProfiles = null;
+    	}
+    	if (ScheduledTaskProfiles != null) {
+    		ScheduledTaskProfiles.cancel();
+    		ScheduledTaskProfiles = null;
+    	}
+    }
+    
     /**
      * Activates fly mode for the player.
      * 
@@ -639,7 +683,9 @@ public class CPlayerMain {
     public void addPlayerPermSetting(Player player) {
         instance.executeAsync(() -> {
         	UUID playerId = player.getUniqueId();
-            players.put(playerId, new CPlayer(player, playerId, instance.getMain().getPlayerClaimsCount(playerId),instance));
+        	CPlayer cPlayer = new CPlayer(player, playerId, instance.getMain().getPlayerClaimsCount(playerId),instance);
+        	cPlayer.getPlaceholders().setChunksCount(instance.getMain().getAllChunksCountFromAllClaims(playerId));
+            players.put(playerId, cPlayer);
         });
     }
 }
@@ -1,6 +1,9 @@
 package fr.xyness.SCS;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -26,6 +29,9 @@ public class CScoreboard {
     /* The objective instance */
     private Objective objective;
     
+    /* The displayed lines, indexed by score */
+    private final Map<Integer, String> lines = new HashMap<>();
+    
     
     // ******************
     // *  Constructors  *
@@ -58,6 +64,7 @@ public class CScoreboard {
     public void addLine(String line, int score) {
         Score s = objective.getScore(line);
         s.setScore(score);
+        lines.put(score, line);
     }
 
     /**
@@ -93,19 +100,20 @@ public class CScoreboard {
     
     /**
      * Updates specific lines on the scoreboard based on a map of scores and lines.
-     * Removes the old line associated with each score and adds the new line from the map.
+     * The unchanged lines are kept, and an old line is only removed if it is not displayed anymore
+     * (a line moving to another score keeps its entry).
      *
      * @param linesMap The map where keys are scores and values are the new lines to set.
      */
     public void updateLines(Map<Integer, String> linesMap) {
+        Set<String> kept = new HashSet<>(linesMap.values());
         for (Map.Entry<Integer, String> entry : linesMap.entrySet()) {
             int score = entry.getKey();
             String newLine = entry.getValue();
-            for (String existingEntry : scoreboard.getEntries()) {
-                if (objective.getScore(existingEntry).getScore() == score) {
-                    scoreboard.resetScores(existingEntry);
-                    break;
-                }
+            String oldLine = lines.get(score);
+            if (newLine.equals(oldLine)) continue;
+            if (oldLine != null && !kept.contains(oldLine)) {
+                scoreboard.resetScores(oldLine);
             }
             addLine(newLine, score);
         }
@@ -118,6 +126,7 @@ public class CScoreboard {
     	if(scoreboard != null) {
     		scoreboard.getEntries().forEach(scoreboard::resetScores);
     	}
+    	lines.clear();
     }
 	
 }
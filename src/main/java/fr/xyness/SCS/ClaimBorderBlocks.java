@@ -0,0 +1,283 @@
+package fr.xyness.SCS;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import io.papermc.paper.math.Position;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+
+/**
+ * This class handles the borders of the claims shown with client-side blocks, instead of particles.
+ * <p>
+ * The blocks are only sent to the viewer: the surface block of each column along the border is replaced
+ * on the inner side of the border, within a distance of the viewer. All the changes are sent with one
+ * multi-block change, that the server splits in one packet per chunk section. The columns shown are kept
+ * per player, and the real blocks are sent back after a duration, when the player goes away from the
+ * border, or when another border is shown to the player.
+ */
+public class ClaimBorderBlocks {
+	
+	
+    // ***************
+    // *  Variables  *
+    // ***************
+    
+	
+	/**
+	 * The blocks shown to a player.
+	 */
+	private static class Shown {
+		
+		/** The name of the world of the blocks. */
+		private final String world;
+		
+		/** The X block coordinates of the blocks. */
+		private final int[] x;
+		
+		/** The Y block coordinates of the blocks. */
+		private final int[] y;
+		
+		/** The Z block coordinates of the blocks. */
+		private final int[] z;
+		
+		/** The bounds of the blocks: min X, min Z, max X and max Z. */
+		private final int[] bounds;
+		
+		/** The time when the real blocks are sent back, in milliseconds. */
+		private final long expires;
+		
+		/**
+		 * Main constructor.
+		 *
+		 * @param world The name of the world of the blocks
+		 * @param x The X block coordinates of the blocks
+		 * @param y The Y block coordinates of the blocks
+		 * @param z The Z block coordinates of the blocks
+		 * @param bounds The bounds of the blocks
+		 * @param expires The time when the real blocks are sent back
+		 */
+		private Shown(String world, int[] x, int[] y, int[] z, int[] bounds, long expires) {
+			this.world = world;
+			this.x = x;
+			this.y = y;
+			this.z = z;
+			this.bounds = bounds;
+			this.expires = expires;
+		}
+	}
+	
+	/** The blocks shown, by player. */
+	private final Map<UUID, Shown> shown = new ConcurrentHashMap<>();
+	
+	/** The block sent on the borders. */
+	private volatile BlockData blockData;
+	
+	/** The duration of a border, in milliseconds. */
+	private volatile long duration = 15000;
+	
+	/** The maximum horizontal distance between a block and its viewer, in blocks. */
+	private volatile int distance = 64;
+	
+    /** BukkitTask of the checks. */
+    private BukkitTask BukkitTaskCheck = null;
+    
+    /** ScheduledTask of the checks. */
+    private ScheduledTask ScheduledTaskCheck = null;
+    
+    /** Instance of SimpleClaimSystem */
+    private SimpleClaimSystem instance;
+    
+    
+    // ******************
+    // *  Constructors  *
+    // ******************
+    
+    
+    /**
+     * Constructor for ClaimBorderBlocks.
+     *
+     * @param instance The instance of the SimpleClaimSystem plugin.
+     */
+    public ClaimBorderBlocks(SimpleClaimSystem instance) {
+    	this.instance = instance;
+    }
+    
+    
+    // ********************
+    // *  Others Methods  *
+    // ********************
+    
+    
+    /**
+     * Starts the checks of the shown borders, every second.
+     *
+     * @param material The block sent on the borders
+     * @param seconds The duration of a border, in seconds
+     * @param distance The maximum horizontal distance between a block and its viewer, in blocks
+     */
+    public void start(Material material, int seconds, int distance) {
+    	stop();
+    	this.blockData = material.createBlockData();
+    	this.duration = Math.max(1, seconds) * 1000L;
+    	this.distance = Math.max(1, distance);
+        if (instance.isFolia()) {
+            ScheduledTaskCheck = Bukkit.getGlobalRegionScheduler().runAtFixedRate(instance, task -> check(), 20, 20);
+        } else {
+            BukkitTaskCheck = Bukkit.getScheduler().runTaskTimer(instance, () -> check(), 20, 20);
+        }
+    }
+    
+    /**
+     * Stops the checks.
+     */
+    public void stop() {
+        if (BukkitTaskCheck != null) {
+        	BukkitTaskCheck.cancel();
+        	BukkitTaskCheck = null;
+        }
+        if (ScheduledTaskCheck != null) {
+        	ScheduledTaskCheck.cancel();
+        	ScheduledTaskCheck = null;
+        }
+    }
+    
+    /**
+     * Stops the checks and forgets the shown borders, the real blocks are sent back when not on Folia.
+     */
+    public void clearAll() {
+    	stop();
+    	if (!instance.isFolia()) {
+    		shown.keySet().forEach(uuid -> {
+    			Player player = Bukkit.getPlayer(uuid);
+    			if (player != null) hide(player);
+    		});
+    	}
+    	shown.clear();
+    }
+    
+    /**
+     * Shows a border to a player, replacing the border already shown to this player.
+     * <p>
+     * The border segments must keep the inner side on their right (see {@link ClaimParticleRenderer#getOutline(fr.xyness.SCS.Types.ChunkKeySet)}).
+     *
+     * @param player The viewer
+     * @param world The name of the world of the border
+     * @param segments The segments of the border, each one as 4 values: x1, z1, x2, z2 in block coordinates
+     */
+    public void display(Player player, String world, List<int[]> segments) {
+    	instance.executeEntitySync(player, () -> {
+    		hide(player);
+    		Location location = player.getLocation();
+    		World w = location.getWorld();
+    		if (w == null || !w.getName().equals(world)) return;
+    		int px = location.getBlockX();
+    		int pz = location.getBlockZ();
+    		BlockData data = this.blockData;
+    		
+    		// The surface block of each column on the inner side of the border
+    		Map<Position, BlockData> changes = new HashMap<>();
+    		int[] bounds = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE};
+    		for (int[] values : segments) {
+    			for (int i = 0; i < values.length; i += 4) {
+    				int x1 = values[i], z1 = values[i + 1], x2 = values[i + 2], z2 = values[i + 3];
+    				int dx = Integer.signum(x2 - x1);
+    				int dz = Integer.signum(z2 - z1);
+    				int steps = Math.abs(x2 - x1) + Math.abs(z2 - z1);
+    				for (int s = 0; s < steps; s++) {
+    					// The block on the right of the edge, going east its Z is the edge one, going west the one before
+    					int x = dz == 0 ? (dx > 0 ? x1 + s : x1 - s - 1) : (dz > 0 ? x1 - 1 : x1);
+    					int z = dx == 0 ? (dz > 0 ? z1 + s : z1 - s - 1) : (dx > 0 ? z1 : z1 - 1);
+    					if (Math.abs(x - px) > distance || Math.abs(z - pz) > distance) continue;
+    					if (!canRead(w, x, z)) continue;
+    					changes.put(Position.block(x, w.getHighestBlockYAt(x, z), z), data);
+    					bounds[0] = Math.min(bounds[0], x);
+    					bounds[1] = Math.min(bounds[1], z);
+    					bounds[2] = Math.max(bounds[2], x);
+    					bounds[3] = Math.max(bounds[3], z);
+    				}
+    			}
+    		}
+    		if (changes.isEmpty()) return;
+    		
+    		int n = changes.size();
+    		int[] xs = new int[n], ys = new int[n], zs = new int[n];
+    		int i = 0;
+    		for (Position position : changes.keySet()) {
+    			xs[i] = position.blockX();
+    			ys[i] = position.blockY();
+    			zs[i] = position.blockZ();
+    			i++;
+    		}
+    		shown.put(player.getUniqueId(), new Shown(world, xs, ys, zs, bounds, System.currentTimeMillis() + duration));
+    		player.sendMultiBlockChange(changes);
+    	});
+    }
+    
+    /**
+     * Sends the real blocks of the border shown to a player. Called on the thread of the player.
+     *
+     * @param player The player
+     */
+    public void hide(Player player) {
+    	Shown border = shown.remove(player.getUniqueId());
+    	if (border == null) return;
+    	World world = player.getWorld();
+    	if (!world.getName().equals(border.world)) return;
+    	Map<Position, BlockData> changes = new HashMap<>();
+    	for (int i = 0; i < border.x.length; i++) {
+    		if (!canRead(world, border.x[i], border.z[i])) continue;
+    		changes.put(Position.block(border.x[i], border.y[i], border.z[i]), world.getBlockAt(border.x[i], border.y[i], border.z[i]).getBlockData());
+    	}
+    	if (!changes.isEmpty()) player.sendMultiBlockChange(changes);
+    }
+    
+    /**
+     * Checks if a column can be read on the current thread without loading its chunk.
+     *
+     * @param world The world
+     * @param x The X block coordinate
+     * @param z The Z block coordinate
+     * @return True if the chunk is loaded and owned by the current thread
+     */
+    private boolean canRead(World world, int x, int z) {
+    	if (!world.isChunkLoaded(x >> 4, z >> 4)) return false;
+    	return !instance.isFolia() || Bukkit.isOwnedByCurrentRegion(world, x >> 4, z >> 4);
+    }
+    
+    /**
+     * Sends back the real blocks of the borders expired, or of the players gone away from their border.
+     */
+    private void check() {
+    	long now = System.currentTimeMillis();
+    	shown.forEach((uuid, border) -> {
+    		Player player = Bukkit.getPlayer(uuid);
+    		if (player == null) {
+    			shown.remove(uuid);
+    			return;
+    		}
+    		instance.executeEntitySync(player, () -> {
+    			if (shown.get(uuid) != border) return;
+    			Location location = player.getLocation();
+    			World world = location.getWorld();
+    			int x = location.getBlockX();
+    			int z = location.getBlockZ();
+    			boolean away = world == null || !world.getName().equals(border.world)
+    					|| x < border.bounds[0] - distance || z < border.bounds[1] - distance
+    					|| x > border.bounds[2] + distance || z > border.bounds[3] + distance;
+    			if (away || now >= border.expires) hide(player);
+    		});
+    	});
+    }
+    
+}
@@ -1,8 +1,13 @@
 package fr.xyness.SCS;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
@@ -11,11 +16,20 @@ import org.bukkit.boss.BarStyle;
 import org.bukkit.boss.BossBar;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 
+import fr.xyness.SCS.API.ClaimChange;
+import fr.xyness.SCS.Types.ChunkKey;
 import fr.xyness.SCS.Types.Claim;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import me.clip.placeholderapi.PlaceholderAPI;
 
 /**
  * This class handles bossbar management.
+ * <p>
+ * Titles are rendered once per claim, relation (protected area, owner, member, visitor) and sale state,
+ * and kept until the claim settings or the messages change. Only titles using PlaceholderAPI placeholders
+ * are rendered again, for each player, on the refresh interval.
  */
 public class ClaimBossBar {
 	
@@ -27,6 +41,24 @@ public class ClaimBossBar {
 	
     /** A map to store the BossBars for each player. */
 	private final ConcurrentMap<Player, BossBar> bossBars = new ConcurrentHashMap<>();
+	
+	/** The players whose title uses PlaceholderAPI placeholders, with the claim they are in. */
+	private final ConcurrentMap<Player, Claim> dynamicBars = new ConcurrentHashMap<>();
+	
+	/** The rendered titles by claim, dropped with the claim. */
+	private final Map<Claim, Titles> titles = Collections.synchronizedMap(new WeakHashMap<>());
+	
+	/** The message keys of the titles, by relation. */
+	private static final String[] KEYS = {"bossbar-protected-area-message", "bossbar-owner-message", "bossbar-member-message", "bossbar-visitor-message"};
+	
+	/** The message keys of the for sale titles, by relation. */
+	private static final String[] SALE_KEYS = {"bossbar-protected-area-for-sale-message", "bossbar-owner-for-sale-message", "bossbar-member-for-sale-message", "bossbar-visitor-for-sale-message"};
+	
+	/** The placeholders replaced by the plugin itself. */
+	private static final String[] CLAIM_PLACEHOLDERS = {"%player%", "%owner%", "%name%", "%price%", "%money-symbol%"};
+	
+	/** The relations of a player to a claim. */
+	private static final int PROTECTED = 0, OWNER = 1, MEMBER = 2, VISITOR = 3;
     
     /** Instance of SimpleClaimSystem */
     private SimpleClaimSystem instance;
@@ -42,6 +74,12 @@ public class ClaimBossBar {
     
     /** For sale bossbar style */
     private BarStyle saleStyle;
+    
+    /** BukkitTask of the placeholders refresh. */
+    private BukkitTask BukkitTaskRefresh = null;
+    
+    /** ScheduledTask of the placeholders refresh. */
+    private ScheduledTask ScheduledTaskRefresh = null;
 
     
     // ******************
@@ -64,6 +102,35 @@ public class ClaimBossBar {
     // ********************
     
     
+    /**
+     * This class handles the titles rendered for a claim, for a version of the claim and of the messages.
+     */
+    private static final class Titles {
+    	
+    	/** The version of the claim settings the titles were rendered for */
+    	private final int claimVersion;
+    	
+    	/** The version of the messages the titles were rendered for */
+    	private final int languageVersion;
+    	
+    	/** The titles by slot (relation and sale state), null until rendered */
+    	private final String[] rendered = new String[8];
+    	
+    	/** Whether the message of a slot uses PlaceholderAPI placeholders */
+    	private final boolean[] dynamic = new boolean[8];
+    	
+    	/**
+    	 * Main constructor.
+    	 *
+    	 * @param claimVersion The version of the claim settings
+    	 * @param languageVersion The version of the messages
+    	 */
+    	private Titles(int claimVersion, int languageVersion) {
+    		this.claimVersion = claimVersion;
+    		this.languageVersion = languageVersion;
+    	}
+    }
+    
     /**
      * Loads bossbar settings
      */
@@ -72,6 +139,57 @@ public class ClaimBossBar {
     	this.defaultStyle = BarStyle.valueOf(instance.getSettings().getSetting("bossbar-style"));
     	this.saleColor = BarColor.valueOf(instance.getSettings().getSetting("announce-sale.bossbar-settings.color"));
     	this.saleStyle = BarStyle.valueOf(instance.getSettings().getSetting("announce-sale.bossbar-settings.style"));
+    	titles.clear();
+    	startRefresh();
+    }
+    
+    /**
+     * Starts the refresh of the titles using PlaceholderAPI placeholders, stopping it first if it was running.
+     */
+    public void startRefresh() {
+    	stopRefresh();
+    	if (!instance.getSettings().getBooleanSetting("placeholderapi")) return;
+    	long ticks = 20;
+    	try {
+    		ticks = Long.parseLong(instance.getSettings().getSetting("bossbar-placeholders-refresh"));
+    	} catch (NumberFormatException e) {
+    		ticks = 20;
+    	}
+    	if (ticks <= 0) return;
+    	
+    	if (instance.isFolia()) {
+    		ScheduledTaskRefresh = Bukkit.getAsyncScheduler().runAtFixedRate(instance, task -> refreshTitles(), ticks * 50, ticks * 50, TimeUnit.MILLISECONDS);
+    	} else {
+    		BukkitTaskRefresh = Bukkit.getScheduler().runTaskTimerAsynchronously(instance, () -> refreshTitles(), ticks, ticks);
+    	}
+    }
+    
+    /**
+     * Stops the refresh of the titles using PlaceholderAPI placeholders.
+     */
+    public void stopRefresh() {
+    	if (BukkitTaskRefresh != null) {
+    		BukkitTaskRefresh.cancel();
+    		BukkitTaskRefresh = null;
+    	}
+    	if (ScheduledTaskRefresh != null) {
+    		ScheduledTaskRefresh.cancel();
+    		ScheduledTaskRefresh = null;
+    	}
+    }
+    
+    /**
+     * Renders again the titles using PlaceholderAPI placeholders of the visible BossBars.
+     */
+    private void refreshTitles() {
+    	dynamicBars.forEach((player, claim) -> {
+    		BossBar b = bossBars.get(player);
+    		if (b == null || !b.isVisible() || !player.isOnline()) {
+    			dynamicBars.remove(player);
+    			return;
+    		}
+    		showClaim(player, b, claim);
+    	});
     }
     
     /**
@@ -86,74 +204,144 @@ public class ClaimBossBar {
         	BossBar b = checkBossBar(player);
 
             if (!instance.getSettings().getBooleanSetting("bossbar")) {
-                b.setVisible(false);
-                return;
-            }
-
-            if (!instance.getMain().checkIfClaimExists(chunk)) {
-                b.setVisible(false);
+                hide(player, b);
                 return;
             }
 
             Claim claim = instance.getMain().getClaim(chunk);
-            String owner = claim.getOwner();
-            String chunkName = claim.getName();
-            String title;
-
-            if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.bossbar")) {
-            	b.setColor(saleColor);
-            	b.setStyle(saleStyle);
-                if (owner.equals("*")) {
-                    title = instance.getLanguage().getMessage("bossbar-protected-area-for-sale-message",player)
-                    		.replace("%name%", chunkName)
-                    		.replace("%price%", instance.getMain().getNumberSeparate(String.valueOf(claim.getPrice())))
-                      		.replace("%money-symbol%", instance.getLanguage().getMessage("money-symbol"));
-                } else if (owner.equals(player.getName())) {
-                    title = instance.getLanguage().getMessage("bossbar-owner-for-sale-message",player)
-                    		.replace("%owner%", owner)
-                    		.replace("%name%", chunkName)
-                    		.replace("%price%", instance.getMain().getNumberSeparate(String.valueOf(claim.getPrice())))
-                      		.replace("%money-symbol%", instance.getLanguage().getMessage("money-symbol"));
-                } else if (instance.getMain().checkMembre(claim, player)) {
-                    title = instance.getLanguage().getMessage("bossbar-member-for-sale-message",player)
-                            .replace("%player%", player.getName())
-                            .replace("%owner%", owner)
-                            .replace("%name%", chunkName)
-                    		.replace("%price%", instance.getMain().getNumberSeparate(String.valueOf(claim.getPrice())))
-                      		.replace("%money-symbol%", instance.getLanguage().getMessage("money-symbol"));
-                } else {
-                    title = instance.getLanguage().getMessage("bossbar-visitor-for-sale-message",player)
-                            .replace("%player%", player.getName())
-                            .replace("%owner%", owner)
-                            .replace("%name%", chunkName)
-                    		.replace("%price%", instance.getMain().getNumberSeparate(String.valueOf(claim.getPrice())))
-                      		.replace("%money-symbol%", instance.getLanguage().getMessage("money-symbol"));
-                }
-            } else {
-            	b.setColor(defaultColor);
-            	b.setStyle(defaultStyle);
-                if (owner.equals("*")) {
-                    title = instance.getLanguage().getMessage("bossbar-protected-area-message",player).replace("%name%", chunkName);
-                } else if (owner.equals(player.getName())) {
-                    title = instance.getLanguage().getMessage("bossbar-owner-message",player).replace("%owner%", owner).replace("%name%", chunkName);
-                } else if (instance.getMain().checkMembre(claim, player)) {
-                    title = instance.getLanguage().getMessage("bossbar-member-message",player)
-                            .replace("%player%", player.getName())
-                            .replace("%owner%", owner)
-                            .replace("%name%", chunkName);
-                } else {
-                    title = instance.getLanguage().getMessage("bossbar-visitor-message",player)
-                            .replace("%player%", player.getName())
-                            .replace("%owner%", owner)
-                            .replace("%name%", chunkName);
-                }
+            if (claim == null) {
+                hide(player, b);
+                return;
             }
 
-            b.setTitle(title);
-            b.setVisible(true);
+            showClaim(player, b, claim);
         });
     }
     
+    /**
+     * Shows the BossBar of a claim to the player, only updating what differs from what the player sees.
+     *
+     * @param player the player.
+     * @param b the player's BossBar.
+     * @param claim the claim the player is in.
+     */
+    private void showClaim(Player player, BossBar b, Claim claim) {
+    	boolean sale = claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.bossbar");
+    	int relation = getRelation(player, claim);
+    	int slot = relation * 2 + (sale ? 1 : 0);
+    	Titles entry = getTitles(claim);
+    	
+    	String title;
+    	boolean dynamic;
+    	synchronized (entry) {
+    		if (entry.rendered[slot] == null) {
+    			String template = instance.getLanguage().getMessage(sale ? SALE_KEYS[relation] : KEYS[relation]);
+    			entry.dynamic[slot] = hasPlaceholders(template);
+    			entry.rendered[slot] = render(template, claim, relation, sale);
+    		}
+    		title = entry.rendered[slot];
+    		dynamic = entry.dynamic[slot];
+    	}
+    	if (dynamic) {
+    		String template = instance.getLanguage().getMessage(sale ? SALE_KEYS[relation] : KEYS[relation], player);
+    		title = render(template, claim, relation, sale);
+    		dynamicBars.put(player, claim);
+    	} else {
+    		dynamicBars.remove(player);
+    	}
+    	if (relation == MEMBER || relation == VISITOR) {
+    		title = title.replace("%player%", player.getName());
+    	}
+    	
+    	BarColor color = sale ? saleColor : defaultColor;
+    	BarStyle style = sale ? saleStyle : defaultStyle;
+    	if (b.getColor() != color) b.setColor(color);
+    	if (b.getStyle() != style) b.setStyle(style);
+    	if (!title.equals(b.getTitle())) b.setTitle(title);
+    	if (!b.isVisible()) b.setVisible(true);
+    }
+    
+    /**
+     * Gets the titles rendered for a claim, creating them if the claim settings or the messages changed.
+     *
+     * @param claim the claim.
+     * @return the titles of the claim.
+     */
+    private Titles getTitles(Claim claim) {
+    	int claimVersion = claim.getVersion();
+    	int languageVersion = instance.getLanguage().getVersion();
+    	synchronized (titles) {
+    		Titles entry = titles.get(claim);
+    		if (entry == null || entry.claimVersion != claimVersion || entry.languageVersion != languageVersion) {
+    			entry = new Titles(claimVersion, languageVersion);
+    			titles.put(claim, entry);
+    		}
+    		return entry;
+    	}
+    }
+    
+    /**
+     * Gets the relation of a player to a claim.
+     *
+     * @param player the player.
+     * @param claim the claim.
+     * @return the relation.
+     */
+    private int getRelation(Player player, Claim claim) {
+    	String owner = claim.getOwner();
+    	if (owner.equals("*")) return PROTECTED;
+    	if (owner.equals(player.getName())) return OWNER;
+    	if (instance.getMain().checkMembre(claim, player)) return MEMBER;
+    	return VISITOR;
+    }
+    
+    /**
+     * Replaces the claim placeholders of a title, %player% excepted.
+     *
+     * @param template the message of the title.
+     * @param claim the claim.
+     * @param relation the relation of the player to the claim.
+     * @param sale whether the claim is shown as for sale.
+     * @return the title.
+     */
+    private String render(String template, Claim claim, int relation, boolean sale) {
+    	if (template == null) return "";
+    	String title = template;
+    	if (relation != PROTECTED) title = title.replace("%owner%", claim.getOwner());
+    	title = title.replace("%name%", claim.getName());
+    	if (sale) {
+    		title = title.replace("%price%", instance.getMain().getNumberSeparate(String.valueOf(claim.getPrice())))
+    				.replace("%money-symbol%", instance.getLanguage().getMessage("money-symbol"));
+    	}
+    	return title;
+    }
+    
+    /**
+     * Checks if a message uses PlaceholderAPI placeholders, the claim placeholders excepted.
+     *
+     * @param template the message.
+     * @return true if the message must be rendered for each player.
+     */
+    private boolean hasPlaceholders(String template) {
+    	if (template == null || !instance.getSettings().getBooleanSetting("placeholderapi")) return false;
+    	String stripped = template;
+    	for (String placeholder : CLAIM_PLACEHOLDERS) {
+    		stripped = stripped.replace(placeholder, "");
+    	}
+    	return PlaceholderAPI.containsPlaceholders(stripped);
+    }
+    
+    /**
+     * Hides the BossBar of the player, if visible.
+     *
+     * @param player the player.
+     * @param b the player's BossBar.
+     */
+    private void hide(Player player, BossBar b) {
+    	dynamicBars.remove(player);
+    	if (b.isVisible()) b.setVisible(false);
+    }
+    
     /**
      * Updates the color of all BossBars.
      *
@@ -195,15 +383,29 @@ public class ClaimBossBar {
         if (!instance.getSettings().getBooleanSetting("bossbar")) return;
         if (player == null) return;
         BossBar b = checkBossBar(player);
-        b.setVisible(false);
+        hide(player, b);
+    }
+    
+    /**
+     * Removes the BossBar of a player leaving the server.
+     *
+     * @param player the player.
+     */
+    public void removePlayer(Player player) {
+        dynamicBars.remove(player);
+        BossBar b = bossBars.remove(player);
+        if (b != null) b.removeAll();
     }
     
     /**
      * Clears all maps and variables.
      */
     public void clearAll() {
+        stopRefresh();
         bossBars.values().forEach(b -> b.setVisible(false));
         bossBars.clear();
+        dynamicBars.clear();
+        titles.clear();
     }
     
     /**
@@ -251,7 +453,93 @@ public class ClaimBossBar {
             		activeBossBar(p,c);
             	}
             });
-    	}
+    	}
+    }
+    
+    /**
+     * Activates the boss bar for players in the chunks of the specified claim.
+     *
+     * @param claim the claim to activate the boss bar in
+     */
+    public void activateBossBar(Claim claim) {
+    	if (!instance.getSettings().getBooleanSetting("bossbar")) return;
+    	if(instance.isFolia()) {
+            Bukkit.getOnlinePlayers().stream().forEach(p -> {
+            	Bukkit.getRegionScheduler().run(instance, p.getLocation(), task -> {
+                	Chunk c = p.getLocation().getChunk();
+                	if(claim.containsChunk(c)) {
+                		activeBossBar(p,c);
+                	}
+            	});
+            });
+    	} else {
+            Bukkit.getOnlinePlayers().stream().forEach(p -> {
+            	Chunk c = p.getLocation().getChunk();
+            	if(claim.containsChunk(c)) {
+            		activeBossBar(p,c);
+            	}
+            });
+    	}
+    }
+    
+    /**
+     * Deactivates the boss bar for players in the chunks of the specified claim.
+     *
+     * @param claim the claim to deactivate the boss bar in
+     */
+    public void deactivateBossBar(Claim claim) {
+    	if (!instance.getSettings().getBooleanSetting("bossbar")) return;
+    	if(instance.isFolia()) {
+            Bukkit.getOnlinePlayers().stream().forEach(p -> {
+            	Bukkit.getRegionScheduler().run(instance, p.getLocation(), task -> {
+                	if(claim.containsChunk(p.getLocation().getChunk())) {
+                		disableBossBar(p);
+                	}
+            	});
+            });
+    	} else {
+            Bukkit.getOnlinePlayers().stream().forEach(p -> {
+            	if(claim.containsChunk(p.getLocation().getChunk())) {
+            		disableBossBar(p);
+            	}
+            });
+    	}
+    }
+    
+    /**
+     * Updates the boss bar of the players standing in a chunk affected by claim changes.
+     * <p>
+     * Subscriber of the claim change stream, a player is updated once whatever the number of changes.
+     *
+     * @param changes the claim changes
+     */
+    public void updateBossBars(List<ClaimChange> changes) {
+    	if (!instance.getSettings().getBooleanSetting("bossbar")) return;
+    	if(instance.isFolia()) {
+            Bukkit.getOnlinePlayers().stream().forEach(p -> {
+            	Bukkit.getRegionScheduler().run(instance, p.getLocation(), task -> updateBossBar(p, changes));
+            });
+    	} else {
+    		instance.executeSync(() -> Bukkit.getOnlinePlayers().stream().forEach(p -> updateBossBar(p, changes)));
+    	}
+    }
+    
+    /**
+     * Updates the boss bar of a player if its chunk is affected by claim changes.
+     *
+     * @param player the player
+     * @param changes the claim changes
+     */
+    private void updateBossBar(Player player, List<ClaimChange> changes) {
+    	Chunk c = player.getLocation().getChunk();
+    	String world = c.getWorld().getName();
+    	long key = ChunkKey.of(c);
+    	for (ClaimChange change : changes) {
+    		if (change.affects(world, key)) {
+    			activeBossBar(player, c);
+    			return;
+    		}
+    	}
     }
     
     /**
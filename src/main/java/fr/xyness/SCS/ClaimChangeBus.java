@@ -0,0 +1,239 @@
+package fr.xyness.SCS;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import fr.xyness.SCS.API.ClaimChange;
+import fr.xyness.SCS.API.ClaimChange.Type;
+import fr.xyness.SCS.Types.ChunkKeySet;
+import fr.xyness.SCS.Types.Claim;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+
+/**
+ * This class handles the stream of the claim changes.
+ * <p>
+ * Mutations publish what changed on a claim, and the changes are delivered to the subscribers
+ * once per flush window, coalesced by claim. A merge or the deletion of all the claims of a player
+ * then costs one update per claim to the maps and the bossbars, instead of one per chunk.
+ * The batches are delivered on an asynchronous thread.
+ */
+public class ClaimChangeBus {
+	
+	
+    // ***************
+    // *  Variables  *
+    // ***************
+    
+	
+	/** The pending changes by claim, in publishing order. */
+	private final Map<Claim, PendingChange> pending = new LinkedHashMap<>();
+	
+	/** The subscribers. */
+	private final List<Consumer<List<ClaimChange>>> subscribers = new CopyOnWriteArrayList<>();
+	
+	/** Whether the bus is running, changes are delivered immediately otherwise. */
+	private volatile boolean running;
+    
+    /** BukkitTask of the flush. */
+    private BukkitTask BukkitTaskFlush = null;
+    
+    /** ScheduledTask of the flush. */
+    private ScheduledTask ScheduledTaskFlush = null;
+    
+    /** Instance of SimpleClaimSystem */
+    private SimpleClaimSystem instance;
+    
+    
+    // ******************
+    // *  Constructors  *
+    // ******************
+    
+    
+    /**
+     * Constructor for ClaimChangeBus.
+     *
+     * @param instance The instance of the SimpleClaimSystem plugin.
+     */
+    public ClaimChangeBus(SimpleClaimSystem instance) {
+    	this.instance = instance;
+    }
+    
+    
+    // ********************
+    // *  Others Methods  *
+    // ********************
+    
+    
+    /**
+     * The changes of a claim not delivered yet.
+     */
+    private static class PendingChange {
+    	
+    	/** The name of the world of the claim. */
+    	private final String worldName;
+    	
+    	/** The types of change. */
+    	private final EnumSet<Type> types = EnumSet.noneOf(Type.class);
+    	
+    	/** The chunks added. */
+    	private final ChunkKeySet addedChunks = new ChunkKeySet();
+    	
+    	/** The chunks removed. */
+    	private final ChunkKeySet removedChunks = new ChunkKeySet();
+    	
+    	/**
+    	 * Main constructor.
+    	 *
+    	 * @param worldName The name of the world of the claim
+    	 */
+    	private PendingChange(String worldName) {
+    		this.worldName = worldName;
+    	}
+    }
+    
+    /**
+     * Starts the periodic delivery.
+     *
+     * @param ticks The flush window, in ticks (0 delivers each change immediately)
+     */
+    public void start(int ticks) {
+    	stop();
+    	if (ticks <= 0) return;
+    	running = true;
+        if (instance.isFolia()) {
+            ScheduledTaskFlush = Bukkit.getAsyncScheduler().runAtFixedRate(instance, task -> flush(), ticks * 50L, ticks * 50L, TimeUnit.MILLISECONDS);
+        } else {
+            BukkitTaskFlush = Bukkit.getScheduler().runTaskTimerAsynchronously(instance, () -> flush(), ticks, ticks);
+        }
+    }
+    
+    /**
+     * Stops the periodic delivery, and delivers the pending changes.
+     */
+    public void stop() {
+    	running = false;
+        if (BukkitTaskFlush != null) {
+        	BukkitTaskFlush.cancel();
+        	BukkitTaskFlush = null;
+        }
+        if (ScheduledTaskFlush != null) {
+        	ScheduledTaskFlush.cancel();
+        	ScheduledTaskFlush = null;
+        }
+        flush();
+    }
+    
+    /**
+     * Stops the periodic delivery and drops the pending changes, when the plugin is disabled.
+     */
+    public void clearAll() {
+    	synchronized (pending) {
+    		pending.clear();
+    	}
+    	stop();
+    }
+    
+    /**
+     * Subscribes to the claim changes.
+     *
+     * @param subscriber The subscriber, receiving the changes of each flush window
+     */
+    public void subscribe(Consumer<List<ClaimChange>> subscriber) {
+    	subscribers.add(subscriber);
+    }
+    
+    /**
+     * Unsubscribes from the claim changes.
+     *
+     * @param subscriber The subscriber
+     */
+    public void unsubscribe(Consumer<List<ClaimChange>> subscriber) {
+    	subscribers.remove(subscriber);
+    }
+    
+    /**
+     * Publishes changes of a claim.
+     * <p>
+     * The chunks of a deleted claim are recorded as removed, so it must be published before its chunks are cleared.
+     *
+     * @param claim The claim
+     * @param types The types of change, chunk changes are published with {@link #publishChunk(Claim, long, boolean)}
+     */
+    public void publish(Claim claim, Type... types) {
+    	synchronized (pending) {
+    		PendingChange change = pending.computeIfAbsent(claim, c -> new PendingChange(c.getWorldName()));
+    		for (Type type : types) {
+    			if (type == Type.DELETED) {
+    				if (change.types.contains(Type.CREATED)) {
+    					// Never delivered, nothing to report
+    					pending.remove(claim);
+    					return;
+    				}
+    				change.addedChunks.clear();
+    				claim.getChunkKeys().forEach(key -> change.removedChunks.add(key));
+    			}
+    			change.types.add(type);
+    		}
+    	}
+    	if (!running) flush();
+    }
+    
+    /**
+     * Publishes a chunk added to or removed from a claim.
+     *
+     * @param claim The claim
+     * @param key The packed key of the chunk
+     * @param added True if the chunk was added, false if it was removed
+     */
+    public void publishChunk(Claim claim, long key, boolean added) {
+    	synchronized (pending) {
+    		PendingChange change = pending.computeIfAbsent(claim, c -> new PendingChange(c.getWorldName()));
+    		if (added) {
+    			if (!change.removedChunks.remove(key)) change.addedChunks.add(key);
+    		} else {
+    			if (!change.addedChunks.remove(key)) change.removedChunks.add(key);
+    		}
+    	}
+    	if (!running) flush();
+    }
+    
+    /**
+     * Delivers the pending changes to the subscribers.
+     */
+    public void flush() {
+    	List<ClaimChange> changes;
+    	synchronized (pending) {
+    		if (pending.isEmpty()) return;
+    		changes = new ArrayList<>(pending.size());
+    		for (Map.Entry<Claim, PendingChange> entry : pending.entrySet()) {
+    			PendingChange change = entry.getValue();
+    			EnumSet<Type> types = EnumSet.copyOf(change.types);
+    			types.remove(Type.CHUNKS_ADDED);
+    			types.remove(Type.CHUNKS_REMOVED);
+    			if (!change.addedChunks.isEmpty()) types.add(Type.CHUNKS_ADDED);
+    			if (!change.removedChunks.isEmpty()) types.add(Type.CHUNKS_REMOVED);
+    			if (types.isEmpty()) continue;
+    			changes.add(new ClaimChange(entry.getKey(), change.worldName, types, change.addedChunks, change.removedChunks));
+    		}
+    		pending.clear();
+    	}
+    	if (changes.isEmpty()) return;
+    	for (Consumer<List<ClaimChange>> subscriber : subscribers) {
+    		try {
+    			subscriber.accept(changes);
+    		} catch (Exception e) {
+    			e.printStackTrace();
+    		}
+    	}
+    }
+    
+}
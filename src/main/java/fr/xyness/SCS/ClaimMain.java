@@ -7,19 +7,27 @@ import java.io.File;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import org.bukkit.*;
+import org.bukkit.block.Block;
 import org.bukkit.boss.BarColor;
 import org.bukkit.boss.BossBar;
 import org.bukkit.command.CommandSender;
@@ -30,12 +38,19 @@ import org.bukkit.scheduler.BukkitTask;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
+import fr.xyness.SCS.API.ClaimChange;
 import fr.xyness.SCS.API.Listeners.ClaimCreateEvent;
 import fr.xyness.SCS.API.Listeners.UnclaimEvent;
 import fr.xyness.SCS.API.Listeners.UnclaimallEvent;
+import fr.xyness.SCS.ClaimWriteQueue.Field;
 import fr.xyness.SCS.Types.CPlayer;
+import fr.xyness.SCS.Types.ClaimCatalog;
+import fr.xyness.SCS.Types.ChunkKey;
+import fr.xyness.SCS.Types.ChunkKeySet;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimPermission;
 import fr.xyness.SCS.Types.CustomSet;
+import fr.xyness.SCS.Types.WorldClaimIndex;
 import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 import me.ryanhamshire.GriefPrevention.GriefPrevention;
 import net.md_5.bungee.api.ChatMessageType;
@@ -49,14 +64,35 @@ public class ClaimMain {
     // ***************
 
 	
-    /** List of claims by chunk. */
-    private Map<Chunk, Claim> listClaims = new HashMap<>();
+    /** Index of claims by world name, an immutable snapshot swapped on every change. */
+    private volatile Map<String, WorldClaimIndex> listClaims = Map.of();
 
-    /** Mapping of player uuid to their claims. */
-    private Map<UUID, CustomSet<Claim>> playerClaims = new HashMap<>();
+    /** Mapping of player uuid to their claims catalog. */
+    private final Map<UUID, ClaimCatalog> playerClaims = new ConcurrentHashMap<>();
+    
+    /** Mapping of lower-cased owner name to owner uuid. */
+    private final Map<String, UUID> ownersByName = new ConcurrentHashMap<>();
+    
+    /** Lock held by the writers of the claim indexes, readers never take it. */
+    private final Object indexLock = new Object();
     
     /** Key UUID for protected areas */
     public static final UUID SERVER_UUID = UUID.fromString("00000000-0000-0000-0000-000000000000");
+    
+    /** Number of claim rows handed to a loader worker at once */
+    private static final int LOADER_BATCH_SIZE = 512;
+    
+    /** Maximum number of loader workers */
+    private static final int LOADER_MAX_WORKERS = 8;
+    
+    /** Number of rows fetched per round trip by the loader */
+    private static final int LOADER_FETCH_SIZE = 1000;
+    
+    /** Inserts of the new claims still being written, completed once the storage id is known */
+    private final Map<Claim, CompletableFuture<Void>> pendingInserts = new ConcurrentHashMap<>();
+    
+    /** Seconds waited for the insert of a new claim before its rows are changed */
+    private static final int INSERT_TIMEOUT = 30;
 
     /** Mapping of players to their original locations. */
     private final Map<Player, Location> playerLocations = new HashMap<>();
@@ -110,9 +146,12 @@ public class ClaimMain {
      * Clears all maps and variables.
      */
     public void clearAll() {
-        playerClaims.clear();
+        synchronized (indexLock) {
+	        playerClaims.clear();
+	        ownersByName.clear();
+	        listClaims = Map.of();
+        }
         playerLocations.clear();
-        listClaims.clear();
         activeTasks.values().stream().forEach(t -> t.cancel());
         activeTasks.clear();
         if(instance.isFolia()) {
@@ -265,7 +304,194 @@ public class ClaimMain {
      * @return The claim associated with the chunk, or null if none exists
      */
     public Claim getClaim(Chunk chunk) {
-        return listClaims.get(chunk);
+    	if (chunk == null) return null;
+        return getClaim(chunk.getWorld().getName(), ChunkKey.of(chunk.getX(), chunk.getZ()));
+    }
+    
+    /**
+     * Gets a claim by world name and packed chunk key, without touching the chunk.
+     *
+     * @param world The name of the world
+     * @param key The packed chunk key (see {@link ChunkKey})
+     * @return The claim associated with the chunk, or null if none exists
+     */
+    public Claim getClaim(String world, long key) {
+    	WorldClaimIndex index = listClaims.get(world);
+    	return index == null ? null : index.get(key);
+    }
+    
+    /**
+     * Gets the claim at block coordinates, without allocating or loading the chunk.
+     *
+     * @param world The world
+     * @param blockX The block X coordinate
+     * @param blockZ The block Z coordinate
+     * @return The claim at these coordinates, or null if none exists
+     */
+    public Claim getClaimAt(World world, int blockX, int blockZ) {
+    	return getClaim(world.getName(), ChunkKey.ofBlock(blockX, blockZ));
+    }
+    
+    /**
+     * Gets the claim containing a block, without loading its chunk.
+     *
+     * @param block The block
+     * @return The claim containing the block, or null if none exists
+     */
+    public Claim getClaimAt(Block block) {
+    	return getClaimAt(block.getWorld(), block.getX(), block.getZ());
+    }
+    
+    /**
+     * Gets the claim containing a location, without loading its chunk.
+     *
+     * @param location The location
+     * @return The claim containing the location, or null if none exists
+     */
+    public Claim getClaimAt(Location location) {
+    	return getClaimAt(location.getWorld(), location.getBlockX(), location.getBlockZ());
+    }
+    
+    /**
+     * Applies a change to the index of a world.
+     * <p>
+     * The change is made on a copy of the index, which is then published,
+     * so readers keep using the previous snapshot until the change is complete.
+     *
+     * @param world The name of the world
+     * @param change The change to apply to the copy
+     */
+    private void updateIndex(String world, Consumer<WorldClaimIndex> change) {
+    	synchronized (indexLock) {
+    		WorldClaimIndex index = listClaims.get(world);
+    		index = index == null ? new WorldClaimIndex() : index.copy();
+    		change.accept(index);
+    		Map<String, WorldClaimIndex> newIndexes = new HashMap<>(listClaims);
+    		newIndexes.put(world, index);
+    		listClaims = Collections.unmodifiableMap(newIndexes);
+    	}
+    }
+    
+    /**
+     * Adds chunks of a claim to the index, unless one of them belongs to another claim.
+     * <p>
+     * The check and the insert are made under the index lock, so two claims created at the same
+     * time cannot both take a chunk.
+     *
+     * @param claim The claim
+     * @param keys The packed chunk keys to add
+     * @return True if the chunks were indexed, false if one of them is already claimed
+     */
+    private boolean tryIndexChunks(Claim claim, ChunkKeySet keys) {
+    	synchronized (indexLock) {
+    		WorldClaimIndex current = listClaims.get(claim.getWorldName());
+    		if (current != null) {
+    			for (long key : keys.toArray()) {
+    				Claim owner = current.get(key);
+    				if (owner != null && owner != claim) return false;
+    			}
+    		}
+    		updateIndex(claim.getWorldName(), index -> keys.forEach(key -> index.put(key, claim)));
+    		return true;
+    	}
+    }
+    
+    /**
+     * Adds all chunks of a claim to the index, unless one of them is already claimed.
+     *
+     * @param claim The claim to index
+     * @return True if the claim was indexed, false if one of its chunks belongs to another claim
+     */
+    private boolean indexClaim(Claim claim) {
+    	return tryIndexChunks(claim, claim.getChunkKeys());
+    }
+    
+    /**
+     * Adds all chunks of several claims to the index, publishing a single snapshot.
+     *
+     * @param claims The claims to index
+     */
+    private void indexClaims(Collection<Claim> claims) {
+    	synchronized (indexLock) {
+    		Map<String, WorldClaimIndex> newIndexes = new HashMap<>(listClaims);
+    		Set<String> copied = new HashSet<>();
+    		for (Claim claim : claims) {
+    			String world = claim.getWorldName();
+    			WorldClaimIndex index = newIndexes.get(world);
+    			if (copied.add(world)) {
+    				index = index == null ? new WorldClaimIndex() : index.copy();
+    				newIndexes.put(world, index);
+    			}
+    			WorldClaimIndex target = index;
+    			claim.getChunkKeys().forEach(key -> target.put(key, claim));
+    		}
+    		listClaims = Collections.unmodifiableMap(newIndexes);
+    	}
+    }
+    
+    /**
+     * Adds one chunk of a claim to the index, unless it is already claimed.
+     *
+     * @param claim The claim
+     * @param key The packed chunk key
+     * @return True if the chunk was indexed, false if it belongs to another claim
+     */
+    private boolean indexChunk(Claim claim, long key) {
+    	ChunkKeySet keys = new ChunkKeySet(1);
+    	keys.add(key);
+    	return tryIndexChunks(claim, keys);
+    }
+    
+    /**
+     * Removes all chunks of a claim from the index.
+     *
+     * @param claim The claim to remove
+     */
+    private void unindexClaim(Claim claim) {
+    	if (!listClaims.containsKey(claim.getWorldName())) return;
+    	updateIndex(claim.getWorldName(), index -> claim.getChunkKeys().forEach(index::remove));
+    }
+    
+    /**
+     * Removes one chunk from the index.
+     *
+     * @param world The name of the world
+     * @param key The packed chunk key
+     */
+    private void unindexChunk(String world, long key) {
+    	if (!listClaims.containsKey(world)) return;
+    	updateIndex(world, index -> index.remove(key));
+    }
+    
+    /**
+     * Gets all the claims having at least one chunk inside a rectangle of chunks.
+     *
+     * @param world The name of the world
+     * @param minX The minimum chunk X coordinate (inclusive)
+     * @param minZ The minimum chunk Z coordinate (inclusive)
+     * @param maxX The maximum chunk X coordinate (inclusive)
+     * @param maxZ The maximum chunk Z coordinate (inclusive)
+     * @return The set of claims intersecting the rectangle
+     */
+    public Set<Claim> getClaimsInRectangle(String world, int minX, int minZ, int maxX, int maxZ) {
+    	WorldClaimIndex index = listClaims.get(world);
+    	return index == null ? new CustomSet<>() : index.getGrid().getClaimsIn(minX, minZ, maxX, maxZ);
+    }
+    
+    /**
+     * Checks if a rectangle of chunks contains a chunk claimed by someone else.
+     *
+     * @param world The name of the world
+     * @param minX The minimum chunk X coordinate (inclusive)
+     * @param minZ The minimum chunk Z coordinate (inclusive)
+     * @param maxX The maximum chunk X coordinate (inclusive)
+     * @param maxZ The maximum chunk Z coordinate (inclusive)
+     * @param owner The owner whose claims are ignored, or null to match any claim
+     * @return True if a foreign claim is found
+     */
+    public boolean hasForeignClaimInRectangle(String world, int minX, int minZ, int maxX, int maxZ, String owner) {
+    	WorldClaimIndex index = listClaims.get(world);
+    	return index != null && index.getGrid().hasForeignClaim(minX, minZ, maxX, maxZ, owner);
     }
     
     /**
@@ -276,10 +502,7 @@ public class ClaimMain {
      * @return The claim associated with the name, or null if none exists
      */
     public Claim getClaimByName(String name, Player owner) {
-        return playerClaims.getOrDefault(owner.getUniqueId(), new CustomSet<>()).stream()
-                .filter(claim -> claim.getName().equalsIgnoreCase(name))
-                .findFirst()
-                .orElse(null);
+        return getClaimByName(name, owner.getUniqueId());
     }
     
     /**
@@ -290,10 +513,8 @@ public class ClaimMain {
      * @return The claim associated with the name, or null if none exists
      */
     public Claim getClaimByName(String name, UUID ownerUUID) {
-        return playerClaims.getOrDefault(ownerUUID, new CustomSet<>()).stream()
-                .filter(claim -> claim.getName().equalsIgnoreCase(name))
-                .findFirst()
-                .orElse(null);
+        ClaimCatalog catalog = playerClaims.get(ownerUUID);
+        return catalog == null ? null : catalog.getByName(name);
     }
     
     /**
@@ -303,10 +524,7 @@ public class ClaimMain {
      * @return The claim associated with the name, or null if none exists
      */
     public Claim getProtectedAreaByName(String name) {
-    	return playerClaims.getOrDefault(SERVER_UUID, new CustomSet<>()).stream()
-    			.filter(claim -> claim.getName().equalsIgnoreCase(name))
-    			.findFirst()
-    			.orElse(null);
+    	return getClaimByName(name, SERVER_UUID);
     }
     
     /**
@@ -315,7 +533,7 @@ public class ClaimMain {
      * @return The set of claim of protected areas.
      */
     public CustomSet<Claim> getProtectedAreas(){
-    	return playerClaims.getOrDefault(SERVER_UUID, new CustomSet<>());
+    	return getPlayerClaims(SERVER_UUID);
     }
     
     /**
@@ -325,23 +543,59 @@ public class ClaimMain {
      * @return A set of chunks
      */
     public CustomSet<Chunk> getAllChunksFromAllClaims(String owner) {
-        return listClaims.entrySet()
-                .stream()
-                .filter(entry -> entry.getValue().getOwner().equals(owner))
-                .map(Map.Entry::getKey)
+        return getPlayerClaims(owner).stream()
+                .flatMap(claim -> claim.getChunks().stream())
                 .collect(Collectors.toCollection(CustomSet::new));
     }
     
+    /**
+     * Gets the number of chunks of all claims of a player, without loading them
+     * 
+     * @param owner The name of the owner of claims
+     * @return The number of chunks
+     */
+    public int getAllChunksCountFromAllClaims(String owner) {
+    	int count = 0;
+    	for (Claim claim : getPlayerClaims(owner)) {
+    		count += claim.getChunksCount();
+    	}
+    	return count;
+    }
+    
+    /**
+     * Gets the number of chunks of all claims of a player, without loading them
+     * 
+     * @param uuid The uuid of the owner of claims
+     * @return The number of chunks
+     */
+    public int getAllChunksCountFromAllClaims(UUID uuid) {
+    	ClaimCatalog catalog = playerClaims.get(uuid);
+    	if (catalog == null) return 0;
+    	int count = 0;
+    	for (Claim claim : catalog.getClaims()) {
+    		count += claim.getChunksCount();
+    	}
+    	return count;
+    }
+    
+    /**
+     * Updates the chunks count of the placeholders of an owner, if online, after their claims changed.
+     * 
+     * @param uuid The uuid of the owner
+     */
+    private void updatePlaceholders(UUID uuid) {
+    	CPlayer cPlayer = instance.getPlayerMain().getCPlayer(uuid);
+    	if (cPlayer != null) cPlayer.getPlaceholders().setChunksCount(getAllChunksCountFromAllClaims(uuid));
+    }
+    
     /**
      * Gets all chunks of all protected areas
      * 
      * @return A set of chunks
      */
     public CustomSet<Chunk> getAllChunksFromAllProtectedAreas() {
-        return listClaims.entrySet()
-                .stream()
-                .filter(entry -> entry.getValue().getUUID().equals(SERVER_UUID))
-                .map(Map.Entry::getKey)
+        return getProtectedAreas().stream()
+                .flatMap(claim -> claim.getChunks().stream())
                 .collect(Collectors.toCollection(CustomSet::new));
     }
     
@@ -352,7 +606,9 @@ public class ClaimMain {
      * @return A set of claims in sale
      */
     public CustomSet<Claim> getClaimsInSale(String owner) {
-        return listClaims.values()
+        ClaimCatalog catalog = getCatalog(owner);
+        if (catalog == null) return new CustomSet<>();
+        return catalog.getClaims()
                 .stream()
                 .filter(claim -> claim.getOwner().equals(owner) && claim.getSale())
                 .collect(Collectors.toCollection(CustomSet::new));
@@ -365,20 +621,19 @@ public class ClaimMain {
      * @return A list of claims belonging to the specified owner.
      */
     public CustomSet<Claim> getPlayerClaims(String owner) {
-        return listClaims.values()
-                         .stream()
-                         .filter(claim -> claim.getOwner().equalsIgnoreCase(owner))
-                         .collect(Collectors.toCollection(CustomSet::new));
+        ClaimCatalog catalog = getCatalog(owner);
+        return catalog == null ? new CustomSet<>() : new CustomSet<>(catalog.getClaims());
     }
     
     /**
      * Gets the list of claims for the specified owner.
      *
      * @param targetUUID The owner's uuid of the claims.
-     * @return A list of claims belonging to the specified owner.
+     * @return A copy of the claims belonging to the specified owner.
      */
     public CustomSet<Claim> getPlayerClaims(UUID targetUUID) {
-        return playerClaims.getOrDefault(targetUUID, new CustomSet<>());
+        ClaimCatalog catalog = playerClaims.get(targetUUID);
+        return catalog == null ? new CustomSet<>() : new CustomSet<>(catalog.getClaims());
     }
     
     /**
@@ -388,7 +643,133 @@ public class ClaimMain {
      * @param claims The set of new claims
      */
     public void setPlayerClaims(UUID targetUUID, CustomSet<Claim> claims) {
-    	playerClaims.put(targetUUID, claims);
+    	List<Claim> newClaims = new ArrayList<>(claims);
+    	synchronized (indexLock) {
+	    	removeCatalog(targetUUID);
+	    	registerClaims(newClaims);
+    	}
+    }
+    
+    /**
+     * Gets the claims catalog of an owner by their name.
+     *
+     * @param owner The name of the owner, "*" for protected areas
+     * @return The catalog, or null if the owner has no claim
+     */
+    private ClaimCatalog getCatalog(String owner) {
+    	UUID uuid = owner.equals("*") ? SERVER_UUID : ownersByName.get(owner.toLowerCase());
+    	return uuid == null ? null : playerClaims.get(uuid);
+    }
+    
+    /**
+     * Adds a claim to the catalog of its owner.
+     *
+     * @param claim The claim to register
+     */
+    private void registerClaim(Claim claim) {
+    	synchronized (indexLock) {
+	    	playerClaims.computeIfAbsent(claim.getUUID(), k -> new ClaimCatalog()).add(claim);
+	    	ownersByName.put(claim.getOwner().toLowerCase(), claim.getUUID());
+    	}
+    	updatePlaceholders(claim.getUUID());
+    }
+    
+    /**
+     * Adds a new claim to the catalog of its owner, deletions and merges of the claim
+     * wait for its insert until {@link #insertClaimIntoDatabase(Claim)} is done.
+     *
+     * @param claim The new claim to register
+     */
+    private void registerNewClaim(Claim claim) {
+    	pendingInserts.put(claim, new CompletableFuture<>());
+    	registerClaim(claim);
+    }
+    
+    /**
+     * Waits for the inserts of new claims still being written, so their storage ids are known.
+     *
+     * @param claims The claims
+     */
+    private void awaitInserts(Collection<Claim> claims) {
+    	for (Claim claim : claims) {
+    		CompletableFuture<Void> insert = pendingInserts.get(claim);
+    		if (insert == null) continue;
+    		try {
+    			insert.get(INSERT_TIMEOUT, TimeUnit.SECONDS);
+    		} catch (InterruptedException e) {
+    			Thread.currentThread().interrupt();
+    			return;
+    		} catch (ExecutionException | TimeoutException e) {
+    			instance.getLogger().warning("The claim " + claim.getName() + " of " + claim.getOwner() + " is still not stored.");
+    		}
+    	}
+    }
+    
+    /**
+     * Adds claims to the catalogs of their owners, publishing each catalog once.
+     *
+     * @param claims The claims to register
+     */
+    private void registerClaims(Collection<Claim> claims) {
+    	Map<UUID,List<Claim>> byOwner = new LinkedHashMap<>();
+    	for (Claim claim : claims) {
+    		byOwner.computeIfAbsent(claim.getUUID(), k -> new ArrayList<>()).add(claim);
+    	}
+    	synchronized (indexLock) {
+    		byOwner.forEach((uuid, owned) -> {
+    			playerClaims.computeIfAbsent(uuid, k -> new ClaimCatalog()).addAll(owned);
+    			owned.forEach(claim -> ownersByName.put(claim.getOwner().toLowerCase(), uuid));
+    		});
+    	}
+    	byOwner.keySet().forEach(this::updatePlaceholders);
+    }
+    
+    /**
+     * Removes a claim from the catalog of an owner.
+     *
+     * @param uuid The uuid of the owner
+     * @param claim The claim to unregister
+     */
+    private void unregisterClaim(UUID uuid, Claim claim) {
+    	synchronized (indexLock) {
+	    	ClaimCatalog catalog = playerClaims.get(uuid);
+	    	if (catalog == null) return;
+	    	catalog.remove(claim);
+	    	if (catalog.isEmpty()) {
+	    		playerClaims.remove(uuid);
+	    		ownersByName.remove(claim.getOwner().toLowerCase(), uuid);
+	    	}
+    	}
+    	updatePlaceholders(uuid);
+    }
+    
+    /**
+     * Removes the whole catalog of an owner.
+     *
+     * @param uuid The uuid of the owner
+     */
+    private void removeCatalog(UUID uuid) {
+    	synchronized (indexLock) {
+    		if (playerClaims.remove(uuid) != null) ownersByName.values().removeIf(uuid::equals);
+    	}
+    	updatePlaceholders(uuid);
+    }
+    
+    /**
+     * Renames a claim, keeping the name index of its owner in sync.
+     *
+     * @param claim The claim
+     * @param name The new name
+     */
+    private void renameClaim(Claim claim, String name) {
+    	synchronized (indexLock) {
+	    	ClaimCatalog catalog = playerClaims.get(claim.getUUID());
+	    	if (catalog == null) {
+	    		claim.setName(name);
+	    	} else {
+	    		catalog.rename(claim, name);
+	    	}
+    	}
     }
 
     /**
@@ -398,7 +779,7 @@ public class ClaimMain {
      * @return the claim, or null if no claim exists for the chunk
      */
     public Claim getClaimFromChunk(Chunk chunk) {
-        return listClaims.get(chunk);
+        return getClaim(chunk);
     }
     
     /**
@@ -408,9 +789,10 @@ public class ClaimMain {
      * @return the set of chunk information strings, or an empty set if no chunks are present
      */
     public CustomSet<String> getStringChunkFromClaim(Claim claim) {
-        return claim.getChunks().stream()
-                .map(chunk -> chunk.getWorld().getName() + ";" + chunk.getX() + ";" + chunk.getZ())
-                .collect(Collectors.toCollection(CustomSet::new));
+    	CustomSet<String> result = new CustomSet<>();
+    	String world = claim.getWorldName();
+    	claim.getChunkKeys().forEach(key -> result.add(world + ";" + ChunkKey.getX(key) + ";" + ChunkKey.getZ(key)));
+        return result;
     }
 
     /**
@@ -420,7 +802,8 @@ public class ClaimMain {
      * @return the number of claims the player has
      */
     public int getPlayerClaimsCount(UUID targetUUID) {
-        return playerClaims.getOrDefault(targetUUID, new CustomSet<>()).size();
+        ClaimCatalog catalog = playerClaims.get(targetUUID);
+        return catalog == null ? 0 : catalog.size();
     }
 
     /**
@@ -430,9 +813,9 @@ public class ClaimMain {
      */
     public Map<String, Integer> getClaimsOwnersGui() {
     	Map<String,Integer> players = new HashMap<>();
-    	playerClaims.keySet().stream().forEach(UUID -> {
-    		if(!UUID.equals(SERVER_UUID)) {
-    			players.put(instance.getPlayerMain().getPlayerName(UUID), playerClaims.get(UUID).size());
+    	playerClaims.forEach((uuid, catalog) -> {
+    		if(!uuid.equals(SERVER_UUID)) {
+    			players.put(instance.getPlayerMain().getPlayerName(uuid), catalog.size());
     		}
     	});
         return players;
@@ -446,6 +829,7 @@ public class ClaimMain {
     public CustomSet<String> getClaimsOwners() {
         return playerClaims.values()
                 .stream()
+                .map(ClaimCatalog::getClaims)
                 .filter(claims -> !claims.isEmpty())
                 .map(claims -> claims.iterator().next().getOwner())
                 .collect(Collectors.toCollection(CustomSet::new));
@@ -457,17 +841,32 @@ public class ClaimMain {
      * @return a set of all claimed chunks
      */
     public CustomSet<Chunk> getAllClaimsChunk() {
-        return listClaims.keySet().stream()
+        return getAllClaims().stream()
+        		.flatMap(claim -> claim.getChunks().stream())
                 .collect(Collectors.toCollection(CustomSet::new));
     }
     
+    /**
+     * Gets the number of claimed chunks, without loading them.
+     *
+     * @return the number of claimed chunks
+     */
+    public int getAllClaimsChunkCount() {
+    	int count = 0;
+    	for (WorldClaimIndex index : listClaims.values()) {
+    		count += index.size();
+    	}
+    	return count;
+    }
+    
     /**
      * Gets all claims.
      *
      * @return a set of all claims
      */
     public CustomSet<Claim> getAllClaims() {
-        return listClaims.values().stream()
+        return playerClaims.values().stream()
+        		.flatMap(catalog -> catalog.getClaims().stream())
                 .collect(Collectors.toCollection(CustomSet::new));
     }
     
@@ -477,7 +876,11 @@ public class ClaimMain {
      * @return an integer of the total claims count
      */
     public int getAllClaimsCount() {
-    	return listClaims.values().size();
+    	int count = 0;
+    	for (ClaimCatalog catalog : playerClaims.values()) {
+    		count += catalog.size();
+    	}
+    	return count;
     }
     
     /**
@@ -486,7 +889,7 @@ public class ClaimMain {
      * @return an integer of the protected areas claims count
      */
     public int getProtectedAreasCount() {
-    	return playerClaims.getOrDefault(SERVER_UUID,new CustomSet<>()).size();
+    	return getPlayerClaimsCount(SERVER_UUID);
     }
 
     /**
@@ -496,7 +899,8 @@ public class ClaimMain {
      * @return a set of all members of the owner's claims
      */
     public CustomSet<String> getAllMembersOfAllPlayerClaim(String owner) {
-        return listClaims.values().stream()
+        return playerClaims.values().stream()
+        		.flatMap(catalog -> catalog.getClaims().stream())
                 .filter(claim -> claim.getOwner().equals(owner))
                 .flatMap(claim -> claim.getMembers().stream())
                 .map(uuid -> instance.getPlayerMain().getPlayerName(uuid))
@@ -510,7 +914,7 @@ public class ClaimMain {
      */
     public Map<String, Integer> getClaimsOnlineOwners() {
         return playerClaims.values().stream()
-                .flatMap(Set::stream) 
+                .flatMap(catalog -> catalog.getClaims().stream()) 
                 .filter(claim -> {
                     Player player = Bukkit.getPlayer(claim.getOwner());
                     return player != null && player.isOnline() && !claim.getUUID().equals(SERVER_UUID);
@@ -532,13 +936,13 @@ public class ClaimMain {
         return playerClaims.entrySet()
                 .stream()
                 .filter(entry -> !entry.getKey().equals(SERVER_UUID))
-                .filter(entry -> entry.getValue().stream().anyMatch(Claim::getSale))
+                .filter(entry -> entry.getValue().getClaims().stream().anyMatch(Claim::getSale))
                 .collect(Collectors.toMap(
                         entry -> {
-                            CustomSet<Claim> claims = entry.getValue();
+                            CustomSet<Claim> claims = entry.getValue().getClaims();
                             return claims.isEmpty() ? "Unknown" : claims.iterator().next().getOwner();
                         }, 
-                        entry -> (int) entry.getValue().stream().filter(Claim::getSale).count(),
+                        entry -> (int) entry.getValue().getClaims().stream().filter(Claim::getSale).count(),
                         (oldValue, newValue) -> oldValue
                 ));
     }
@@ -550,7 +954,7 @@ public class ClaimMain {
      */
     public Map<String, Integer> getClaimsOfflineOwners() {
         return playerClaims.values().stream()
-                .flatMap(Set::stream)
+                .flatMap(catalog -> catalog.getClaims().stream())
                 .filter(claim -> {
                     Player player = Bukkit.getPlayer(claim.getOwner());
                     return player == null && !claim.getUUID().equals(SERVER_UUID);
@@ -572,9 +976,9 @@ public class ClaimMain {
     public CustomSet<Claim> getClaimsWhereMemberNotOwner(Player player) {
     	UUID playerId = player.getUniqueId();
     	String playerName = player.getName();
-        return listClaims.entrySet().stream()
-                .filter(entry -> !entry.getValue().getOwner().equals(playerName) && entry.getValue().getMembers().contains(playerId))
-                .map(Map.Entry::getValue)
+        return playerClaims.values().stream()
+        		.flatMap(catalog -> catalog.getClaims().stream())
+                .filter(claim -> !claim.getOwner().equals(playerName) && claim.getMembers().contains(playerId))
                 .collect(Collectors.toCollection(CustomSet::new));
     }
 
@@ -585,9 +989,10 @@ public class ClaimMain {
      * @return a set of claim names owned by the owner
      */
     public CustomSet<String> getClaimsNameFromOwner(String owner) {
-        return listClaims.entrySet().stream()
-                .filter(entry -> entry.getValue().getOwner().equalsIgnoreCase(owner))
-                .map(entry -> entry.getValue().getName())
+        ClaimCatalog catalog = getCatalog(owner);
+        if (catalog == null) return new CustomSet<>();
+        return catalog.getClaims().stream()
+                .map(Claim::getName)
                 .collect(Collectors.toCollection(CustomSet::new));
     }
 
@@ -598,9 +1003,11 @@ public class ClaimMain {
      * @return a set of claim names in sale owned by the owner
      */
     public CustomSet<String> getClaimsNameInSaleFromOwner(String owner) {
-        return listClaims.entrySet().stream()
-                .filter(entry -> entry.getValue().getOwner().equalsIgnoreCase(owner) && entry.getValue().getSale())
-                .map(entry -> entry.getValue().getName())
+        ClaimCatalog catalog = getCatalog(owner);
+        if (catalog == null) return new CustomSet<>();
+        return catalog.getClaims().stream()
+                .filter(Claim::getSale)
+                .map(Claim::getName)
                 .collect(Collectors.toCollection(CustomSet::new));
     }
 
@@ -611,7 +1018,8 @@ public class ClaimMain {
      * @return a list of all members in claim chat mode for the player
      */
     public List<String> getAllMembersWithPlayerParallel(String playerName) {
-        return listClaims.values().stream()
+        return playerClaims.values().stream()
+        		.flatMap(catalog -> catalog.getClaims().stream())
                 .filter(claim -> claim.getMembers().contains(instance.getPlayerMain().getPlayerUUID(playerName)))
                 .flatMap(claim -> claim.getMembers().stream())
                 .map(uuid -> instance.getPlayerMain().getPlayerName(uuid))
@@ -822,8 +1230,8 @@ public class ClaimMain {
      * @return true if the name is already used, false otherwise
      */
     public boolean checkName(UUID ownerId, String name) {
-        return playerClaims.getOrDefault(ownerId, new CustomSet<>()).stream()
-                .noneMatch(claim -> claim.getName().toLowerCase().equals(name.toLowerCase()));
+        ClaimCatalog catalog = playerClaims.get(ownerId);
+        return catalog == null || !catalog.hasName(name);
     }
 
     /**
@@ -833,7 +1241,7 @@ public class ClaimMain {
      * @return the claim name
      */
     public String getClaimNameByChunk(Chunk chunk) {
-        Claim claim = listClaims.getOrDefault(chunk, null);
+        Claim claim = getClaim(chunk);
         return claim == null ? "" : claim.getName();
     }
 
@@ -859,11 +1267,8 @@ public class ClaimMain {
      * @return the next available ID
      */
     public int findFreeId(UUID targetUUID) {
-        return playerClaims.getOrDefault(targetUUID, new CustomSet<>())
-                .stream()
-                .mapToInt(Claim::getId)
-                .max()
-                .orElse(-1) + 1;
+        ClaimCatalog catalog = playerClaims.get(targetUUID);
+        return catalog == null ? 0 : catalog.nextId();
     }
     
     /**
@@ -872,11 +1277,7 @@ public class ClaimMain {
      * @return the next available ID
      */
     public int findFreeIdProtectedArea() {
-        return playerClaims.getOrDefault(SERVER_UUID, new CustomSet<>())
-                .stream()
-                .mapToInt(Claim::getId)
-                .max()
-                .orElse(-1) + 1;
+        return findFreeId(SERVER_UUID);
     }
     
     /**
@@ -962,6 +1363,37 @@ public class ClaimMain {
         return sb.toString();
     }
     
+    /**
+     * Class for a claim row read by the loader, parsed into a claim by a worker
+     */
+    private static class ClaimRow {
+    	int storageId;
+    	int id;
+    	String ownerUUID;
+    	String ownerName;
+    	String claimName;
+    	String description;
+    	World world;
+    	String location;
+    	String permissions;
+    	boolean sale;
+    	double price;
+    	
+    	public ClaimRow(int storageId, int id, String ownerUUID, String ownerName, String claimName, String description, World world, String location, String permissions, boolean sale, double price) {
+    		this.storageId = storageId;
+    		this.id = id;
+    		this.ownerUUID = ownerUUID;
+    		this.ownerName = ownerName;
+    		this.claimName = claimName;
+    		this.description = description;
+    		this.world = world;
+    		this.location = location;
+    		this.permissions = permissions;
+    		this.sale = sale;
+    		this.price = price;
+    	}
+    }
+    
     /**
      * Class for converting claim
      */
@@ -1330,7 +1762,7 @@ public class ClaimMain {
      * Imports the claims from GriefPrevention
      */
     public void importFromGriefPrevention(CommandSender sender) {
-    	instance.executeAsync(() -> {
+    	instance.getIOExecutor().execute(() -> {
     		int[] i = {0};
     		for (me.ryanhamshire.GriefPrevention.Claim claim : GriefPrevention.instance.dataStore.getClaims()) {
         		// Get data of the claim
@@ -1350,7 +1782,7 @@ public class ClaimMain {
         		Chunk last_chunk = null;
         		for(Chunk c : chunks) {
         			last_chunk = c;
-        			if(listClaims.containsKey(c)) {
+        			if(checkIfClaimExists(c)) {
         				check = true;
         			}
         		}
@@ -1361,27 +1793,18 @@ public class ClaimMain {
         		Location loc = getCenterLocationOfChunk(last_chunk);
         		String world = last_chunk.getWorld().getName();
                 
-                String chunksData = serializeChunks(chunks);
+                ChunkKeySet chunkKeys = new ChunkKeySet(chunks.size());
+                chunks.forEach(c -> chunkKeys.add(ChunkKey.of(c)));
                 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection();
-                        PreparedStatement stmt = connection.prepareStatement(
-                                "INSERT INTO scs_claims_1 (id_claim, owner_uuid, owner_name, claim_name, claim_description, chunks, world_name, location, members, permissions) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
-                       stmt.setInt(1, id);
-                   	   stmt.setString(2, uuid);
-                       stmt.setString(3, owner);
-                       stmt.setString(4, claim_name);
-                       stmt.setString(5, instance.getLanguage().getMessage("default-description"));
-                       stmt.setString(6, chunksData);
-                       stmt.setString(7, world);
-                       stmt.setString(8, getLocationString(loc));
-                       stmt.setString(9, owner);
-                       stmt.setString(10, instance.getSettings().getDefaultValuesCode("all"));
-                       stmt.executeUpdate();
-                       i[0]++;
-                   } catch (SQLException e) {
-                       e.printStackTrace();
-                   }
+                instance.getSnapshot().unseal();
+                boolean written = instance.getWriter().write(connection -> {
+            		int storageId = insertClaimRow(connection, id, uuid, owner, claim_name, instance.getLanguage().getMessage("default-description"),
+            				world, getLocationString(loc), instance.getSettings().getDefaultValuesCode("all"), false, 0.0);
+            		insertClaimChunks(connection, storageId, world, chunkKeys);
+            		insertClaimPlayers(connection, "scs_claim_members", "member_uuid", storageId, List.of(trueUUID));
+                });
+                if (written) i[0]++;
         	}
     		instance.executeSync(() -> {
     			sender.sendMessage(getNumberSeparate(String.valueOf(i[0]))+" imported claims, reloading..");
@@ -1392,30 +1815,77 @@ public class ClaimMain {
 
     /**
      * Transfers local claims database to a distant database.
+     * <p>
+     * Claims of the normalized schema are inserted with their chunks, members and bans under new
+     * row ids. Rows left in scs_claims_1 are copied as they are, they are moved into the new schema
+     * by the reload.
      */
     public void transferClaims() {
-    	instance.executeAsync(() -> {;
+    	instance.getIOExecutor().execute(() -> {
             HikariConfig localConfig = new HikariConfig();
             localConfig.setJdbcUrl("jdbc:sqlite:plugins/SimpleClaimSystem/storage.db");
             localConfig.setDriverClassName("org.sqlite.JDBC");
+            instance.getSnapshot().unseal();
             try (HikariDataSource localDataSource = new HikariDataSource(localConfig);
                  Connection localConn = localDataSource.getConnection();
-                 PreparedStatement selectStmt = localConn.prepareStatement("SELECT * FROM scs_claims_1");
-                 ResultSet rs = selectStmt.executeQuery();
-                 Connection remoteConn = instance.getDataSource().getConnection();
-                 PreparedStatement insertStmt = remoteConn.prepareStatement(
-                         "INSERT INTO scs_claims_1 (id_claim, owner_uuid, owner_name, claim_name, claim_description, chunks, world_name, location, members, permissions, for_sale, sale_price) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
-                 )) {
+                 Connection remoteConn = instance.getDataSource().getConnection()) {
 
                 int count = 0;
-                while (rs.next()) {
-                    for (int i = 1; i <= 12; i++) {
-                        insertStmt.setObject(i, rs.getObject(i));
-                    }
-                    insertStmt.addBatch();
-                    count++;
+                remoteConn.setAutoCommit(false);
+                try {
+                	// Old rows, not converted yet
+                	DatabaseMetaData metaData = localConn.getMetaData();
+                	try (ResultSet tables = metaData.getTables(null, null, "scs_claims_1", new String[]{"TABLE"})) {
+                		if (tables.next()) {
+                			try (PreparedStatement selectStmt = localConn.prepareStatement("SELECT * FROM scs_claims_1");
+                					ResultSet rs = selectStmt.executeQuery();
+                					PreparedStatement insertStmt = remoteConn.prepareStatement(
+                							"INSERT INTO scs_claims_1 (id_claim, owner_uuid, owner_name, claim_name, claim_description, chunks, world_name, location, members, permissions, for_sale, sale_price, bans) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                				String[] columns = {"id_claim", "owner_uuid", "owner_name", "claim_name", "claim_description", "chunks", "world_name", "location", "members", "permissions", "for_sale", "sale_price", "bans"};
+                				while (rs.next()) {
+                					for (int i = 0; i < columns.length; i++) {
+                						insertStmt.setObject(i + 1, rs.getObject(columns[i]));
+                					}
+                					insertStmt.addBatch();
+                					count++;
+                				}
+                				insertStmt.executeBatch();
+                			}
+                		}
+                	}
+                	
+                	// Claims of the normalized schema
+                	try (ResultSet tables = metaData.getTables(null, null, "scs_claims_2", new String[]{"TABLE"})) {
+                		if (tables.next()) {
+                			Map<Integer,ChunkKeySet> claimsChunks = new HashMap<>();
+                			try (PreparedStatement selectStmt = localConn.prepareStatement("SELECT claim_id, x, z FROM scs_claim_chunks");
+                					ResultSet rs = selectStmt.executeQuery()) {
+                				while (rs.next()) {
+                					claimsChunks.computeIfAbsent(rs.getInt(1), k -> new ChunkKeySet()).add(ChunkKey.of(rs.getInt(2), rs.getInt(3)));
+                				}
+                			}
+                			Map<Integer,CustomSet<UUID>> claimsMembers = loadClaimPlayers(localConn, "scs_claim_members", "member_uuid");
+                			Map<Integer,CustomSet<UUID>> claimsBans = loadClaimPlayers(localConn, "scs_claim_bans", "banned_uuid");
+                			try (PreparedStatement selectStmt = localConn.prepareStatement("SELECT * FROM scs_claims_2");
+                					ResultSet rs = selectStmt.executeQuery()) {
+                				while (rs.next()) {
+                					int localId = rs.getInt("id");
+                					String world = rs.getString("world_name");
+                					int storageId = insertClaimRow(remoteConn, rs.getInt("id_claim"), rs.getString("owner_uuid"), rs.getString("owner_name"), rs.getString("claim_name"),
+                							rs.getString("claim_description"), world, rs.getString("location"), rs.getString("permissions"), rs.getBoolean("for_sale"), rs.getDouble("sale_price"));
+                					insertClaimChunks(remoteConn, storageId, world, claimsChunks.getOrDefault(localId, new ChunkKeySet()));
+                					insertClaimPlayers(remoteConn, "scs_claim_members", "member_uuid", storageId, claimsMembers.getOrDefault(localId, new CustomSet<>()));
+                					insertClaimPlayers(remoteConn, "scs_claim_bans", "banned_uuid", storageId, claimsBans.getOrDefault(localId, new CustomSet<>()));
+                					count++;
+                				}
+                			}
+                		}
+                	}
+                	remoteConn.commit();
+                } catch (SQLException e) {
+                	remoteConn.rollback();
+                	throw e;
                 }
-                insertStmt.executeBatch();
                 instance.getLogger().info(getNumberSeparate(String.valueOf(count)) + " claims transferred.");
                 instance.getLogger().info("Safe reloading..");
                 instance.executeSync(() -> Bukkit.dispatchCommand(Bukkit.getConsoleSender(), "scs reload"));
@@ -1426,425 +1896,665 @@ public class ClaimMain {
     }
     
     /**
-     * Serializes a set of chunks into a Base64 encoded string.
-     *
-     * @param chunks The set of chunks to serialize.
-     * @return A Base64 encoded string representing the serialized chunks, or null if an error occurs.
+     * Moves the claims of the scs_claims_1 table into the normalized schema.
+     * <p>
+     * Each row is inserted into scs_claims_2, with its chunks, members and bans in their own tables,
+     * and removed from scs_claims_1, all in one write of the database writer. It runs at every start,
+     * so rows written by the legacy converters or by a transfer are moved as well. Members and bans
+     * stored by name are resolved to their uuid before the write is queued, since a name lookup may block.
      */
-    private String serializeChunks(Set<Chunk> chunks) {
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-                ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
-            for (Chunk chunk : chunks) {
-                objectOutputStream.writeInt(chunk.getX());
-                objectOutputStream.writeInt(chunk.getZ());
-            }
-            objectOutputStream.flush();
-            String encoded = Base64.getEncoder().encodeToString(byteArrayOutputStream.toByteArray());
-            return encoded;
-        } catch (Exception e) {
+    public void convertToNormalizedSchema() {
+    	List<ClaimData> claims = new ArrayList<>();
+    	List<Integer> rowIds = new ArrayList<>();
+    	Set<String> names = new HashSet<>();
+        try (Connection connection = instance.getDataSource().getConnection();
+        		PreparedStatement selectStmt = connection.prepareStatement("SELECT * FROM scs_claims_1");
+        		ResultSet rs = selectStmt.executeQuery()) {
+        	while (rs.next()) {
+        		String owner_uuid = rs.getString("owner_uuid");
+        		if (owner_uuid.equals("none") || owner_uuid.equals("aucun")) owner_uuid = SERVER_UUID.toString();
+        		ClaimData claim = new ClaimData(rs.getInt("id_claim"), owner_uuid, rs.getString("owner_name"), rs.getString("claim_name"),
+        				rs.getString("claim_description"), rs.getString("chunks"), rs.getString("world_name"), rs.getString("location"),
+        				rs.getString("members"), rs.getString("permissions"), rs.getBoolean("for_sale"), rs.getDouble("sale_price"), rs.getString("bans"));
+        		collectPlayerNames(claim.members, names);
+        		collectPlayerNames(claim.bans, names);
+        		claims.add(claim);
+        		rowIds.add(rs.getInt("id"));
+        	}
+        } catch (SQLException e) {
             e.printStackTrace();
-            return null;
-        }
-    }
-
-    /**
-     * Loads claims from the database.
-     */
-    public void loadClaims() {
-    	instance.info(" ");
-    	instance.info(net.md_5.bungee.api.ChatColor.DARK_GREEN + "Loading claims..");
-    	
-    	StringBuilder natural = new StringBuilder();
-    	StringBuilder visitors = new StringBuilder();
-    	StringBuilder members_ = new StringBuilder();
-
-        for (String key : instance.getSettings().getDefaultValues().get("natural").keySet()) {
-            if (instance.getSettings().getDefaultValues().get("natural").get(key)) {
-                natural.append("1");
-                continue;
-            }
-            natural.append("0");
-        }
-        
-        for (String key : instance.getSettings().getDefaultValues().get("visitors").keySet()) {
-            if (instance.getSettings().getDefaultValues().get("visitors").get(key)) {
-                visitors.append("1");
-                continue;
-            }
-            visitors.append("0");
+            return;
         }
+        if (claims.isEmpty()) return;
+        Map<String,UUID> uuids = resolvePlayerNames(names);
         
-        for (String key : instance.getSettings().getDefaultValues().get("members").keySet()) {
-            if (instance.getSettings().getDefaultValues().get("members").get(key)) {
-                members_.append("1");
-                continue;
+        instance.getSnapshot().unseal();
+        boolean moved = instance.getWriter().write(connection -> {
+            try (PreparedStatement deleteStmt = connection.prepareStatement("DELETE FROM scs_claims_1 WHERE id = ?")) {
+            	for (int i = 0; i < claims.size(); i++) {
+            		ClaimData claim = claims.get(i);
+            		int storageId = insertClaimRow(connection, claim.id, claim.owner_uuid, claim.owner_name, claim.claim_name,
+            				claim.claim_description, claim.world_name, claim.location, claim.permissions, claim.for_sale, claim.sale_price);
+            		insertClaimChunks(connection, storageId, claim.world_name, deserializeChunks(claim.chunks));
+            		insertClaimPlayers(connection, "scs_claim_members", "member_uuid", storageId, parsePlayers(claim.members, uuids));
+            		insertClaimPlayers(connection, "scs_claim_bans", "banned_uuid", storageId, parsePlayers(claim.bans, uuids));
+            		deleteStmt.setInt(1, rowIds.get(i));
+            		deleteStmt.addBatch();
+            	}
+            	deleteStmt.executeBatch();
             }
-            members_.append("0");
+        });
+        if (moved) {
+        	instance.info(net.md_5.bungee.api.ChatColor.DARK_GREEN + getNumberSeparate(String.valueOf(claims.size())) + " claims moved to the new storage schema.");
         }
-        
-        instance.getSettings().setDefaultValuesCode(natural.toString(),"natural");
-        instance.getSettings().setDefaultValuesCode(visitors.toString(),"visitors");
-        instance.getSettings().setDefaultValuesCode(members_.toString(),"members");
-
-        // Checking permissions (for update or new features)
-        try (Connection connection = instance.getDataSource().getConnection()) {
-            connection.setAutoCommit(false); // Start transaction
-            String insertQuery = "UPDATE scs_claims_1 SET permissions = ? WHERE id = ?";
-            String updateQuery = "UPDATE scs_claims_1 SET members = ?, bans = ? WHERE id = ?";
-            try (PreparedStatement preparedStatement = connection.prepareStatement(insertQuery)) {
-            	PreparedStatement preparedStatement2 = connection.prepareStatement(updateQuery);
-                String getQuery = "SELECT * FROM scs_claims_1";
-                try (PreparedStatement stat = connection.prepareStatement(getQuery);
-                     ResultSet resultSet = stat.executeQuery()) {
-
-                    int batchCount = 0;
-                    int batchCount2 = 0;
-
-                    while (resultSet.next()) {
-                    	
-                    	// Get id 
-                    	int id = resultSet.getInt("id");
-                    	
-                        // Check for update
-                        boolean[] isToUpdate = {false};
-                    	
-                    	String[] parts;
-                        // Members data
-                        String s_members = resultSet.getString("members");
-                        CustomSet<UUID> members = new CustomSet<>();
-                        if (!s_members.isBlank()) {
-                            parts = s_members.split(";");
-                            for (String m : parts) {
-                                UUID uuid = null;
-                                try {
-                                    uuid = UUID.fromString(m);
-                                } catch (IllegalArgumentException e) {
-                                    uuid = Bukkit.getOfflinePlayer(m).getUniqueId();
-                                    isToUpdate[0] = true;
-                                }
-                                members.add(uuid);
-                            }
-                        }
-
-                        // Banned players data
-                        String s_bans = resultSet.getString("bans");
-                        CustomSet<UUID> bans = new CustomSet<>();
-                        if (!s_bans.isBlank()) {
-                            parts = s_bans.split(";");
-                            for (String m : parts) {
-                                UUID uuid = null;
-                                try {
-                                    uuid = UUID.fromString(m);
-                                } catch (IllegalArgumentException e) {
-                                    uuid = Bukkit.getOfflinePlayer(m).getUniqueId();
-                                    isToUpdate[0] = true;
-                                }
-                                bans.add(uuid);
-                            }
-                        }
-                        
-                        if(isToUpdate[0]) {
-                        	String members_new = members.stream()
-                                    .map(UUID::toString)
-                                    .collect(Collectors.joining(";"));
-                        	preparedStatement2.setString(1, members_new);
-                        	String bans_new = bans.stream()
-                                    .map(UUID::toString)
-                                    .collect(Collectors.joining(";"));
-                        	preparedStatement2.setString(2, bans_new);
-                        	preparedStatement2.setInt(3, id);
-                        	preparedStatement2.addBatch();
-                        	batchCount2++;
-                        }
-                        
-                        // Check permissions for update
-                        String perms = resultSet.getString("permissions");
-                        parts = perms.split(";");
-                        
-                        // Set into map
-                        Map<String,String> permList = new HashMap<>();
-                        for(String s : parts) {
-                        	String[] parts2 = s.split(":");
-                        	permList.put(parts2[0], parts2[1]);
-                        }
-                        
-                        StringBuilder final_perm = new StringBuilder();
-                        
-                        for (Map.Entry<String, String> entry : permList.entrySet()) {
-                        	String key = entry.getKey();
-                        	String perm = entry.getValue();
-                        	
-                        	int defaultLength = instance.getSettings().getDefaultValuesCode(key).length();
-                        	
-                        	StringBuilder permCompleted = new StringBuilder(perm);
-                        	if (perm.length() != defaultLength) {
-                                int diff = defaultLength - perm.length();
-                                
-                                if (diff < 0) {
-                                    for (int i = 0; i < perm.length() - diff; i++) {
-                                        if (perm.length() + i < defaultLength) {
-                                            permCompleted.append(instance.getSettings().getDefaultValuesCode(key).charAt(perm.length() + i));
-                                        } else {
-                                            break;
-                                        }
-                                    }
-                                } else {
-                                    for (int i = 0; i < diff; i++) {
-                                        if (perm.length() + i < defaultLength) {
-                                            permCompleted.append(instance.getSettings().getDefaultValuesCode(key).charAt(perm.length() + i));
-                                        } else {
-                                            break;
-                                        }
-                                    }
-                                }
-                        	}
-                        	
-                        	if(final_perm.toString().isBlank()) {
-                        		final_perm.append(key+":"+permCompleted.toString());
-                        	} else {
-                        		final_perm.append(";"+key+":"+permCompleted.toString());
-                        	}
-                        	
-                        }
-
-                        String permFinal = final_perm.toString();
-                        preparedStatement.setString(1, permFinal);
-                        preparedStatement.setInt(2, id);
-                        preparedStatement.addBatch();
-                        batchCount++;
-
-                    }
-
-                    if (batchCount2 > 0) {
-                        preparedStatement2.executeBatch();
-                        connection.commit(); // Commit transaction
-                    }
-                    
-                    if (batchCount > 0) {
-                        preparedStatement.executeBatch();
-                        connection.commit(); // Commit transaction
-                    }
-                }
-            } catch (SQLException e) {
-                connection.rollback(); // Rollback transaction in case of error
-                e.printStackTrace();
-            }
+    }
+    
+    /**
+     * Inserts the row of a claim into the scs_claims_2 table.
+     *
+     * @param connection The connection, inside the transaction of the caller
+     * @param idClaim The id of the claim for its owner
+     * @param ownerUUID The uuid of the owner
+     * @param ownerName The name of the owner
+     * @param claimName The name of the claim
+     * @param description The description of the claim
+     * @param worldName The world of the claim
+     * @param location The location string of the claim
+     * @param permissions The permission string of the claim
+     * @param sale Whether the claim is for sale
+     * @param price The sale price
+     * @return The generated id of the row
+     * @throws SQLException If the row cannot be inserted
+     */
+    private int insertClaimRow(Connection connection, int idClaim, String ownerUUID, String ownerName, String claimName, String description,
+    		String worldName, String location, String permissions, boolean sale, double price) throws SQLException {
+    	try (PreparedStatement stmt = connection.prepareStatement(
+    			"INSERT INTO scs_claims_2 (id_claim, owner_uuid, owner_name, claim_name, claim_description, world_name, location, permissions, for_sale, sale_price) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+    			Statement.RETURN_GENERATED_KEYS)) {
+    		stmt.setInt(1, idClaim);
+    		stmt.setString(2, ownerUUID);
+    		stmt.setString(3, ownerName);
+    		stmt.setString(4, claimName);
+    		stmt.setString(5, description);
+    		stmt.setString(6, worldName);
+    		stmt.setString(7, location);
+    		stmt.setString(8, permissions);
+    		stmt.setBoolean(9, sale);
+    		stmt.setDouble(10, price);
+    		stmt.executeUpdate();
+    		try (ResultSet keys = stmt.getGeneratedKeys()) {
+    			if (!keys.next()) throw new SQLException("No id generated for the claim " + claimName);
+    			return keys.getInt(1);
+    		}
+    	}
+    }
+    
+    /**
+     * Inserts the chunks of a claim into the scs_claim_chunks table.
+     * <p>
+     * A chunk belongs to one claim only, a row left for another claim is replaced.
+     *
+     * @param connection The connection, inside the transaction of the caller
+     * @param storageId The id of the row of the claim
+     * @param worldName The world of the claim
+     * @param chunks The packed chunk keys
+     * @throws SQLException If the chunks cannot be inserted
+     */
+    private void insertClaimChunks(Connection connection, int storageId, String worldName, ChunkKeySet chunks) throws SQLException {
+    	if (chunks.isEmpty()) return;
+    	try (PreparedStatement stmt = connection.prepareStatement("REPLACE INTO scs_claim_chunks (claim_id, world_name, x, z) VALUES (?, ?, ?, ?)")) {
+    		for (long key : chunks.toArray()) {
+    			stmt.setInt(1, storageId);
+    			stmt.setString(2, worldName);
+    			stmt.setInt(3, ChunkKey.getX(key));
+    			stmt.setInt(4, ChunkKey.getZ(key));
+    			stmt.addBatch();
+    		}
+    		stmt.executeBatch();
+    	}
+    }
+    
+    /**
+     * Inserts the members or the banned players of a claim.
+     *
+     * @param connection The connection, inside the transaction of the caller
+     * @param table The table, scs_claim_members or scs_claim_bans
+     * @param column The uuid column of the table
+     * @param storageId The id of the row of the claim
+     * @param players The uuids of the players
+     * @throws SQLException If the players cannot be inserted
+     */
+    private void insertClaimPlayers(Connection connection, String table, String column, int storageId, Collection<UUID> players) throws SQLException {
+    	if (players.isEmpty()) return;
+    	try (PreparedStatement stmt = connection.prepareStatement("INSERT INTO " + table + " (claim_id, " + column + ") VALUES (?, ?)")) {
+    		for (UUID player : players) {
+    			stmt.setInt(1, storageId);
+    			stmt.setString(2, player.toString());
+    			stmt.addBatch();
+    		}
+    		stmt.executeBatch();
+    	}
+    }
+    
+    /**
+     * Loads the chunks of all claims, grouped by claim row.
+     *
+     * @param connection The connection
+     * @return The packed chunk keys by id of claim row
+     * @throws SQLException If the table cannot be read
+     */
+    static Map<Integer,ChunkKeySet> loadClaimChunks(Connection connection) throws SQLException {
+    	Map<Integer,ChunkKeySet> chunks = new HashMap<>();
+    	try (PreparedStatement preparedStatement = prepareStreaming(connection, "SELECT claim_id, x, z FROM scs_claim_chunks");
+    			ResultSet resultSet = preparedStatement.executeQuery()) {
+    		while (resultSet.next()) {
+    			chunks.computeIfAbsent(resultSet.getInt(1), k -> new ChunkKeySet()).add(ChunkKey.of(resultSet.getInt(2), resultSet.getInt(3)));
+    		}
+    	}
+    	return chunks;
+    }
+    
+    /**
+     * Loads the members or the banned players of all claims, grouped by claim row.
+     *
+     * @param connection The connection
+     * @param table The table, scs_claim_members or scs_claim_bans
+     * @param column The uuid column of the table
+     * @return The players by id of claim row
+     * @throws SQLException If the table cannot be read
+     */
+    private Map<Integer,CustomSet<UUID>> loadClaimPlayers(Connection connection, String table, String column) throws SQLException {
+    	Map<Integer,CustomSet<UUID>> players = new HashMap<>();
+    	try (PreparedStatement stmt = connection.prepareStatement("SELECT claim_id, " + column + " FROM " + table);
+    			ResultSet rs = stmt.executeQuery()) {
+    		while (rs.next()) {
+    			String m = rs.getString(2);
+    			try {
+    				players.computeIfAbsent(rs.getInt(1), k -> new CustomSet<>()).add(UUID.fromString(m));
+    			} catch (IllegalArgumentException e) {
+    				instance.info("Error when loading uuid:" + m);
+    			}
+    		}
+    	}
+    	return players;
+    }
+    
+    /**
+     * Collects the names of a list of players stored as a string, the uuids are skipped.
+     *
+     * @param players The players, separated by ";"
+     * @param names The set receiving the names
+     */
+    private void collectPlayerNames(String players, Set<String> names) {
+    	if (players == null || players.isBlank()) return;
+    	for (String m : players.split(";")) {
+    		try {
+    			UUID.fromString(m);
+    		} catch (IllegalArgumentException e) {
+    			names.add(m);
+    		}
+    	}
+    }
+    
+    /**
+     * Resolves player names to their uuid.
+     * <p>
+     * The names known by the scs_players table and the server cache are resolved without any
+     * lookup, only the others go through Bukkit, which may query Mojang.
+     *
+     * @param names The names
+     * @return The uuids, by name
+     */
+    private Map<String,UUID> resolvePlayerNames(Set<String> names) {
+    	Map<String,UUID> uuids = new HashMap<>();
+    	if (names.isEmpty()) return uuids;
+    	Map<String,UUID> known = new HashMap<>();
+        try (Connection connection = instance.getDataSource().getConnection();
+        		PreparedStatement stmt = connection.prepareStatement("SELECT uuid_server, player_name FROM scs_players");
+        		ResultSet rs = stmt.executeQuery()) {
+        	while (rs.next()) {
+        		String name = rs.getString("player_name");
+        		if (name == null) continue;
+        		try {
+        			known.put(name.toLowerCase(), UUID.fromString(rs.getString("uuid_server")));
+        		} catch (IllegalArgumentException e) {
+        			// Not a usable row, the name is looked up below
+        		}
+        	}
         } catch (SQLException e) {
             e.printStackTrace();
         }
+    	for (String name : names) {
+    		UUID uuid = known.get(name.toLowerCase());
+    		if (uuid == null) {
+    			OfflinePlayer cached = Bukkit.getOfflinePlayerIfCached(name);
+    			uuid = cached != null ? cached.getUniqueId() : Bukkit.getOfflinePlayer(name).getUniqueId();
+    		}
+    		uuids.put(name, uuid);
+    	}
+    	return uuids;
+    }
+    
+    /**
+     * Parses a list of players stored as a string, names are resolved with the given uuids.
+     *
+     * @param players The players, separated by ";"
+     * @param names The uuids of the names, see {@link #resolvePlayerNames(Set)}
+     * @return The uuids of the players
+     */
+    private Set<UUID> parsePlayers(String players, Map<String,UUID> names) {
+    	Set<UUID> uuids = new LinkedHashSet<>();
+    	if (players == null || players.isBlank()) return uuids;
+    	for (String m : players.split(";")) {
+    		try {
+    			uuids.add(UUID.fromString(m));
+    		} catch (IllegalArgumentException e) {
+    			UUID uuid = names.get(m);
+    			if (uuid != null) uuids.add(uuid);
+    		}
+    	}
+    	return uuids;
+    }
+    
+    /**
+     * Serializes a set of chunks into a Base64 encoded string.
+     *
+     * @param chunks The set of chunks to serialize.
+     * @return A Base64 encoded string representing the serialized chunks, or null if an error occurs.
+     */
+    private String serializeChunks(Set<Chunk> chunks) {
+    	ChunkKeySet keys = new ChunkKeySet(chunks.size());
+    	chunks.forEach(c -> keys.add(ChunkKey.of(c)));
+    	return serializeChunks(keys);
+    }
+    
+    /**
+     * Serializes a set of packed chunk keys into a Base64 encoded string.
+     *
+     * @param chunks The packed chunk keys to serialize.
+     * @return A Base64 encoded string representing the serialized chunks, or null if an error occurs.
+     */
+    private String serializeChunks(ChunkKeySet chunks) {
+        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+                ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
+            for (long key : chunks.toArray()) {
+                objectOutputStream.writeInt(ChunkKey.getX(key));
+                objectOutputStream.writeInt(ChunkKey.getZ(key));
+            }
+            objectOutputStream.flush();
+            String encoded = Base64.getEncoder().encodeToString(byteArrayOutputStream.toByteArray());
+            return encoded;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+    
+    /**
+     * Deserializes a Base64 encoded string into a set of packed chunk keys.
+     *
+     * @param chunksData The Base64 encoded chunks.
+     * @return The packed chunk keys, empty if an error occurs.
+     */
+    private ChunkKeySet deserializeChunks(String chunksData) {
+        ChunkKeySet chunks = new ChunkKeySet();
+        try {
+            byte[] data = Base64.getDecoder().decode(chunksData);
+            try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(data))) {
+                while (true) {
+                    try {
+                        int x = objectInputStream.readInt();
+                        int z = objectInputStream.readInt();
+                        chunks.add(ChunkKey.of(x, z));
+                    } catch (EOFException e) {
+                        break;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return chunks;
+    }
 
-        int[] i = {0};
-        int max_i = 0;
-        int protected_areas_count = 0;
-        Map<String,String> owners = new HashMap<>();
-        try (Connection connection = instance.getDataSource().getConnection()) {
-            String getQuery = "SELECT * FROM scs_claims_1";
-            try (PreparedStatement preparedStatement = connection.prepareStatement(getQuery)) {
-                try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                    while (resultSet.next()) {
-                        max_i++;
-
-                        // General data
-                        String uuid_string = resultSet.getString("owner_uuid");
-                        UUID uuid_owner = (uuid_string.equals("none") || uuid_string.equals("aucun")) ? SERVER_UUID : UUID.fromString(uuid_string);
-                        String permissions = resultSet.getString("permissions");
-                        String name = resultSet.getString("claim_name");
-                        String description = resultSet.getString("claim_description");
-                        int id = resultSet.getInt("id_claim");
-                        String owner = resultSet.getString("owner_name");
-                        if (uuid_owner.equals(SERVER_UUID)) protected_areas_count++;
-
-                        // World data
-                        String world_name = resultSet.getString("world_name");
-                        World check_world = Bukkit.getWorld(world_name);
-                        World world = check_world == null ? Bukkit.createWorld(new WorldCreator(world_name)) : check_world;
-                        if (world == null) continue;
-
-                        // Location data
-                        String[] parts = resultSet.getString("location").split(";");
-                        double L_X = Double.parseDouble(parts[0]);
-                        double L_Y = Double.parseDouble(parts[1]);
-                        double L_Z = Double.parseDouble(parts[2]);
-                        float L_Yaw = (float) Double.parseDouble(parts[3]);
-                        float L_Pitch = (float) Double.parseDouble(parts[4]);
-                        Location location = new Location(world, L_X, L_Y, L_Z, L_Yaw, L_Pitch);
-
-                        // Members data
-                        String s_members = resultSet.getString("members");
-                        CustomSet<UUID> members = new CustomSet<>();
-                        if (!s_members.isBlank()) {
-                            parts = s_members.split(";");
-                            for (String m : parts) {
-                                UUID uuid = null;
-                                try {
-                                    uuid = UUID.fromString(m);
-                                } catch (IllegalArgumentException e) {
-                                	instance.info("Error when loading uuid:" + m);
-                                    continue;
-                                }
-                                members.add(uuid);
-                            }
-                        }
-
-                        // Banned players data
-                        String s_bans = resultSet.getString("bans");
-                        CustomSet<UUID> bans = new CustomSet<>();
-                        if (!s_bans.isBlank()) {
-                            parts = s_bans.split(";");
-                            for (String m : parts) {
-                                UUID uuid = null;
-                                try {
-                                    uuid = UUID.fromString(m);
-                                } catch (IllegalArgumentException e) {
-                                	instance.info("Error when loading uuid:" + m);
-                                    continue;
-                                }
-                                bans.add(uuid);
-                            }
-                        }
-
-                        // Permissions data
-                        Map<String,LinkedHashMap<String, Boolean>> perms = new HashMap<>();
-                        parts = permissions.split(";");
-                        Map<String,String> permList = new HashMap<>();
-                        for(String s : parts) {
-                        	String[] parts2 = s.split(":");
-                        	permList.put(parts2[0], parts2[1]);
-                        }
-                        
-                        for (Map.Entry<String, String> entry : permList.entrySet()) {
-                        	String key = entry.getKey();
-                        	String perm = entry.getValue();
-                            int count_i = 0;
-                            LinkedHashMap<String, Boolean> perm_value = new LinkedHashMap<>();
-                            for (String perm_key : instance.getSettings().getDefaultValues().get(key).keySet()) {
-                                char currentChar = perm.charAt(count_i);
-                                count_i++;
-                                perm_value.put(perm_key, currentChar == '1');
-                            }
-                            perms.put(key, perm_value);
-                        }
-
-                        // Economy data
-                        boolean sale = resultSet.getBoolean("for_sale");
-                        double price = resultSet.getDouble("sale_price");
-
-                        // Chunks data
-                        String chunksData = resultSet.getString("chunks");
-                        Set<Chunk> chunks = ConcurrentHashMap.newKeySet();
-                        i[0]++;
-
-                        Runnable task = () -> {
-                            Claim claim = new Claim(uuid_owner, new CustomSet<>(chunks), owner, new CustomSet<>(members), location, name, description, new LinkedHashMap<>(perms), sale, price, new CustomSet<>(bans), id);
-
-                            // Add chunks
-                            chunks.forEach(c -> listClaims.put(c, claim));
-
-                            // Dynmap
-                            if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().createClaimZone(claim);
-
-                            // Preload chunks
-                            if (instance.getSettings().getBooleanSetting("preload-chunks")) {
-                                if (instance.isFolia()) {
-                                    chunks.forEach(c -> Bukkit.getRegionScheduler().execute(instance, world, c.getX(), c.getZ(), () -> c.load(true)));
-                                } else {
-                                    List<CompletableFuture<Void>> loadFutures = chunks.stream()
-                                        .map(chunk -> CompletableFuture.runAsync(() -> {
-                                            Bukkit.getScheduler().callSyncMethod(instance, (Callable<Void>) () -> {
-                                                chunk.load(true);
-                                                return null;
-                                            });
-                                        }))
-                                        .collect(Collectors.toList());
-
-                                    CompletableFuture<Void> allLoaded = CompletableFuture.allOf(loadFutures.toArray(new CompletableFuture[0]));
-                                    allLoaded.join();
-                                }
-                            }
-
-                            // Keep chunks loaded
-                            if (instance.getSettings().getBooleanSetting("keep-chunks-loaded")) {
-                                if (instance.isFolia()) {
-                                    chunks.forEach(c -> Bukkit.getRegionScheduler().execute(instance, world, c.getX(), c.getZ(), () -> c.setForceLoaded(true)));
-                                } else {
-                                    List<CompletableFuture<Void>> keepLoadedFutures = chunks.stream()
-                                        .map(chunk -> CompletableFuture.runAsync(() -> {
-                                            Bukkit.getScheduler().callSyncMethod(instance, (Callable<Void>) () -> {
-                                                chunk.setForceLoaded(true);
-                                                return null;
-                                            });
-                                        }))
-                                        .collect(Collectors.toList());
-
-                                    CompletableFuture<Void> allKeptLoaded = CompletableFuture.allOf(keepLoadedFutures.toArray(new CompletableFuture[0]));
-                                    allKeptLoaded.join();
-                                }
-                            }
-
-                            // Add claim to owner
-                            if (owner != null) {
-                                if(!owner.equals("*")) owners.put(owner, uuid_owner.toString());
-                                playerClaims.computeIfAbsent(uuid_owner, k -> new CustomSet<>()).add(claim);
-                            }
-
-                            // Enable bossbar
-                            instance.getBossBars().activateBossBar(chunks);
-                        };
+    /**
+     * Loads claims from the database.
+     * <p>
+     * The rows are streamed by a single reader and parsed into claims by a pool of workers,
+     * permission codes missing new permissions are completed on the way. The claims are then
+     * published to the indexes and owners on the calling thread, in the order of the rows.
+     * The claims snapshot is used instead when no claim was written since it was taken.
+     */
+    public void loadClaims() {
+    	instance.info(" ");
+    	instance.info(net.md_5.bungee.api.ChatColor.DARK_GREEN + "Loading claims..");
+    	
+    	StringBuilder natural = new StringBuilder();
+    	StringBuilder visitors = new StringBuilder();
+    	StringBuilder members_ = new StringBuilder();
 
-                        List<CompletableFuture<Void>> futures = new ArrayList<>();
-                        try {
-                            byte[] data = Base64.getDecoder().decode(chunksData);
-                            try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(data))) {
-                                while (true) {
-                                    try {
-                                        int x = objectInputStream.readInt();
-                                        int z = objectInputStream.readInt();
-                                        CompletableFuture<Void> future;
-                                        if (instance.isFolia()) {
-                                            future = world.getChunkAtAsync(x, z).thenAccept(chunk -> {
-                                                synchronized (chunks) {
-                                                    chunks.add(chunk);
-                                                }
-                                            }).exceptionally(ex -> {
-                                                ex.printStackTrace();
-                                                return null;
-                                            });
-                                        } else {
-                                            Chunk chunk = world.getChunkAt(x, z);
-                                            chunks.add(chunk);
-                                            future = CompletableFuture.completedFuture(null);
-                                        }
-                                        futures.add(future);
-                                    } catch (EOFException e) {
-                                        break;
-                                    }
-                                }
-                            }
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                        }
+        for (String key : instance.getSettings().getDefaultValues().get("natural").keySet()) {
+            if (instance.getSettings().getDefaultValues().get("natural").get(key)) {
+                natural.append("1");
+                continue;
+            }
+            natural.append("0");
+        }
+        
+        for (String key : instance.getSettings().getDefaultValues().get("visitors").keySet()) {
+            if (instance.getSettings().getDefaultValues().get("visitors").get(key)) {
+                visitors.append("1");
+                continue;
+            }
+            visitors.append("0");
+        }
+        
+        for (String key : instance.getSettings().getDefaultValues().get("members").keySet()) {
+            if (instance.getSettings().getDefaultValues().get("members").get(key)) {
+                members_.append("1");
+                continue;
+            }
+            members_.append("0");
+        }
+        
+        instance.getSettings().setDefaultValuesCode(natural.toString(),"natural");
+        instance.getSettings().setDefaultValuesCode(visitors.toString(),"visitors");
+        instance.getSettings().setDefaultValuesCode(members_.toString(),"members");
 
-                        CompletableFuture<Void> allOf = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
-                        allOf.thenRun(() -> {
-                            task.run();
-                        }).exceptionally(ex -> {
-                            ex.printStackTrace();
-                            return null;
-                        });
-                    }
+        long start = System.nanoTime();
+        
+        // Claims snapshot, used when no claim was written since it was taken
+        List<Claim> snapshot = instance.getSnapshot().read();
+        if (snapshot != null) {
+        	long readTime = System.nanoTime();
+        	int protected_areas_count = publishClaims(snapshot);
+        	long end = System.nanoTime();
+            instance.info(getNumberSeparate(String.valueOf(snapshot.size()))+" claims loaded from the snapshot.");
+            instance.info("> including "+getNumberSeparate(String.valueOf(protected_areas_count))+" protected areas.");
+            instance.info("> in " + getNumberSeparate(String.valueOf((end - start) / 1_000_000)) + "ms: reading " + (readTime - start) / 1_000_000
+            		+ "ms, publishing " + (end - readTime) / 1_000_000 + "ms.");
+        	return;
+        }
+        
+        int rows = 0;
+        
+        // Chunks, members and bans, read per table and grouped by claim row
+        Map<Integer,ChunkKeySet> claimsChunks = new HashMap<>();
+        Map<Integer,CustomSet<UUID>> claimsMembers = new HashMap<>();
+        Map<Integer,CustomSet<UUID>> claimsBans = new HashMap<>();
+        try (Connection connection = instance.getDataSource().getConnection()) {
+        	claimsChunks = loadClaimChunks(connection);
+        	claimsMembers = loadClaimPlayers(connection, "scs_claim_members", "member_uuid");
+        	claimsBans = loadClaimPlayers(connection, "scs_claim_bans", "banned_uuid");
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        long relationsTime = System.nanoTime();
+        
+        // Rows, streamed to the parser workers by batches
+        int workers = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() - 1, LOADER_MAX_WORKERS));
+        ExecutorService parsers = Executors.newFixedThreadPool(workers, runnable -> {
+        	Thread thread = new Thread(runnable, "SimpleClaimSystem-Loader");
+        	thread.setDaemon(true);
+        	return thread;
+        });
+        List<Future<List<Claim>>> parsed = new ArrayList<>();
+        Queue<ClaimRow> repairs = new ConcurrentLinkedQueue<>();
+        Map<String,World> worlds = new HashMap<>();
+        Map<Integer,ChunkKeySet> chunksByRow = claimsChunks;
+        Map<Integer,CustomSet<UUID>> membersByRow = claimsMembers;
+        Map<Integer,CustomSet<UUID>> bansByRow = claimsBans;
+        try (Connection connection = instance.getDataSource().getConnection();
+        		PreparedStatement preparedStatement = prepareStreaming(connection, "SELECT * FROM scs_claims_2");
+        		ResultSet resultSet = preparedStatement.executeQuery()) {
+        	List<ClaimRow> batch = new ArrayList<>(LOADER_BATCH_SIZE);
+            while (resultSet.next()) {
+                rows++;
+                
+                // World data, resolved here since worlds are created on this thread
+                String world_name = resultSet.getString("world_name");
+                if (!worlds.containsKey(world_name)) {
+                    World check_world = Bukkit.getWorld(world_name);
+                    worlds.put(world_name, check_world == null ? Bukkit.createWorld(new WorldCreator(world_name)) : check_world);
+                }
+                World world = worlds.get(world_name);
+                if (world == null) continue;
+                
+                batch.add(new ClaimRow(resultSet.getInt("id"), resultSet.getInt("id_claim"), resultSet.getString("owner_uuid"), resultSet.getString("owner_name"),
+                		resultSet.getString("claim_name"), resultSet.getString("claim_description"), world, resultSet.getString("location"),
+                		resultSet.getString("permissions"), resultSet.getBoolean("for_sale"), resultSet.getDouble("sale_price")));
+                if (batch.size() == LOADER_BATCH_SIZE) {
+                	List<ClaimRow> full = batch;
+                	parsed.add(parsers.submit(() -> parseClaims(full, chunksByRow, membersByRow, bansByRow, repairs)));
+                	batch = new ArrayList<>(LOADER_BATCH_SIZE);
                 }
-            } catch (SQLException e) {
-                e.printStackTrace();
             }
-            
-        } catch (SQLException e1) {
-			e1.printStackTrace();
-		}
+            if (!batch.isEmpty()) {
+            	List<ClaimRow> last = batch;
+            	parsed.add(parsers.submit(() -> parseClaims(last, chunksByRow, membersByRow, bansByRow, repairs)));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        long readTime = System.nanoTime();
+        
+        // Wait for the workers, keeping the order of the rows
+        List<Claim> loadedClaims = new ArrayList<>(rows);
+        for (Future<List<Claim>> future : parsed) {
+        	try {
+        		loadedClaims.addAll(future.get());
+        	} catch (Exception e) {
+        		e.printStackTrace();
+        	}
+        }
+        parsers.shutdown();
+        long parseTime = System.nanoTime();
+        
+        // Checking permissions (for update or new features)
+        if (!repairs.isEmpty()) {
+        	instance.getSnapshot().unseal();
+        	instance.getWriter().write(connection -> {
+                try (PreparedStatement preparedStatement = connection.prepareStatement("UPDATE scs_claims_2 SET permissions = ? WHERE id = ?")) {
+                	for (ClaimRow row : repairs) {
+                		preparedStatement.setString(1, row.permissions);
+                		preparedStatement.setInt(2, row.storageId);
+                		preparedStatement.addBatch();
+                	}
+                	preparedStatement.executeBatch();
+                }
+        	});
+        }
+        
+        // Publish the claims
+        int protected_areas_count = publishClaims(loadedClaims);
+        long end = System.nanoTime();
 
-        instance.info(getNumberSeparate(String.valueOf(i[0]))+"/"+getNumberSeparate(String.valueOf(max_i))+" claims loaded.");
+        instance.info(getNumberSeparate(String.valueOf(loadedClaims.size()))+"/"+getNumberSeparate(String.valueOf(rows))+" claims loaded.");
         instance.info("> including "+getNumberSeparate(String.valueOf(protected_areas_count))+" protected areas.");
+        long total = Math.max(1, (end - start) / 1_000_000);
+        instance.info("> in " + getNumberSeparate(String.valueOf(total)) + "ms (" + getNumberSeparate(String.valueOf(rows * 1000L / total)) + " rows/s, "
+        		+ workers + " workers): relations " + (relationsTime - start) / 1_000_000 + "ms, rows " + (readTime - relationsTime) / 1_000_000
+        		+ "ms, parsing " + (parseTime - readTime) / 1_000_000 + "ms, publishing " + (end - parseTime) / 1_000_000 + "ms.");
         return;
     }
+    
+    /**
+     * Publishes loaded claims to the owners and the indexes, on the calling thread.
+     * <p>
+     * Zones are created on the maps and chunks are preloaded or kept loaded when configured.
+     *
+     * @param claims The loaded claims
+     * @return The number of protected areas
+     */
+    private int publishClaims(List<Claim> claims) {
+        int protected_areas_count = 0;
+        Map<String,String> owners = new HashMap<>();
+        List<Claim> owned = new ArrayList<>(claims.size());
+        boolean preload = instance.getSettings().getBooleanSetting("preload-chunks");
+        boolean keepLoaded = instance.getSettings().getBooleanSetting("keep-chunks-loaded");
+        for (Claim claim : claims) {
+        	UUID uuid_owner = claim.getUUID();
+        	String owner = claim.getOwner();
+        	if (uuid_owner.equals(SERVER_UUID)) protected_areas_count++;
+
+            // Preload chunks and keep chunks loaded, only when configured
+            if (preload || keepLoaded) {
+            	World world = claim.getLocation().getWorld();
+            	long[] keys = claim.getChunkKeys().toArray();
+                if (instance.isFolia()) {
+                	for (long key : keys) {
+                		int x = ChunkKey.getX(key);
+                		int z = ChunkKey.getZ(key);
+                		Bukkit.getRegionScheduler().execute(instance, world, x, z, () -> {
+                			Chunk c = world.getChunkAt(x, z);
+                			if (preload) c.load(true);
+                			if (keepLoaded) c.setForceLoaded(true);
+                		});
+                	}
+                } else {
+                	instance.executeSync(() -> {
+                		for (long key : keys) {
+                			Chunk c = world.getChunkAt(ChunkKey.getX(key), ChunkKey.getZ(key));
+                			if (preload) c.load(true);
+                			if (keepLoaded) c.setForceLoaded(true);
+                		}
+                	});
+                }
+            }
+
+            // Add claim to owner
+            if (owner != null) {
+                if(!owner.equals("*")) owners.put(owner, uuid_owner.toString());
+                owned.add(claim);
+            }
+        }
+        registerClaims(owned);
+        indexClaims(claims);
+        
+        // Publish the claims on the web maps
+        instance.getMapReconciler().resync();
+        return protected_areas_count;
+    }
+    
+    /**
+     * Parses a batch of claim rows into claims, on a loader worker.
+     *
+     * @param batch The rows
+     * @param claimsChunks The chunks by claim row
+     * @param claimsMembers The members by claim row
+     * @param claimsBans The banned players by claim row
+     * @param repairs The rows whose permission code was completed, to write back
+     * @return The claims, in the order of the rows
+     */
+    private List<Claim> parseClaims(List<ClaimRow> batch, Map<Integer,ChunkKeySet> claimsChunks, Map<Integer,CustomSet<UUID>> claimsMembers,
+    		Map<Integer,CustomSet<UUID>> claimsBans, Queue<ClaimRow> repairs) {
+    	List<Claim> claims = new ArrayList<>(batch.size());
+    	for (ClaimRow row : batch) {
+    		try {
+                // General data
+                UUID uuid_owner = (row.ownerUUID.equals("none") || row.ownerUUID.equals("aucun")) ? SERVER_UUID : UUID.fromString(row.ownerUUID);
+
+                // Location data
+                String[] parts = row.location.split(";");
+                double L_X = Double.parseDouble(parts[0]);
+                double L_Y = Double.parseDouble(parts[1]);
+                double L_Z = Double.parseDouble(parts[2]);
+                float L_Yaw = (float) Double.parseDouble(parts[3]);
+                float L_Pitch = (float) Double.parseDouble(parts[4]);
+                Location location = new Location(row.world, L_X, L_Y, L_Z, L_Yaw, L_Pitch);
+
+                // Members and banned players data
+                CustomSet<UUID> members = claimsMembers.getOrDefault(row.storageId, new CustomSet<>());
+                CustomSet<UUID> bans = claimsBans.getOrDefault(row.storageId, new CustomSet<>());
+
+                // Permissions data, completed if permissions were added since they were stored
+                String permissions = completePermissions(row.permissions);
+                if (!permissions.equals(row.permissions)) {
+                	row.permissions = permissions;
+                	repairs.add(row);
+                }
+                Map<String,LinkedHashMap<String, Boolean>> perms = new HashMap<>();
+                for(String s : permissions.split(";")) {
+                	String[] parts2 = s.split(":");
+                	String key = parts2[0];
+                	String perm = parts2[1];
+                    int count_i = 0;
+                    LinkedHashMap<String, Boolean> perm_value = new LinkedHashMap<>();
+                    for (String perm_key : instance.getSettings().getDefaultValues().get(key).keySet()) {
+                        char currentChar = perm.charAt(count_i);
+                        count_i++;
+                        perm_value.put(perm_key, currentChar == '1');
+                    }
+                    perms.put(key, perm_value);
+                }
+
+                // Chunks data, as packed keys so no chunk is loaded here
+                ChunkKeySet chunks = claimsChunks.getOrDefault(row.storageId, new ChunkKeySet());
+
+                Claim claim = new Claim(uuid_owner, row.world.getName(), chunks, row.ownerName, new CustomSet<>(members), location, row.claimName, row.description, new LinkedHashMap<>(perms), row.sale, row.price, new CustomSet<>(bans), row.id);
+                claim.setStorageId(row.storageId);
+                claims.add(claim);
+    		} catch (Exception e) {
+    			instance.info("Error when loading the claim " + row.claimName + " (row " + row.storageId + ")");
+    			e.printStackTrace();
+    		}
+    	}
+    	return claims;
+    }
+    
+    /**
+     * Completes a permission code with the default values of the permissions added since it was stored.
+     *
+     * @param perms The stored permission code
+     * @return The completed permission code
+     */
+    private String completePermissions(String perms) {
+        String[] parts = perms.split(";");
+        
+        // Set into map
+        Map<String,String> permList = new HashMap<>();
+        for(String s : parts) {
+        	String[] parts2 = s.split(":");
+        	permList.put(parts2[0], parts2[1]);
+        }
+        
+        StringBuilder final_perm = new StringBuilder();
+        
+        for (Map.Entry<String, String> entry : permList.entrySet()) {
+        	String key = entry.getKey();
+        	String perm = entry.getValue();
+        	
+        	String defaultCode = instance.getSettings().getDefaultValuesCode(key);
+        	int defaultLength = defaultCode.length();
+        	
+        	StringBuilder permCompleted = new StringBuilder(perm);
+        	for (int i = perm.length(); i < defaultLength; i++) {
+        		permCompleted.append(defaultCode.charAt(i));
+        	}
+        	
+        	if(final_perm.length() == 0) {
+        		final_perm.append(key+":"+permCompleted.toString());
+        	} else {
+        		final_perm.append(";"+key+":"+permCompleted.toString());
+        	}
+        }
+        return final_perm.toString();
+    }
+    
+    /**
+     * Prepares a read-only query whose results are streamed instead of being fetched at once.
+     *
+     * @param connection The connection
+     * @param query The query
+     * @return The statement
+     * @throws SQLException If the statement cannot be prepared
+     */
+    static PreparedStatement prepareStreaming(Connection connection, String query) throws SQLException {
+    	PreparedStatement preparedStatement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    	// MySQL only streams with this fetch size, the others take it as a hint
+    	preparedStatement.setFetchSize(connection.getMetaData().getURL().startsWith("jdbc:mysql") ? Integer.MIN_VALUE : LOADER_FETCH_SIZE);
+    	return preparedStatement;
+    }
 
     /**
      * Creates a new claim for the player.
@@ -1853,33 +2563,29 @@ public class ClaimMain {
      * @param chunk  the chunk to claim
      */
     public CompletableFuture<Boolean> createClaim(Player player, Chunk chunk) {
-    	return CompletableFuture.supplyAsync(() -> {
+    	return instance.getIOExecutor().supply(() -> {
             try {
 	    		// Get data
 		        String playerName = player.getName();
 		        UUID playerId = player.getUniqueId();
 		        CPlayer cPlayer = instance.getPlayerMain().getCPlayer(playerId);
 		
-		        // Update player claims count
-		        cPlayer.setClaimsCount(cPlayer.getClaimsCount() + 1);
-		
 		        // Create default values, name, loc, perms and Claim
 		        int id = findFreeId(playerId);
-		        String uuid = playerId.toString();
 		        String claimName = "claim-" + String.valueOf(id);
 		        String description = instance.getLanguage().getMessage("default-description");
-		        String locationString = getLocationString(player.getLocation());
 		        Map<String,LinkedHashMap<String, Boolean>> perms = new HashMap<>(instance.getSettings().getDefaultValues());
 		        Claim newClaim = new Claim(playerId, new CustomSet<>(Set.of(chunk)), playerName, new CustomSet<>(Set.of(playerId)), player.getLocation(), claimName, description, new HashMap<>(perms), false, 0.0, new CustomSet<>(),id);
 		
-		        // Add claim to claims list and player claims list
-		        listClaims.put(chunk, newClaim);
-		        playerClaims.computeIfAbsent(player.getUniqueId(), k -> new CustomSet<>()).add(newClaim);
+		        // Add claim to claims list, unless the chunk has been claimed in the meantime, and player claims list
+		        if (!indexClaim(newClaim)) return false;
+		        registerNewClaim(newClaim);
+		
+		        // Update player claims count
+		        cPlayer.setClaimsCount(cPlayer.getClaimsCount() + 1);
 		        
 		        // Create bossbars and maps
-		        if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().createClaimZone(newClaim);
-		        if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().createClaimZone(newClaim);
-		        if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().createClaimZone(newClaim);
+		        instance.getChangeBus().publish(newClaim, ClaimChange.Type.CREATED);
 		        if (instance.getSettings().getBooleanSetting("keep-chunks-loaded")) {
 	            	if(instance.isFolia()) {
 	            		Bukkit.getRegionScheduler().execute(instance, chunk.getWorld(), chunk.getX(), chunk.getZ(), () -> chunk.setForceLoaded(true));
@@ -1890,8 +2596,6 @@ public class ClaimMain {
 	            		});
 	            	}
 		        }
-		        instance.executeSync(() -> instance.getBossBars().activateBossBar(chunk));
-		        getMapAutoForChunks(Set.of(chunk));
                 updateWeatherChunk(newClaim);
                 updateFlyChunk(newClaim);
                 
@@ -1900,7 +2604,7 @@ public class ClaimMain {
                 instance.executeSync(() -> Bukkit.getPluginManager().callEvent(event));
 		        
 		        // Update database
-		        return insertClaimIntoDatabase(id, uuid, playerName, claimName, description, chunk, locationString);
+		        return insertClaimIntoDatabase(newClaim);
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -1915,7 +2619,7 @@ public class ClaimMain {
      * @param chunk  the chunk to claim
      */
     public void handleClaimConflict(Player player, Chunk chunk) {
-        Claim claim = listClaims.get(chunk);
+        Claim claim = getClaim(chunk);
         String owner = claim.getOwner();
         if (owner.equals("*")) {
             player.sendMessage(instance.getLanguage().getMessage("create-error-protected-area"));
@@ -1932,7 +2636,7 @@ public class ClaimMain {
      * @param location the location to get the string for
      * @return the location string
      */
-    private String getLocationString(Location location) {
+    public String getLocationString(Location location) {
         return String.format("%s;%s;%s;%s;%s", location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
     }
 
@@ -1943,25 +2647,21 @@ public class ClaimMain {
      * @param chunk  the chunk to claim
      */
     public CompletableFuture<Boolean> createAdminClaim(Player player, Chunk chunk) {
-    	return CompletableFuture.supplyAsync(() -> {
+    	return instance.getIOExecutor().supply(() -> {
             try {
 		        // Create default values, name, loc, perms and Claim
-		        String uuid = SERVER_UUID.toString();
 		        int id = findFreeIdProtectedArea();
 		        String claimName = "admin-" + String.valueOf(id);
 		        String description = instance.getLanguage().getMessage("default-description");
-		        String locationString = getLocationString(player.getLocation());
 		        Map<String,LinkedHashMap<String, Boolean>> perms = new HashMap<>(instance.getSettings().getDefaultValues());
 		        Claim newClaim = new Claim(SERVER_UUID, new CustomSet<>(Set.of(chunk)), "*", new CustomSet<>(), player.getLocation(), claimName, description, new HashMap<>(perms), false, 0.0, new CustomSet<>(),id);
 		
-		        // Add claim to claims list and protected areas list ("*" in playerClaims)
-		        listClaims.put(chunk, newClaim);
-		        playerClaims.computeIfAbsent(SERVER_UUID, k -> new CustomSet<>()).add(newClaim);
+		        // Add claim to claims list, unless the chunk has been claimed in the meantime, and protected areas list ("*" in playerClaims)
+		        if (!indexClaim(newClaim)) return false;
+		        registerNewClaim(newClaim);
 		
 		        // Create bossbars and maps
-		        if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().createClaimZone(newClaim);
-		        if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().createClaimZone(newClaim);
-		        if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().createClaimZone(newClaim);
+		        instance.getChangeBus().publish(newClaim, ClaimChange.Type.CREATED);
 		        if (instance.getSettings().getBooleanSetting("keep-chunks-loaded")) {
 	            	if(instance.isFolia()) {
 	            		Bukkit.getRegionScheduler().execute(instance, chunk.getWorld(), chunk.getX(), chunk.getZ(), () -> chunk.setForceLoaded(true));
@@ -1972,8 +2672,6 @@ public class ClaimMain {
 	            		});
 	            	}
 		        }
-		        instance.executeSync(() -> instance.getBossBars().activateBossBar(chunk));
-		        getMapAutoForChunks(Set.of(chunk));
                 updateWeatherChunk(newClaim);
                 updateFlyChunk(newClaim);
                 
@@ -1982,7 +2680,7 @@ public class ClaimMain {
                 instance.executeSync(() -> Bukkit.getPluginManager().callEvent(event));
 		
 		        // Updata database
-		        return insertClaimIntoDatabase(id, uuid, "*", claimName, description, chunk, locationString);
+		        return insertClaimIntoDatabase(newClaim);
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -1991,37 +2689,33 @@ public class ClaimMain {
     }
     
     /**
-     * Inserts a new claim into the database.
+     * Inserts a new claim into the database, with its chunks, members and bans.
+     * <p>
+     * The storage id of the claim is set once its row exists, updates queued before are
+     * kept in the write queue until then.
      *
-     * @param id             the ID of the claim
-     * @param uuid           the UUID of the player creating the claim
-     * @param owner          the owner creating the claim
-     * @param claimName      the name of the claim
-     * @param description    the description of the claim
-     * @param chunk          the chunk being claimed
-     * @param locationString the location string of the claim
+     * @param claim the claim to insert
+     * @return true if the claim was inserted, false otherwise
      */
-    private boolean insertClaimIntoDatabase(int id, String uuid, String owner, String claimName, String description, Chunk chunk, String locationString) {
-        try (Connection connection = instance.getDataSource().getConnection();
-             PreparedStatement stmt = connection.prepareStatement(
-                     "INSERT INTO scs_claims_1 (id_claim, owner_uuid, owner_name, claim_name, claim_description, chunks, world_name, location, members, permissions, bans) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
-            stmt.setInt(1, id);
-        	stmt.setString(2, uuid);
-        	stmt.setString(3, owner);
-            stmt.setString(4, claimName);
-            stmt.setString(5, description);
-            stmt.setString(6, serializeChunks(Set.of(chunk)));
-            stmt.setString(7, chunk.getWorld().getName());
-            stmt.setString(8, locationString);
-            stmt.setString(9, owner.equals("*") ? "" : uuid);
-            stmt.setString(10, instance.getSettings().getDefaultValuesCode("all"));
-            stmt.setString(11, "");
-            stmt.executeUpdate();
-            return true;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+    private boolean insertClaimIntoDatabase(Claim claim) {
+    	try {
+	    	instance.getSnapshot().unseal();
+	    	int[] storageId = {0};
+	    	boolean written = instance.getWriter().write(connection -> {
+	    		storageId[0] = insertClaimRow(connection, claim.getId(), claim.getUUID().toString(), claim.getOwner(), claim.getName(), claim.getDescription(),
+	    				claim.getWorldName(), getLocationString(claim.getLocation()), getPermissionString(claim), claim.getSale(), claim.getPrice());
+	    		insertClaimChunks(connection, storageId[0], claim.getWorldName(), new ChunkKeySet(claim.getChunkKeys()));
+	    		insertClaimPlayers(connection, "scs_claim_members", "member_uuid", storageId[0], new ArrayList<>(claim.getMembers()));
+	    		insertClaimPlayers(connection, "scs_claim_bans", "banned_uuid", storageId[0], new ArrayList<>(claim.getBans()));
+	    	});
+	    	if (!written) return false;
+			claim.setStorageId(storageId[0]);
+			instance.getWriteQueue().flush(List.of(claim));
+			return true;
+    	} finally {
+    		CompletableFuture<Void> insert = pendingInserts.remove(claim);
+    		if (insert != null) insert.complete(null);
+    	}
     }
 
     /**
@@ -2033,7 +2727,7 @@ public class ClaimMain {
      * @return true if the claims were created successfully, false otherwise
      */
     public CompletableFuture<Boolean> createClaimRadius(Player player, CustomSet<Chunk> chunks, int radius) {
-    	return CompletableFuture.supplyAsync(() -> {
+    	return instance.getIOExecutor().supply(() -> {
             try {
 	            // Get data
 	            String playerName = player.getName();
@@ -2041,35 +2735,25 @@ public class ClaimMain {
 	            Chunk chunk = player.getLocation().getChunk();
 	            CPlayer cPlayer = instance.getPlayerMain().getCPlayer(playerId);
 	
-	            // Get uuid of the player
-	            String uuid = player.getUniqueId().toString();
+	            // Check that no chunk of the area has been claimed in the meantime
+	            if (!isRectangleUnclaimed(chunk.getWorld().getName(), chunks)) return false;
 	
 	            // Create default values, name, loc, perms and Claim
 	            int id = findFreeId(playerId);
 	            String claimName = "claim-" + id;
 	            String description = instance.getLanguage().getMessage("default-description");
-	            String locationString = getLocationString(player.getLocation());
 	            Map<String,LinkedHashMap<String, Boolean>> perms = new HashMap<>(instance.getSettings().getDefaultValues());
 	            Claim newClaim = new Claim(playerId, new CustomSet<>(chunks), playerName, new CustomSet<>(Set.of(playerId)), player.getLocation(), claimName, description, new HashMap<>(perms), false, 0.0, new CustomSet<>(), id);
 	
-	            // Add the claim to claims list of the player
-	            playerClaims.computeIfAbsent(player.getUniqueId(), k -> new CustomSet<>()).add(newClaim);
+	            // Add the claim to claims list, unless a chunk has been claimed since the check, and to claims list of the player
+	            if (!indexClaim(newClaim)) return false;
+	            registerNewClaim(newClaim);
 	
 	            // Update their claims count
 	            cPlayer.setClaimsCount(cPlayer.getClaimsCount() + 1);
 	
 	            // Create bossbars, maps
-	            List<Integer> X = Collections.synchronizedList(new ArrayList<>());
-	            List<Integer> Z = Collections.synchronizedList(new ArrayList<>());
-	            instance.executeSync(() -> instance.getBossBars().activateBossBar(chunks));
-	            chunks.forEach(c -> {
-	                listClaims.put(c, newClaim);
-	                X.add(c.getX());
-	                Z.add(c.getZ());
-	            });
-	            if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().createClaimZone(newClaim);
-	            if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().createClaimZone(newClaim);
-	            if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().createClaimZone(newClaim);
+	            instance.getChangeBus().publish(newClaim, ClaimChange.Type.CREATED);
 	            if (instance.getSettings().getBooleanSetting("keep-chunks-loaded")) {
 	            	if(instance.isFolia()) {
 	            		chunks.stream().forEach(c -> Bukkit.getRegionScheduler().execute(instance, c.getWorld(), c.getX(), c.getZ(), () -> c.setForceLoaded(true)));
@@ -2080,7 +2764,6 @@ public class ClaimMain {
 	            		});
 	            	}
 	            }
-	            getMapAutoForChunks(chunks);
                 updateWeatherChunk(newClaim);
                 updateFlyChunk(newClaim);
                 
@@ -2089,26 +2772,7 @@ public class ClaimMain {
                 instance.executeSync(() -> Bukkit.getPluginManager().callEvent(event));
 	
 	            // Update database
-	            try (Connection connection = instance.getDataSource().getConnection();
-	                 PreparedStatement stmt = connection.prepareStatement(
-	                         "INSERT INTO scs_claims_1 (id_claim, owner_uuid, owner_name, claim_name, claim_description, chunks, world_name, location, members, permissions, bans) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
-	                stmt.setInt(1, id);
-	                stmt.setString(2, uuid);
-	                stmt.setString(3, playerName);
-	                stmt.setString(4, claimName);
-	                stmt.setString(5, description);
-	                stmt.setString(6, serializeChunks(chunks));
-	                stmt.setString(7, chunk.getWorld().getName());
-	                stmt.setString(8, locationString);
-	                stmt.setString(9, uuid);
-	                stmt.setString(10, instance.getSettings().getDefaultValuesCode("all"));
-	                stmt.setString(11, "");
-	                stmt.executeUpdate();
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            return insertClaimIntoDatabase(newClaim);
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2116,6 +2780,24 @@ public class ClaimMain {
         });
     }
 
+    /**
+     * Checks, through the spatial index, that no claim intersects the bounding rectangle of some chunks.
+     *
+     * @param world the name of the world
+     * @param chunks the chunks forming the area
+     * @return true if the area is free, false otherwise
+     */
+    private boolean isRectangleUnclaimed(String world, Set<Chunk> chunks) {
+    	int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+    	for (Chunk c : chunks) {
+    		minX = Math.min(minX, c.getX());
+    		minZ = Math.min(minZ, c.getZ());
+    		maxX = Math.max(maxX, c.getX());
+    		maxZ = Math.max(maxZ, c.getZ());
+    	}
+    	return chunks.isEmpty() || getClaimsInRectangle(world, minX, minZ, maxX, maxZ).isEmpty();
+    }
+
     /**
      * Creates multiple protected areas (admin claims) within a radius.
      *
@@ -2125,35 +2807,28 @@ public class ClaimMain {
      * @return true if the claims were created successfully, false otherwise
      */
     public CompletableFuture<Boolean> createAdminClaimRadius(Player player, CustomSet<Chunk> chunks, int radius) {
-    	return CompletableFuture.supplyAsync(() -> {
+    	return instance.getIOExecutor().supply(() -> {
             try {
 	    		// Get data
 		        String playerName = "*";
 		        Chunk chunk = player.getLocation().getChunk();
+
+		        // Check that no chunk of the area has been claimed in the meantime
+		        if (!isRectangleUnclaimed(chunk.getWorld().getName(), chunks)) return false;
 		        
 		        // Create default values, name, loc, perms and Claim
 		        int id = findFreeIdProtectedArea();
 		        String claimName = "admin-" + String.valueOf(id);
 		        String description = instance.getLanguage().getMessage("default-description");
-		        String locationString = getLocationString(player.getLocation());
 		        Map<String,LinkedHashMap<String, Boolean>> perms = new HashMap<>(instance.getSettings().getDefaultValues());
 		        Claim newClaim = new Claim(SERVER_UUID, new CustomSet<>(chunks), playerName, new CustomSet<>(), player.getLocation(), claimName, description, new HashMap<>(perms), false, 0.0, new CustomSet<>(),id);
 		
-		        // Add the claim to protected areas list
-		        playerClaims.computeIfAbsent(SERVER_UUID, k -> new CustomSet<>()).add(newClaim);
+		        // Add the claim to claims list, unless a chunk has been claimed since the check, and to protected areas list
+		        if (!indexClaim(newClaim)) return false;
+		        registerNewClaim(newClaim);
 		        
 		        // Create bossbars, maps
-		        List<Integer> X = Collections.synchronizedList(new ArrayList<>());
-		        List<Integer> Z = Collections.synchronizedList(new ArrayList<>());
-		        instance.executeSync(() -> instance.getBossBars().activateBossBar(chunks));
-		        chunks.stream().forEach(c -> {
-		            listClaims.put(c, newClaim);
-		            X.add(c.getX());
-		            Z.add(c.getZ());
-		        });
-	            if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().createClaimZone(newClaim);
-	            if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().createClaimZone(newClaim);
-	            if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().createClaimZone(newClaim);
+		        instance.getChangeBus().publish(newClaim, ClaimChange.Type.CREATED);
 	            if (instance.getSettings().getBooleanSetting("keep-chunks-loaded")) {
 	            	if(instance.isFolia()) {
 	            		chunks.stream().forEach(c -> Bukkit.getRegionScheduler().execute(instance, c.getWorld(), c.getX(), c.getZ(), () -> c.setForceLoaded(true)));
@@ -2164,7 +2839,6 @@ public class ClaimMain {
 	            		});
 	            	}
 	            }
-	            getMapAutoForChunks(chunks);
                 updateWeatherChunk(newClaim);
                 updateFlyChunk(newClaim);
                 
@@ -2173,26 +2847,7 @@ public class ClaimMain {
                 instance.executeSync(() -> Bukkit.getPluginManager().callEvent(event));
 		        
 		        // Update database
-	            try (Connection connection = instance.getDataSource().getConnection();
-	                    PreparedStatement stmt = connection.prepareStatement(
-	                    		"INSERT INTO scs_claims_1 (id_claim, owner_uuid, owner_name, claim_name, claim_description, chunks, world_name, location, members, permissions, bans) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
-	                   stmt.setInt(1, id);
-	            	   stmt.setString(2, SERVER_UUID.toString());
-	            	   stmt.setString(3, "*");
-	                   stmt.setString(4, claimName);
-	                   stmt.setString(5, description);
-	                   stmt.setString(6, serializeChunks(chunks));
-	                   stmt.setString(7, chunk.getWorld().getName());
-	                   stmt.setString(8, locationString);
-	                   stmt.setString(9, "");
-	                   stmt.setString(10, instance.getSettings().getDefaultValuesCode("all"));
-	                   stmt.setString(11, "");
-	                   stmt.executeUpdate();
-	                   return true;
-	               } catch (SQLException e) {
-	                   e.printStackTrace();
-	                   return false;
-	               }
+		        return insertClaimIntoDatabase(newClaim);
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2221,7 +2876,7 @@ public class ClaimMain {
      * @return true if a claim exists in the chunk, false otherwise
      */
     public boolean checkIfClaimExists(Chunk chunk) {
-        return listClaims.containsKey(chunk);
+        return getClaim(chunk) != null;
     }
     
     /**
@@ -2231,7 +2886,9 @@ public class ClaimMain {
      * @return true if a claim exists, false otherwise
      */
     public boolean checkIfClaimExists(Claim claim) {
-        return listClaims.containsValue(claim);
+        if (claim == null) return false;
+        ClaimCatalog catalog = playerClaims.get(claim.getUUID());
+        return catalog != null && catalog.contains(claim);
     }
 
     /**
@@ -2242,10 +2899,37 @@ public class ClaimMain {
      * @return true if the permission is allowed, false otherwise
      */
     public boolean canPermCheck(Chunk chunk, String perm, String role) {
-        Claim claim = listClaims.get(chunk);
+        Claim claim = getClaim(chunk);
         return claim != null && claim.getPermission(perm, role == null ? "natural" : role.toLowerCase());
     }
     
+    /**
+     * Checks if a permission is allowed at the given block coordinates.
+     *
+     * @param world  the world
+     * @param blockX the block X coordinate
+     * @param blockZ the block Z coordinate
+     * @param perm   the permission to check
+     * @param role   the role to check
+     * @return true if the permission is allowed, false otherwise
+     */
+    public boolean canPermCheck(World world, int blockX, int blockZ, String perm, String role) {
+        Claim claim = getClaimAt(world, blockX, blockZ);
+        return claim != null && claim.getPermission(perm, role == null ? "natural" : role.toLowerCase());
+    }
+    
+    /**
+     * Checks if a permission is allowed at the given block.
+     *
+     * @param block the block to check
+     * @param perm  the permission to check
+     * @param role  the role to check
+     * @return true if the permission is allowed, false otherwise
+     */
+    public boolean canPermCheck(Block block, String perm, String role) {
+        return canPermCheck(block.getWorld(), block.getX(), block.getZ(), perm, role);
+    }
+    
     /**
      * Gets the owner of a claim by the chunk.
      *
@@ -2253,7 +2937,7 @@ public class ClaimMain {
      * @return the owner of the claim, or an empty string if no claim exists for the chunk
      */
     public String getOwnerInClaim(Chunk chunk) {
-        Claim claim = listClaims.get(chunk);
+        Claim claim = getClaim(chunk);
         return claim == null ? "" : claim.getOwner();
     }
 
@@ -2370,6 +3054,20 @@ public class ClaimMain {
         }
         return "";
     }
+    
+    /**
+     * Converts the permissions of a claim to a single string, in the format stored in the database.
+     *
+     * @param claim The claim containing the permissions.
+     * @return A string representation of the permissions, each role separated by a semicolon.
+     */
+    public String getPermissionString(Claim claim) {
+        return claim.getPermissions().entrySet().stream()
+                .map(entry -> entry.getKey() + ":" + entry.getValue().entrySet().stream()
+                        .map(subEntry -> subEntry.getValue() ? "1" : "0")
+                        .collect(Collectors.joining()))
+                .collect(Collectors.joining(";"));
+    }
 
     /**
      * Updates a claim's permission.
@@ -2381,50 +3079,20 @@ public class ClaimMain {
      * @return true if the permission was updated successfully, false otherwise
      */
     public CompletableFuture<Boolean> updatePerm(Claim claim, String permission, boolean value, String role) {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
-                // Get the owner's name
-                String owner = claim.getOwner();
-                
-                // Get the current permissions map for the specified role
-                String roleKey = (role == null ? "natural" : role.toLowerCase());
-                LinkedHashMap<String, Boolean> currentPermissions = claim.getPermissions().get(roleKey);
-                
-                // Clone the current permissions map to avoid affecting other claims
-                LinkedHashMap<String, Boolean> newPermissions = new LinkedHashMap<>(currentPermissions);
-                newPermissions.put(permission, value);
-                
-                // Update the permissions map in the claim with the cloned and updated map
-                claim.getPermissions().put(roleKey, newPermissions);
+                // Update the permission mask of the role
+                claim.updatePermission(role, permission, value);
 
                 // Check if permission is Weather, then update weather for players in the chunks
                 if (permission.equals("Weather")) updateWeatherChunk(claim);
                 // Check if permission is Fly, then update fly for players in the chunks
                 if (permission.equals("Fly")) updateFlyChunk(claim);
                 
-                // Get the UUID of the owner
-                String uuid = owner.equals("*") ? SERVER_UUID.toString() : instance.getPlayerMain().getPlayerUUID(owner).toString();
-        
-                // Build the perms string
-                String permissions = claim.getPermissions().entrySet().stream()
-                        .map(entry -> entry.getKey() + ":" + entry.getValue().entrySet().stream()
-                                .map(subEntry -> subEntry.getValue() ? "1" : "0")
-                                .collect(Collectors.joining()))
-                        .collect(Collectors.joining(";"));
-                
                 // Update the database
-                String updateQuery = "UPDATE scs_claims_1 SET permissions = ? WHERE owner_uuid = ? AND claim_name = ?";
-                try (Connection connection = instance.getDataSource().getConnection();
-                     PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                    preparedStatement.setString(1, permissions);
-                    preparedStatement.setString(2, uuid);
-                    preparedStatement.setString(3, claim.getName());
-                    preparedStatement.executeUpdate();
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getWriteQueue().mark(claim, Field.PERMISSIONS);
+                instance.getChangeBus().publish(claim, ClaimChange.Type.PERMISSIONS_CHANGED);
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2440,7 +3108,7 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> applyAllSettings(Claim claim) {
-    	return CompletableFuture.supplyAsync(() -> {
+    	return instance.getIOExecutor().supply(() -> {
             try {
             	// Get data
             	UUID uuid = claim.getUUID();
@@ -2449,8 +3117,9 @@ public class ClaimMain {
 	            Map<String,LinkedHashMap<String, Boolean>> perms = new HashMap<>(claim.getPermissions());
 	            
 	            // Update settings
-	            playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>()).stream().forEach(c -> {
+	            getPlayerClaims(uuid).stream().forEach(c -> {
 	            	c.setPermissions(new HashMap<>(perms));
+	            	instance.getChangeBus().publish(c, ClaimChange.Type.PERMISSIONS_CHANGED);
 	                updateWeatherChunk(c);
 	                updateFlyChunk(c);
 	            });
@@ -2463,18 +3132,15 @@ public class ClaimMain {
 		                .collect(Collectors.joining(";"));
 	            
 	            // Update database
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET permissions = ? WHERE owner_uuid = ?";
+	            instance.getSnapshot().unseal();
+	            return instance.getWriter().write(connection -> {
+	                String updateQuery = "UPDATE scs_claims_2 SET permissions = ? WHERE owner_uuid = ?";
 	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
 	                    preparedStatement.setString(1, permissions);
 	                    preparedStatement.setString(2, uuid.toString());
 	                    preparedStatement.executeUpdate();
 	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            });
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2490,34 +3156,16 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> addClaimBan(Claim claim, String name) {
-    	return CompletableFuture.supplyAsync(() -> {
+    	return instance.getIOExecutor().supply(() -> {
             try {
-	        	// Get data
-	        	String claimName = claim.getName();
-	        	UUID uuid = claim.getUUID();
-	        	
 	        	// Add banned and remove member
 	        	UUID targetUUID = instance.getPlayerMain().getPlayerUUID(name);
 	        	claim.addBan(targetUUID);
 	        	claim.removeMember(targetUUID);
 		        
 		        // Update database
-		        String banString = getBanString(claim);
-		        String memberString = getMemberString(claim);
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET bans = ?, members = ? WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                    preparedStatement.setString(1, banString);
-	                    preparedStatement.setString(2, memberString);
-	                    preparedStatement.setString(3, uuid.toString());
-	                    preparedStatement.setString(4, claimName);
-	                    preparedStatement.executeUpdate();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            instance.getWriteQueue().mark(claim, Field.BANS, Field.MEMBERS);
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2533,31 +3181,17 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> removeClaimBan(Claim claim, String name) {
-    	return CompletableFuture.supplyAsync(() -> {
+    	return instance.getIOExecutor().supply(() -> {
             try {
 	        	// Get data
-	        	String claimName = claim.getName();
 	        	UUID targetUUID = instance.getPlayerMain().getPlayerUUID(name);
-	        	UUID uuid = claim.getUUID();
 	        	
 	        	// Remove banned
 	            claim.removeBan(targetUUID);
 	            
 	            // Update database
-	            String banString = getBanString(claim);
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET bans = ? WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                    preparedStatement.setString(1, banString);
-	                    preparedStatement.setString(2, uuid.toString());
-	                    preparedStatement.setString(3, claimName);
-	                    preparedStatement.executeUpdate();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            instance.getWriteQueue().mark(claim, Field.BANS);
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2573,38 +3207,22 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> addAllClaimBan(String owner, String name) {
-    	return CompletableFuture.supplyAsync(() -> {
+    	return instance.getIOExecutor().supply(() -> {
             try {
             	
 	            // Get uuid of the owner and target
             	UUID uuid = owner.equals("*") ? SERVER_UUID : instance.getPlayerMain().getPlayerUUID(owner);
-            	String uuid_string = uuid.toString();
 	            UUID targetUUID = instance.getPlayerMain().getPlayerUUID(name);
 	            
 	            // Add banned and remove member
-	            playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>()).stream().forEach(claim -> {
+	            getPlayerClaims(uuid).stream().forEach(claim -> {
 	            	claim.addBan(targetUUID);
 	            	claim.removeMember(targetUUID);
 	            });
 	
 		        // Update database
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET bans = ?, members = ? WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                    for (Claim claim : playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>())) {
-	                        preparedStatement.setString(1, getBanString(claim));
-	                        preparedStatement.setString(2, getMemberString(claim));
-	                        preparedStatement.setString(3, uuid_string);
-	                        preparedStatement.setString(4, claim.getName());
-	                        preparedStatement.addBatch();
-	                    }
-	                    preparedStatement.executeBatch();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            getPlayerClaims(uuid).forEach(claim -> instance.getWriteQueue().mark(claim, Field.BANS, Field.MEMBERS));
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2620,33 +3238,18 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> removeAllClaimBan(String owner, String name) {
-    	return CompletableFuture.supplyAsync(() -> {
+    	return instance.getIOExecutor().supply(() -> {
             try {
             	
 	            // Get uuid of the owner and target
             	UUID uuid = owner.equals("*") ? SERVER_UUID : instance.getPlayerMain().getPlayerUUID(owner);
-            	String uuid_string = uuid.toString();
 	            UUID targetUUID = instance.getPlayerMain().getPlayerUUID(name);
 
-		        playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>()).stream().forEach(claim -> claim.removeBan(targetUUID));
+		        getPlayerClaims(uuid).stream().forEach(claim -> claim.removeBan(targetUUID));
 	            
 	            // Updata database
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET bans = ? WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                	for (Claim claim : playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>())) {
-	                        preparedStatement.setString(1, getBanString(claim));
-	                        preparedStatement.setString(2, uuid_string);
-	                        preparedStatement.setString(3, claim.getName());
-	                        preparedStatement.addBatch();
-	                    }
-	                    preparedStatement.executeBatch();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            getPlayerClaims(uuid).forEach(claim -> instance.getWriteQueue().mark(claim, Field.BANS));
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2662,31 +3265,18 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> addClaimMember(Claim claim, String name) {
-    	return CompletableFuture.supplyAsync(() -> {
+    	return instance.getIOExecutor().supply(() -> {
             try {
             	
             	// Get data
-            	UUID uuid = claim.getUUID();
             	UUID targetUUID = instance.getPlayerMain().getPlayerUUID(name);
             	
 	        	// Add member
 	            claim.addMember(targetUUID);
 	            
 	            // Update database
-	            String membersString = getMemberString(claim);
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET members = ? WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                    preparedStatement.setString(1, membersString);
-	                    preparedStatement.setString(2, uuid.toString());
-	                    preparedStatement.setString(3, claim.getName());
-	                    preparedStatement.executeUpdate();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            instance.getWriteQueue().mark(claim, Field.MEMBERS);
+	            return true;
 	        } catch (Exception e) {
 	            e.printStackTrace();
 	            return false;
@@ -2702,34 +3292,19 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> addAllClaimsMember(String owner, String name) {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
 	            
 	            // Get uuid of the owner and target
             	UUID uuid = owner.equals("*") ? SERVER_UUID : instance.getPlayerMain().getPlayerUUID(owner);
-            	String uuid_string = uuid.toString();
 	            UUID targetUUID = instance.getPlayerMain().getPlayerUUID(name);
 	            
 	            // Remove member
-		        playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>()).stream().forEach(claim -> claim.addMember(targetUUID));
+		        getPlayerClaims(uuid).stream().forEach(claim -> claim.addMember(targetUUID));
 	
 	            // Update database
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET members = ? WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                	for (Claim claim : playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>())) {
-	                        preparedStatement.setString(1, getMemberString(claim));
-	                        preparedStatement.setString(2, uuid_string);
-	                        preparedStatement.setString(3, claim.getName());
-	                        preparedStatement.addBatch();
-	                    }
-	                    preparedStatement.executeBatch();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            getPlayerClaims(uuid).forEach(claim -> instance.getWriteQueue().mark(claim, Field.MEMBERS));
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2745,30 +3320,17 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> removeClaimMember(Claim claim, String name) {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
             	// Get data
-            	UUID uuid = claim.getUUID();
             	UUID targetUUID = instance.getPlayerMain().getPlayerUUID(name);
             	
 	        	// Add member
 	            claim.removeMember(targetUUID);
 	            
 	            // Update database
-	            String membersString = getMemberString(claim);
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET Members = ? WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                    preparedStatement.setString(1, membersString);
-	                    preparedStatement.setString(2, uuid.toString());
-	                    preparedStatement.setString(3, claim.getName());
-	                    preparedStatement.executeUpdate();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            instance.getWriteQueue().mark(claim, Field.MEMBERS);
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2784,32 +3346,17 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> removeAllClaimsMember(String owner, String name) {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
 
 	            // Get uuid of the owner and target
             	UUID uuid = owner.equals("*") ? SERVER_UUID : instance.getPlayerMain().getPlayerUUID(owner);
-            	String uuid_string = uuid.toString();
 	            UUID targetUUID = instance.getPlayerMain().getPlayerUUID(name);
-	            playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>()).stream().forEach(claim -> claim.removeMember(targetUUID));
+	            getPlayerClaims(uuid).stream().forEach(claim -> claim.removeMember(targetUUID));
 	            
 	            // Update database
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET Members = ? WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                	for (Claim claim : playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>())) {
-	                        preparedStatement.setString(1, getMemberString(claim));
-	                        preparedStatement.setString(2, uuid_string);
-	                        preparedStatement.setString(3, claim.getName());
-	                        preparedStatement.addBatch();
-	                    }
-	                    preparedStatement.executeBatch();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            getPlayerClaims(uuid).forEach(claim -> instance.getWriteQueue().mark(claim, Field.MEMBERS));
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2825,36 +3372,18 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> setClaimName(Claim claim, String name) {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
             	
 	        	// Get data and update name
-            	UUID uuid = claim.getUUID();
-	            String old_name = claim.getName();
-	            claim.setName(name);
+	            renameClaim(claim, name);
 	            
 	            // Update name on bossbars and maps
-	        	Set<Chunk> chunks = claim.getChunks();
-	            instance.executeSync(() -> instance.getBossBars().activateBossBar(chunks));
-	            getMapAutoForChunks(chunks);
-	        	if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().updateName(claim);
-	        	if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().updateName(claim);
-	        	if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().updateName(claim);
+	        	instance.getChangeBus().publish(claim, ClaimChange.Type.RENAMED);
 	        	
 	        	// Update database
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET claim_name = ? WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                    preparedStatement.setString(1, name);
-	                    preparedStatement.setString(2, uuid.toString());
-	                    preparedStatement.setString(3, old_name);
-	                    preparedStatement.executeUpdate();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            instance.getWriteQueue().mark(claim, Field.NAME);
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2870,28 +3399,15 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> setClaimLocation(Claim claim, Location loc) {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
             	
-	        	// Get data and update loc
-            	UUID uuid = claim.getUUID();
+	        	// Update loc
 	        	claim.setLocation(loc);
 	        	
 	        	// Update database
-	            String loc_string = String.valueOf(loc.getX()) + ";" + String.valueOf(loc.getY()) + ";" + String.valueOf(loc.getZ()) + ";" + String.valueOf(loc.getYaw()) + ";" + String.valueOf(loc.getPitch());
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET Location = ? WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                    preparedStatement.setString(1, loc_string);
-	                    preparedStatement.setString(2, uuid.toString());
-	                    preparedStatement.setString(3, claim.getName());
-	                    preparedStatement.executeUpdate();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            instance.getWriteQueue().mark(claim, Field.LOCATION);
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2906,22 +3422,17 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> deleteClaim(Claim claim) {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
             	
 	        	// Get data
             	UUID uuid = claim.getUUID();
 	            
 	        	// Delete all chunks and deactivate bossbars
-	        	Set<Chunk> chunks = claim.getChunks();
-	        	instance.executeSync(() -> instance.getBossBars().deactivateBossBar(chunks));
-	        	if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().deleteMarker(chunks);
-	        	if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().deleteMarker(chunks);
-	        	if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().deleteMarker(chunks);
-	        	chunks.stream().forEach(c -> listClaims.remove(c));
+	        	instance.getChangeBus().publish(claim, ClaimChange.Type.DELETED);
+	        	unindexClaim(claim);
                 resetWeatherChunk(claim);
                 resetFlyChunk(claim);
-                getMapAutoForChunks(chunks);
 	            
 	            // Update player's claims count if its not a protected area
                 if(!claim.getOwner().equals("*")) {
@@ -2933,26 +3444,15 @@ public class ClaimMain {
                 }
             
 	        	// Remove claim from owner's claims list
-	            playerClaims.get(uuid).remove(claim);
-	            if (playerClaims.get(uuid).isEmpty()) playerClaims.remove(uuid);
+	            unregisterClaim(uuid, claim);
 	            
 	            // Call event
                 UnclaimEvent event = new UnclaimEvent(claim);
                 instance.executeSync(() -> Bukkit.getPluginManager().callEvent(event));
 	            
 	            // Update database
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String deleteQuery = "DELETE FROM scs_claims_1 WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(deleteQuery)) {
-	                    preparedStatement.setString(1, uuid.toString());
-	                    preparedStatement.setString(2, claim.getName());
-	                    preparedStatement.executeUpdate();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            instance.getWriteQueue().discard(claim);
+	            return deleteClaimsFromDatabase(List.of(claim));
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2960,6 +3460,38 @@ public class ClaimMain {
         });
     }
 
+    /**
+     * Deletes claims from the database, with their chunks, members and bans.
+     * <p>
+     * The inserts of new claims still being written are awaited first, a claim
+     * not stored after that has no row to delete.
+     *
+     * @param claims the claims to delete
+     * @return true if the claims were deleted, false otherwise
+     */
+    private boolean deleteClaimsFromDatabase(Collection<Claim> claims) {
+    	awaitInserts(claims);
+    	instance.getSnapshot().unseal();
+    	String[] deleteQueries = {
+    			"DELETE FROM scs_claim_chunks WHERE claim_id = ?",
+    			"DELETE FROM scs_claim_members WHERE claim_id = ?",
+    			"DELETE FROM scs_claim_bans WHERE claim_id = ?",
+    			"DELETE FROM scs_claims_2 WHERE id = ?"
+    	};
+    	return instance.getWriter().write(connection -> {
+    		for (String deleteQuery : deleteQueries) {
+    			try (PreparedStatement preparedStatement = connection.prepareStatement(deleteQuery)) {
+    				for (Claim claim : claims) {
+    					if (claim.getStorageId() == 0) continue;
+    					preparedStatement.setInt(1, claim.getStorageId());
+    					preparedStatement.addBatch();
+    				}
+    				preparedStatement.executeBatch();
+    			}
+    		}
+    	});
+    }
+
     /**
      * Method to delete all owner's claims.
      *
@@ -2967,7 +3499,7 @@ public class ClaimMain {
      * @return CompletableFuture<Boolean> indicating success or failure
      */
     public CompletableFuture<Boolean> deleteAllClaims(String owner) {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
                 
 	            // Get uuid of the owner and update owner claims count
@@ -2981,37 +3513,22 @@ public class ClaimMain {
 	            }
 
                 // Delete all claims of target player, and remove him from data
-	            CustomSet<Claim> claims = playerClaims.getOrDefault(uuid, new CustomSet<>());
-                playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>()).stream().forEach(claim -> {
-                    Set<Chunk> chunks = claim.getChunks();
-                    instance.executeSync(() -> instance.getBossBars().deactivateBossBar(chunks));
-                    if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().deleteMarker(chunks);
-                    if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().deleteMarker(chunks);
-                    if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().deleteMarker(chunks);
-                    chunks.stream().forEach(c -> listClaims.remove(c));
+	            CustomSet<Claim> claims = new CustomSet<>(getPlayerClaims(uuid));
+                getPlayerClaims(uuid).stream().forEach(claim -> {
+                    instance.getChangeBus().publish(claim, ClaimChange.Type.DELETED);
+                    unindexClaim(claim);
                     updateWeatherChunk(claim);
                     updateFlyChunk(claim);
-                    getMapAutoForChunks(chunks);
                 });
-                playerClaims.remove(uuid);
+                removeCatalog(uuid);
                 
 	            // Call event
                 UnclaimallEvent event = new UnclaimallEvent(claims);
                 instance.executeSync(() -> Bukkit.getPluginManager().callEvent(event));
 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String deleteQuery = "DELETE FROM scs_claims_1 WHERE owner_uuid = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(deleteQuery)) {
-                        preparedStatement.setString(1, uuid.toString());
-                        preparedStatement.executeUpdate();
-                    }
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
-
-                return true;
+                claims.forEach(claim -> instance.getWriteQueue().discard(claim));
+                return deleteClaimsFromDatabase(claims);
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3027,28 +3544,14 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> setClaimDescription(Claim claim, String description) {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
-            	// Get data
-            	UUID uuid = claim.getUUID();
-            	
             	// Update description
 	        	claim.setDescription(description);
 	        	
 	        	// Update database
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET claim_description = ? WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                    preparedStatement.setString(1, description);
-	                    preparedStatement.setString(2, uuid.toString());
-	                    preparedStatement.setString(3, claim.getName());
-	                    preparedStatement.executeUpdate();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            instance.getWriteQueue().mark(claim, Field.DESCRIPTION);
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3064,29 +3567,15 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> setChunkSale(Claim claim, double price) {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
-            	// Get data
-            	UUID uuid = claim.getUUID();
-            	
             	// Update sale and price
 	            claim.setSale(true);
 	            claim.setPrice(price);
 	            
 	            // Update database
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET for_sale = true, sale_price = ? WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                    preparedStatement.setString(1, String.valueOf(price));
-	                    preparedStatement.setString(2, uuid.toString());
-	                    preparedStatement.setString(3, claim.getName());
-	                    preparedStatement.executeUpdate();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            instance.getWriteQueue().mark(claim, Field.SALE);
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3101,28 +3590,15 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> delChunkSale(Claim claim) {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
-            	// Get data
-            	UUID uuid = claim.getUUID();
-            	
             	// Update sale and price
 	            claim.setSale(false);
 	            claim.setPrice(0.0);
 	            
 	            // Update database
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET for_sale = false, sale_price = 0 WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                    preparedStatement.setString(1, uuid.toString());
-	                    preparedStatement.setString(2, claim.getName());
-	                    preparedStatement.executeUpdate();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            instance.getWriteQueue().mark(claim, Field.SALE);
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3137,7 +3613,7 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> resetAllOwnerClaimsSettings(String owner) {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
             	// Get data
 	        	String defaultValue = instance.getSettings().getDefaultValuesCode("all");
@@ -3147,24 +3623,22 @@ public class ClaimMain {
 	        	UUID uuid = owner.equals("*") ? SERVER_UUID : instance.getPlayerMain().getPlayerUUID(owner);
 
 	        	// Update perms
-	            playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>()).stream().forEach(c -> {
+	            getPlayerClaims(uuid).stream().forEach(c -> {
 	            	c.setPermissions(new HashMap<>(perm));
+	            	instance.getChangeBus().publish(c, ClaimChange.Type.PERMISSIONS_CHANGED);
 	                updateWeatherChunk(c);
 	                updateFlyChunk(c);
 	            });
 	            
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET permissions = ? WHERE owner_uuid = ?";
+	            instance.getSnapshot().unseal();
+	            return instance.getWriter().write(connection -> {
+	                String updateQuery = "UPDATE scs_claims_2 SET permissions = ? WHERE owner_uuid = ?";
 	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
 	                    preparedStatement.setString(1, defaultValue);
 	                    preparedStatement.setString(2, uuid.toString());
 	                    preparedStatement.executeUpdate();
 	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            });
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3180,34 +3654,23 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> resetClaimSettings(Claim claim) {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
             	
             	// Get data
-            	UUID uuid = claim.getUUID();
-	        	String defaultValue = instance.getSettings().getDefaultValuesCode("all");
 	        	Map<String,LinkedHashMap<String,Boolean>> perm = new HashMap<>(instance.getSettings().getDefaultValues());
 	        	
 	        	// Update perms
 	            claim.setPermissions(perm);
 	            
 	            // Update weather and fly
-                updateWeatherChunk(claim);
-                updateFlyChunk(claim);
-	            
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET Permissions = ? WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                    preparedStatement.setString(1, defaultValue);
-	                    preparedStatement.setString(2, uuid.toString());
-	                    preparedStatement.setString(3, claim.getName());
-	                    preparedStatement.executeUpdate();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+                updateWeatherChunk(claim);
+                updateFlyChunk(claim);
+	            
+	            // Update database
+	            instance.getWriteQueue().mark(claim, Field.PERMISSIONS);
+	            instance.getChangeBus().publish(claim, ClaimChange.Type.PERMISSIONS_CHANGED);
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3221,30 +3684,28 @@ public class ClaimMain {
      * @return true if the operation was successful, false otherwise
      */
     public CompletableFuture<Boolean> resetAllPlayerClaimsSettings() {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
 	        	String defaultValue = instance.getSettings().getDefaultValuesCode("all");
 	        	Map<String,LinkedHashMap<String,Boolean>> perm = new HashMap<>(instance.getSettings().getDefaultValues());
-	            listClaims.values().stream().forEach(c -> {
+	            getAllClaims().stream().forEach(c -> {
 	            	if(!c.getUUID().equals(SERVER_UUID)) {
 	                    c.setPermissions(new HashMap<>(perm));
+	                    instance.getChangeBus().publish(c, ClaimChange.Type.PERMISSIONS_CHANGED);
 	    	            // Update weather and fly
 	                    updateWeatherChunk(c);
 	                    updateFlyChunk(c);
 	            	}
 	            });
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET permissions = ? WHERE owner_uuid <> ?";
+	            instance.getSnapshot().unseal();
+	            return instance.getWriter().write(connection -> {
+	                String updateQuery = "UPDATE scs_claims_2 SET permissions = ? WHERE owner_uuid <> ?";
 	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
 	                    preparedStatement.setString(1, defaultValue);
 	                    preparedStatement.setString(2, SERVER_UUID.toString());
 	                    preparedStatement.executeUpdate();
 	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            });
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3259,12 +3720,11 @@ public class ClaimMain {
      * @param chunk the chunk representing the claim
      */
     public CompletableFuture<Boolean> sellChunk(Player player, Claim claim) {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
 	        	// Get data
             	String playerName = player.getName();
             	UUID playerId = player.getUniqueId();
-	        	String old_name = claim.getName();
 	            String owner = claim.getOwner();
 	            double price = claim.getPrice();
 	            
@@ -3285,8 +3745,7 @@ public class ClaimMain {
 	            }
 	            
 	            // Delete old owner claim
-	            playerClaims.get(uuid).remove(claim);
-	            if (playerClaims.get(uuid).isEmpty()) playerClaims.remove(uuid);
+	            unregisterClaim(uuid, claim);
 	            
 	            // Set uuid of the new owner and update their claims count
 		        CPlayer cTarget = instance.getPlayerMain().getCPlayer(playerId);
@@ -3309,41 +3768,20 @@ public class ClaimMain {
 	            }
 	            members.remove(uuid);
 	            claim.setMembers(members);
-	            String members_string = getMemberString(claim);
 	            
 	            // Delete the sale and set the price to 0.0
 	            claim.setSale(false);
 	            claim.setPrice(0.0);
 	            
 	            // Add the claim to the new owner
-	            playerClaims.computeIfAbsent(playerId, k -> new CustomSet<>()).add(claim);
+	            registerClaim(claim);
 	            
 	            // Update the bossbars, and maps
-	        	Set<Chunk> chunks = claim.getChunks();
-	            instance.executeSync(() -> instance.getBossBars().activateBossBar(chunks));
-	            getMapAutoForChunks(chunks);
-	        	if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().updateName(claim);
-	        	if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().updateName(claim);
-	        	if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().updateName(claim);
+	            instance.getChangeBus().publish(claim, ClaimChange.Type.OWNER_CHANGED, ClaimChange.Type.RENAMED);
 	            
-	        	// Update database
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET id_claim = ?, owner_uuid = ?, owner_name = ?, members = ?, claim_name = ?, for_sale = false, sale_price = 0 WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                	preparedStatement.setInt(1, id);
-	                    preparedStatement.setString(2, playerId.toString());
-	                    preparedStatement.setString(3, playerName);
-	                    preparedStatement.setString(4, members_string);
-	                    preparedStatement.setString(5, new_name);
-	                    preparedStatement.setString(6, uuid.toString());
-	                    preparedStatement.setString(7, old_name);
-	                    preparedStatement.executeUpdate();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            // Update database
+	            instance.getWriteQueue().mark(claim, Field.OWNER, Field.NAME, Field.MEMBERS, Field.SALE);
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3360,10 +3798,9 @@ public class ClaimMain {
      * @param msg whether to send a message to the sender
      */
     public CompletableFuture<Boolean> setOwner(String playerName, Claim claim) {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
 	        	// Get data
-	        	String old_name = claim.getName();
 	            String owner = claim.getOwner();
 	            
 	            // Set uuid of the old owner, and update their claims count if online
@@ -3379,12 +3816,10 @@ public class ClaimMain {
 	            }
 	            
 	            // Delete old owner claim
-	            playerClaims.get(uuid).remove(claim);
-	            if (playerClaims.get(uuid).isEmpty()) playerClaims.remove(uuid);
+	            unregisterClaim(uuid, claim);
 	            
 	            // Update the claims count of new owner if online, and set the new owner to him
 	            UUID uuidNewOwner = instance.getPlayerMain().getPlayerUUID(playerName);
-	            String uuid_new_owner = uuidNewOwner.toString();
 	            Player player = Bukkit.getPlayer(playerName);
 	            if (player != null && player.isOnline()) {
 	                CPlayer cTarget = instance.getPlayerMain().getCPlayer(uuidNewOwner);
@@ -3410,37 +3845,20 @@ public class ClaimMain {
 	            }
 	            members.remove(uuid);
 	            claim.setMembers(members);
-	            String members_string = getMemberString(claim);
+	            
+	            // Delete the sale and set the price to 0.0
+	            claim.setSale(false);
+	            claim.setPrice(0.0);
 	            
 	            // Add the claim to the new owner
-	            playerClaims.computeIfAbsent(uuidNewOwner, k -> new CustomSet<>()).add(claim);
+	            registerClaim(claim);
 	            
 	            // Update the bossbars, and maps
-	        	Set<Chunk> chunks = claim.getChunks();
-	        	instance.executeSync(() -> instance.getBossBars().activateBossBar(chunks));
-	        	getMapAutoForChunks(chunks);
-	        	if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().updateName(claim);
-	        	if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().updateName(claim);
-	        	if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().updateName(claim);
+	            instance.getChangeBus().publish(claim, ClaimChange.Type.OWNER_CHANGED, ClaimChange.Type.RENAMED);
 	            
-	            // Updata database
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET id_claim = ?, owner_uuid = ?, owner_name = ?, members = ?, claim_name = ?, for_sale = false, sale_price = 0 WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                	preparedStatement.setInt(1, id);
-	                    preparedStatement.setString(2, uuid_new_owner);
-	                    preparedStatement.setString(3, playerName);
-	                    preparedStatement.setString(4, members_string);
-	                    preparedStatement.setString(5, new_name);
-	                    preparedStatement.setString(6, uuid.toString());
-	                    preparedStatement.setString(7, old_name);
-	                    preparedStatement.executeUpdate();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            // Update database
+	            instance.getWriteQueue().mark(claim, Field.OWNER, Field.NAME, Field.MEMBERS, Field.SALE);
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3457,7 +3875,7 @@ public class ClaimMain {
      * @param owner The owner of the claims
      */
     public CompletableFuture<Boolean> setOwner(String newOwner, CustomSet<Claim> claims, String oldOwner) {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
 	            
 	            // Set uuid of the old owner, and update their claims count if online
@@ -3473,79 +3891,55 @@ public class ClaimMain {
 	            }
 	            
 	            // Delete old owner claim
-	            playerClaims.get(uuid_real).removeAll(claims);
-	            if (playerClaims.get(uuid_real).isEmpty()) playerClaims.remove(uuid_real);
+	            for (Claim claim : new ArrayList<>(claims)) {
+	            	unregisterClaim(uuid_real, claim);
+	            }
 	            
 	            // Update the claims count of new owner if online, and set the new owner to him
 	            UUID uuidNewOwner = instance.getPlayerMain().getPlayerUUID(newOwner);
-	            String uuid_new_owner = uuidNewOwner.toString();
 	            Player player = Bukkit.getPlayer(newOwner);
 	            if (player != null && player.isOnline()) {
 	                CPlayer cTarget = instance.getPlayerMain().getCPlayer(uuidNewOwner);
 	                cTarget.setClaimsCount(cTarget.getClaimsCount() + claims.size());
 	            }
 	            
-	            // Updata database
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET id_claim = ?, owner_uuid = ?, owner_name = ?, members = ?, claim_name = ?, for_sale = false, sale_price = 0 WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                	
-	                	for(Claim claim : claims) {
-	                		
-	                		int id = findFreeId(uuidNewOwner);
-	                		String old_name = claim.getName();
-	                		
-	                		// Set the new owner to him
-	        	            claim.setOwner(newOwner);
-	        	            
-	        	            // Set new id and uuid
-	        	            claim.setUUID(uuidNewOwner);
-	        	            claim.setId(id);
-	        	            
-	        	            // Set the new name of the bought claim
-	        	            String new_name = "claim-" + String.valueOf(id);
-	        	            claim.setName(new_name);
-	        	            
-	        	            // Add the new owner to members if not member, and remove the old owner
-	        	            CustomSet<UUID> members = new CustomSet<>(claim.getMembers());
-	        	            if (!members.contains(uuidNewOwner)) {
-	        	                members.add(uuidNewOwner);
-	        	            }
-	        	            members.remove(uuid_real);
-	        	            claim.setMembers(members);
-	        	            String members_string = getMemberString(claim);
-	        	            
-	        	            // Add claim
-	        	            playerClaims.computeIfAbsent(uuidNewOwner, k -> new CustomSet<>()).add(claim);
-	        	            
-	        	            // Update the bossbars, and maps
-	        	        	Set<Chunk> chunks = claim.getChunks();
-	        	        	getMapAutoForChunks(chunks);
-	        	        	instance.executeSync(() -> instance.getBossBars().activateBossBar(chunks));
-	        	        	if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().updateName(claim);
-	        	        	if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().updateName(claim);
-	        	        	if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().updateName(claim);
-	        	        	
-		                	preparedStatement.setInt(1, id);
-		                	preparedStatement.setString(2, uuid_new_owner);
-		                    preparedStatement.setString(3, newOwner);
-		                    preparedStatement.setString(4, members_string);
-		                    preparedStatement.setString(5, new_name);
-		                    preparedStatement.setString(6, uuid_real.toString());
-		                    preparedStatement.setString(7, old_name);
-		                    preparedStatement.addBatch();
-	                	}
-	                	
-	                	int[] n = preparedStatement.executeBatch();
-		                return n[0]>0;
-		            } catch (SQLException e) {
-		                e.printStackTrace();
-		                return false;
-		            }
-	            } catch (Exception e) {
-	                e.printStackTrace();
-	                return false;
+	            // Update claims and database
+	            for(Claim claim : claims) {
+	            	
+	            	int id = findFreeId(uuidNewOwner);
+	            	
+	            	// Set the new owner to him
+	            	claim.setOwner(newOwner);
+	            	
+	            	// Set new id and uuid
+	            	claim.setUUID(uuidNewOwner);
+	            	claim.setId(id);
+	            	
+	            	// Set the new name of the bought claim
+	            	String new_name = "claim-" + String.valueOf(id);
+	            	claim.setName(new_name);
+	            	
+	            	// Add the new owner to members if not member, and remove the old owner
+	            	CustomSet<UUID> members = new CustomSet<>(claim.getMembers());
+	            	if (!members.contains(uuidNewOwner)) {
+	            		members.add(uuidNewOwner);
+	            	}
+	            	members.remove(uuid_real);
+	            	claim.setMembers(members);
+	            	
+	            	// Delete the sale and set the price to 0.0
+	            	claim.setSale(false);
+	            	claim.setPrice(0.0);
+	            	
+	            	// Add claim
+	            	registerClaim(claim);
+	            	
+	            	// Update the bossbars, and maps
+	            	instance.getChangeBus().publish(claim, ClaimChange.Type.OWNER_CHANGED, ClaimChange.Type.RENAMED);
+	            	
+	            	instance.getWriteQueue().mark(claim, Field.OWNER, Field.NAME, Field.MEMBERS, Field.SALE);
 	            }
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3561,106 +3955,17 @@ public class ClaimMain {
      * @return true if the merge process was initiated successfully
      */
     public CompletableFuture<Boolean> removeClaimChunk(Claim claim, String chunk_default){
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-            	String[] parts = chunk_default.split(";");
-            	World world = Bukkit.getWorld(parts[0]);
-            	if(world == null) return false;
-            	int X_;
-            	int Z_;
-            	try {
-            		X_ = Integer.parseInt(parts[1]);
-            	} catch (NumberFormatException e) {
-            		return false;
-            	}
-            	try {
-            		Z_ = Integer.parseInt(parts[2]);
-            	} catch (NumberFormatException e) {
-            		return false;
-            	}
-            	if(instance.isFolia()) {
-            		CompletableFuture<Boolean> future = world.getChunkAtAsync(X_, Z_).thenApply(chunk -> {
-            			
-            			// Remove chunk
-            			Set<Chunk> chunks = new CustomSet<>(claim.getChunks());
-            			if(!chunks.contains(chunk)) return false;
-                    	chunks.remove(chunk);
-                    	claim.setChunks(chunks);
-                    	listClaims.remove(chunk);
-                    	
-                    	// Remove bossbar and maps
-                        if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().deleteMarker(Set.of(chunk));
-                        if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().deleteMarker(Set.of(chunk));
-                        if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().deleteMarker(Set.of(chunk));
-                    	instance.executeSync(() -> instance.getBossBars().deactivateBossBar(Set.of(chunk)));
-                        updateWeatherChunk(claim);
-                        updateFlyChunk(claim);
-                        getMapAutoForChunks(chunks);
-        	            
-        	            // Serialize chunks
-        	            String chunksData = serializeChunks(chunks);
-        	            
-        	            // Get uuid of the owner
-        	            UUID uuid = claim.getUUID();
-        	            
-        	            // Update database
-        	            try (Connection connection = instance.getDataSource().getConnection()) {
-        	                String updateQuery = "UPDATE scs_claims_1 SET chunks = ? WHERE owner_uuid = ? AND claim_name = ?";
-        	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-        	                    preparedStatement.setString(1, chunksData);
-        	                    preparedStatement.setString(2, uuid.toString());
-        	                    preparedStatement.setString(3, claim.getName());
-        	                    preparedStatement.executeUpdate();
-        	                }
-        	                return true;
-        	            } catch (SQLException e) {
-        	                e.printStackTrace();
-        	                return false;
-        	            }
-            		});
-            		return future.join();
-            	} else {
-            		Chunk chunk = world.getChunkAt(X_, Z_);
-            		// Remove chunk
-            		Set<Chunk> chunks = new CustomSet<>(claim.getChunks());
-                	chunks.remove(chunk);
-                	claim.setChunks(chunks);
-                	listClaims.remove(chunk);
-                	
-                	// Remove bossbar and maps
-                    if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().deleteMarker(Set.of(chunk));
-                    if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().deleteMarker(Set.of(chunk));
-                    if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().deleteMarker(Set.of(chunk));
-                	instance.executeSync(() -> instance.getBossBars().deactivateBossBar(Set.of(chunk)));
-                    updateWeatherChunk(claim);
-                    updateFlyChunk(claim);
-    	            
-    	            // Serialize chunks
-    	            String chunksData = serializeChunks(chunks);
-    	            
-    	            // Get uuid of the owner
-    	            UUID uuid = claim.getUUID();
-    	            
-    	            // Update database
-    	            try (Connection connection = instance.getDataSource().getConnection()) {
-    	                String updateQuery = "UPDATE scs_claims_1 SET chunks = ? WHERE owner_uuid = ? AND claim_name = ?";
-    	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-    	                    preparedStatement.setString(1, chunksData);
-    	                    preparedStatement.setString(2, uuid.toString());
-    	                    preparedStatement.setString(3, claim.getName());
-    	                    preparedStatement.executeUpdate();
-    	                }
-    	                return true;
-    	            } catch (SQLException e) {
-    	                e.printStackTrace();
-    	                return false;
-    	            }
-            	}
-            } catch (Exception e) {
-                e.printStackTrace();
-                return false;
-            }
-        });
+    	String[] parts = chunk_default.split(";");
+    	if(parts.length < 3 || !parts[0].equals(claim.getWorldName())) return CompletableFuture.completedFuture(false);
+    	int X_;
+    	int Z_;
+    	try {
+    		X_ = Integer.parseInt(parts[1]);
+    		Z_ = Integer.parseInt(parts[2]);
+    	} catch (NumberFormatException e) {
+    		return CompletableFuture.completedFuture(false);
+    	}
+    	return removeClaimChunk(claim, ChunkKey.of(X_, Z_));
     }
     
     /**
@@ -3671,43 +3976,34 @@ public class ClaimMain {
      * @return true if the merge process was initiated successfully
      */
     public CompletableFuture<Boolean> removeClaimChunk(Claim claim, Chunk chunk){
-        return CompletableFuture.supplyAsync(() -> {
+    	if(!chunk.getWorld().getName().equals(claim.getWorldName())) return CompletableFuture.completedFuture(false);
+    	return removeClaimChunk(claim, ChunkKey.of(chunk));
+    }
+    
+    /**
+     * Remove a chunk from a claim, by its packed key
+     * 
+     * @param claim The target claim
+     * @param key The packed key of the chunk to remove
+     * @return true if the merge process was initiated successfully
+     */
+    private CompletableFuture<Boolean> removeClaimChunk(Claim claim, long key){
+        return instance.getIOExecutor().supply(() -> {
             try {
         		// Remove chunk
-        		Set<Chunk> chunks = new CustomSet<>(claim.getChunks());
-            	chunks.remove(chunk);
-            	claim.setChunks(chunks);
-            	listClaims.remove(chunk);
+            	if(!claim.getChunkKeys().contains(key)) return false;
+            	String world = claim.getWorldName();
+            	claim.removeChunk(key);
+            	unindexChunk(world, key);
+            	instance.getWriteQueue().markChunk(claim, key, false);
+            	updatePlaceholders(claim.getUUID());
             	
             	// Remove bossbar and maps
-                if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().deleteMarker(Set.of(chunk));
-                if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().deleteMarker(Set.of(chunk));
-                if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().deleteMarker(Set.of(chunk));
-            	instance.executeSync(() -> instance.getBossBars().deactivateBossBar(Set.of(chunk)));
+            	instance.getChangeBus().publishChunk(claim, key, false);
                 updateWeatherChunk(claim);
                 updateFlyChunk(claim);
-                getMapAutoForChunks(chunks);
-	            
-	            // Serialize chunks
-	            String chunksData = serializeChunks(chunks);
-	            
-	            // Get uuid of the owner
-	            UUID uuid = claim.getUUID();
 	            
-	            // Update database
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET chunks = ? WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                    preparedStatement.setString(1, chunksData);
-	                    preparedStatement.setString(2, uuid.toString());
-	                    preparedStatement.setString(3, claim.getName());
-	                    preparedStatement.executeUpdate();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3723,44 +4019,26 @@ public class ClaimMain {
      * @return true if the merge process was initiated successfully
      */
     public CompletableFuture<Boolean> addClaimChunk(Claim claim, Chunk chunk){
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
     			// Add chunk
-            	Set<Chunk> chunks = new CustomSet<>(claim.getChunks());
-            	if(chunks.contains(chunk)) return false;
-            	chunks.add(chunk);
-            	claim.setChunks(chunks);
-            	listClaims.put(chunk,claim);
+            	if(claim.containsChunk(chunk)) return false;
+            	long key = ChunkKey.of(chunk);
+            	claim.addChunk(chunk);
+            	if (!indexChunk(claim, key)) {
+            		// Claimed by another claim in the meantime, undo the add
+            		claim.removeChunk(key);
+            		return false;
+            	}
+            	instance.getWriteQueue().markChunk(claim, key, true);
+            	updatePlaceholders(claim.getUUID());
             	
             	// Add bossbar and maps
-                if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().createClaimZone(claim);
-                if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().createClaimZone(claim);
-                if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().createClaimZone(claim);
-            	instance.executeSync(() -> instance.getBossBars().activateBossBar(Set.of(chunk)));
+            	instance.getChangeBus().publishChunk(claim, key, true);
                 updateWeatherChunk(claim);
                 updateFlyChunk(claim);
-                getMapAutoForChunks(chunks);
             	
-                // Serialize chunks
-	            String chunksData = serializeChunks(chunks);
-	            
-	            // Get uuid of the owner
-	            UUID uuid = claim.getUUID();
-	            
-	            // Update database
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET chunks = ? WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                    preparedStatement.setString(1, chunksData);
-	                    preparedStatement.setString(2, uuid.toString());
-	                    preparedStatement.setString(3, claim.getName());
-	                    preparedStatement.executeUpdate();
-	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3776,26 +4054,27 @@ public class ClaimMain {
      * @return true if the merge process was initiated successfully
      */
     public CompletableFuture<Boolean> mergeClaims(Claim claim1, CustomSet<Claim> claims) {
-        return CompletableFuture.supplyAsync(() -> {
+        return instance.getIOExecutor().supply(() -> {
             try {
+            	
+            	// Wait for the claims still being inserted, the chunks are moved to the row of claim1
+            	awaitInserts(List.of(claim1));
+            	awaitInserts(claims);
+            	if (claim1.getStorageId() == 0) return false;
 	            
 	            // Collect chunks from claims and update listClaims map and add new chunks
 	            claims.stream().forEach(claim -> {
-	            	Set<Chunk> chunks = claim.getChunks();
-	            	chunks.stream().forEach(c -> listClaims.put(c, claim1));
-	            	claim1.addChunks(chunks);
-	            	instance.executeSync(() -> instance.getBossBars().activateBossBar(chunks));
-	                if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().updateName(claim1);
-	                if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().updateName(claim1);
-	                if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().updateName(claim1);
-	                updateWeatherChunk(claim1);
-	                updateFlyChunk(claim1);
-	                getMapAutoForChunks(chunks);
+	            	ChunkKeySet chunks = claim.getChunkKeys();
+	            	updateIndex(claim1.getWorldName(), index -> chunks.forEach(key -> index.put(key, claim1)));
+	            	claim1.addChunkKeys(chunks);
+	            	instance.getChangeBus().publish(claim, ClaimChange.Type.DELETED);
+	            	chunks.forEach(key -> instance.getChangeBus().publishChunk(claim1, key, true));
 	            });
+                updateWeatherChunk(claim1);
+                updateFlyChunk(claim1);
 	            
 	            // Get uuid of the owner
 	            UUID uuid = claim1.getUUID();
-	            String uuid_string = uuid.toString();
 	            String owner = claim1.getOwner();
 	            if(!owner.equals("*")) {
 		            Player player = Bukkit.getPlayer(owner);
@@ -3807,34 +4086,31 @@ public class ClaimMain {
 	            }
 		            
 	            // Remove claims from player's claims
-		        playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>()).removeAll(claims);
-	            
-	            // Serialize chunks
-	            String chunksData = serializeChunks(claim1.getChunks());
+		        for (Claim claim : new ArrayList<>(claims)) {
+		        	unregisterClaim(uuid, claim);
+		        }
 	            
-	            // Update database
-	            try (Connection connection = instance.getDataSource().getConnection()) {
-	                String updateQuery = "UPDATE scs_claims_1 SET chunks = ? WHERE owner_uuid = ? AND claim_name = ?";
+	            // Update database, the stored chunks of the merged claims are moved to claim1,
+	            // the chunks of a claim whose insert failed are inserted for claim1
+	            instance.getWriteQueue().flush(claims);
+	            claims.forEach(claim -> instance.getWriteQueue().discard(claim));
+	            instance.getSnapshot().unseal();
+	            boolean moved = instance.getWriter().write(connection -> {
+	                String updateQuery = "UPDATE scs_claim_chunks SET claim_id = ? WHERE claim_id = ?";
 	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-	                    preparedStatement.setString(1, chunksData);
-	                    preparedStatement.setString(2, uuid_string);
-	                    preparedStatement.setString(3, claim1.getName());
-	                    preparedStatement.executeUpdate();
-	                }
-	                String deleteQuery = "DELETE FROM scs_claims_1 WHERE owner_uuid = ? AND claim_name = ?";
-	                try (PreparedStatement preparedStatement = connection.prepareStatement(deleteQuery)) {
 	                	for(Claim claim : claims) {
-	                        preparedStatement.setString(1, uuid_string);
-	                        preparedStatement.setString(2, claim.getName());
+	                		if (claim.getStorageId() == 0) {
+	                			insertClaimChunks(connection, claim1.getStorageId(), claim1.getWorldName(), new ChunkKeySet(claim.getChunkKeys()));
+	                			continue;
+	                		}
+	                        preparedStatement.setInt(1, claim1.getStorageId());
+	                        preparedStatement.setInt(2, claim.getStorageId());
 	                        preparedStatement.addBatch();
-	                	};
+	                	}
 	                	preparedStatement.executeBatch();
 	                }
-	                return true;
-	            } catch (SQLException e) {
-	                e.printStackTrace();
-	                return false;
-	            }
+	            });
+	            return moved && deleteClaimsFromDatabase(claims);
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3852,37 +4128,57 @@ public class ClaimMain {
      * @param see if its from the /claim see command
      */
     public void displayChunks(Player player, CustomSet<Chunk> chunks, boolean claim, boolean see) {
-        Particle.DustOptions dustOptions = getDustOptions(player, claim, see);
+        String world = player.getWorld().getName();
+        ChunkKeySet keys = new ChunkKeySet(chunks.size());
+        for (Chunk chunk : chunks) {
+            if (chunk.getWorld().getName().equals(world)) keys.add(ChunkKey.of(chunk));
+        }
+        displayBorder(player, world, List.of(ClaimParticleRenderer.getOutline(keys)), getDustOptions(player, claim, see));
+    }
 
-        CompletableFuture<Set<Location>> futureLocations = getParticleLocations(chunks);
-        
-        futureLocations.thenAccept(particleLocations -> {
-	        if (instance.isFolia()) {
-	            final int[] counter = {0};
-	            Bukkit.getAsyncScheduler().runAtFixedRate(instance, task -> {
-	                if (counter[0] >= 10) {
-	                    task.cancel();
-	                }
-	                World world = player.getWorld();
-	                particleLocations.stream().forEach(location -> world.spawnParticle(Particle.REDSTONE, location, 1, 0, 0, 0, 0, dustOptions));
-	                counter[0]++;
-	            }, 0, 500, TimeUnit.MILLISECONDS);
-	        } else {
-	            new BukkitRunnable() {
-	                int counter = 0;
-	
-	                @Override
-	                public void run() {
-	                    if (counter >= 10) {
-	                        this.cancel();
-	                    }
-	                    World world = player.getWorld();
-	                    particleLocations.stream().forEach(location -> world.spawnParticle(Particle.REDSTONE, location, 1, 0, 0, 0, 0, dustOptions));
-	                    counter++;
-	                }
-	            }.runTaskTimerAsynchronously(instance, 0, 10L);
-	        }
-        });
+    /**
+     * Displays particles around a claim, from its cached border.
+     *
+     * @param player the player
+     * @param target the claim to be displayed
+     * @param claim  whether the claim is being claimed or not
+     * @param see if its from the /claim see command
+     */
+    public void displayClaim(Player player, Claim target, boolean claim, boolean see) {
+        displayClaims(player, List.of(target), claim, see);
+    }
+
+    /**
+     * Displays particles around the claims in the world of the player, from their cached borders.
+     *
+     * @param player the player
+     * @param claims the claims to be displayed
+     * @param claim  whether the claims are being claimed or not
+     * @param see if its from the /claim see command
+     */
+    public void displayClaims(Player player, Collection<Claim> claims, boolean claim, boolean see) {
+        String world = player.getWorld().getName();
+        List<int[]> segments = new ArrayList<>();
+        for (Claim target : claims) {
+            if (target.getWorldName().equals(world)) segments.add(instance.getParticleRenderer().getOutline(target));
+        }
+        displayBorder(player, world, segments, getDustOptions(player, claim, see));
+    }
+
+    /**
+     * Shows a border to a player, with particles or client-side blocks depending on the "claim-border-mode" setting.
+     *
+     * @param player the player
+     * @param world the name of the world of the border
+     * @param segments the segments of the border
+     * @param dustOptions the options of the particles
+     */
+    private void displayBorder(Player player, String world, List<int[]> segments, Particle.DustOptions dustOptions) {
+        if (instance.getSettings().getSetting("claim-border-mode").equals("blocks")) {
+            instance.getBorderBlocks().display(player, world, segments);
+        } else {
+            instance.getParticleRenderer().display(player, world, segments, dustOptions);
+        }
     }
 
     /**
@@ -3898,7 +4194,7 @@ public class ClaimMain {
             Chunk chunk = player.getLocation().getChunk();
             if (checkIfClaimExists(chunk)) {
                 String playerName = player.getName();
-                if (listClaims.get(chunk).getOwner().equals(playerName)) {
+                if (getClaim(chunk).getOwner().equals(playerName)) {
                     return new Particle.DustOptions(Color.fromRGB(0, 255, 0), 1.5f);
                 } else {
                     return new Particle.DustOptions(Color.fromRGB(255, 0, 0), 1.5f);
@@ -3913,124 +4209,6 @@ public class ClaimMain {
         }
     }
 
-    /**
-     * Generates a set of locations for particle spawning around the specified chunks.
-     * Particles are shown only at the borders of the chunks and not between adjacent chunks.
-     *
-     * @param chunks the set of chunks
-     * @return the set of locations for particle spawning
-     */
-    private CompletableFuture<Set<Location>> getParticleLocations(Set<Chunk> chunks) {
-        CustomSet<Location> locations = new CustomSet<>();
-        CompletableFuture<Set<Location>> resultFuture = new CompletableFuture<>();
-
-        if (instance.isFolia()) {
-            List<CompletableFuture<Void>> futures = new ArrayList<>();
-            for (Chunk chunk : chunks) {
-                World world = chunk.getWorld();
-                int xStart = chunk.getX() << 4;
-                int zStart = chunk.getZ() << 4;
-                int xEnd = xStart + 15;
-                int zEnd = zStart + 15;
-                int yStart = world.getMinHeight();
-                int yEnd = world.getMaxHeight() - 1;
-
-                // Asynchronously add border locations only if adjacent chunks are not present
-                futures.add(world.getChunkAtAsync(chunk.getX() - 1, chunk.getZ()).thenAccept(adjChunk -> {
-                    if (!chunks.contains(adjChunk)) {
-                        for (int y = yStart; y <= yEnd; y += 2) {
-                            for (int z = zStart; z <= zEnd; z += 2) {
-                                locations.add(new Location(world, xStart, y, z));
-                            }
-                        }
-                    }
-                }));
-
-                futures.add(world.getChunkAtAsync(chunk.getX() + 1, chunk.getZ()).thenAccept(adjChunk -> {
-                    if (!chunks.contains(adjChunk)) {
-                        for (int y = yStart; y <= yEnd; y += 2) {
-                            for (int z = zStart; z <= zEnd; z += 2) {
-                                locations.add(new Location(world, xEnd + 1, y, z));
-                            }
-                        }
-                    }
-                }));
-
-                futures.add(world.getChunkAtAsync(chunk.getX(), chunk.getZ() - 1).thenAccept(adjChunk -> {
-                    if (!chunks.contains(adjChunk)) {
-                        for (int y = yStart; y <= yEnd; y += 2) {
-                            for (int x = xStart; x <= xEnd; x += 2) {
-                                locations.add(new Location(world, x, y, zStart));
-                            }
-                        }
-                    }
-                }));
-
-                futures.add(world.getChunkAtAsync(chunk.getX(), chunk.getZ() + 1).thenAccept(adjChunk -> {
-                    if (!chunks.contains(adjChunk)) {
-                        for (int y = yStart; y <= yEnd; y += 2) {
-                            for (int x = xStart; x <= xEnd; x += 2) {
-                                locations.add(new Location(world, x, y, zEnd + 1));
-                            }
-                        }
-                    }
-                }));
-            }
-            // Wait for all async chunk loads to complete
-            CompletableFuture<Void> allOf = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
-            allOf.thenRun(() -> {
-                resultFuture.complete(locations);
-            }).exceptionally(ex -> {
-                ex.printStackTrace();
-                resultFuture.completeExceptionally(ex);
-                return null;
-            });
-        } else {
-            for (Chunk chunk : chunks) {
-                World world = chunk.getWorld();
-                int xStart = chunk.getX() << 4;
-                int zStart = chunk.getZ() << 4;
-                int xEnd = xStart + 15;
-                int zEnd = zStart + 15;
-                int yStart = world.getMinHeight();
-                int yEnd = world.getMaxHeight() - 1;
-
-                if (!chunks.contains(world.getChunkAt(chunk.getX() - 1, chunk.getZ()))) {
-                    for (int y = yStart; y <= yEnd; y += 2) {
-                        for (int z = zStart; z <= zEnd; z += 2) {
-                            locations.add(new Location(world, xStart, y, z));
-                        }
-                    }
-                }
-                if (!chunks.contains(world.getChunkAt(chunk.getX() + 1, chunk.getZ()))) {
-                    for (int y = yStart; y <= yEnd; y += 2) {
-                        for (int z = zStart; z <= zEnd; z += 2) {
-                            locations.add(new Location(world, xEnd + 1, y, z));
-                        }
-                    }
-                }
-                if (!chunks.contains(world.getChunkAt(chunk.getX(), chunk.getZ() - 1))) {
-                    for (int y = yStart; y <= yEnd; y += 2) {
-                        for (int x = xStart; x <= xEnd; x += 2) {
-                            locations.add(new Location(world, x, y, zStart));
-                        }
-                    }
-                }
-                if (!chunks.contains(world.getChunkAt(chunk.getX(), chunk.getZ() + 1))) {
-                    for (int y = yStart; y <= yEnd; y += 2) {
-                        for (int x = xStart; x <= xEnd; x += 2) {
-                            locations.add(new Location(world, x, y, zEnd + 1));
-                        }
-                    }
-                }
-            }
-            resultFuture.complete(locations); // Complete the result future with the locations set
-        }
-
-        return resultFuture;
-    }
-
-
     /**
      * Method to display a chunk when radius claiming.
      *
@@ -4040,61 +4218,17 @@ public class ClaimMain {
      */
     public void displayChunkBorderWithRadius(Player player, Chunk centralChunk, int radius) {
         Particle.DustOptions dustOptions = new Particle.DustOptions(Color.fromRGB(0, 255, 0), 1.5f);
-        if (instance.isFolia()) {
-            final int[] counter = {0};
-            Bukkit.getAsyncScheduler().runAtFixedRate(instance, task -> {
-                if (counter[0] >= 10) {
-                    task.cancel();
-                }
-                World world = player.getWorld();
-                int xStart = (centralChunk.getX() - radius) << 4;
-                int zStart = (centralChunk.getZ() - radius) << 4;
-                int xEnd = (centralChunk.getX() + radius + 1) << 4;
-                int zEnd = (centralChunk.getZ() + radius + 1) << 4;
-                int yStart = world.getMinHeight();
-                int yEnd = world.getMaxHeight() - 1;
-                for (int y = yStart; y <= yEnd; y+=2) {
-                    for (int x = xStart; x < xEnd; x+=2) {
-                        world.spawnParticle(Particle.REDSTONE, new Location(world, x, y, zStart), 1, 0, 0, 0, 0, dustOptions);
-                        world.spawnParticle(Particle.REDSTONE, new Location(world, x, y, zEnd), 1, 0, 0, 0, 0, dustOptions);
-                    }
-                    for (int z = zStart; z < zEnd; z+=2) {
-                        world.spawnParticle(Particle.REDSTONE, new Location(world, xStart, y, z), 1, 0, 0, 0, 0, dustOptions);
-                        world.spawnParticle(Particle.REDSTONE, new Location(world, xEnd, y, z), 1, 0, 0, 0, 0, dustOptions);
-                    }
-                }
-                counter[0]++;
-            }, 0, 500, TimeUnit.MILLISECONDS);
-            return;
-        }
-        new BukkitRunnable() {
-            int counter = 0;
-            @Override
-            public void run() {
-                if (counter >= 10) {
-                    this.cancel();
-                }
-                World world = player.getWorld();
-                int xStart = (centralChunk.getX() - radius) << 4;
-                int zStart = (centralChunk.getZ() - radius) << 4;
-                int xEnd = (centralChunk.getX() + radius + 1) << 4;
-                int zEnd = (centralChunk.getZ() + radius + 1) << 4;
-                int yStart = world.getMinHeight();
-                int yEnd = world.getMaxHeight() - 1;
-                for (int y = yStart; y <= yEnd; y+=2) {
-                    for (int x = xStart; x < xEnd; x+=2) {
-                        world.spawnParticle(Particle.REDSTONE, new Location(world, x, y, zStart), 1, 0, 0, 0, 0, dustOptions);
-                        world.spawnParticle(Particle.REDSTONE, new Location(world, x, y, zEnd), 1, 0, 0, 0, 0, dustOptions);
-                    }
-                    for (int z = zStart; z < zEnd; z+=2) {
-                        world.spawnParticle(Particle.REDSTONE, new Location(world, xStart, y, z), 1, 0, 0, 0, 0, dustOptions);
-                        world.spawnParticle(Particle.REDSTONE, new Location(world, xEnd, y, z), 1, 0, 0, 0, 0, dustOptions);
-                    }
-                }
-
-                counter++;
-            }
-        }.runTaskTimerAsynchronously(instance, 0, 10L);
+        int xStart = (centralChunk.getX() - radius) << 4;
+        int zStart = (centralChunk.getZ() - radius) << 4;
+        int xEnd = (centralChunk.getX() + radius + 1) << 4;
+        int zEnd = (centralChunk.getZ() + radius + 1) << 4;
+        int[] segments = {
+            xStart, zStart, xEnd, zStart,
+            xEnd, zStart, xEnd, zEnd,
+            xEnd, zEnd, xStart, zEnd,
+            xStart, zEnd, xStart, zStart
+        };
+        displayBorder(player, centralChunk.getWorld().getName(), List.of(segments), dustOptions);
     }
 
     /**
@@ -4164,42 +4298,25 @@ public class ClaimMain {
     /**
      * Checks if there are no claims within a specified radius around a given chunk,
      * excluding claims that belong to the player.
+     * <p>
+     * The query only reads the claims index, so it runs on the calling thread.
      *
      * @param centerChunk The central chunk from which to check.
      * @param distance    The radius, in chunks, within which to check for claims.
      * @param playerName  The name of the player to exclude their claims.
-     * @return true if there are no conflicting claims within the specified radius, false otherwise.
+     * @return A completed future, true if there are no conflicting claims within the specified radius, false otherwise.
      */
     public CompletableFuture<Boolean> isAreaClaimFree(Chunk centerChunk, int distance, String playerName) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (distance == 0) {
-                return true;
-            }
-
-            World world = centerChunk.getWorld();
-            int centerX = centerChunk.getX();
-            int centerZ = centerChunk.getZ();
-
-            // Iterate through the listClaims to find claims within the distance
-            for (Map.Entry<Chunk, Claim> entry : listClaims.entrySet()) {
-                Chunk chunk = entry.getKey();
-                Claim claim = entry.getValue();
-                if (chunk.getWorld().equals(world)) {
-                    int chunkX = chunk.getX();
-                    int chunkZ = chunk.getZ();
-
-                    int deltaX = Math.abs(chunkX - centerX);
-                    int deltaZ = Math.abs(chunkZ - centerZ);
+        if (distance == 0) {
+            return CompletableFuture.completedFuture(true);
+        }
 
-                    // Check if the chunk is within the specified distance and does not belong to the player
-                    if (deltaX <= distance && deltaZ <= distance && !claim.getOwner().equals(playerName)) {
-                        return false; // A conflicting claim is found
-                    }
-                }
-            }
+        int centerX = centerChunk.getX();
+        int centerZ = centerChunk.getZ();
 
-            return true; // No conflicting claims found
-        });
+        // Query the spatial index for claims of other owners within the distance
+        return CompletableFuture.completedFuture(!hasForeignClaimInRectangle(centerChunk.getWorld().getName(),
+                centerX - distance, centerZ - distance, centerX + distance, centerZ + distance, playerName));
     }
 
     /**
@@ -4227,109 +4344,110 @@ public class ClaimMain {
      * @param check if its automap or not
      */
     public void getMap(Player player, Chunk to, boolean check) {
+    	getMap(player, to.getWorld(), to.getX(), to.getZ(), check);
+    }
+
+    /**
+     * Method to get the map for a player, rendered from the claim index without loading any chunk.
+     * <p>
+     * The automap is not sent again when the frame did not change, and the scoreboard map only rewrites its changed lines.
+     *
+     * @param player the player requesting the map
+     * @param world the world of the map
+     * @param centerX the X coordinate of the chunk at the center of the map
+     * @param centerZ the Z coordinate of the chunk at the center of the map
+     * @param check if its automap or not
+     */
+    public void getMap(Player player, World world, int centerX, int centerZ, boolean check) {
         instance.executeAsync(() -> {
             CPlayer cPlayer = instance.getPlayerMain().getCPlayer(player.getUniqueId());
             if (cPlayer == null) return;
 
             boolean scoreboard = instance.getSettings().getSetting("map-type").equals("scoreboard") && check;
             CScoreboard cScoreboard = scoreboard ? cPlayer.getScoreboard() : null;
-            
-            // List of map lines
-            List<String> lines = new ArrayList<>();
-            
-            if (scoreboard && cScoreboard != null) {
-                lines.add("§e  ");
-            }
+            if (scoreboard && cScoreboard == null) return;
 
-            String direction = getDirection(player.getLocation().getYaw());
-            Chunk centerChunk = to;
-            int centerX = centerChunk.getX();
-            int centerZ = centerChunk.getZ();
-            boolean isClaimed = checkIfClaimExists(centerChunk);
+            WorldClaimIndex index = listClaims.get(world.getName());
+            float yaw = player.getLocation().getYaw();
+            String direction = getDirection(yaw);
+            int facing = getFacing(yaw);
+            Claim centerClaim = index == null ? null : index.get(ChunkKey.of(centerX, centerZ));
 
-            String name = isClaimed 
-                ? instance.getLanguage().getMessage("map-actual-claim-name-message").replace("%name%", getClaimNameByChunk(centerChunk))
+            String name = centerClaim != null
+                ? instance.getLanguage().getMessage("map-actual-claim-name-message").replace("%name%", centerClaim.getName())
                 : instance.getLanguage().getMessage("map-no-claim-name-message");
             String coords = instance.getLanguage().getMessage("map-coords-message")
                 .replace("%coords%", centerX + "," + centerZ)
                 .replace("%direction%", direction);
             String colorRelationNoClaim = instance.getLanguage().getMessage("map-no-claim-color");
             String colorCursor = instance.getLanguage().getMessage("map-cursor-color");
-            String symbolNoClaim = instance.getLanguage().getMessage("map-symbol-no-claim");
             String symbolClaim = instance.getLanguage().getMessage("map-symbol-claim");
-            String mapCursor = instance.getLanguage().getMessage("map-cursor");
-            World world = player.getWorld();
 
-            // Function to get chunk symbols
-            Function<Chunk, String> getChunkSymbol = chunk -> chunk.equals(centerChunk)
-                ? colorCursor + mapCursor + colorRelationNoClaim
-                : checkIfClaimExists(chunk) 
-                    ? getRelation(player, chunk) + symbolClaim + colorRelationNoClaim
-                    : colorRelationNoClaim + symbolNoClaim;
+            // Symbols of the cells, the claimed ones are resolved once per claim
+            String symbolCursor = colorCursor + instance.getLanguage().getMessage("map-cursor") + colorRelationNoClaim;
+            String symbolNoClaim = colorRelationNoClaim + instance.getLanguage().getMessage("map-symbol-no-claim");
+            String symbolMember = instance.getLanguage().getMessage("map-claim-relation-member") + symbolClaim + colorRelationNoClaim;
+            String symbolVisitor = instance.getLanguage().getMessage("map-claim-relation-visitor") + symbolClaim + colorRelationNoClaim;
+            Map<Claim, String> symbols = new IdentityHashMap<>();
 
             Map<Integer, String> legendMap = new HashMap<>();
-            legendMap.put(-3, "  " + name + (isClaimed ? " " + instance.getLanguage().getMessage("map-actual-claim-name-message-owner")
-                .replace("%owner%", listClaims.get(centerChunk).getOwner()) : ""));
+            legendMap.put(-3, "  " + name + (centerClaim != null ? " " + instance.getLanguage().getMessage("map-actual-claim-name-message-owner")
+                .replace("%owner%", centerClaim.getOwner()) : ""));
             legendMap.put(-2, "  " + coords);
             legendMap.put(0, "  " + instance.getLanguage().getMessage("map-legend-you").replace("%cursor-color%", colorCursor));
             legendMap.put(1, "  " + instance.getLanguage().getMessage("map-legend-free").replace("%no-claim-color%", colorRelationNoClaim));
             legendMap.put(2, "  " + instance.getLanguage().getMessage("map-legend-yours").replace("%claim-relation-member%", instance.getLanguage().getMessage("map-claim-relation-member")));
             legendMap.put(3, "  " + instance.getLanguage().getMessage("map-legend-other").replace("%claim-relation-visitor%", instance.getLanguage().getMessage("map-claim-relation-visitor")));
 
-            StringBuilder mapMessage = new StringBuilder("\n").append(colorRelationNoClaim);
-
-            Runnable mapLogic = () -> IntStream.rangeClosed(-4, 4).forEach(dz -> {
+            // List of map lines
+            List<String> lines = new ArrayList<>();
+            for (int dz = -4; dz <= 4; dz++) {
                 StringBuilder line = new StringBuilder(colorRelationNoClaim);
-                IntStream.rangeClosed(-10, 10).forEach(dx -> {
-                    int[] offset = adjustDirection(dx, dz, direction);
-                    Chunk chunk = world.getChunkAt(centerX + offset[0], centerZ + offset[1]);
-                    String symbol = getChunkSymbol.apply(chunk);
-                    mapMessage.append(symbol);
-                    line.append(symbol);
-                });
-                if (legendMap.containsKey(dz)) {
-                    String legend = legendMap.get(dz);
-                    mapMessage.append(legend);
+                for (int dx = -10; dx <= 10; dx++) {
+                    if (dx == 0 && dz == 0) {
+                        line.append(symbolCursor);
+                        continue;
+                    }
+                    int[] offset = adjustDirection(dx, dz, facing);
+                    Claim claim = index == null ? null : index.get(ChunkKey.of(centerX + offset[0], centerZ + offset[1]));
+                    line.append(claim == null ? symbolNoClaim : symbols.computeIfAbsent(claim, c -> checkMembre(c, player) ? symbolMember : symbolVisitor));
+                }
+                String legend = legendMap.get(dz);
+                if (legend != null) {
                     line.append(legend);
                 }
-                mapMessage.append("\n");
                 lines.add(line.toString());
-            });
+            }
 
-            if (instance.isFolia()) {
-                Bukkit.getRegionScheduler().run(instance, player.getLocation(), task -> {
-                    mapLogic.run();
-                    if (scoreboard) {
-                        updateScoreboard(cScoreboard, lines);
-                    } else {
-                        instance.executeEntitySync(player, () -> player.sendMessage(mapMessage.toString()));
-                    }
-                });
-            } else {
-                mapLogic.run();
-                if (scoreboard) {
-                    updateScoreboard(cScoreboard, lines);
-                } else {
-                    instance.executeEntitySync(player, () -> player.sendMessage(mapMessage.toString()));
-                }
+            if (scoreboard) {
+                updateScoreboard(player, cScoreboard, lines);
+                return;
             }
+            String mapMessage = "\n" + String.join("\n", lines) + "\n";
+            if (check) {
+                if (mapMessage.equals(cPlayer.getMapFrame())) return;
+                cPlayer.setMapFrame(mapMessage);
+            }
+            instance.executeEntitySync(player, () -> player.sendMessage(mapMessage));
         });
     }
 
     /**
      * Updates the scoreboard for automap
      * 
+     * @param player The player of the scoreboard.
      * @param cScoreboard The scoreboard to update.
      * @param lines The lines to update.
      */
-    private void updateScoreboard(CScoreboard cScoreboard, List<String> lines) {
+    private void updateScoreboard(Player player, CScoreboard cScoreboard, List<String> lines) {
+    	lines.add(0, "§e  ");
     	lines.add("§f ");
         int score = 11;
         Map<Integer,String> toRend = new LinkedHashMap<>();
         for (String line : differentiateDuplicates(lines)) {
         	toRend.put(score--, line);
         }
-        cScoreboard.updateLines(toRend);
+        instance.executeEntitySync(player, () -> cScoreboard.updateLines(toRend));
     }
     
     /**
@@ -4359,33 +4477,36 @@ public class ClaimMain {
         return list;
     }
 
+    /**
+     * Method to get the facing of a player, in the same ranges as {@link #getDirection(float)}.
+     *
+     * @param yaw the yaw of the player
+     * @return 0 for north, 1 for south, 2 for east and 3 for west
+     */
+    private int getFacing(float yaw) {
+        yaw = yaw % 360;
+        if (yaw < 0) yaw += 360;
+        if (45 <= yaw && yaw < 135) return 3;
+        if (135 <= yaw && yaw < 225) return 0;
+        if (225 <= yaw && yaw < 315) return 2;
+        return 1;
+    }
+
     /**
      * Method to adjust direction (to get North, South, East or West).
      *
      * @param dx the x offset
      * @param dz the z offset
-     * @param direction the direction as a string
+     * @param facing the facing of the player (see {@link #getFacing(float)})
      * @return an array of adjusted x and z offsets
      */
-    private int[] adjustDirection(int dx, int dz, String direction) {
-        int relX = dx, relZ = dz;
-        if (direction.equalsIgnoreCase(instance.getLanguage().getMessage("map-direction-north"))) return new int[]{relX, relZ};
-        if (direction.equalsIgnoreCase(instance.getLanguage().getMessage("map-direction-south"))) {
-            relX = -dx;
-            relZ = -dz;
-            return new int[]{relX, relZ};
-        }
-        if (direction.equalsIgnoreCase(instance.getLanguage().getMessage("map-direction-east"))) {
-            relX = -dz;
-            relZ = dx;
-            return new int[]{relX, relZ};
-        }
-        if (direction.equalsIgnoreCase(instance.getLanguage().getMessage("map-direction-west"))) {
-            relX = dz;
-            relZ = -dx;
-            return new int[]{relX, relZ};
+    private int[] adjustDirection(int dx, int dz, int facing) {
+        switch (facing) {
+            case 1: return new int[]{-dx, -dz};
+            case 2: return new int[]{-dz, dx};
+            case 3: return new int[]{dz, -dx};
+            default: return new int[]{dx, dz};
         }
-        return new int[]{relX, relZ};
     }
 
     /**
@@ -4396,7 +4517,7 @@ public class ClaimMain {
      * @return the relation as a string
      */
     public String getRelation(Player player, Chunk chunk) {
-    	Claim claim = listClaims.get(chunk);
+    	Claim claim = getClaim(chunk);
     	if(claim == null) return instance.getLanguage().getMessage("map-claim-relation-visitor");
     	return checkMembre(claim, player) ? instance.getLanguage().getMessage("map-claim-relation-member") : instance.getLanguage().getMessage("map-claim-relation-visitor");
     }
@@ -4408,13 +4529,12 @@ public class ClaimMain {
      * @param result the new weather state
      */
     public void updateWeatherChunk(Claim claim) {
-		Set<Chunk> chunks = claim.getChunks();
 		if(instance.isFolia()) {
 	    	Bukkit.getOnlinePlayers().stream().forEach(p -> {
 	    		Bukkit.getRegionScheduler().run(instance, p.getLocation(), task -> {
 					Chunk c = p.getLocation().getChunk();
-					if(chunks.contains(c)) {
-						boolean value = claim.getPermissionForPlayer("Weather", p);
+					if(claim.containsChunk(c)) {
+						boolean value = claim.getPermissionForPlayer(ClaimPermission.WEATHER, p);
 		                if(value) {
 		                	p.resetPlayerWeather();
 		                } else {
@@ -4426,8 +4546,8 @@ public class ClaimMain {
 		} else {
 	    	Bukkit.getOnlinePlayers().stream().forEach(p -> {
 				Chunk c = p.getLocation().getChunk();
-				if(chunks.contains(c)) {
-					boolean value = claim.getPermissionForPlayer("Weather", p);
+				if(claim.containsChunk(c)) {
+					boolean value = claim.getPermissionForPlayer(ClaimPermission.WEATHER, p);
 	                if(value) {
 	                	p.resetPlayerWeather();
 	                } else {
@@ -4445,13 +4565,12 @@ public class ClaimMain {
      * @param result the new fly state
      */
     public void updateFlyChunk(Claim claim) {
-		Set<Chunk> chunks = claim.getChunks();
 		if(instance.isFolia()) {
 	    	Bukkit.getOnlinePlayers().stream().forEach(p -> {
 	    		Bukkit.getRegionScheduler().run(instance, p.getLocation(), task -> {
 					Chunk c = p.getLocation().getChunk();
-					if(chunks.contains(c)) {
-						boolean value = claim.getPermissionForPlayer("Fly", p);
+					if(claim.containsChunk(c)) {
+						boolean value = claim.getPermissionForPlayer(ClaimPermission.FLY, p);
 		                CPlayer cPlayer = instance.getPlayerMain().getCPlayer(p.getUniqueId());
 		                if(value) {
 		                    if (cPlayer.getClaimAutofly()) {
@@ -4469,8 +4588,8 @@ public class ClaimMain {
 		} else {
 	    	Bukkit.getOnlinePlayers().stream().forEach(p -> {
 				Chunk c = p.getLocation().getChunk();
-				if(chunks.contains(c)) {
-					boolean value = claim.getPermissionForPlayer("Fly", p);
+				if(claim.containsChunk(c)) {
+					boolean value = claim.getPermissionForPlayer(ClaimPermission.FLY, p);
 	                CPlayer cPlayer = instance.getPlayerMain().getCPlayer(p.getUniqueId());
 	                if(value) {
 	                    if (cPlayer.getClaimAutofly()) {
@@ -4494,12 +4613,11 @@ public class ClaimMain {
      * @param result the new weather state
      */
     public void resetWeatherChunk(Claim claim) {
-		Set<Chunk> chunks = claim.getChunks();
 		if(instance.isFolia()) {
 	    	Bukkit.getOnlinePlayers().stream().forEach(p -> {
 	    		Bukkit.getRegionScheduler().run(instance, p.getLocation(), task -> {
 					Chunk c = p.getLocation().getChunk();
-					if(chunks.contains(c)) {
+					if(claim.containsChunk(c)) {
 		                p.resetPlayerWeather();
 					}
 	    		});
@@ -4507,7 +4625,7 @@ public class ClaimMain {
 		} else {
 	    	Bukkit.getOnlinePlayers().stream().forEach(p -> {
 				Chunk c = p.getLocation().getChunk();
-				if(chunks.contains(c)) {
+				if(claim.containsChunk(c)) {
 	                p.resetPlayerWeather();
 				}
 	    	});
@@ -4521,12 +4639,11 @@ public class ClaimMain {
      * @param result the new fly state
      */
     public void resetFlyChunk(Claim claim) {
-		Set<Chunk> chunks = claim.getChunks();
 		if(instance.isFolia()) {
 	    	Bukkit.getOnlinePlayers().stream().forEach(p -> {
 	    		Bukkit.getRegionScheduler().run(instance, p.getLocation(), task -> {
 					Chunk c = p.getLocation().getChunk();
-					if(chunks.contains(c)) {
+					if(claim.containsChunk(c)) {
 		                CPlayer cPlayer = instance.getPlayerMain().getCPlayer(p.getUniqueId());
 		                if (cPlayer.getClaimFly()) {
 		                    instance.getPlayerMain().removePlayerFly(p);
@@ -4537,7 +4654,7 @@ public class ClaimMain {
 		} else {
 	    	Bukkit.getOnlinePlayers().stream().forEach(p -> {
 				Chunk c = p.getLocation().getChunk();
-				if(chunks.contains(c)) {
+				if(claim.containsChunk(c)) {
 	                CPlayer cPlayer = instance.getPlayerMain().getCPlayer(p.getUniqueId());
 	                if (cPlayer.getClaimFly()) {
 	                    instance.getPlayerMain().removePlayerFly(p);
@@ -4547,6 +4664,69 @@ public class ClaimMain {
 		}
     }
     
+    /**
+     * Sends the automap to the players standing in a chunk affected by claim changes.
+     * <p>
+     * Subscriber of the claim change stream, a player receives one map whatever the number of changes.
+     *
+     * @param changes the claim changes
+     */
+    public void updateAutomaps(List<ClaimChange> changes) {
+    	Consumer<Player> update = p -> {
+    		CPlayer cPlayer = instance.getPlayerMain().getCPlayer(p.getUniqueId());
+    		if (cPlayer == null || !cPlayer.getClaimAutomap()) return;
+    		// Chunk coordinates from the block ones, the chunk itself is not accessed off the main thread
+    		Location location = p.getLocation();
+    		World world = location.getWorld();
+    		if (world == null) return;
+    		int chunkX = location.getBlockX() >> 4;
+    		int chunkZ = location.getBlockZ() >> 4;
+    		long key = ChunkKey.of(chunkX, chunkZ);
+    		for (ClaimChange change : changes) {
+    			if (change.affects(world.getName(), key)) {
+    				getMap(p, world, chunkX, chunkZ, true);
+    				return;
+    			}
+    		}
+    	};
+    	if(instance.isFolia()) {
+	        Bukkit.getOnlinePlayers().stream().forEach(p -> Bukkit.getRegionScheduler().run(instance, p.getLocation(), task -> update.accept(p)));
+    	} else {
+	        Bukkit.getOnlinePlayers().stream().forEach(update);
+    	}
+    }
+    
+    /**
+     * Sends the automap to the players standing in a claim
+     *
+     * @param claim the claim
+     */
+    public void getMapAutoForChunks(Claim claim) {
+    	if(instance.isFolia()) {
+	        Bukkit.getOnlinePlayers().stream().forEach(p -> {
+	        	Bukkit.getRegionScheduler().run(instance, p.getLocation(), task -> {
+		        	Chunk c = p.getLocation().getChunk();
+		        	if(claim.containsChunk(c)) {
+		        		CPlayer cPlayer = instance.getPlayerMain().getCPlayer(p.getUniqueId());
+		        		if(cPlayer.getClaimAutomap()) {
+		        			getMap(p,c,true);
+		        		}
+		        	}
+	        	});
+	        });
+    	} else {
+	        Bukkit.getOnlinePlayers().stream().forEach(p -> {
+	        	Chunk c = p.getLocation().getChunk();
+	        	if(claim.containsChunk(c)) {
+	        		CPlayer cPlayer = instance.getPlayerMain().getCPlayer(p.getUniqueId());
+	        		if(cPlayer.getClaimAutomap()) {
+	        			getMap(p,c,true);
+	        		}
+	        	}
+	        });
+    	}
+    }
+    
     /**
      * Sends the automap to the players
      *
@@ -0,0 +1,437 @@
+package fr.xyness.SCS;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import fr.xyness.SCS.API.ClaimChange;
+import fr.xyness.SCS.Types.ChunkKeySet;
+import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimPolygon;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+
+/**
+ * This class handles the markers of the claims on the web maps (Dynmap, BlueMap, Pl3xMap).
+ * <p>
+ * It keeps the desired state of each world, the outlines and marker ids of each claim, and for each map
+ * what was last published. Changed claims are marked dirty, and a task on the main thread diffs them
+ * against the published state and only applies the markers to create or redraw, the labels to update
+ * and the markers to delete, within a budget of operations per tick.
+ * <p>
+ * The marker ids are qualified by the world, so claims of two worlds never share a marker.
+ */
+public class ClaimMapReconciler {
+	
+	
+    // ***************
+    // *  Variables  *
+    // ***************
+    
+	
+	/**
+	 * A web map showing the markers of the claims. The methods are called on the main thread.
+	 */
+	public interface Target {
+		
+		/**
+		 * Gets the label of a claim on this map.
+		 *
+		 * @param claim The claim
+		 * @return The label
+		 */
+		String getLabel(Claim claim);
+		
+		/**
+		 * Creates a marker, or redraws it if it exists.
+		 *
+		 * @param world The name of the world
+		 * @param markerId The id of the marker
+		 * @param polygon The outline of the marker
+		 * @param label The label of the marker
+		 * @return True if the marker is drawn, false if the map is not ready for this world
+		 */
+		boolean drawMarker(String world, String markerId, ClaimPolygon polygon, String label);
+		
+		/**
+		 * Updates the label of a marker.
+		 *
+		 * @param world The name of the world
+		 * @param markerId The id of the marker
+		 * @param label The new label
+		 */
+		void updateLabel(String world, String markerId, String label);
+		
+		/**
+		 * Deletes a marker.
+		 *
+		 * @param world The name of the world
+		 * @param markerId The id of the marker
+		 */
+		void deleteMarker(String world, String markerId);
+		
+		/**
+		 * Deletes all the markers of this map, including the ones of older versions.
+		 */
+		void clearMarkers();
+	}
+	
+	/**
+	 * The desired markers of a claim.
+	 */
+	private static class DesiredClaim {
+		
+		/** The ids of the markers, one per outline. */
+		private final List<String> markerIds;
+		
+		/** The outlines. */
+		private final List<ClaimPolygon> polygons;
+		
+		/**
+		 * Main constructor.
+		 *
+		 * @param markerIds The ids of the markers
+		 * @param polygons The outlines
+		 */
+		private DesiredClaim(List<String> markerIds, List<ClaimPolygon> polygons) {
+			this.markerIds = markerIds;
+			this.polygons = polygons;
+		}
+	}
+	
+	/**
+	 * A marker as last published on a map.
+	 */
+	private static class PublishedMarker {
+		
+		/** The outline. */
+		private final ClaimPolygon polygon;
+		
+		/** The label. */
+		private String label;
+		
+		/**
+		 * Main constructor.
+		 *
+		 * @param polygon The outline
+		 * @param label The label
+		 */
+		private PublishedMarker(ClaimPolygon polygon, String label) {
+			this.polygon = polygon;
+			this.label = label;
+		}
+	}
+	
+	/**
+	 * The published state of a map, only used on the main thread.
+	 */
+	private static class TargetState {
+		
+		/** The map. */
+		private final Target target;
+		
+		/** The published markers of each claim, by id. */
+		private final Map<Claim, Map<String, PublishedMarker>> markers = new HashMap<>();
+		
+		/**
+		 * Main constructor.
+		 *
+		 * @param target The map
+		 */
+		private TargetState(Target target) {
+			this.target = target;
+		}
+	}
+	
+	/** The desired markers, by world and claim. */
+	private final Map<String, Map<Claim, DesiredClaim>> desired = new ConcurrentHashMap<>();
+	
+	/** The claims to reconcile, in marking order. */
+	private final Set<Claim> dirty = new LinkedHashSet<>();
+	
+	/** The maps. */
+	private final List<TargetState> targets = new CopyOnWriteArrayList<>();
+	
+	/** Whether all the published markers must be deleted before reconciling. */
+	private volatile boolean resyncRequested;
+	
+	/** Whether the desired state must be built, it is only built once a map is added. */
+	private volatile boolean stale = true;
+	
+	/** The maximum number of marker operations per tick. */
+	private volatile int budget = 200;
+	
+    /** BukkitTask of the reconciliation. */
+    private BukkitTask BukkitTaskReconcile = null;
+    
+    /** ScheduledTask of the reconciliation. */
+    private ScheduledTask ScheduledTaskReconcile = null;
+    
+    /** Instance of SimpleClaimSystem */
+    private SimpleClaimSystem instance;
+    
+    
+    // ******************
+    // *  Constructors  *
+    // ******************
+    
+    
+    /**
+     * Constructor for ClaimMapReconciler.
+     *
+     * @param instance The instance of the SimpleClaimSystem plugin.
+     */
+    public ClaimMapReconciler(SimpleClaimSystem instance) {
+    	this.instance = instance;
+    }
+    
+    
+    // ********************
+    // *  Others Methods  *
+    // ********************
+    
+    
+    /**
+     * Starts the reconciliation on the main thread, every tick.
+     *
+     * @param operations The maximum number of marker operations per tick
+     */
+    public void start(int operations) {
+    	stop();
+    	this.budget = Math.max(1, operations);
+        if (instance.isFolia()) {
+            ScheduledTaskReconcile = Bukkit.getGlobalRegionScheduler().runAtFixedRate(instance, task -> reconcile(), 1, 1);
+        } else {
+            BukkitTaskReconcile = Bukkit.getScheduler().runTaskTimer(instance, () -> reconcile(), 1, 1);
+        }
+    }
+    
+    /**
+     * Stops the reconciliation.
+     */
+    public void stop() {
+        if (BukkitTaskReconcile != null) {
+        	BukkitTaskReconcile.cancel();
+        	BukkitTaskReconcile = null;
+        }
+        if (ScheduledTaskReconcile != null) {
+        	ScheduledTaskReconcile.cancel();
+        	ScheduledTaskReconcile = null;
+        }
+    }
+    
+    /**
+     * Adds a map, all the claims are then published on it.
+     *
+     * @param target The map
+     */
+    public void addTarget(Target target) {
+    	targets.add(new TargetState(target));
+    	if (stale) {
+    		rebuild();
+    	} else {
+    		refresh();
+    	}
+    }
+    
+    /**
+     * Marks all the claims dirty, for a map becoming ready.
+     */
+    public void refresh() {
+    	synchronized (dirty) {
+    		desired.values().forEach(claims -> dirty.addAll(claims.keySet()));
+    	}
+    }
+    
+    /**
+     * Deletes all the markers of the maps and publishes all the claims again.
+     *
+     * @return The number of claims to publish
+     */
+    public int resync() {
+    	resyncRequested = true;
+    	if (targets.isEmpty()) {
+    		stale = true;
+    		return 0;
+    	}
+    	return rebuild();
+    }
+    
+    /**
+     * Builds the desired state of all the claims and marks them dirty.
+     *
+     * @return The number of claims
+     */
+    private int rebuild() {
+    	stale = false;
+    	desired.clear();
+    	synchronized (dirty) {
+    		dirty.clear();
+    	}
+    	int count = 0;
+    	for (Claim claim : instance.getMain().getAllClaims()) {
+    		update(claim);
+    		count++;
+    	}
+    	return count;
+    }
+    
+    /**
+     * Updates the desired markers of changed claims.
+     * <p>
+     * Subscriber of the claim change stream, the outlines are traced on the calling thread.
+     *
+     * @param changes The claim changes
+     */
+    public void onChanges(List<ClaimChange> changes) {
+    	if (stale) return;
+    	for (ClaimChange change : changes) {
+    		Claim claim = change.getClaim();
+    		if (change.has(ClaimChange.Type.DELETED)) {
+    			Map<Claim, DesiredClaim> claims = desired.get(change.getWorldName());
+    			if (claims != null) claims.remove(claim);
+    			markDirty(claim);
+    		} else if (change.has(ClaimChange.Type.CREATED) || change.has(ClaimChange.Type.CHUNKS_ADDED)
+    				|| change.has(ClaimChange.Type.CHUNKS_REMOVED) || change.has(ClaimChange.Type.OWNER_CHANGED)) {
+    			update(claim);
+    		} else if (change.has(ClaimChange.Type.RENAMED)) {
+    			markDirty(claim);
+    		}
+    	}
+    }
+    
+    /**
+     * Traces the desired markers of a claim and marks it dirty.
+     *
+     * @param claim The claim
+     */
+    private void update(Claim claim) {
+    	String world = claim.getWorldName();
+    	List<ClaimPolygon> polygons = ClaimPolygon.trace(new ChunkKeySet(claim.getChunkKeys()));
+    	String prefix = "claim_" + world + "_" + claim.getUUID() + "_" + claim.getId() + "_";
+    	List<String> markerIds = new ArrayList<>(polygons.size());
+    	for (int i = 0; i < polygons.size(); i++) markerIds.add(prefix + i);
+    	desired.computeIfAbsent(world, w -> new ConcurrentHashMap<>()).put(claim, new DesiredClaim(markerIds, polygons));
+    	markDirty(claim);
+    }
+    
+    /**
+     * Marks a claim to reconcile.
+     *
+     * @param claim The claim
+     */
+    private void markDirty(Claim claim) {
+    	synchronized (dirty) {
+    		dirty.add(claim);
+    	}
+    }
+    
+    /**
+     * Reconciles the dirty claims, within the budget of operations.
+     */
+    private void reconcile() {
+    	if (resyncRequested) {
+    		resyncRequested = false;
+    		for (TargetState state : targets) {
+    			state.markers.clear();
+    			try {
+    				state.target.clearMarkers();
+    			} catch (Exception e) {
+    				e.printStackTrace();
+    			}
+    		}
+    	}
+    	int operations = 0;
+    	while (operations < budget) {
+    		Claim claim;
+    		synchronized (dirty) {
+    			Iterator<Claim> it = dirty.iterator();
+    			if (!it.hasNext()) return;
+    			claim = it.next();
+    			it.remove();
+    		}
+    		Map<Claim, DesiredClaim> claims = desired.get(claim.getWorldName());
+    		DesiredClaim wanted = claims == null ? null : claims.get(claim);
+    		for (TargetState state : targets) {
+    			try {
+    				operations += reconcile(state, claim, wanted);
+    			} catch (Exception e) {
+    				e.printStackTrace();
+    			}
+    		}
+    	}
+    }
+    
+    /**
+     * Reconciles the markers of a claim on a map.
+     *
+     * @param state The published state of the map
+     * @param claim The claim
+     * @param wanted The desired markers of the claim, null if it was deleted
+     * @return The number of marker operations applied
+     */
+    private int reconcile(TargetState state, Claim claim, DesiredClaim wanted) {
+    	int operations = 0;
+    	String world = claim.getWorldName();
+    	Map<String, PublishedMarker> published = state.markers.get(claim);
+    	
+    	// Delete the markers no longer wanted
+    	if (published != null) {
+    		Iterator<Map.Entry<String, PublishedMarker>> it = published.entrySet().iterator();
+    		while (it.hasNext()) {
+    			String markerId = it.next().getKey();
+    			if (wanted != null && wanted.markerIds.contains(markerId)) continue;
+    			state.target.deleteMarker(world, markerId);
+    			it.remove();
+    			operations++;
+    		}
+    	}
+    	if (wanted == null) {
+    		state.markers.remove(claim);
+    		return operations;
+    	}
+    	
+    	// Draw the new or changed outlines, and update the labels
+    	String label = state.target.getLabel(claim);
+    	if (published == null) {
+    		published = new HashMap<>();
+    		state.markers.put(claim, published);
+    	}
+    	for (int i = 0; i < wanted.markerIds.size(); i++) {
+    		String markerId = wanted.markerIds.get(i);
+    		ClaimPolygon polygon = wanted.polygons.get(i);
+    		PublishedMarker marker = published.get(markerId);
+    		if (marker == null || !marker.polygon.equals(polygon)) {
+    			if (state.target.drawMarker(world, markerId, polygon, label)) {
+    				published.put(markerId, new PublishedMarker(polygon, label));
+    			}
+    			operations++;
+    		} else if (!marker.label.equals(label)) {
+    			state.target.updateLabel(world, markerId, label);
+    			marker.label = label;
+    			operations++;
+    		}
+    	}
+    	return operations;
+    }
+    
+    /**
+     * Gets the number of claims waiting to be reconciled.
+     *
+     * @return The number of dirty claims
+     */
+    public int getPendingCount() {
+    	synchronized (dirty) {
+    		return dirty.size();
+    	}
+    }
+    
+}
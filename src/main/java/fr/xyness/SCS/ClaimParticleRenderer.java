@@ -0,0 +1,427 @@
+package fr.xyness.SCS;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import fr.xyness.SCS.API.ClaimChange;
+import fr.xyness.SCS.Types.ChunkKeySet;
+import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimPolygon;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+
+/**
+ * This class handles the particles shown on the borders of the claims.
+ * <p>
+ * The borders are kept as segments along the chunk grid, computed from the chunk keys only and cached
+ * per claim until its chunks change. Each tick, the displays due are drawn for their viewer only, in a
+ * band of height around the viewer and within a view distance, and all the viewers share one budget of
+ * particles per tick. A display that does not fit in the budget left waits for the next tick, and a
+ * display larger than the whole budget is thinned out.
+ * <p>
+ * The displays due and the columns in view are computed on the async timer, from the position of the
+ * viewer taken at its previous frame. The position is taken and the particles are spawned on the thread
+ * of the viewer.
+ */
+public class ClaimParticleRenderer {
+	
+	
+    // ***************
+    // *  Variables  *
+    // ***************
+    
+	
+	/** The number of frames of a display. */
+	private static final int FRAMES = 11;
+	
+	/** The number of ticks between two frames of a display. */
+	private static final int FRAME_PERIOD = 10;
+	
+	/**
+	 * The cached border of a claim.
+	 */
+	private static class Outline {
+		
+		/** The chunks of the claim the border was computed from, a published set never changes. */
+		private final ChunkKeySet chunks;
+		
+		/** The segments of the border. */
+		private final int[] segments;
+		
+		/**
+		 * Main constructor.
+		 *
+		 * @param chunks The chunks of the claim
+		 * @param segments The segments of the border
+		 */
+		private Outline(ChunkKeySet chunks, int[] segments) {
+			this.chunks = chunks;
+			this.segments = segments;
+		}
+	}
+	
+	/**
+	 * The border shown to a player.
+	 */
+	private static class Display {
+		
+		/** The viewer. */
+		private final Player player;
+		
+		/** The name of the world of the border. */
+		private final String world;
+		
+		/** The segments of the border, each one as 4 values: x1, z1, x2, z2 in block coordinates. */
+		private final List<int[]> segments;
+		
+		/** The options of the particles. */
+		private final Particle.DustOptions dustOptions;
+		
+		/** The position of the viewer, taken on its thread. */
+		private volatile Location location;
+		
+		/** The number of frames left. */
+		private int frames = FRAMES;
+		
+		/** The tick of the next frame. */
+		private long nextTick;
+		
+		/**
+		 * Main constructor.
+		 *
+		 * @param player The viewer
+		 * @param world The name of the world of the border
+		 * @param segments The segments of the border
+		 * @param dustOptions The options of the particles
+		 * @param location The position of the viewer
+		 * @param nextTick The tick of the first frame
+		 */
+		private Display(Player player, String world, List<int[]> segments, Particle.DustOptions dustOptions, Location location, long nextTick) {
+			this.player = player;
+			this.world = world;
+			this.segments = segments;
+			this.dustOptions = dustOptions;
+			this.location = location;
+			this.nextTick = nextTick;
+		}
+	}
+	
+	/** The cached borders of the claims. */
+	private final Map<Claim, Outline> outlines = new ConcurrentHashMap<>();
+	
+	/** The displays, by viewer, in drawing order. */
+	private final Map<UUID, Display> displays = new LinkedHashMap<>();
+	
+	/** The current tick of the renderer. */
+	private long tick;
+	
+	/** The X and Z block coordinates of the columns of the frame being computed. */
+	private int[] columns = new int[256];
+	
+	/** The maximum number of particles per tick, for all the viewers. */
+	private volatile int budget = 1000;
+	
+	/** The maximum horizontal distance between a particle and its viewer, in blocks. */
+	private volatile int distance = 32;
+	
+	/** The number of blocks drawn above and below the viewer. */
+	private volatile int band = 8;
+	
+    /** BukkitTask of the rendering. */
+    private BukkitTask BukkitTaskRender = null;
+    
+    /** ScheduledTask of the rendering. */
+    private ScheduledTask ScheduledTaskRender = null;
+    
+    /** Instance of SimpleClaimSystem */
+    private SimpleClaimSystem instance;
+    
+    
+    // ******************
+    // *  Constructors  *
+    // ******************
+    
+    
+    /**
+     * Constructor for ClaimParticleRenderer.
+     *
+     * @param instance The instance of the SimpleClaimSystem plugin.
+     */
+    public ClaimParticleRenderer(SimpleClaimSystem instance) {
+    	this.instance = instance;
+    }
+    
+    
+    // ********************
+    // *  Others Methods  *
+    // ********************
+    
+    
+    /**
+     * Starts the rendering, every tick.
+     *
+     * @param particles The maximum number of particles per tick, for all the viewers
+     * @param distance The maximum horizontal distance between a particle and its viewer, in blocks
+     * @param band The number of blocks drawn above and below the viewer
+     */
+    public void start(int particles, int distance, int band) {
+    	stop();
+    	this.budget = Math.max(1, particles);
+    	this.distance = Math.max(1, distance);
+    	this.band = Math.max(0, band);
+        if (instance.isFolia()) {
+            ScheduledTaskRender = Bukkit.getAsyncScheduler().runAtFixedRate(instance, task -> render(), 50, 50, TimeUnit.MILLISECONDS);
+        } else {
+            BukkitTaskRender = Bukkit.getScheduler().runTaskTimerAsynchronously(instance, () -> render(), 1, 1);
+        }
+    }
+    
+    /**
+     * Stops the rendering.
+     */
+    public void stop() {
+        if (BukkitTaskRender != null) {
+        	BukkitTaskRender.cancel();
+        	BukkitTaskRender = null;
+        }
+        if (ScheduledTaskRender != null) {
+        	ScheduledTaskRender.cancel();
+        	ScheduledTaskRender = null;
+        }
+    }
+    
+    /**
+     * Stops the rendering and clears the displays and the cached borders.
+     */
+    public void clearAll() {
+    	stop();
+    	synchronized (displays) {
+    		displays.clear();
+    	}
+    	outlines.clear();
+    }
+    
+    /**
+     * Drops the cached borders of the deleted claims and of the claims whose chunks changed.
+     * <p>
+     * Subscriber of the claim change stream, the borders of the changed claims are recomputed on their next display.
+     *
+     * @param changes The claim changes
+     */
+    public void onChanges(List<ClaimChange> changes) {
+    	for (ClaimChange change : changes) {
+    		if (change.has(ClaimChange.Type.DELETED) || change.has(ClaimChange.Type.CHUNKS_ADDED) || change.has(ClaimChange.Type.CHUNKS_REMOVED)) {
+    			outlines.remove(change.getClaim());
+    		}
+    	}
+    }
+    
+    /**
+     * Gets the border of a claim, from the cache if its chunks did not change.
+     * <p>
+     * The claim replaces its set of chunks on every change, so the cached border is valid as long as it was computed from the current set.
+     *
+     * @param claim The claim
+     * @return The segments of the border
+     */
+    public int[] getOutline(Claim claim) {
+    	ChunkKeySet chunks = claim.getChunkKeys();
+    	Outline outline = outlines.get(claim);
+    	if (outline == null || outline.chunks != chunks) {
+    		outline = new Outline(chunks, getOutline(chunks));
+    		outlines.put(claim, outline);
+    	}
+    	return outline.segments;
+    }
+    
+    /**
+     * Computes the border of a set of chunks, from the chunk keys only.
+     *
+     * @param chunks The packed chunk keys
+     * @return The segments of the border, each one as 4 values: x1, z1, x2, z2 in block coordinates
+     */
+    public static int[] getOutline(ChunkKeySet chunks) {
+    	List<ClaimPolygon.Ring> rings = new ArrayList<>();
+    	int count = 0;
+    	for (ClaimPolygon polygon : ClaimPolygon.trace(chunks)) {
+    		rings.add(polygon.getOuter());
+    		rings.addAll(polygon.getHoles());
+    	}
+    	for (ClaimPolygon.Ring ring : rings) count += ring.size();
+    	int[] segments = new int[count * 4];
+    	int i = 0;
+    	for (ClaimPolygon.Ring ring : rings) {
+    		for (int j = 0, n = ring.size(); j < n; j++) {
+    			int k = (j + 1) % n;
+    			segments[i++] = ring.getX(j);
+    			segments[i++] = ring.getZ(j);
+    			segments[i++] = ring.getX(k);
+    			segments[i++] = ring.getZ(k);
+    		}
+    	}
+    	return segments;
+    }
+    
+    /**
+     * Shows a border to a player, replacing the border already shown to this player.
+     * <p>
+     * The border is queued once the position of the player is taken on its thread.
+     *
+     * @param player The viewer
+     * @param world The name of the world of the border
+     * @param segments The segments of the border
+     * @param dustOptions The options of the particles
+     */
+    public void display(Player player, String world, List<int[]> segments, Particle.DustOptions dustOptions) {
+    	instance.executeEntitySync(player, () -> {
+    		Location location = player.getLocation();
+	    	synchronized (displays) {
+	    		displays.remove(player.getUniqueId());
+	    		displays.put(player.getUniqueId(), new Display(player, world, segments, dustOptions, location, tick));
+	    	}
+    	});
+    }
+    
+    /**
+     * Draws the displays due, within the budget of particles of the tick.
+     */
+    private void render() {
+    	synchronized (displays) {
+    		tick++;
+    		int remaining = budget;
+    		List<Display> drawn = new ArrayList<>();
+    		Iterator<Display> iterator = displays.values().iterator();
+    		while (iterator.hasNext() && remaining > 0) {
+    			Display display = iterator.next();
+    			if (!display.player.isOnline()) {
+    				iterator.remove();
+    				continue;
+    			}
+    			if (display.nextTick > tick) continue;
+    			int count = draw(display, remaining);
+    			if (count < 0) break;
+    			remaining -= count;
+    			iterator.remove();
+    			display.frames--;
+    			display.nextTick = tick + FRAME_PERIOD;
+    			if (display.frames > 0) drawn.add(display);
+    		}
+    		// The drawn displays go last, the others are drawn first on the next tick
+    		for (Display display : drawn) {
+    			displays.put(display.player.getUniqueId(), display);
+    		}
+    	}
+    }
+    
+    /**
+     * Draws a frame of a display: computes the columns in view from the last position of the viewer,
+     * and spawns the particles on the thread of the viewer.
+     *
+     * @param display The display
+     * @param allowed The number of particles left in the budget of the tick
+     * @return The number of particles drawn, or -1 if the frame must wait for the next tick
+     */
+    private int draw(Display display, int allowed) {
+    	Location location = display.location;
+    	World world = location.getWorld();
+    	if (world == null || !world.getName().equals(display.world)) return 0;
+    	int px = location.getBlockX();
+    	int pz = location.getBlockZ();
+    	int rows = getRows(world, location.getBlockY());
+    	if (rows == 0) return 0;
+    	
+    	// Collect the columns of the border in view
+    	long maxDistance = (long) distance * distance;
+    	int n = 0;
+    	for (int[] segments : display.segments) {
+    		for (int i = 0; i < segments.length; i += 4) {
+    			int x1 = Math.min(segments[i], segments[i + 2]);
+    			int z1 = Math.min(segments[i + 1], segments[i + 3]);
+    			int x2 = Math.max(segments[i], segments[i + 2]);
+    			int z2 = Math.max(segments[i + 1], segments[i + 3]);
+    			if (x1 - px > distance || px - x2 > distance || z1 - pz > distance || pz - z2 > distance) continue;
+    			boolean alongX = z1 == z2;
+    			int from = alongX ? x1 : z1;
+    			int to = alongX ? x2 : z2;
+    			for (int c = from; c < to; c += 2) {
+    				int x = alongX ? c : x1;
+    				int z = alongX ? z1 : c;
+    				long dx = x - px;
+    				long dz = z - pz;
+    				if (dx * dx + dz * dz > maxDistance) continue;
+    				if (n + 2 > columns.length) columns = Arrays.copyOf(columns, columns.length * 2);
+    				columns[n++] = x;
+    				columns[n++] = z;
+    			}
+    		}
+    	}
+    	int total = (n / 2) * rows;
+    	if (total == 0) return 0;
+    	if (total > allowed && allowed < budget) return -1;
+    	
+    	// Thin out a border larger than the budget
+    	int stride = (total + allowed - 1) / allowed;
+    	int count = (total + stride - 1) / stride;
+    	int[] frame = Arrays.copyOf(columns, n);
+    	instance.executeEntitySync(display.player, () -> spawn(display, frame, count));
+    	return count;
+    }
+    
+    /**
+     * Spawns the particles of a frame, on the thread of the viewer, and takes the position of the viewer for the next frame.
+     *
+     * @param display The display
+     * @param frame The X and Z block coordinates of the columns in view
+     * @param allowed The number of particles allowed for the frame
+     */
+    private void spawn(Display display, int[] frame, int allowed) {
+    	Player player = display.player;
+    	Location location = player.getLocation();
+    	display.location = location;
+    	World world = location.getWorld();
+    	if (world == null || !world.getName().equals(display.world)) return;
+    	int py = location.getBlockY();
+    	int rows = getRows(world, py);
+    	if (rows == 0) return;
+    	int yMin = Math.max(world.getMinHeight(), py - band);
+    	
+    	// The viewer may have moved since the columns were computed, the frame keeps within its share of the budget
+    	int total = (frame.length / 2) * rows;
+    	int stride = (total + allowed - 1) / allowed;
+    	int index = 0;
+    	for (int r = 0; r < rows; r++) {
+    		int y = yMin + r * 2;
+    		for (int i = 0; i < frame.length; i += 2) {
+    			if (index++ % stride != 0) continue;
+    			player.spawnParticle(Particle.REDSTONE, frame[i], y, frame[i + 1], 1, 0, 0, 0, 0, display.dustOptions);
+    		}
+    	}
+    }
+    
+    /**
+     * Gets the number of rows of particles drawn around a viewer, every two blocks in the band of height.
+     *
+     * @param world The world of the viewer
+     * @param py The Y block coordinate of the viewer
+     * @return The number of rows, 0 if the band is out of the world
+     */
+    private int getRows(World world, int py) {
+    	int yMin = Math.max(world.getMinHeight(), py - band);
+    	int yMax = Math.min(world.getMaxHeight() - 1, py + band);
+    	return yMin > yMax ? 0 : (yMax - yMin) / 2 + 1;
+    }
+    
+}
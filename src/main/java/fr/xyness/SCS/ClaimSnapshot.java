@@ -0,0 +1,526 @@
+package fr.xyness.SCS;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldCreator;
+import org.bukkit.scheduler.BukkitTask;
+
+import fr.xyness.SCS.Types.ChunkKeySet;
+import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.CustomSet;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+
+/**
+ * This class handles the binary snapshot of the claims.
+ * <p>
+ * The snapshot is written on shutdown and periodically, with a generation also stored in the database.
+ * Any write to the claim tables first clears the generation of the database, so at startup the snapshot
+ * is only used when both generations match, which means nothing was written since it was taken.
+ * It is read through a memory mapping, and the claims are loaded from the database otherwise.
+ */
+public class ClaimSnapshot {
+	
+	
+    // ***************
+    // *  Variables  *
+    // ***************
+    
+	
+	/** The magic number of the snapshot file ("SCSS"). */
+	private static final int MAGIC = 0x53435353;
+	
+	/** The version of the snapshot format. */
+	private static final int FORMAT_VERSION = 1;
+	
+	/** The size of the header: magic, version, generation, claims count, body length and checksum. */
+	private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4 + 8;
+	
+	/** The key of the generation in the scs_meta table. */
+	private static final String GENERATION_KEY = "snapshot_generation";
+	
+	/** The snapshot file. */
+	private final File file;
+	
+	/** The lock held while the generation of the database is changed. */
+	private final Object lock = new Object();
+	
+	/** The number of writes to the claim tables, compared between two snapshots. */
+	private final AtomicLong modifications = new AtomicLong();
+	
+	/** The number of writes covered by the last snapshot, -1 if there is none. */
+	private long savedModifications = -1;
+	
+	/** Whether the generation of the database may match a snapshot, it is cleared before the next write. */
+	private volatile boolean sealed = true;
+	
+	/** Whether the snapshot is enabled. */
+	private volatile boolean enabled;
+    
+    /** BukkitTask of the periodic snapshot. */
+    private BukkitTask BukkitTaskSnapshot = null;
+    
+    /** ScheduledTask of the periodic snapshot. */
+    private ScheduledTask ScheduledTaskSnapshot = null;
+    
+    /** Instance of SimpleClaimSystem */
+    private SimpleClaimSystem instance;
+    
+    
+    // ******************
+    // *  Constructors  *
+    // ******************
+    
+    
+    /**
+     * Constructor for ClaimSnapshot.
+     *
+     * @param instance The instance of the SimpleClaimSystem plugin.
+     */
+    public ClaimSnapshot(SimpleClaimSystem instance) {
+    	this.instance = instance;
+    	this.file = new File(instance.getDataFolder(), "claims.snapshot");
+    }
+    
+    
+    // ********************
+    // *  Others Methods  *
+    // ********************
+    
+    
+    /**
+     * Starts the snapshot.
+     *
+     * @param enabled Whether the snapshot is enabled
+     * @param minutes The interval of the periodic snapshots, in minutes (0 only writes it on shutdown)
+     */
+    public void start(boolean enabled, int minutes) {
+    	stop();
+    	this.enabled = enabled;
+    	if (!enabled || minutes <= 0) return;
+        if (instance.isFolia()) {
+            ScheduledTaskSnapshot = Bukkit.getAsyncScheduler().runAtFixedRate(instance, task -> save(), minutes, minutes, TimeUnit.MINUTES);
+        } else {
+            BukkitTaskSnapshot = Bukkit.getScheduler().runTaskTimerAsynchronously(instance, () -> save(), minutes * 1200L, minutes * 1200L);
+        }
+    }
+    
+    /**
+     * Stops the periodic snapshots.
+     */
+    public void stop() {
+        if (BukkitTaskSnapshot != null) {
+        	BukkitTaskSnapshot.cancel();
+        	BukkitTaskSnapshot = null;
+        }
+        if (ScheduledTaskSnapshot != null) {
+        	ScheduledTaskSnapshot.cancel();
+        	ScheduledTaskSnapshot = null;
+        }
+    }
+    
+    /**
+     * Forgets the state of the database, called when the data source is replaced.
+     * <p>
+     * The next write clears the generation of the new database.
+     */
+    public void reset() {
+    	synchronized (lock) {
+    		sealed = true;
+    		savedModifications = -1;
+    	}
+    }
+    
+    /**
+     * Records a write to the claim tables, called before the write.
+     * <p>
+     * The first write after a snapshot clears the generation of the database.
+     */
+    public void unseal() {
+    	modifications.incrementAndGet();
+    	if (!sealed) return;
+    	synchronized (lock) {
+    		if (!sealed) return;
+    		if (instance.getWriter().write(connection -> setGeneration(connection, 0L))) {
+    			sealed = false;
+    		}
+    	}
+    }
+    
+    /**
+     * Writes the snapshot of the loaded claims, if claims were written since the last one.
+     *
+     * @return True if the snapshot is up to date
+     */
+    public boolean save() {
+    	if (!enabled) return false;
+    	
+    	// Write the pending updates first, outside of the lock taken by the writers
+    	instance.getWriteQueue().flush();
+    	synchronized (lock) {
+    		long mods = modifications.get();
+    		if (sealed && mods == savedModifications && file.exists()) return true;
+    		long generation = ThreadLocalRandom.current().nextLong(1L, Long.MAX_VALUE);
+    		long start = System.nanoTime();
+    		List<Claim> claims = new ArrayList<>(instance.getMain().getAllClaims());
+    		try {
+    			writeFile(claims, generation);
+    		} catch (IOException | RuntimeException e) {
+    			// The file is only replaced once fully written, so the previous file and generation are left as they were
+    			e.printStackTrace();
+    			return false;
+    		}
+    		if (!instance.getWriter().write(connection -> setGeneration(connection, generation))) return false;
+    		sealed = true;
+    		savedModifications = mods;
+    		instance.info("Claims snapshot written (" + instance.getMain().getNumberSeparate(String.valueOf(claims.size())) + " claims, " + (System.nanoTime() - start) / 1_000_000 + "ms).");
+    	}
+    	// A claim was written while the snapshot was taken
+    	if (modifications.get() != savedModifications) unseal();
+    	return true;
+    }
+    
+    /**
+     * Reads the snapshot, if it matches the generation of the database.
+     * <p>
+     * Called on the main thread at startup, since the worlds of the claims may have to be created.
+     *
+     * @return The claims, or null if the snapshot is missing, stale or corrupt
+     */
+    public List<Claim> read() {
+    	if (!enabled || !file.exists()) return null;
+    	long dbGeneration;
+    	try (Connection connection = instance.getDataSource().getConnection()) {
+    		dbGeneration = getGeneration(connection);
+    	} catch (SQLException e) {
+    		e.printStackTrace();
+    		return null;
+    	}
+    	try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+    		if (channel.size() < HEADER_SIZE) return null;
+    		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    		if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) return null;
+    		long generation = buffer.getLong();
+    		if (generation == 0L || generation != dbGeneration) {
+    			instance.info("Claims snapshot is outdated, loading claims from the database.");
+    			return null;
+    		}
+    		int count = buffer.getInt();
+    		int length = buffer.getInt();
+    		long checksum = buffer.getLong();
+    		if (length != channel.size() - HEADER_SIZE) return null;
+    		CRC32 crc = new CRC32();
+    		crc.update(buffer.duplicate());
+    		if (crc.getValue() != checksum) {
+    			instance.info("Claims snapshot is corrupt, loading claims from the database.");
+    			return null;
+    		}
+    		
+    		Map<String,World> worlds = new HashMap<>();
+    		Map<String,LinkedHashMap<String, Boolean>> defaults = instance.getSettings().getDefaultValues();
+    		List<Claim> claims = new ArrayList<>(count);
+    		for (int i = 0; i < count; i++) {
+    			Claim claim = readClaim(buffer, worlds, defaults);
+    			if (claim != null) claims.add(claim);
+    		}
+    		savedModifications = modifications.get();
+    		return claims;
+    	} catch (Exception e) {
+    		instance.info("Claims snapshot is unreadable, loading claims from the database.");
+    		e.printStackTrace();
+    		return null;
+    	}
+    }
+    
+    /**
+     * Writes the snapshot file, through a temporary file replaced at once.
+     *
+     * @param claims The claims
+     * @param generation The generation of the snapshot
+     * @throws IOException If the file cannot be written
+     */
+    private void writeFile(List<Claim> claims, long generation) throws IOException {
+    	ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(1024, claims.size() * 256));
+    	DataOutputStream out = new DataOutputStream(bytes);
+    	int count = 0;
+    	for (Claim claim : claims) {
+    		if (claim.getStorageId() == 0) continue;
+    		writeClaim(out, claim);
+    		count++;
+    	}
+    	out.flush();
+    	byte[] body = bytes.toByteArray();
+    	CRC32 crc = new CRC32();
+    	crc.update(body);
+    	
+    	ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    	header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(generation).putInt(count).putInt(body.length).putLong(crc.getValue());
+    	
+    	File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+    	try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+    		header.flip();
+    		while (header.hasRemaining()) channel.write(header);
+    		ByteBuffer data = ByteBuffer.wrap(body);
+    		while (data.hasRemaining()) channel.write(data);
+    		channel.force(true);
+    	}
+    	Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * Writes a claim: ids, owner, texts, location, permission bitsets, sale, members, bans and chunk keys.
+     *
+     * @param out The output
+     * @param claim The claim
+     * @throws IOException If the claim cannot be written
+     */
+    private void writeClaim(DataOutputStream out, Claim claim) throws IOException {
+    	out.writeInt(claim.getStorageId());
+    	out.writeInt(claim.getId());
+    	writeUUID(out, claim.getUUID());
+    	writeString(out, claim.getOwner());
+    	writeString(out, claim.getName());
+    	writeString(out, claim.getDescription());
+    	writeString(out, claim.getWorldName());
+    	
+    	Location location = claim.getLocation();
+    	out.writeDouble(location.getX());
+    	out.writeDouble(location.getY());
+    	out.writeDouble(location.getZ());
+    	out.writeFloat(location.getYaw());
+    	out.writeFloat(location.getPitch());
+    	
+    	Map<String,LinkedHashMap<String, Boolean>> permissions = claim.getPermissions();
+    	out.writeInt(permissions.size());
+    	for (Map.Entry<String,LinkedHashMap<String, Boolean>> role : permissions.entrySet()) {
+    		writeString(out, role.getKey());
+    		out.writeInt(role.getValue().size());
+    		long word = 0L;
+    		int bit = 0;
+    		for (boolean value : role.getValue().values()) {
+    			if (value) word |= 1L << (bit & 63);
+    			if ((++bit & 63) == 0) {
+    				out.writeLong(word);
+    				word = 0L;
+    			}
+    		}
+    		if ((bit & 63) != 0) out.writeLong(word);
+    	}
+    	
+    	out.writeBoolean(claim.getSale());
+    	out.writeDouble(claim.getPrice());
+    	writeUUIDs(out, new ArrayList<>(claim.getMembers()));
+    	writeUUIDs(out, new ArrayList<>(claim.getBans()));
+    	
+    	long[] keys = claim.getChunkKeys().toArray();
+    	out.writeInt(keys.length);
+    	for (long key : keys) {
+    		out.writeLong(key);
+    	}
+    }
+    
+    /**
+     * Reads a claim written by {@link #writeClaim(DataOutputStream, Claim)}.
+     *
+     * @param buffer The mapped snapshot
+     * @param worlds The worlds already resolved
+     * @param defaults The default permissions, giving the order of the bits
+     * @return The claim, or null if its world does not exist
+     */
+    private Claim readClaim(ByteBuffer buffer, Map<String,World> worlds, Map<String,LinkedHashMap<String, Boolean>> defaults) {
+    	int storageId = buffer.getInt();
+    	int id = buffer.getInt();
+    	UUID owner = readUUID(buffer);
+    	String ownerName = readString(buffer);
+    	String name = readString(buffer);
+    	String description = readString(buffer);
+    	String worldName = readString(buffer);
+    	double x = buffer.getDouble();
+    	double y = buffer.getDouble();
+    	double z = buffer.getDouble();
+    	float yaw = buffer.getFloat();
+    	float pitch = buffer.getFloat();
+    	
+    	// Permissions, completed with the default values of the permissions added since
+    	Map<String,LinkedHashMap<String, Boolean>> perms = new HashMap<>();
+    	int roles = buffer.getInt();
+    	for (int r = 0; r < roles; r++) {
+    		String role = readString(buffer);
+    		int size = buffer.getInt();
+    		long[] words = new long[(size + 63) >>> 6];
+    		for (int w = 0; w < words.length; w++) {
+    			words[w] = buffer.getLong();
+    		}
+    		LinkedHashMap<String, Boolean> defaultValues = defaults.get(role);
+    		if (defaultValues == null) continue;
+    		LinkedHashMap<String, Boolean> values = new LinkedHashMap<>();
+    		int bit = 0;
+    		for (Map.Entry<String, Boolean> entry : defaultValues.entrySet()) {
+    			values.put(entry.getKey(), bit < size ? (words[bit >>> 6] & (1L << (bit & 63))) != 0 : entry.getValue());
+    			bit++;
+    		}
+    		perms.put(role, values);
+    	}
+    	
+    	boolean sale = buffer.get() != 0;
+    	double price = buffer.getDouble();
+    	Set<UUID> members = readUUIDs(buffer);
+    	Set<UUID> bans = readUUIDs(buffer);
+    	int chunksCount = buffer.getInt();
+    	ChunkKeySet chunks = new ChunkKeySet(chunksCount);
+    	for (int c = 0; c < chunksCount; c++) {
+    		chunks.add(buffer.getLong());
+    	}
+    	
+    	if (!worlds.containsKey(worldName)) {
+            World check_world = Bukkit.getWorld(worldName);
+            worlds.put(worldName, check_world == null ? Bukkit.createWorld(new WorldCreator(worldName)) : check_world);
+    	}
+    	World world = worlds.get(worldName);
+    	if (world == null) return null;
+    	
+    	Claim claim = new Claim(owner, worldName, chunks, ownerName, members, new Location(world, x, y, z, yaw, pitch), name, description, new LinkedHashMap<>(perms), sale, price, bans, id);
+    	claim.setStorageId(storageId);
+    	return claim;
+    }
+    
+    /**
+     * Writes a string as its length and UTF-8 bytes.
+     *
+     * @param out The output
+     * @param value The string
+     * @throws IOException If the string cannot be written
+     */
+    private void writeString(DataOutputStream out, String value) throws IOException {
+    	byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+    	out.writeInt(bytes.length);
+    	out.write(bytes);
+    }
+    
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param buffer The mapped snapshot
+     * @return The string
+     */
+    private String readString(ByteBuffer buffer) {
+    	byte[] bytes = new byte[buffer.getInt()];
+    	buffer.get(bytes);
+    	return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Writes a uuid as two longs.
+     *
+     * @param out The output
+     * @param uuid The uuid
+     * @throws IOException If the uuid cannot be written
+     */
+    private void writeUUID(DataOutputStream out, UUID uuid) throws IOException {
+    	out.writeLong(uuid.getMostSignificantBits());
+    	out.writeLong(uuid.getLeastSignificantBits());
+    }
+    
+    /**
+     * Reads a uuid written as two longs.
+     *
+     * @param buffer The mapped snapshot
+     * @return The uuid
+     */
+    private UUID readUUID(ByteBuffer buffer) {
+    	return new UUID(buffer.getLong(), buffer.getLong());
+    }
+    
+    /**
+     * Writes a list of uuids, preceded by its size.
+     *
+     * @param out The output
+     * @param uuids The uuids
+     * @throws IOException If the uuids cannot be written
+     */
+    private void writeUUIDs(DataOutputStream out, List<UUID> uuids) throws IOException {
+    	out.writeInt(uuids.size());
+    	for (UUID uuid : uuids) {
+    		writeUUID(out, uuid);
+    	}
+    }
+    
+    /**
+     * Reads a list of uuids written by {@link #writeUUIDs(DataOutputStream, List)}.
+     *
+     * @param buffer The mapped snapshot
+     * @return The uuids
+     */
+    private Set<UUID> readUUIDs(ByteBuffer buffer) {
+    	int size = buffer.getInt();
+    	Set<UUID> uuids = new CustomSet<>();
+    	for (int i = 0; i < size; i++) {
+    		uuids.add(readUUID(buffer));
+    	}
+    	return uuids;
+    }
+    
+    /**
+     * Gets the generation stored in the database.
+     *
+     * @param connection The connection
+     * @return The generation, 0 if there is none
+     * @throws SQLException If the generation cannot be read
+     */
+    private long getGeneration(Connection connection) throws SQLException {
+    	try (PreparedStatement stmt = connection.prepareStatement("SELECT meta_value FROM scs_meta WHERE meta_key = ?")) {
+    		stmt.setString(1, GENERATION_KEY);
+    		try (ResultSet rs = stmt.executeQuery()) {
+    			return rs.next() ? rs.getLong(1) : 0L;
+    		}
+    	}
+    }
+    
+    /**
+     * Sets the generation stored in the database.
+     *
+     * @param connection The connection
+     * @param generation The generation, 0 when no snapshot matches the database
+     * @throws SQLException If the generation cannot be written
+     */
+    private void setGeneration(Connection connection, long generation) throws SQLException {
+    	try (PreparedStatement stmt = connection.prepareStatement("UPDATE scs_meta SET meta_value = ? WHERE meta_key = ?")) {
+    		stmt.setLong(1, generation);
+    		stmt.setString(2, GENERATION_KEY);
+    		if (stmt.executeUpdate() > 0) return;
+    	}
+    	try (PreparedStatement stmt = connection.prepareStatement("INSERT INTO scs_meta (meta_key, meta_value) VALUES (?, ?)")) {
+    		stmt.setString(1, GENERATION_KEY);
+    		stmt.setLong(2, generation);
+    		stmt.executeUpdate();
+    	}
+    }
+    
+}
@@ -0,0 +1,634 @@
+package fr.xyness.SCS;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import fr.xyness.SCS.Types.ChunkKey;
+import fr.xyness.SCS.Types.ChunkKeySet;
+import fr.xyness.SCS.Types.Claim;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+
+/**
+ * This class handles the write-behind queue of the claim updates.
+ * <p>
+ * Mutations only mark the changed columns of a claim as dirty. The values are read from the claim
+ * when the queue is flushed, so repeated updates of a claim are coalesced into a single row update,
+ * and all the pending claims are written in one transaction.
+ * <p>
+ * Rows are addressed by the storage id of the claim. Members and bans are rewritten in their tables,
+ * chunks are written as the keys added and removed since the last flush.
+ */
+public class ClaimWriteQueue {
+	
+	
+    // ***************
+    // *  Variables  *
+    // ***************
+    
+	
+	/** The statements of the members, bans and chunks tables, executed in this order after the row updates. */
+	private static final String[] CHILD_QUERIES = {
+			"DELETE FROM scs_claim_members WHERE claim_id = ?",
+			"DELETE FROM scs_claim_bans WHERE claim_id = ?",
+			"DELETE FROM scs_claim_chunks WHERE claim_id = ? AND world_name = ? AND x = ? AND z = ?",
+			"INSERT INTO scs_claim_members (claim_id, member_uuid) VALUES (?, ?)",
+			"INSERT INTO scs_claim_bans (claim_id, banned_uuid) VALUES (?, ?)",
+			"REPLACE INTO scs_claim_chunks (claim_id, world_name, x, z) VALUES (?, ?, ?, ?)"
+	};
+	
+	/** The pending updates by claim, in marking order. */
+	private final Map<Claim, PendingUpdate> pending = new LinkedHashMap<>();
+	
+	/** The lock held while writing, there is a single writer at a time. */
+	private final Object writeLock = new Object();
+	
+	/** Whether a flush triggered by the size threshold is already scheduled. */
+	private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+	
+	/** The number of flushes. */
+	private final AtomicLong flushes = new AtomicLong();
+	
+	/** The total time spent in flushes, in nanoseconds. */
+	private final AtomicLong flushesTime = new AtomicLong();
+	
+	/** The number of claim updates written. */
+	private final AtomicLong written = new AtomicLong();
+	
+	/** The time spent in the last flush, in nanoseconds. */
+	private volatile long lastFlushTime;
+	
+	/** The number of pending claims forcing a flush. */
+	private volatile int maxPending;
+	
+	/** Whether the queue is running, updates are written immediately otherwise. */
+	private volatile boolean running;
+    
+    /** BukkitTask of the flush. */
+    private BukkitTask BukkitTaskFlush = null;
+    
+    /** ScheduledTask of the flush. */
+    private ScheduledTask ScheduledTaskFlush = null;
+    
+    /** Instance of SimpleClaimSystem */
+    private SimpleClaimSystem instance;
+    
+    
+    // ******************
+    // *  Constructors  *
+    // ******************
+    
+    
+    /**
+     * Constructor for ClaimWriteQueue.
+     *
+     * @param instance The instance of the SimpleClaimSystem plugin.
+     */
+    public ClaimWriteQueue(SimpleClaimSystem instance) {
+    	this.instance = instance;
+    }
+    
+    
+    // ********************
+    // *  Others Methods  *
+    // ********************
+    
+    
+    /**
+     * This enum handles the parts of a stored claim that can be marked as dirty.
+     */
+    public enum Field {
+    	
+    	OWNER("id_claim = ?, owner_uuid = ?, owner_name = ?"),
+    	NAME("claim_name = ?"),
+    	DESCRIPTION("claim_description = ?"),
+    	LOCATION("location = ?"),
+    	PERMISSIONS("permissions = ?"),
+    	SALE("for_sale = ?, sale_price = ?"),
+    	MEMBERS(null),
+    	BANS(null);
+    	
+    	/** The assignment of the field in an update query, null if it is stored in its own table */
+    	private final String assignment;
+    	
+    	/**
+    	 * Main constructor.
+    	 *
+    	 * @param assignment The assignment of the field
+    	 */
+    	Field(String assignment) {
+    		this.assignment = assignment;
+    	}
+    }
+    
+    /**
+     * This class handles the pending update of a claim.
+     */
+    private static class PendingUpdate {
+    	
+    	/** The claim */
+    	private final Claim claim;
+    	
+    	/** The dirty fields */
+    	private final EnumSet<Field> fields = EnumSet.noneOf(Field.class);
+    	
+    	/** The chunks added since the last write */
+    	private final ChunkKeySet addedChunks = new ChunkKeySet();
+    	
+    	/** The chunks removed since the last write */
+    	private final ChunkKeySet removedChunks = new ChunkKeySet();
+    	
+    	/**
+    	 * Main constructor.
+    	 *
+    	 * @param claim The claim
+    	 */
+    	private PendingUpdate(Claim claim) {
+    		this.claim = claim;
+    	}
+    	
+    	/**
+    	 * Records a chunk added or removed, cancelling the opposite pending change.
+    	 *
+    	 * @param key The packed chunk key
+    	 * @param added True if the chunk was added, false if it was removed
+    	 */
+    	private void changeChunk(long key, boolean added) {
+    		if (!(added ? removedChunks : addedChunks).remove(key)) {
+    			(added ? addedChunks : removedChunks).add(key);
+    		}
+    	}
+    	
+    	/**
+    	 * Checks if the update has nothing to write.
+    	 *
+    	 * @return True if nothing is dirty
+    	 */
+    	private boolean isEmpty() {
+    		return fields.isEmpty() && addedChunks.isEmpty() && removedChunks.isEmpty();
+    	}
+    }
+    
+    /**
+     * Starts the queue.
+     *
+     * @param ticks The interval of the flushes, in ticks (0 writes the updates immediately)
+     * @param maxPending The number of pending claims forcing a flush
+     */
+    public void start(int ticks, int maxPending) {
+    	stop();
+    	this.maxPending = Math.max(1, maxPending);
+    	if (ticks <= 0) return;
+    	running = true;
+        if (instance.isFolia()) {
+            ScheduledTaskFlush = Bukkit.getAsyncScheduler().runAtFixedRate(instance, task -> flush(), ticks * 50L, ticks * 50L, TimeUnit.MILLISECONDS);
+        } else {
+            BukkitTaskFlush = Bukkit.getScheduler().runTaskTimerAsynchronously(instance, () -> flush(), ticks, ticks);
+        }
+    }
+    
+    /**
+     * Stops the queue and writes the pending updates.
+     */
+    public void stop() {
+    	running = false;
+        if (BukkitTaskFlush != null) {
+        	BukkitTaskFlush.cancel();
+        	BukkitTaskFlush = null;
+        }
+        if (ScheduledTaskFlush != null) {
+        	ScheduledTaskFlush.cancel();
+        	ScheduledTaskFlush = null;
+        }
+        flush();
+    }
+    
+    /**
+     * Marks fields of a claim as dirty.
+     * <p>
+     * When the queue is not running, the fields are written immediately on the calling thread.
+     *
+     * @param claim The claim
+     * @param fields The dirty fields
+     */
+    public void mark(Claim claim, Field... fields) {
+    	int size;
+    	synchronized (pending) {
+    		PendingUpdate update = pending.computeIfAbsent(claim, PendingUpdate::new);
+    		for (Field field : fields) {
+    			update.fields.add(field);
+    		}
+    		size = pending.size();
+    	}
+    	afterMark(claim, size);
+    }
+    
+    /**
+     * Marks a chunk of a claim as added or removed.
+     *
+     * @param claim The claim
+     * @param key The packed chunk key
+     * @param added True if the chunk was added to the claim, false if it was removed
+     */
+    public void markChunk(Claim claim, long key, boolean added) {
+    	int size;
+    	synchronized (pending) {
+    		pending.computeIfAbsent(claim, PendingUpdate::new).changeChunk(key, added);
+    		size = pending.size();
+    	}
+    	afterMark(claim, size);
+    }
+    
+    /**
+     * Writes a marked claim immediately if the queue is not running,
+     * or schedules a flush if there are too many pending claims.
+     *
+     * @param claim The marked claim
+     * @param size The number of pending claims
+     */
+    private void afterMark(Claim claim, int size) {
+    	if (!running) {
+    		flush(List.of(claim));
+    	} else if (size >= maxPending && flushScheduled.compareAndSet(false, true)) {
+    		instance.getIOExecutor().execute(() -> {
+    			try {
+    				flush();
+    			} finally {
+    				flushScheduled.set(false);
+    			}
+    		});
+    	}
+    }
+    
+    /**
+     * Drops the pending update of a claim, before it is deleted.
+     *
+     * @param claim The claim
+     */
+    public void discard(Claim claim) {
+    	synchronized (pending) {
+    		pending.remove(claim);
+    	}
+    }
+    
+    /**
+     * Writes all the pending updates.
+     *
+     * @return True if all the updates were written
+     */
+    public boolean flush() {
+    	synchronized (writeLock) {
+    		List<PendingUpdate> updates;
+    		synchronized (pending) {
+    			if (pending.isEmpty()) return true;
+    			updates = new ArrayList<>(pending.values());
+    			pending.clear();
+    		}
+    		return write(updates);
+    	}
+    }
+    
+    /**
+     * Writes the pending updates of some claims now, before their row is changed directly.
+     *
+     * @param claims The claims
+     * @return True if all the updates were written
+     */
+    public boolean flush(Collection<Claim> claims) {
+    	synchronized (writeLock) {
+    		List<PendingUpdate> updates = new ArrayList<>();
+    		synchronized (pending) {
+    			for (Claim claim : claims) {
+    				PendingUpdate update = pending.remove(claim);
+    				if (update != null) updates.add(update);
+    			}
+    		}
+    		if (updates.isEmpty()) return true;
+    		return write(updates);
+    	}
+    }
+    
+    /**
+     * Writes updates in one transaction.
+     * <p>
+     * Updates of claims not stored yet are kept for a later flush, and so are all the updates
+     * if the database is unreachable. If the transaction fails for another reason, such as bad
+     * claim data, the updates are written one by one so a faulty claim does not block the others.
+     *
+     * @param updates The updates
+     * @return True if all the updates were written
+     */
+    private boolean write(List<PendingUpdate> updates) {
+    	List<PendingUpdate> stored = new ArrayList<>(updates.size());
+    	List<PendingUpdate> unstored = new ArrayList<>();
+    	for (PendingUpdate update : updates) {
+    		if (update.isEmpty()) continue;
+    		(update.claim.getStorageId() == 0 ? unstored : stored).add(update);
+    	}
+    	if (!unstored.isEmpty()) requeue(unstored);
+    	if (stored.isEmpty()) return true;
+    	
+    	instance.getSnapshot().unseal();
+    	long start = System.nanoTime();
+    	boolean success;
+    	try {
+    		instance.getWriter().submit(connection -> writeBatch(connection, stored)).join();
+    		success = true;
+    	} catch (CompletionException e) {
+    		if (e.getCause() instanceof SQLException && isUnreachable((SQLException) e.getCause())) {
+        		// The database is unreachable, keep the updates for the next flush
+        		e.getCause().printStackTrace();
+        		requeue(stored);
+        		return false;
+    		}
+    		success = writeEach(stored);
+    	}
+    	long time = System.nanoTime() - start;
+    	lastFlushTime = time;
+    	flushesTime.addAndGet(time);
+    	flushes.incrementAndGet();
+    	written.addAndGet(stored.size());
+    	return success;
+    }
+    
+    /**
+     * Writes updates with batched statements.
+     * <p>
+     * Row updates are batched by query, then members, bans and chunks are deleted before
+     * being inserted, so a chunk moving between two claims ends up in the right one.
+     *
+     * @param connection The connection
+     * @param updates The updates
+     * @throws SQLException If a statement fails
+     */
+    private void writeBatch(Connection connection, List<PendingUpdate> updates) throws SQLException {
+    	Map<String, PreparedStatement> statements = new LinkedHashMap<>();
+    	PreparedStatement[] children = new PreparedStatement[CHILD_QUERIES.length];
+    	try {
+    		for (PendingUpdate update : updates) {
+    			Claim claim = update.claim;
+    			int id = claim.getStorageId();
+    			String query = getQuery(update);
+    			if (query != null) {
+    				PreparedStatement stmt = statements.get(query);
+    				if (stmt == null) {
+    					stmt = connection.prepareStatement(query);
+    					statements.put(query, stmt);
+    				}
+    				bind(stmt, update);
+    				stmt.addBatch();
+    			}
+    			if (update.fields.contains(Field.MEMBERS)) {
+    				writePlayers(connection, children, 0, 3, id, new ArrayList<>(claim.getMembers()));
+    			}
+    			if (update.fields.contains(Field.BANS)) {
+    				writePlayers(connection, children, 1, 4, id, new ArrayList<>(claim.getBans()));
+    			}
+    			String world = claim.getWorldName();
+    			for (long key : update.removedChunks.toArray()) {
+    				PreparedStatement stmt = getStatement(connection, children, 2);
+    				stmt.setInt(1, id);
+    				stmt.setString(2, world);
+    				stmt.setInt(3, ChunkKey.getX(key));
+    				stmt.setInt(4, ChunkKey.getZ(key));
+    				stmt.addBatch();
+    			}
+    			for (long key : update.addedChunks.toArray()) {
+    				PreparedStatement stmt = getStatement(connection, children, 5);
+    				stmt.setInt(1, id);
+    				stmt.setString(2, world);
+    				stmt.setInt(3, ChunkKey.getX(key));
+    				stmt.setInt(4, ChunkKey.getZ(key));
+    				stmt.addBatch();
+    			}
+    		}
+    		for (PreparedStatement stmt : statements.values()) {
+    			stmt.executeBatch();
+    		}
+    		for (PreparedStatement stmt : children) {
+    			if (stmt != null) stmt.executeBatch();
+    		}
+    	} finally {
+    		for (PreparedStatement stmt : statements.values()) {
+    			stmt.close();
+    		}
+    		for (PreparedStatement stmt : children) {
+    			if (stmt != null) stmt.close();
+    		}
+    	}
+    }
+    
+    /**
+     * Adds the replacement of the members or the bans of a claim to the batches.
+     *
+     * @param connection The connection
+     * @param children The statements of the child tables
+     * @param delete The index of the delete query
+     * @param insert The index of the insert query
+     * @param id The storage id of the claim
+     * @param players The uuids of the players
+     * @throws SQLException If a statement cannot be prepared
+     */
+    private void writePlayers(Connection connection, PreparedStatement[] children, int delete, int insert, int id, List<UUID> players) throws SQLException {
+    	PreparedStatement stmt = getStatement(connection, children, delete);
+    	stmt.setInt(1, id);
+    	stmt.addBatch();
+    	for (UUID player : players) {
+    		stmt = getStatement(connection, children, insert);
+    		stmt.setInt(1, id);
+    		stmt.setString(2, player.toString());
+    		stmt.addBatch();
+    	}
+    }
+    
+    /**
+     * Gets the statement of a child table query, prepared on first use.
+     *
+     * @param connection The connection
+     * @param children The statements of the child tables
+     * @param index The index of the query
+     * @return The statement
+     * @throws SQLException If the statement cannot be prepared
+     */
+    private PreparedStatement getStatement(Connection connection, PreparedStatement[] children, int index) throws SQLException {
+    	if (children[index] == null) {
+    		children[index] = connection.prepareStatement(CHILD_QUERIES[index]);
+    	}
+    	return children[index];
+    }
+    
+    /**
+     * Writes updates one by one, logging and dropping the ones failing.
+     *
+     * @param updates The updates
+     * @return True if all the updates were written
+     */
+    private boolean writeEach(List<PendingUpdate> updates) {
+    	List<CompletableFuture<Void>> futures = new ArrayList<>(updates.size());
+    	for (PendingUpdate update : updates) {
+    		futures.add(instance.getWriter().submit(connection -> writeBatch(connection, List.of(update))));
+    	}
+    	boolean success = true;
+    	for (int i = 0; i < futures.size(); i++) {
+    		try {
+    			futures.get(i).join();
+    		} catch (CompletionException e) {
+    			Claim claim = updates.get(i).claim;
+    			instance.getLogger().warning("The update of the claim " + claim.getName() + " of " + claim.getOwner() + " could not be written and was dropped.");
+    			e.getCause().printStackTrace();
+    			success = false;
+    		}
+    	}
+    	return success;
+    }
+    
+    /**
+     * Checks if a write failed because the database could not be reached.
+     *
+     * @param e The error
+     * @return True if no connection could be obtained
+     */
+    private boolean isUnreachable(SQLException e) {
+    	String state = e.getSQLState();
+    	return e instanceof SQLTransientConnectionException || e instanceof SQLNonTransientConnectionException
+    			|| (state != null && state.startsWith("08"));
+    }
+    
+    /**
+     * Puts back updates that could not be written, before the ones marked since.
+     *
+     * @param updates The updates
+     */
+    private void requeue(List<PendingUpdate> updates) {
+    	synchronized (pending) {
+    		Map<Claim, PendingUpdate> newer = new LinkedHashMap<>(pending);
+    		pending.clear();
+    		for (PendingUpdate update : updates) {
+    			PendingUpdate next = newer.remove(update.claim);
+    			if (next != null) {
+    				update.fields.addAll(next.fields);
+    				next.addedChunks.forEach(key -> update.changeChunk(key, true));
+    				next.removedChunks.forEach(key -> update.changeChunk(key, false));
+    			}
+    			pending.put(update.claim, update);
+    		}
+    		pending.putAll(newer);
+    	}
+    }
+    
+    /**
+     * Builds the row update query of a pending update.
+     *
+     * @param update The update
+     * @return The query, or null if no column of the row is dirty
+     */
+    private String getQuery(PendingUpdate update) {
+    	StringBuilder query = new StringBuilder("UPDATE scs_claims_2 SET ");
+    	boolean first = true;
+    	for (Field field : update.fields) {
+    		if (field.assignment == null) continue;
+    		if (!first) query.append(", ");
+    		query.append(field.assignment);
+    		first = false;
+    	}
+    	return first ? null : query.append(" WHERE id = ?").toString();
+    }
+    
+    /**
+     * Binds the current values of a claim to a row update query.
+     *
+     * @param stmt The statement
+     * @param update The update
+     * @throws SQLException If a value cannot be bound
+     */
+    private void bind(PreparedStatement stmt, PendingUpdate update) throws SQLException {
+    	Claim claim = update.claim;
+    	ClaimMain main = instance.getMain();
+    	int i = 1;
+    	for (Field field : update.fields) {
+    		switch (field) {
+    			case OWNER:
+    				stmt.setInt(i++, claim.getId());
+    				stmt.setString(i++, claim.getUUID().toString());
+    				stmt.setString(i++, claim.getOwner());
+    				break;
+    			case NAME:
+    				stmt.setString(i++, claim.getName());
+    				break;
+    			case DESCRIPTION:
+    				stmt.setString(i++, claim.getDescription());
+    				break;
+    			case LOCATION:
+    				stmt.setString(i++, main.getLocationString(claim.getLocation()));
+    				break;
+    			case PERMISSIONS:
+    				stmt.setString(i++, main.getPermissionString(claim));
+    				break;
+    			case SALE:
+    				stmt.setBoolean(i++, claim.getSale());
+    				stmt.setDouble(i++, claim.getSale() ? claim.getPrice() : 0.0);
+    				break;
+    			default:
+    				break;
+    		}
+    	}
+    	stmt.setInt(i, claim.getStorageId());
+    }
+    
+    /**
+     * Gets the number of claims waiting to be written.
+     *
+     * @return The queue depth
+     */
+    public int getDepth() {
+    	synchronized (pending) {
+    		return pending.size();
+    	}
+    }
+    
+    /**
+     * Gets the time spent in the last flush.
+     *
+     * @return The latency, in milliseconds
+     */
+    public double getLastFlushLatency() {
+    	return lastFlushTime / 1_000_000.0;
+    }
+    
+    /**
+     * Gets the average time spent in a flush.
+     *
+     * @return The latency, in milliseconds
+     */
+    public double getAverageFlushLatency() {
+    	long count = flushes.get();
+    	return count == 0 ? 0.0 : flushesTime.get() / 1_000_000.0 / count;
+    }
+    
+    /**
+     * Gets the number of claim updates written since the start of the server.
+     *
+     * @return The number of updates
+     */
+    public long getWrittenCount() {
+    	return written.get();
+    }
+    
+}
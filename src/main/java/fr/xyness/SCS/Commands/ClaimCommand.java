@@ -37,6 +37,7 @@ import fr.xyness.SCS.Guis.ClaimConfirmationGui;
 import fr.xyness.SCS.Guis.ClaimSettingsGui;
 import fr.xyness.SCS.Types.CPlayer;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimPermission;
 import fr.xyness.SCS.Types.CustomSet;
 import fr.xyness.SCS.Guis.ClaimListGui;
 import fr.xyness.SCS.Guis.ClaimMembersGui;
@@ -256,7 +257,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             	player.sendMessage(instance.getLanguage().getMessage("claim-player-not-found"));
                 return;
             }
-            if(claim.getChunks().size() == 1) {
+            if(claim.getChunksCount() == 1) {
             	player.sendMessage(instance.getLanguage().getMessage("cannot-remove-only-remaining-chunk"));
             	return;
             }
@@ -337,7 +338,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             	.thenAccept(success -> {
             		if (success) {
             			player.sendMessage(instance.getLanguage().getMessage("claims-are-now-merged").replace("%claim-name%", claim1.getName()));
-            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim1.getChunks()), true, false);
+            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayClaim(player, claim1, true, false);
             		} else {
             			player.sendMessage(instance.getLanguage().getMessage("error"));
             		}
@@ -403,7 +404,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                 	player.sendMessage(instance.getLanguage().getMessage("player-not-online").replace("%player%", args[2]));
                 	return;
                 }
-	        	if(!instance.getMain().getAllChunksFromAllClaims(playerName).contains(target.getLocation().getChunk())) {
+	        	if(!playerName.equals(instance.getMain().getOwnerInClaim(target.getLocation().getChunk()))) {
 	            	player.sendMessage(instance.getLanguage().getMessage("player-not-in-any-claim").replace("%player%", target.getName()));
 	            	return;
 	        	}
@@ -422,7 +423,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             	player.sendMessage(instance.getLanguage().getMessage("player-not-online").replace("%player%", args[2]));
             	return;
             }
-            if(!claim.getChunks().contains(target.getLocation().getChunk())) {
+            if(!claim.containsChunk(target.getLocation().getChunk())) {
             	player.sendMessage(instance.getLanguage().getMessage("player-not-in-the-claim").replace("%player%", target.getName()).replace("%claim-name%", claim.getName()));
             	return;
             }
@@ -458,7 +459,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                         		if (success) {
                         			instance.executeEntitySync(player, () -> player.sendMessage(message));
                     		        if (target != null && target.isOnline()) {
-                    		        	if(instance.getMain().getAllChunksFromAllClaims(playerName).contains(target.getLocation().getChunk())) {
+                    		        	if(playerName.equals(instance.getMain().getOwnerInClaim(target.getLocation().getChunk()))) {
                     		        		instance.executeEntitySync(target, () -> instance.getMain().teleportPlayer(target, Bukkit.getWorlds().get(0).getSpawnLocation()));
                     		        	}
                     		        	instance.executeEntitySync(target, () -> {
@@ -515,7 +516,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                     			instance.executeEntitySync(player, () -> player.sendMessage(message));
                 		        if (target != null && target.isOnline()) {
                 		        	String claimName = claim.getName();
-                		        	if(claim.getChunks().contains(target.getLocation().getChunk())) {
+                		        	if(claim.containsChunk(target.getLocation().getChunk())) {
                 		        		instance.executeEntitySync(target, () -> instance.getMain().teleportPlayer(target, Bukkit.getWorlds().get(0).getSpawnLocation()));
                 		        	}
                 		        	instance.executeEntitySync(target, () -> {
@@ -844,7 +845,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                     return;
                 }
                 // Check if player can claim with all these chunks (total)
-                if (!cTarget.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(targetName).size()+instance.getMain().getAllChunksFromAllClaims(playerName).size())) {
+                if (!cTarget.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(targetName)+instance.getMain().getAllChunksCountFromAllClaims(playerName))) {
                 	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks-other").replace("%player%", targetName));
                     return;
                 }
@@ -888,7 +889,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                 return;
             }
             // Check if player can claim with all these chunks (total)
-            if (!cTarget.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(targetName).size()+claim.getChunks().size())) {
+            if (!cTarget.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(targetName)+claim.getChunksCount())) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks-other").replace("%player%", targetName));
                 return;
             }
@@ -933,7 +934,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                 		if (success) {
                 			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("claim-for-sale-success").replace("%name%", args[1]).replace("%price%", instance.getMain().getNumberSeparate(args[2])).replace("%money-symbol%", instance.getLanguage().getMessage("money-symbol"))));
                             instance.executeSync(() -> Bukkit.getOnlinePlayers().stream().forEach(p -> p.sendMessage(instance.getLanguage().getMessage("claim-for-sale-success-broadcast").replace("%name%", args[1]).replace("%price%", instance.getMain().getNumberSeparate(args[2])).replace("%player%", playerName).replace("%money-symbol%", instance.getLanguage().getMessage("money-symbol")))));
-                            instance.getBossBars().activateBossBar(claim.getChunks());
+                            instance.getBossBars().activateBossBar(claim);
                 		} else {
                 			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
                 		}
@@ -1004,7 +1005,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             	}
             }
             Set<Chunk> chunks = new HashSet<>(claim.getChunks());
-            if(!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(playerName).size()+1)) {
+            if(!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(playerName)+1)) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks"));
             	return;
             }
@@ -1049,7 +1050,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
     	            			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("add-chunk-successful")
     	            					.replace("%chunk%", "["+chunk.getWorld().getName()+";"+String.valueOf(chunk.getX())+";"+String.valueOf(chunk.getZ())+"]")
     	            					.replace("%claim-name%", claim.getName())));
-    	            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
+    	            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayClaim(player, claim, true, false);
     	            			return;
     	            		} else {
     	            			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
@@ -1073,7 +1074,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
 	            			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("add-chunk-successful")
 	            					.replace("%chunk%", "["+chunk.getWorld().getName()+";"+String.valueOf(chunk.getX())+";"+String.valueOf(chunk.getZ())+"]")
 	            					.replace("%claim-name%", claim.getName())));
-	            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
+	            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayClaim(player, claim, true, false);
 	            			return;
 	            		} else {
 	            			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
@@ -1107,7 +1108,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             	player.sendMessage(instance.getLanguage().getMessage("player-not-online").replace("%player%", args[1]));
             	return;
             }
-            if(!claim.getChunks().contains(target.getLocation().getChunk())) {
+            if(!claim.containsChunk(target.getLocation().getChunk())) {
             	player.sendMessage(instance.getLanguage().getMessage("player-not-in-the-claim").replace("%player%", target.getName()).replace("%claim-name%", claim.getName()));
             	return;
             }
@@ -1150,7 +1151,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                     			instance.executeEntitySync(player, () -> player.sendMessage(message));
                 		        if (target != null && target.isOnline()) {
                 		        	String claimName = claim.getName();
-                		        	if(claim.getChunks().contains(target.getLocation().getChunk())) {
+                		        	if(claim.containsChunk(target.getLocation().getChunk())) {
                 		        		instance.executeEntitySync(target, () -> instance.getMain().teleportPlayer(target, Bukkit.getWorlds().get(0).getSpawnLocation()));
                 		        	}
                 		        	instance.executeEntitySync(target, () -> {
@@ -1261,7 +1262,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                 return;
             }
             // Check if player can claim with all these chunks (total)
-            if (!cTarget.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(targetName).size()+claim.getChunks().size())) {
+            if (!cTarget.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(targetName)+claim.getChunksCount())) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks-other").replace("%player%", targetName));
                 return;
             }
@@ -1414,9 +1415,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                     	player.sendMessage(instance.getLanguage().getMessage("target-does-not-have-claim").replace("%name%", args[1]));
                         return;
                     }
-                    Set<Chunk> chunks = new HashSet<>();
-                    instance.getMain().getPlayerClaims(playerName).forEach(c -> c.getChunks().forEach(chunk -> chunks.add(chunk)));
-                    instance.getMain().displayChunks(player, new CustomSet<>(chunks), false, true);
+                    instance.getMain().displayClaims(player, instance.getMain().getPlayerClaims(playerName), false, true);
             	});
             };
             
@@ -1564,7 +1563,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             	instance.getMain().delChunkSale(claim)
             		.thenAccept(success -> {
             			if (success) {
-            				instance.getBossBars().activateBossBar(claim.getChunks());
+            				instance.getBossBars().activateBossBar(claim);
             				instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("claim-in-sale-cancel").replace("%name%", args[1])));
             			} else {
             				instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
@@ -1622,7 +1621,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
 		            return;
 		        }
                 // Check if player can claim with all these chunks (total)
-                if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(playerName).size()+claim.getChunks().size())) {
+                if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(playerName)+claim.getChunksCount())) {
                 	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks"));
                     return;
                 }
@@ -1674,7 +1673,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                 player.sendMessage(instance.getLanguage().getMessage("fly-enabled"));
                 return;
             }
-            if (!claim.getPermissionForPlayer("Fly",player)) {
+            if (!claim.getPermissionForPlayer(ClaimPermission.FLY, player)) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-fly-in-this-claim"));
                 return;
             }
@@ -1706,7 +1705,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             Chunk chunk = player.getLocation().getChunk();
             if (instance.getMain().checkIfClaimExists(chunk)) {
                 Claim claim = instance.getMain().getClaimFromChunk(chunk);
-                if (claim.getOwner().equals(playerName) || claim.getPermissionForPlayer("Fly",player)) {
+                if (claim.getOwner().equals(playerName) || claim.getPermissionForPlayer(ClaimPermission.FLY, player)) {
                 	if(cPlayer.getClaimFly()) return;
                     instance.getPlayerMain().activePlayerFly(player);
                     player.sendMessage(instance.getLanguage().getMessage("fly-enabled"));	
@@ -1749,12 +1748,13 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                 return;
             }
             cPlayer.setClaimAutomap(true);
+            cPlayer.setMapFrame(null);
             player.sendMessage(instance.getLanguage().getMessage("automap-on"));
             if(instance.getSettings().getSetting("map-type").equals("scoreboard")) {
             	CScoreboard cScoreboard = new CScoreboard("§b§lClaims Map");
-            	instance.getMain().getMap(player, player.getLocation().getChunk(), true);
             	cPlayer.setScoreboard(cScoreboard);
             	cScoreboard.showToPlayer(player);
+            	instance.getMain().getMap(player, player.getLocation().getChunk(), true);
             } else {
             	instance.getMain().getMap(player, player.getLocation().getChunk(), true);
             }
@@ -1978,7 +1978,11 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             }
             Chunk chunk = player.getLocation().getChunk();
             Claim claim = instance.getMain().getClaim(chunk);
-            instance.getMain().displayChunks(player, new CustomSet<>(claim == null ? Set.of(player.getLocation().getChunk()) : claim.getChunks()), false, false);
+            if (claim == null) {
+            	instance.getMain().displayChunks(player, new CustomSet<>(Set.of(chunk)), false, false);
+            } else {
+            	instance.getMain().displayClaim(player, claim, false, false);
+            }
             return;
         }
         try {
@@ -2017,7 +2021,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
 	        	            }
 	        	            
 	        	            // Check if player can claim with all these chunks (total)
-	        	            if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(playerName).size()+chunksToClaim.size())) {
+	        	            if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(playerName)+chunksToClaim.size())) {
 	        	            	instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks")));
 	        	                return;
 	        	            }
@@ -2167,7 +2171,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                         }
                         
                         // Check if player can claim with all these chunks (total)
-                        if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(playerName).size()+1)) {
+                        if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(playerName)+1)) {
                         	instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks")));
                             return;
                         }
@@ -2235,7 +2239,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
         		        }
         		        
                         // Check if player can claim with all these chunks (total)
-                        if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(playerName).size()+1)) {
+                        if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(playerName)+1)) {
                         	instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks")));
                             return;
                         }
@@ -205,7 +205,7 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
             	player.sendMessage(instance.getLanguage().getMessage("claim-player-not-found"));
                 return;
             }
-            if(claim.getChunks().size() == 1) {
+            if(claim.getChunksCount() == 1) {
             	player.sendMessage(instance.getLanguage().getMessage("cannot-remove-only-remaining-chunk"));
             	return;
             }
@@ -272,7 +272,7 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
             }
             Set<Chunk> chunks = new HashSet<>(claim1.getChunks());
             claims.forEach(c -> chunks.addAll(c.getChunks()));
-            if(!cPlayer.canClaimWithNumber(chunks.size()+claim1.getChunks().size())) {
+            if(!cPlayer.canClaimWithNumber(chunks.size()+claim1.getChunksCount())) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks"));
             	return;
             }
@@ -284,7 +284,7 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
             	.thenAccept(success -> {
             		if (success) {
             			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("claims-are-now-merged").replace("%claim-name%", claim1.getName())));
-            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim1.getChunks()), true, false);
+            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayClaim(player, claim1, true, false);
             		} else {
             			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
             		}
@@ -306,7 +306,7 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
                 	player.sendMessage(instance.getLanguage().getMessage("player-not-online").replace("%player%", args[2]));
                 	return;
                 }
-	        	if(!instance.getMain().getAllChunksFromAllClaims("*").contains(target.getLocation().getChunk())) {
+	        	if(!"*".equals(instance.getMain().getOwnerInClaim(target.getLocation().getChunk()))) {
 	            	player.sendMessage(instance.getLanguage().getMessage("player-not-in-any-claim").replace("%player%", target.getName()));
 	            	return;
 	        	}
@@ -325,7 +325,7 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
             	player.sendMessage(instance.getLanguage().getMessage("player-not-online").replace("%player%", args[2]));
             	return;
             }
-            if(!claim.getChunks().contains(target.getLocation().getChunk())) {
+            if(!claim.containsChunk(target.getLocation().getChunk())) {
             	player.sendMessage(instance.getLanguage().getMessage("player-not-in-the-protected-area").replace("%player%", target.getName()).replace("%claim-name%", claim.getName()));
             	return;
             }
@@ -357,7 +357,7 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
     	        				if (success) {
     	        					instance.executeEntitySync(player, () -> player.sendMessage(message));
     	    	        			if (target != null && target.isOnline()) {
-    	    	        				if(instance.getMain().getAllChunksFromAllProtectedAreas().contains(target.getLocation().getChunk())) {
+    	    	        				if("*".equals(instance.getMain().getOwnerInClaim(target.getLocation().getChunk()))) {
     	            		        		instance.executeEntitySync(target, () -> instance.getMain().teleportPlayer(target, Bukkit.getWorlds().get(0).getSpawnLocation()));
     	            		        	}
     	            		        	instance.executeEntitySync(target, () -> {
@@ -412,7 +412,7 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
 		    					instance.executeEntitySync(player, () -> player.sendMessage(message));
 		    			        if (target != null && target.isOnline()) {
 		    			        	String claimName = claim.getName();
-		    			        	if(claim.getChunks().contains(target.getLocation().getChunk())) {
+		    			        	if(claim.containsChunk(target.getLocation().getChunk())) {
 		        		        		instance.executeEntitySync(target, () -> instance.getMain().teleportPlayer(target, Bukkit.getWorlds().get(0).getSpawnLocation()));
 		        		        	}
 		        		        	instance.executeEntitySync(target, () -> {
@@ -748,7 +748,7 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
             			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("add-chunk-successful")
             					.replace("%chunk%", "["+chunk.getWorld().getName()+";"+String.valueOf(chunk.getX())+";"+String.valueOf(chunk.getZ())+"]")
             					.replace("%claim-name%", claim.getName())));
-            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
+            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayClaim(player, claim, true, false);
             			return;
             		} else {
             			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
@@ -21,6 +21,8 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 
+import fr.xyness.SCS.ClaimWriteQueue;
+import fr.xyness.SCS.IOExecutor;
 import fr.xyness.SCS.SimpleClaimSystem;
 import fr.xyness.SCS.Guis.AdminGestion.AdminGestionClaimMainGui;
 import fr.xyness.SCS.Guis.AdminGestion.AdminGestionClaimsOwnerGui;
@@ -180,6 +182,29 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
     		instance.getMain().transferClaims();
     		return;
     	}
+    	if(args[0].equalsIgnoreCase("write-queue")) {
+    		ClaimWriteQueue queue = instance.getWriteQueue();
+    		sender.sendMessage(instance.getLanguage().getMessage("write-queue-status")
+    				.replace("%depth%", String.valueOf(queue.getDepth()))
+    				.replace("%written%", String.valueOf(queue.getWrittenCount()))
+    				.replace("%last%", String.format("%.2f", queue.getLastFlushLatency()))
+    				.replace("%average%", String.format("%.2f", queue.getAverageFlushLatency())));
+    		IOExecutor io = instance.getIOExecutor();
+    		sender.sendMessage(instance.getLanguage().getMessage("io-executor-status")
+    				.replace("%queued%", String.valueOf(io.getQueuedCount()))
+    				.replace("%running%", String.valueOf(io.getInFlightCount()))
+    				.replace("%limit%", String.valueOf(io.getLimit()))
+    				.replace("%completed%", String.valueOf(io.getCompletedCount())));
+    		return;
+    	}
+    	if(args[0].equalsIgnoreCase("map-resync")) {
+    		instance.getIOExecutor().execute(() -> {
+    			int count = instance.getMapReconciler().resync();
+    			sender.sendMessage(instance.getLanguage().getMessage("map-resync-started")
+    					.replace("%claims%", instance.getMain().getNumberSeparate(String.valueOf(count))));
+    		});
+    		return;
+    	}
     	if(args[0].equalsIgnoreCase("reset-all-player-claims-settings")) {
     		instance.getMain().resetAllPlayerClaimsSettings()
     			.thenAccept(success -> {
@@ -1413,7 +1438,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
     private List<String> getPrimaryCompletions(String[] args) {
     	String partialInput = args.length > 0 ? args[0].toLowerCase() : "";
         List<String> completions = List.of("reload", "config-reload", "transfer", "player", "cplayer", "group", "forceunclaim", "setowner", "set-lang", 
-                "reset-all-player-claims-settings", "reset-all-admin-claims-settings","admin","import-griefprevention");
+                "reset-all-player-claims-settings", "reset-all-admin-claims-settings","admin","import-griefprevention","write-queue","map-resync");
         return completions.stream()
     	        .filter(c -> c.toLowerCase().startsWith(partialInput))
     	        .collect(Collectors.toList());
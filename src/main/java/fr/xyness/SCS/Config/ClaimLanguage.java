@@ -22,6 +22,9 @@ public class ClaimLanguage {
     /** A map to store language keys and their corresponding messages. */
     private Map<String, String> lang = new HashMap<>();
     
+    /** The version of the messages, incremented each time the language is set. */
+    private volatile int version;
+    
     /** Instance of SimpleClaimSystem. */
     private SimpleClaimSystem instance;
     
@@ -54,8 +57,18 @@ public class ClaimLanguage {
      */
     public boolean setLanguage(Map<String, String> messagesMap) {
         lang = messagesMap;
+        version++;
         return true;
     }
+    
+    /**
+     * Gets the version of the messages, to invalidate what was rendered from them.
+     *
+     * @return The version
+     */
+    public int getVersion() {
+        return version;
+    }
 
     /**
      * Gets a message corresponding to the provided key.
@@ -1,6 +1,6 @@
 package fr.xyness.SCS.Config;
 
-import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -13,6 +13,8 @@ import java.util.stream.Collectors;
 import org.bukkit.Material;
 import org.bukkit.entity.EntityType;
 
+import fr.xyness.SCS.Types.ClaimPermission;
+
 /**
  * ClaimSettings class handles various settings and configurations for the plugin.
  */
@@ -24,23 +26,23 @@ public class ClaimSettings {
     // ***************
 
 	
-    /** List of restricted items. */
-    private List<Material> restrictedItems = new ArrayList<>();
+    /** Set of restricted items. */
+    private Set<Material> restrictedItems = EnumSet.noneOf(Material.class);
     
-    /** List of restricted interactable blocks. */
-    private List<Material> restrictedInteractBlocks = new ArrayList<>();
+    /** Set of restricted interactable blocks. */
+    private Set<Material> restrictedInteractBlocks = EnumSet.noneOf(Material.class);
     
-    /** List of restricted entity types. */
-    private List<EntityType> restrictedEntityType = new ArrayList<>();
+    /** Set of restricted entity types. */
+    private Set<EntityType> restrictedEntityType = EnumSet.noneOf(EntityType.class);
     
-    /** List of special blocks. */
-    private List<Material> specialBlocks = new ArrayList<>();
+    /** Set of special blocks. */
+    private Set<Material> specialBlocks = EnumSet.noneOf(Material.class);
     
-    /** List of ignored break blocks. */
-    private List<Material> BreakBlocksIgnore = new ArrayList<>();
+    /** Set of ignored break blocks. */
+    private Set<Material> BreakBlocksIgnore = EnumSet.noneOf(Material.class);
     
-    /** List of ignored place blocks. */
-    private List<Material> PlaceBlocksIgnore = new ArrayList<>();
+    /** Set of ignored place blocks. */
+    private Set<Material> PlaceBlocksIgnore = EnumSet.noneOf(Material.class);
     
     /** Map of aliases, key for aliase, value for real command */
     private Map<String,String> aliases = new HashMap<>();
@@ -361,56 +363,56 @@ public class ClaimSettings {
     }
 
     /**
-     * Gets the list of restricted items.
+     * Gets the set of restricted items.
      *
-     * @return The list of restricted items.
+     * @return The set of restricted items.
      */
-    public List<Material> getRestrictedItems() {
+    public Set<Material> getRestrictedItems() {
         return restrictedItems;
     }
 
     /**
-     * Gets the list of restricted containers.
+     * Gets the set of restricted containers.
      *
-     * @return The list of restricted containers.
+     * @return The set of restricted containers.
      */
-    public List<Material> getRestrictedContainers() {
+    public Set<Material> getRestrictedContainers() {
         return restrictedInteractBlocks;
     }
 
     /**
-     * Gets the list of restricted entity types.
+     * Gets the set of restricted entity types.
      *
-     * @return The list of restricted entity types.
+     * @return The set of restricted entity types.
      */
-    public List<EntityType> getRestrictedEntityType() {
+    public Set<EntityType> getRestrictedEntityType() {
         return restrictedEntityType;
     }
     
     /**
-     * Gets the list of special blocks.
+     * Gets the set of special blocks.
      *
-     * @return The list of special blocks.
+     * @return The set of special blocks.
      */
-    public List<Material> getSpecialBlocks() {
+    public Set<Material> getSpecialBlocks() {
         return specialBlocks;
     }
     
     /**
-     * Gets the list of ignored break blocks.
+     * Gets the set of ignored break blocks.
      *
-     * @return The list of ignored break blocks.
+     * @return The set of ignored break blocks.
      */
-    public List<Material> getBreakBlocksIgnore() {
+    public Set<Material> getBreakBlocksIgnore() {
         return BreakBlocksIgnore;
     }
     
     /**
-     * Gets the list of ignored place blocks.
+     * Gets the set of ignored place blocks.
      *
-     * @return The list of ignored place blocks.
+     * @return The set of ignored place blocks.
      */
-    public List<Material> getPlaceBlocksIgnore() {
+    public Set<Material> getPlaceBlocksIgnore() {
         return PlaceBlocksIgnore;
     }
 
@@ -421,6 +423,7 @@ public class ClaimSettings {
      */
     public void setDefaultValues(Map<String,LinkedHashMap<String, Boolean>> v) {
         defaultValues = v;
+        ClaimPermission.compile(v);
     }
 
     /**
@@ -0,0 +1,327 @@
+package fr.xyness.SCS;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * This class handles the writes to the database.
+ * <p>
+ * With SQLite, all the writes are queued to a single writer thread owning the only write connection.
+ * The writes queued meanwhile are grouped into one transaction, each of them behind a savepoint so a
+ * failing write is rolled back alone. Concurrent writers never compete for the database lock, and the
+ * reads use their own pool, which WAL mode does not block.
+ * <p>
+ * With MySQL, writes are executed on the calling thread in their own transaction.
+ * <p>
+ * Starting, stopping and queuing a write are made under a lock, so a write is either drained
+ * by stop() or submitted after it. Once the writer thread is stopped, writes fail with a
+ * connection error until the writer is started again.
+ */
+public class DatabaseWriter {
+	
+	
+    // ***************
+    // *  Variables  *
+    // ***************
+    
+	
+	/** The maximum number of writes grouped into a transaction. */
+	private static final int MAX_BATCH = 256;
+	
+	/** The queued writes. */
+	private final LinkedBlockingQueue<QueuedWrite> queue = new LinkedBlockingQueue<>();
+	
+	/** The number of transactions committed. */
+	private final AtomicLong transactions = new AtomicLong();
+	
+	/** The number of writes executed. */
+	private final AtomicLong writes = new AtomicLong();
+	
+	/** Lock held while starting, stopping or queuing a write. */
+	private final Object stateLock = new Object();
+	
+	/** The data source of the writer thread, null when writes run on the calling thread. */
+	private volatile HikariDataSource writeSource;
+	
+	/** The writer thread. */
+	private volatile Thread thread;
+	
+	/** Whether the writer thread was stopped and not started again, guarded by stateLock. */
+	private boolean stopped;
+    
+    /** Instance of SimpleClaimSystem */
+    private SimpleClaimSystem instance;
+    
+    
+    // ******************
+    // *  Constructors  *
+    // ******************
+    
+    
+    /**
+     * Constructor for DatabaseWriter.
+     *
+     * @param instance The instance of the SimpleClaimSystem plugin.
+     */
+    public DatabaseWriter(SimpleClaimSystem instance) {
+    	this.instance = instance;
+    }
+    
+    
+    // ********************
+    // *  Others Methods  *
+    // ********************
+    
+    
+    /**
+     * A write, executed in the transaction of the writer.
+     * <p>
+     * It must not commit, roll back or change the auto-commit of the connection.
+     */
+    @FunctionalInterface
+    public interface Write {
+    	
+    	/**
+    	 * Executes the write.
+    	 *
+    	 * @param connection The connection
+    	 * @throws SQLException If the write fails
+    	 */
+    	void execute(Connection connection) throws SQLException;
+    }
+    
+    /**
+     * A write waiting for the writer thread.
+     */
+    private static class QueuedWrite {
+    	
+    	/** The write. */
+    	private final Write write;
+    	
+    	/** The future completed once the write is committed. */
+    	private final CompletableFuture<Void> future = new CompletableFuture<>();
+    	
+    	/**
+    	 * Main constructor.
+    	 *
+    	 * @param write The write
+    	 */
+    	private QueuedWrite(Write write) {
+    		this.write = write;
+    	}
+    }
+    
+    /**
+     * Starts the writer.
+     *
+     * @param writeSource The data source of the single writer (SQLite), or null to write on the calling thread
+     */
+    public void start(HikariDataSource writeSource) {
+    	synchronized (stateLock) {
+	    	stop();
+	    	stopped = false;
+	    	this.writeSource = writeSource;
+	    	if (writeSource == null) return;
+	    	thread = new Thread(this::run, "SimpleClaimSystem-Writer");
+	    	thread.setDaemon(true);
+	    	thread.start();
+    	}
+    }
+    
+    /**
+     * Stops the writer, after the queued writes are committed, and closes its data source.
+     */
+    public void stop() {
+    	synchronized (stateLock) {
+	    	HikariDataSource source = writeSource;
+	    	if (source == null) return;
+	    	writeSource = null;
+	    	stopped = true;
+	    	if (thread != null) {
+	    		thread.interrupt();
+	    		try {
+	    			thread.join(TimeUnit.SECONDS.toMillis(30));
+	    		} catch (InterruptedException e) {
+	    			Thread.currentThread().interrupt();
+	    		}
+	    		thread = null;
+	    	}
+	    	// Writes left by the thread, no write can be queued meanwhile
+	    	List<QueuedWrite> left = new ArrayList<>();
+	    	queue.drainTo(left);
+	    	if (!left.isEmpty()) execute(source, left);
+	    	source.close();
+    	}
+    }
+    
+    /**
+     * Submits a write.
+     *
+     * @param write The write
+     * @return The future completed once the write is committed
+     */
+    public CompletableFuture<Void> submit(Write write) {
+    	// Checked before the lock, which stop() holds while waiting for this thread
+    	if (Thread.currentThread() == thread) {
+    		throw new IllegalStateException("A write cannot be submitted by the writer thread.");
+    	}
+    	QueuedWrite queued = new QueuedWrite(write);
+    	synchronized (stateLock) {
+    		if (stopped) {
+    			queued.future.completeExceptionally(new SQLNonTransientConnectionException("The database writer is stopped.", "08003"));
+    			return queued.future;
+    		}
+    		if (writeSource != null) {
+    			queue.add(queued);
+    			return queued.future;
+    		}
+    	}
+    	
+    	// Direct write, in its own transaction
+    	try (Connection connection = instance.getDataSource().getConnection()) {
+    		boolean autoCommit = connection.getAutoCommit();
+    		connection.setAutoCommit(false);
+    		try {
+    			write.execute(connection);
+    			connection.commit();
+    			transactions.incrementAndGet();
+    			writes.incrementAndGet();
+    			queued.future.complete(null);
+    		} catch (SQLException | RuntimeException e) {
+    			connection.rollback();
+    			queued.future.completeExceptionally(e);
+    		} finally {
+    			connection.setAutoCommit(autoCommit);
+    		}
+    	} catch (SQLException e) {
+    		queued.future.completeExceptionally(e);
+    	}
+    	return queued.future;
+    }
+    
+    /**
+     * Executes a write and waits for it to be committed.
+     *
+     * @param write The write
+     * @return True if the write was committed
+     */
+    public boolean write(Write write) {
+    	try {
+    		submit(write).join();
+    		return true;
+    	} catch (CompletionException e) {
+    		e.getCause().printStackTrace();
+    		return false;
+    	}
+    }
+    
+    /**
+     * The loop of the writer thread.
+     */
+    private void run() {
+    	List<QueuedWrite> batch = new ArrayList<>(MAX_BATCH);
+    	while (true) {
+    		try {
+    			batch.add(queue.take());
+    		} catch (InterruptedException e) {
+    			break;
+    		}
+    		queue.drainTo(batch, MAX_BATCH - 1);
+    		HikariDataSource source = writeSource;
+    		if (source == null) {
+    			// Stopping, the writes are executed by stop()
+    			queue.addAll(batch);
+    			break;
+    		}
+    		execute(source, batch);
+    		batch.clear();
+    	}
+    }
+    
+    /**
+     * Executes writes in one transaction, each behind a savepoint.
+     *
+     * @param source The data source
+     * @param batch The writes
+     */
+    private void execute(HikariDataSource source, List<QueuedWrite> batch) {
+    	List<QueuedWrite> committed = new ArrayList<>(batch.size());
+    	try (Connection connection = source.getConnection()) {
+    		connection.setAutoCommit(false);
+    		try {
+    			for (QueuedWrite queued : batch) {
+    				Savepoint savepoint = connection.setSavepoint();
+    				try {
+    					queued.write.execute(connection);
+    					connection.releaseSavepoint(savepoint);
+    					committed.add(queued);
+    				} catch (SQLException | RuntimeException e) {
+    					connection.rollback(savepoint);
+    					queued.future.completeExceptionally(e);
+    				}
+    			}
+    			connection.commit();
+    		} catch (SQLException e) {
+    			connection.rollback();
+    			throw e;
+    		} finally {
+    			connection.setAutoCommit(true);
+    		}
+    	} catch (SQLException e) {
+    		// Nothing was committed, the writes already failed keep their own error
+    		batch.forEach(queued -> queued.future.completeExceptionally(e));
+    		return;
+    	}
+    	transactions.incrementAndGet();
+    	writes.addAndGet(committed.size());
+    	committed.forEach(queued -> queued.future.complete(null));
+    }
+    
+    /**
+     * Checks if the writes go through the writer thread.
+     *
+     * @return True if the writes are queued to the writer thread
+     */
+    public boolean isQueued() {
+    	return writeSource != null;
+    }
+    
+    /**
+     * Gets the number of writes waiting for the writer thread.
+     *
+     * @return The number of queued writes
+     */
+    public int getDepth() {
+    	return queue.size();
+    }
+    
+    /**
+     * Gets the number of transactions committed.
+     *
+     * @return The number of transactions
+     */
+    public long getTransactionsCount() {
+    	return transactions.get();
+    }
+    
+    /**
+     * Gets the number of writes executed.
+     *
+     * @return The number of writes
+     */
+    public long getWritesCount() {
+    	return writes.get();
+    }
+    
+}
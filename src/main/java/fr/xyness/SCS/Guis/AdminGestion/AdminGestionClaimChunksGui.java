@@ -93,7 +93,7 @@ public class AdminGestionClaimChunksGui implements InventoryHolder {
 	        int items_count = max_member_slot - min_member_slot + 1;
 	        if(page>1) inv.setItem(48, backPage(page - 1));
 	        inv.setItem(49, backMainMenu(claim.getName()));
-	        List<String> lore = new ArrayList<>(Arrays.asList("§7The chunk is part of the claim",claim.getChunks().size() == 1 ? "§cYou can't remove the only remaining chunk" : "§c[Left-click]§7 to remove chunk"));
+	        List<String> lore = new ArrayList<>(Arrays.asList("§7The chunk is part of the claim",claim.getChunksCount() == 1 ? "§cYou can't remove the only remaining chunk" : "§c[Left-click]§7 to remove chunk"));
 	        int startItem = (page - 1) * items_count;
 	        int i = min_member_slot;
 	        int count = 0;
@@ -96,7 +96,7 @@ public class AdminGestionClaimMainGui implements InventoryHolder {
 	        cPlayer.setClaim(claim);
 	        
 	        List<String> lore = new ArrayList<>();
-	        lore.add("§7Chunks: §b"+instance.getMain().getNumberSeparate(String.valueOf(claim.getChunks().size())));
+	        lore.add("§7Chunks: §b"+instance.getMain().getNumberSeparate(String.valueOf(claim.getChunksCount())));
 	        lore.add(" ");
 	        lore.add("§7Members: §a"+instance.getMain().getNumberSeparate(String.valueOf(claim.getMembers().size())));
 	        lore.add("§7Bans: §c"+instance.getMain().getNumberSeparate(String.valueOf(claim.getBans().size())));
@@ -205,7 +205,7 @@ public class AdminGestionClaimsProtectedAreasGui implements InventoryHolder {
         List<String> lore = new ArrayList<>();
         for (String line : template) {
             line = line.replace("%name%", claim.getName())
-                .replace("%chunks_count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getChunks().size())))
+                .replace("%chunks_count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getChunksCount())))
                 .replace("%location%", instance.getMain().getClaimCoords(claim))
 	    		.replace("%sale-status%", claim.getSale() ? (instance.getLanguage().getMessage("claim-info-lore-sale-status-true")
 					.replace("%price%", instance.getMain().getNumberSeparate(String.valueOf(claim.getPrice())))
@@ -107,7 +107,7 @@ public class AdminGestionMainGui implements InventoryHolder {
 	        lore.add(" ");
 	        lore.add("§7➣ Claims count: §b"+instance.getMain().getNumberSeparate(String.valueOf(instance.getMain().getAllClaimsCount())));
 	        lore.add("§7   ⁃ §a"+instance.getMain().getNumberSeparate(String.valueOf(instance.getMain().getProtectedAreasCount()))+" protected areas§7.");
-	        lore.add("§7   ⁃ A total of §d"+instance.getMain().getNumberSeparate(String.valueOf(instance.getMain().getAllClaimsChunk().size()))+" chunks§7.");
+	        lore.add("§7   ⁃ A total of §d"+instance.getMain().getNumberSeparate(String.valueOf(instance.getMain().getAllClaimsChunkCount()))+" chunks§7.");
 	        lore.add(" ");
 	        lore.add("§7➣ Owners count: §b"+instance.getMain().getNumberSeparate(String.valueOf(instance.getMain().getClaimsOwners().size())));
 	        lore.add("§7   ⁃ §a"+instance.getMain().getNumberSeparate(String.valueOf(instance.getMain().getClaimsOnlineOwners().size()))+" online owners§7.");
@@ -119,7 +119,7 @@ public class ClaimChunksGui implements InventoryHolder {
 	        // Prepare template lore
 	        List<String> lore = new ArrayList<>(instance.getGuis().getLore(instance.getLanguage().getMessage("chunk-lore")));
 	        lore.add(instance.getPlayerMain().checkPermPlayer(player, "scs.command.claim.delchunk")
-	                ? (claim.getChunks().size() == 1 ? instance.getLanguage().getMessage("cannot-remove-only-remaining-chunk-gui") : instance.getLanguage().getMessage("access-claim-clickable-removechunk"))
+	                ? (claim.getChunksCount() == 1 ? instance.getLanguage().getMessage("cannot-remove-only-remaining-chunk-gui") : instance.getLanguage().getMessage("access-claim-clickable-removechunk"))
 	                : instance.getLanguage().getMessage("gui-button-no-permission") + instance.getLanguage().getMessage("to-remove-chunk"));
 	        
 	        // Prepare count
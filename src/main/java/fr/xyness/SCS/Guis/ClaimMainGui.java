@@ -112,7 +112,7 @@ public class ClaimMainGui implements InventoryHolder {
 		    		.replace("%sale-status%", claim.getSale() ? (instance.getLanguage().getMessage("claim-info-lore-sale-status-true")
 						.replace("%price%", instance.getMain().getNumberSeparate(String.valueOf(claim.getPrice())))
 						.replace("%money-symbol%", instance.getLanguage().getMessage("money-symbol"))) : instance.getLanguage().getMessage("claim-info-lore-sale-status-false"))
-		    		.replace("%chunks-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getChunks().size())))
+		    		.replace("%chunks-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getChunksCount())))
 					.replace("%members-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getMembers().size())))
 					.replace("%bans-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getBans().size())));
 	        String title = instance.getLanguage().getMessage("claim-info-title")
@@ -121,7 +121,7 @@ public class ClaimMainGui implements InventoryHolder {
 		    		.replace("%sale-status%", claim.getSale() ? (instance.getLanguage().getMessage("claim-info-lore-sale-status-true")
 						.replace("%price%", instance.getMain().getNumberSeparate(String.valueOf(claim.getPrice())))
 						.replace("%money-symbol%", instance.getLanguage().getMessage("money-symbol"))) : instance.getLanguage().getMessage("claim-info-lore-sale-status-false"))
-		    		.replace("%chunks-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getChunks().size())))
+		    		.replace("%chunks-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getChunksCount())))
 					.replace("%members-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getMembers().size())))
 					.replace("%bans-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getBans().size())));
 	        List<String> lore = new ArrayList<>(instance.getGuis().getLore(lore_string));
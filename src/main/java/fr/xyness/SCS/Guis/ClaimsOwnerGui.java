@@ -13,6 +13,7 @@ import fr.xyness.SCS.*;
 import fr.xyness.SCS.Config.*;
 import fr.xyness.SCS.Types.CPlayer;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimPermission;
 import me.clip.placeholderapi.PlaceholderAPI;
 
 /**
@@ -123,7 +124,7 @@ public class ClaimsOwnerGui implements InventoryHolder {
 	            if (i == 45) break;
 	            
 	            // Hide claim if setting "GuiTeleport" disabled (if enabled in config.yml)
-	            if (!claim.getPermissionForPlayer("GuiTeleport",player) && !instance.getSettings().getBooleanSetting("claims-visitors-off-visible")) continue;
+	            if (!claim.getPermissionForPlayer(ClaimPermission.GUI_TELEPORT, player) && !instance.getSettings().getBooleanSetting("claims-visitors-off-visible")) continue;
 	            
 	            // Prepare lore and title for claim
 	            List<String> lore = prepareLore(loreTemplate, claim, player);
@@ -216,7 +217,7 @@ public class ClaimsOwnerGui implements InventoryHolder {
      * @param player The player who opened the GUI.
      */
     private void addVisitorLore(Claim claim, List<String> lore, Player player) {
-        String visitorMessage = claim.getPermissionForPlayer("GuiTeleport",player) || claim.getOwner().equals(player.getName()) ? 
+        String visitorMessage = claim.getPermissionForPlayer(ClaimPermission.GUI_TELEPORT, player) || claim.getOwner().equals(player.getName()) ? 
             instance.getLanguage().getMessage("access-all-claim-lore-allow-visitors") : 
             instance.getLanguage().getMessage("access-all-claim-lore-deny-visitors");
         lore.add(instance.getPlayerMain().checkPermPlayer(player, "scs.command.claim.tp") ? visitorMessage : instance.getLanguage().getMessage("gui-button-no-permission") + instance.getLanguage().getMessage("to-teleport"));
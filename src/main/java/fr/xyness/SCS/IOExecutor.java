@@ -0,0 +1,187 @@
+package fr.xyness.SCS;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * This class handles the executor of the blocking work of the plugin (database and web requests).
+ * <p>
+ * Each task runs on its own virtual thread, so a task waiting for the database or a web server does not
+ * hold a thread of the common pool, shared with the other plugins. The number of tasks running at once is
+ * limited to the size of the connection pool, the others wait for a permit, and are counted as queued.
+ */
+public class IOExecutor implements Executor {
+	
+	
+    // ***************
+    // *  Variables  *
+    // ***************
+    
+	
+	/** The number of tasks waiting for a permit. */
+	private final AtomicInteger queued = new AtomicInteger();
+	
+	/** The number of tasks running. */
+	private final AtomicInteger inFlight = new AtomicInteger();
+	
+	/** The number of tasks completed. */
+	private final AtomicLong completed = new AtomicLong();
+	
+	/** The executor starting a virtual thread per task. */
+	private ExecutorService executor;
+	
+	/** The permits of the running tasks. */
+	private volatile Semaphore permits;
+	
+	/** The maximum number of tasks running at once. */
+	private volatile int limit;
+    
+    
+    // ******************
+    // *  Constructors  *
+    // ******************
+    
+    
+    /**
+     * Main constructor.
+     */
+    public IOExecutor() {
+    	this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("SimpleClaimSystem-IO-", 0).factory());
+    	this.limit = 1;
+    	this.permits = new Semaphore(1, true);
+    }
+    
+    
+    // ********************
+    // *  Others Methods  *
+    // ********************
+    
+    
+    /**
+     * Sets the maximum number of tasks running at once.
+     * <p>
+     * The tasks already waiting keep the previous limit.
+     *
+     * @param limit The limit, usually the maximum size of the connection pool
+     */
+    public void setLimit(int limit) {
+    	this.limit = Math.max(1, limit);
+    	this.permits = new Semaphore(this.limit, true);
+    }
+    
+    /**
+     * Executes a task.
+     *
+     * @param task The task
+     */
+    @Override
+    public void execute(Runnable task) {
+    	Semaphore semaphore = permits;
+    	queued.incrementAndGet();
+    	try {
+    		executor.execute(() -> run(semaphore, task));
+    	} catch (RejectedExecutionException e) {
+    		// Stopped (plugin disabling), run the task on the calling thread
+    		queued.decrementAndGet();
+    		task.run();
+    	}
+    }
+    
+    /**
+     * Executes a task returning a value.
+     *
+     * @param <T> The type of the value
+     * @param supplier The task
+     * @return The future of the value
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+    	return CompletableFuture.supplyAsync(supplier, this);
+    }
+    
+    /**
+     * Runs a task once a permit is available.
+     *
+     * @param semaphore The permits
+     * @param task The task
+     */
+    private void run(Semaphore semaphore, Runnable task) {
+    	try {
+    		semaphore.acquire();
+    	} catch (InterruptedException e) {
+    		queued.decrementAndGet();
+    		Thread.currentThread().interrupt();
+    		return;
+    	}
+    	queued.decrementAndGet();
+    	inFlight.incrementAndGet();
+    	try {
+    		task.run();
+    	} catch (Throwable e) {
+    		e.printStackTrace();
+    	} finally {
+    		inFlight.decrementAndGet();
+    		completed.incrementAndGet();
+    		semaphore.release();
+    	}
+    }
+    
+    /**
+     * Stops the executor, after the submitted tasks are done.
+     */
+    public void stop() {
+    	executor.shutdown();
+    	try {
+    		if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+    			executor.shutdownNow();
+    		}
+    	} catch (InterruptedException e) {
+    		executor.shutdownNow();
+    		Thread.currentThread().interrupt();
+    	}
+    }
+    
+    /**
+     * Gets the number of tasks waiting for a permit.
+     *
+     * @return The number of queued tasks
+     */
+    public int getQueuedCount() {
+    	return queued.get();
+    }
+    
+    /**
+     * Gets the number of tasks running.
+     *
+     * @return The number of running tasks
+     */
+    public int getInFlightCount() {
+    	return inFlight.get();
+    }
+    
+    /**
+     * Gets the number of tasks completed.
+     *
+     * @return The number of completed tasks
+     */
+    public long getCompletedCount() {
+    	return completed.get();
+    }
+    
+    /**
+     * Gets the maximum number of tasks running at once.
+     *
+     * @return The limit
+     */
+    public int getLimit() {
+    	return limit;
+    }
+    
+}
@@ -1,12 +1,11 @@
 package fr.xyness.SCS.Listeners;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 import org.bukkit.Bukkit;
-import org.bukkit.Chunk;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.data.Directional;
@@ -67,8 +66,13 @@ import org.bukkit.potion.PotionEffectType;
 import org.bukkit.projectiles.ProjectileSource;
 
 import fr.xyness.SCS.SimpleClaimSystem;
+import fr.xyness.SCS.Types.BlockCategory;
 import fr.xyness.SCS.Types.CPlayer;
+import fr.xyness.SCS.Types.ChunkDecisionCache;
+import fr.xyness.SCS.Types.ChunkKey;
+import fr.xyness.SCS.Types.ChunkKeySet;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimPermission;
 
 /**
  * Event listener for claim-related events.
@@ -171,11 +175,10 @@ public class ClaimEvents implements Listener {
         if (event.getEntity() instanceof Player) {
             if (event.isGliding()) {
             	Player player = (Player) event.getEntity();
-            	if (player.hasPermission("scs.bypass")) return;
-            	Chunk chunk = player.getLocation().getChunk();
-                Claim claim = instance.getMain().getClaim(chunk);
+            	if (instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
+            	Claim claim = instance.getMain().getClaimAt(player.getLocation());
                 if (claim != null) {
-                    if (!claim.getPermissionForPlayer("Elytra", player)) {
+                    if (!claim.getPermissionForPlayer(ClaimPermission.ELYTRA, player)) {
                     	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("elytra"), instance.getSettings().getSetting("protection-message"));
                     	event.setCancelled(true);
                     }
@@ -197,18 +200,17 @@ public class ClaimEvents implements Listener {
 	        if (thrownPotion.getShooter() instanceof Player) {
 	            Player damager = (Player) thrownPotion.getShooter();
 
-	            if (damager.hasPermission("scs.bypass")) return;
+	            if (instance.getPlayerMain().checkPermPlayer(damager, "scs.bypass")) return;
 
 	            for (PotionEffect effect : thrownPotion.getEffects()) {
 	                if (NEGATIVE_EFFECTS.contains(effect.getType())) {
 	                    for (Entity entity : event.getAffectedEntities()) {
 	                        if (entity.getType() == EntityType.PLAYER) {
 	                            Player player = (Player) entity;
-	                            Chunk chunk = player.getLocation().getChunk();
-	                            Claim claim = instance.getMain().getClaim(chunk);
+	                            Claim claim = instance.getMain().getClaimAt(player.getLocation());
 
 	                            if (claim != null) {
-	                                if (!claim.getPermission("Pvp", "Natural")) {
+	                                if (!claim.getPermission(ClaimPermission.PVP, ClaimPermission.Role.NATURAL)) {
 	                                    instance.getMain().sendMessage(damager, instance.getLanguage().getMessage("pvp"), instance.getSettings().getSetting("protection-message"));
 	                                    event.setIntensity(player, 0.0);
 	                                }
@@ -247,14 +249,13 @@ public class ClaimEvents implements Listener {
 	    if (!(event.getEntity() instanceof Player)) return;
 
 	    Player player = (Player) event.getEntity();
-	    Chunk chunk = player.getLocation().getChunk();
+	    Claim claim = instance.getMain().getClaimAt(player.getLocation());
 	    
-	    if(instance.getMain().checkIfClaimExists(chunk)) {
-	    	Claim claim = instance.getMain().getClaim(chunk);
+	    if(claim != null) {
 	        if (event.getDamager() instanceof Player) {
 	            Player damager = (Player) event.getDamager();
-	            if(damager.hasPermission("scs.bypass")) return;
-	            if(!claim.getPermission("Pvp", "Natural")) {
+	            if(instance.getPlayerMain().checkPermPlayer(damager, "scs.bypass")) return;
+	            if(!claim.getPermission(ClaimPermission.PVP, ClaimPermission.Role.NATURAL)) {
 	                instance.getMain().sendMessage(damager, instance.getLanguage().getMessage("pvp"), instance.getSettings().getSetting("protection-message"));
 	                event.setCancelled(true);
 	            }
@@ -263,8 +264,8 @@ public class ClaimEvents implements Listener {
 	            ProjectileSource shooter = projectile.getShooter();
 	            if (shooter instanceof Player) {
 	                Player damager = (Player) shooter;
-	                if(damager.hasPermission("scs.bypass")) return;
-	                if(!claim.getPermission("Pvp", "Natural")) {
+	                if(instance.getPlayerMain().checkPermPlayer(damager, "scs.bypass")) return;
+	                if(!claim.getPermission(ClaimPermission.PVP, ClaimPermission.Role.NATURAL)) {
 	                    instance.getMain().sendMessage(damager, instance.getLanguage().getMessage("pvp"), instance.getSettings().getSetting("protection-message"));
 	                    event.setCancelled(true);
 	                }
@@ -279,12 +280,11 @@ public class ClaimEvents implements Listener {
      */
 	@EventHandler(priority = EventPriority.LOWEST)
     public void onCreatureSpawn(CreatureSpawnEvent event) {
-		Chunk chunk = event.getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
+		Claim claim = instance.getMain().getClaimAt(event.getLocation());
+		if(claim != null) {
 			Entity entity = event.getEntity();
 			if(!(entity instanceof Monster)) return;
-			if(!claim.getPermission("Monsters", "Natural")) {
+			if(!claim.getPermission(ClaimPermission.MONSTERS, ClaimPermission.Role.NATURAL)) {
 				event.setCancelled(true);
 				return;
 			}
@@ -297,12 +297,11 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onPlayerDropItem(PlayerDropItemEvent event) {
-    	Chunk chunk = event.getItemDrop().getLocation().getChunk();
+    	Claim claim = instance.getMain().getClaimAt(event.getItemDrop().getLocation());
     	Player player = event.getPlayer();
     	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("ItemsDrop", player)) {
+		if(claim != null) {
+			if(!claim.getPermissionForPlayer(ClaimPermission.ITEMS_DROP, player)) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("itemsdrop"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -316,12 +315,11 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onPlayerPickupItem(PlayerPickupItemEvent event) {
-    	Chunk chunk = event.getItem().getLocation().getChunk();
+    	Claim claim = instance.getMain().getClaimAt(event.getItem().getLocation());
     	Player player = event.getPlayer();
     	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("ItemsPickup", player)) {
+		if(claim != null) {
+			if(!claim.getPermissionForPlayer(ClaimPermission.ITEMS_PICKUP, player)) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("itemspickup"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -335,12 +333,11 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onPlayerUsePortal(PlayerPortalEvent event) {
-    	Chunk chunk = event.getFrom().getChunk();
+    	Claim claim = instance.getMain().getClaimAt(event.getFrom());
     	Player player = event.getPlayer();
     	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Portals", player)) {
+		if(claim != null) {
+			if(!claim.getPermissionForPlayer(ClaimPermission.PORTALS, player)) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("portals"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -354,14 +351,7 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onEntityExplode(EntityExplodeEvent event) {
-        Iterator<Block> blockIterator = event.blockList().iterator();
-        while (blockIterator.hasNext()) {
-            Block block = blockIterator.next();
-            Chunk chunk = block.getLocation().getChunk();
-            if (instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
-                blockIterator.remove();
-            }
-        }
+        removeProtectedBlocks(event.blockList(), event.getLocation().getWorld());
     }
     
     /**
@@ -373,14 +363,14 @@ public class ClaimEvents implements Listener {
         if (event.getEntityType() == EntityType.WITHER_SKULL) {
             if (event.getHitBlock() != null) {
             	Block block = event.getHitBlock();
-            	Chunk chunk = block.getLocation().getChunk();
-                if (instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
+            	Claim claim = instance.getMain().getClaimAt(block);
+                if (claim != null && !claim.getPermission(ClaimPermission.EXPLOSIONS, ClaimPermission.Role.NATURAL)) {
                 	event.setCancelled(true);
                 }
             }
             if (event.getHitEntity() != null) {
-        		Chunk chunk = event.getHitEntity().getLocation().getChunk();
-        		if(instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
+        		Claim claim = instance.getMain().getClaimAt(event.getHitEntity().getLocation());
+        		if(claim != null && !claim.getPermission(ClaimPermission.EXPLOSIONS, ClaimPermission.Role.NATURAL)) {
         			event.setCancelled(true);
         		}
             }
@@ -393,14 +383,7 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onBlockExplode(BlockExplodeEvent event) {
-        Iterator<Block> blockIterator = event.blockList().iterator();
-        while (blockIterator.hasNext()) {
-            Block block = blockIterator.next();
-            Chunk chunk = block.getLocation().getChunk();
-            if (instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
-                blockIterator.remove();
-            }
-        }
+        removeProtectedBlocks(event.blockList(), event.getBlock().getWorld());
     }
 	
     /**
@@ -411,8 +394,8 @@ public class ClaimEvents implements Listener {
     public void onEntityChangeBlock(EntityChangeBlockEvent event) {
         if (event.getEntityType() == EntityType.WITHER || event.getEntityType() == EntityType.WITHER_SKULL) {
             Block block = event.getBlock();
-            Chunk chunk = block.getLocation().getChunk();
-            if (instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
+            Claim claim = instance.getMain().getClaimAt(block);
+            if (claim != null && !claim.getPermission(ClaimPermission.EXPLOSIONS, ClaimPermission.Role.NATURAL)) {
             	event.setCancelled(true);
             }
         }
@@ -426,15 +409,14 @@ public class ClaimEvents implements Listener {
 	public void onPlayerBreak(BlockBreakEvent event){
 		Player player = event.getPlayer();
 		if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		Chunk chunk = event.getBlock().getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Destroy", player) && !instance.getSettings().isBreakBlockIgnore(event.getBlock().getType())) {
+		Claim claim = instance.getMain().getClaimAt(event.getBlock());
+		if(claim != null) {
+			if(!claim.getPermissionForPlayer(ClaimPermission.DESTROY, player) && !instance.getSettings().isBreakBlockIgnore(event.getBlock().getType())) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
 				return;
 			}
-			if(instance.getSettings().isSpecialBlock(event.getBlock().getType()) && !claim.getPermissionForPlayer("SpecialBlocks", player)) {
+			if(instance.getSettings().isSpecialBlock(event.getBlock().getType()) && !claim.getPermissionForPlayer(ClaimPermission.SPECIAL_BLOCKS, player)) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("specialblocks"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -449,20 +431,19 @@ public class ClaimEvents implements Listener {
     @EventHandler(priority = EventPriority.LOWEST)
 	public void onVehicleDamage(VehicleDamageEvent event){
 		Entity damager = event.getAttacker();
-		Chunk chunk = event.getVehicle().getLocation().getChunk();
-		if(!instance.getMain().checkIfClaimExists(chunk)) return;
+		Claim claim = instance.getMain().getClaimAt(event.getVehicle().getLocation());
+		if(claim == null) return;
 		if(damager instanceof Player) {
 			Player player = (Player) damager;
 			if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Destroy", player)) {
+			if(!claim.getPermissionForPlayer(ClaimPermission.DESTROY, player)) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
 				return;
 			}
 			return;
 		}
-		if(!instance.getMain().canPermCheck(chunk, "Destroy", "Visitors")) {
+		if(!claim.getPermission(ClaimPermission.DESTROY, ClaimPermission.Role.VISITORS)) {
 			event.setCancelled(true);
 			return;
 		}
@@ -477,19 +458,16 @@ public class ClaimEvents implements Listener {
 		Player player = event.getPlayer();
 		if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
 		Block block = event.getBlock();
-		Chunk chunk = block.getLocation().getChunk();
+		Claim claim = instance.getMain().getClaimAt(block);
 		
 	    if (block.getBlockData() instanceof Bed bed) {
 	        if (!instance.getSettings().isPlaceBlockIgnore(block.getType())) {
 	            BlockFace facing = bed.getFacing();
 	            Block adjacentBlock = block.getRelative(facing);
-	            Chunk adjacentChunk = adjacentBlock.getChunk();
-
-	            if (!chunk.equals(adjacentChunk)) {
-	                if (instance.getMain().checkIfClaimExists(adjacentChunk) &&
-	                    !instance.getMain().getOwnerInClaim(chunk).equals(instance.getMain().getOwnerInClaim(adjacentChunk))) {
-	                    Claim claim = instance.getMain().getClaim(adjacentChunk);
-	                    if (!claim.getPermissionForPlayer("Build", player)) {
+	            if (!isSameChunk(block, adjacentBlock)) {
+	                Claim adjacentClaim = instance.getMain().getClaimAt(adjacentBlock);
+	                if (adjacentClaim != null && !adjacentClaim.getOwner().equals(getOwner(claim))) {
+	                    if (!adjacentClaim.getPermissionForPlayer(ClaimPermission.BUILD, player)) {
 	                        event.setCancelled(true);
 	                        instance.getMain().sendMessage(player, instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
 	                        return;
@@ -499,9 +477,8 @@ public class ClaimEvents implements Listener {
 	        }
 	    }
 		
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Build", player) && !instance.getSettings().isPlaceBlockIgnore(block.getType())) {
+		if(claim != null) {
+			if(!claim.getPermissionForPlayer(ClaimPermission.BUILD, player) && !instance.getSettings().isPlaceBlockIgnore(block.getType())) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -518,10 +495,9 @@ public class ClaimEvents implements Listener {
 		if(event.isCancelled()) return;
 		Player player = event.getPlayer();
 		if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		Chunk chunk = event.getBlock().getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Build", player) && !instance.getSettings().isPlaceBlockIgnore(event.getBlock().getType())) {
+		Claim claim = instance.getMain().getClaimAt(event.getBlock());
+		if(claim != null) {
+			if(!claim.getPermissionForPlayer(ClaimPermission.BUILD, player) && !instance.getSettings().isPlaceBlockIgnore(event.getBlock().getType())) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -535,9 +511,9 @@ public class ClaimEvents implements Listener {
      */
 	@EventHandler(priority = EventPriority.LOWEST)
 	public void onHangingBreak(HangingBreakEvent event) {
-		Chunk chunk = event.getEntity().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			if(event.getCause() == HangingBreakEvent.RemoveCause.PHYSICS && !instance.getMain().canPermCheck(chunk, "Destroy", "Visitors")) {
+		Claim claim = instance.getMain().getClaimAt(event.getEntity().getLocation());
+		if(claim != null) {
+			if(event.getCause() == HangingBreakEvent.RemoveCause.PHYSICS && !claim.getPermission(ClaimPermission.DESTROY, ClaimPermission.Role.VISITORS)) {
 				event.setCancelled(true);
 			}
 		}
@@ -551,13 +527,12 @@ public class ClaimEvents implements Listener {
     public void onHangingBreakByEntity(HangingBreakByEntityEvent event) {
 		if(event.isCancelled()) return;
         if (event.getEntity().getType() == EntityType.PAINTING) {
-        	Chunk chunk = event.getEntity().getLocation().getChunk();
+        	Claim claim = instance.getMain().getClaimAt(event.getEntity().getLocation());
             if (event.getRemover() instanceof Player) {
-                if(instance.getMain().checkIfClaimExists(chunk)) {
+                if(claim != null) {
                 	Player player = (Player) event.getRemover();
                 	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-                	Claim claim = instance.getMain().getClaim(chunk);
-                	if(!claim.getPermissionForPlayer("Destroy", player)) {
+                	if(!claim.getPermissionForPlayer(ClaimPermission.DESTROY, player)) {
                 		event.setCancelled(true);
                 		instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
                 		return;
@@ -565,19 +540,18 @@ public class ClaimEvents implements Listener {
                 }
                 return;
             }
-           	if(!instance.getMain().canPermCheck(chunk, "Destroy", "Visitors")) {
+           	if(claim == null || !claim.getPermission(ClaimPermission.DESTROY, ClaimPermission.Role.VISITORS)) {
         		event.setCancelled(true);
         		return;
         	}
         }
         if (event.getEntity().getType() == EntityType.ITEM_FRAME || event.getEntity().getType() == EntityType.GLOW_ITEM_FRAME) {
-        	Chunk chunk = event.getEntity().getLocation().getChunk();
+        	Claim claim = instance.getMain().getClaimAt(event.getEntity().getLocation());
             if (event.getRemover() instanceof Player) {
-                if(instance.getMain().checkIfClaimExists(chunk)) {
+                if(claim != null) {
                 	Player player = (Player) event.getRemover();
                 	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-                	Claim claim = instance.getMain().getClaim(chunk);
-                	if(!claim.getPermissionForPlayer("Destroy", player)) {
+                	if(!claim.getPermissionForPlayer(ClaimPermission.DESTROY, player)) {
                 		event.setCancelled(true);
                 		instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
                 		return;
@@ -585,7 +559,7 @@ public class ClaimEvents implements Listener {
                 }
                 return;
             }
-           	if(!instance.getMain().canPermCheck(chunk, "Destroy", "Visitors")) {
+           	if(claim == null || !claim.getPermission(ClaimPermission.DESTROY, ClaimPermission.Role.VISITORS)) {
         		event.setCancelled(true);
         		return;
         	}
@@ -601,10 +575,9 @@ public class ClaimEvents implements Listener {
 		if(event.isCancelled()) return;
 		Player player = event.getPlayer();
 		if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		Chunk chunk = event.getBlock().getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Build", player) && !instance.getSettings().isPlaceBlockIgnore(event.getBlock().getType())) {
+		Claim claim = instance.getMain().getClaimAt(event.getBlock());
+		if(claim != null) {
+			if(!claim.getPermissionForPlayer(ClaimPermission.BUILD, player) && !instance.getSettings().isPlaceBlockIgnore(event.getBlock().getType())) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -621,10 +594,9 @@ public class ClaimEvents implements Listener {
 		if(event.isCancelled()) return;
 		Player player = event.getPlayer();
 		if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		Chunk chunk = event.getBlock().getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Destroy", player) && !instance.getSettings().isBreakBlockIgnore(event.getBlock().getType())) {
+		Claim claim = instance.getMain().getClaimAt(event.getBlock());
+		if(claim != null) {
+			if(!claim.getPermissionForPlayer(ClaimPermission.DESTROY, player) && !instance.getSettings().isBreakBlockIgnore(event.getBlock().getType())) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -641,10 +613,9 @@ public class ClaimEvents implements Listener {
 		if(event.isCancelled()) return;
 		Player player = event.getPlayer();
 		if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		Chunk chunk = event.getBlock().getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Build", player)) {
+		Claim claim = instance.getMain().getClaimAt(event.getBlock());
+		if(claim != null) {
+			if(!claim.getPermissionForPlayer(ClaimPermission.BUILD, player)) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -661,57 +632,16 @@ public class ClaimEvents implements Listener {
 		Player player = event.getPlayer();
 		if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
 		Block block = event.getClickedBlock();
-		Chunk chunk;
-		if(block == null) {
-			chunk = player.getLocation().getChunk();
-		} else {
-			chunk = block.getLocation().getChunk();
-		}
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
+		Claim claim = block == null ? instance.getMain().getClaimAt(player.getLocation()) : instance.getMain().getClaimAt(block);
+		if(claim != null) {
 	        if ((event.getAction() == Action.RIGHT_CLICK_BLOCK || event.getAction() == Action.LEFT_CLICK_BLOCK)) {
-	            Material mat = event.getClickedBlock().getType();
-	            if (mat.name().contains("BUTTON") && !claim.getPermissionForPlayer("Buttons", player)) {
+	            BlockCategory category = BlockCategory.of(event.getClickedBlock().getType());
+	            if (category != BlockCategory.NONE && !category.isPhysical() && !claim.getPermissionForPlayer(category.getPermission(), player)) {
 	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("buttons"), instance.getSettings().getSetting("protection-message"));
+	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage(category.getMessage()), instance.getSettings().getSetting("protection-message"));
 	                return;
 	            }
-	            if (mat.name().contains("TRAPDOOR") && !claim.getPermissionForPlayer("Trapdoors", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("trapdoors"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.name().contains("DOOR") && !claim.getPermissionForPlayer("Doors", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("doors"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.name().contains("FENCE_GATE") && !claim.getPermissionForPlayer("Fencegates", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("fencegates"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.LEVER) && !claim.getPermissionForPlayer("Levers", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("levers"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.REPEATER) && !claim.getPermissionForPlayer("RepeatersComparators", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("repeaters"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.COMPARATOR) && !claim.getPermissionForPlayer("RepeatersComparators", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("comparators"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.BELL) && !claim.getPermissionForPlayer("Bells", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("bells"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if(!claim.getPermissionForPlayer("InteractBlocks", player)) {
+	            if(!claim.getPermissionForPlayer(ClaimPermission.INTERACT_BLOCKS, player)) {
 	            	Material item = block.getType();
 	            	if(instance.getSettings().isRestrictedContainer(item)) {
                         event.setCancelled(true);
@@ -719,7 +649,7 @@ public class ClaimEvents implements Listener {
                         return;
 	            	}
 	            }
-	            if(!claim.getPermissionForPlayer("Items", player)) {
+	            if(!claim.getPermissionForPlayer(ClaimPermission.ITEMS, player)) {
 	                Material item = event.getMaterial();
 	                if(instance.getSettings().isRestrictedItem(item)) {
                         event.setCancelled(true);
@@ -730,18 +660,14 @@ public class ClaimEvents implements Listener {
 	            return;
 	        }
 	        if (event.getAction() == Action.PHYSICAL) {
-	        	if(block != null && block.getType().name().contains("PRESSURE_PLATE") && !claim.getPermissionForPlayer("Plates", player)) {
+	        	BlockCategory category = block == null ? BlockCategory.NONE : BlockCategory.of(block.getType());
+	        	if (category.isPhysical() && !claim.getPermissionForPlayer(category.getPermission(), player)) {
 	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("plates"), instance.getSettings().getSetting("protection-message"));
+	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage(category.getMessage()), instance.getSettings().getSetting("protection-message"));
 	                return;
 	        	}
-	        	if (block.getType() == Material.TRIPWIRE && !claim.getPermissionForPlayer("Tripwires", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("tripwires"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
 	        }
-	        if(!claim.getPermissionForPlayer("Items", player)) {
+	        if(!claim.getPermissionForPlayer(ClaimPermission.ITEMS, player)) {
                 Material item = event.getMaterial();
                 if(instance.getSettings().isRestrictedItem(item)) {
                     event.setCancelled(true);
@@ -759,16 +685,15 @@ public class ClaimEvents implements Listener {
      */
 	@EventHandler(priority = EventPriority.LOWEST)
     public void onPlayerInteractEntity(PlayerInteractAtEntityEvent event) {
-        Chunk chunk = event.getRightClicked().getLocation().getChunk();
-        if(instance.getMain().checkIfClaimExists(chunk)) {
+        Claim claim = instance.getMain().getClaimAt(event.getRightClicked().getLocation());
+        if(claim != null) {
         	Player player = event.getPlayer();
         	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-        	Claim claim = instance.getMain().getClaim(chunk);
         	Entity entity = event.getRightClicked();
         	
         	EntityType e = event.getRightClicked().getType();
         	if(!instance.getSettings().isRestrictedEntityType(e)) return;
-        	if(!claim.getPermissionForPlayer("Entities", player)) {
+        	if(!claim.getPermissionForPlayer(ClaimPermission.ENTITIES, player)) {
         		event.setCancelled(true);
         		instance.getMain().sendMessage(player,instance.getLanguage().getMessage("entities"), instance.getSettings().getSetting("protection-message"));
         		return;
@@ -777,9 +702,9 @@ public class ClaimEvents implements Listener {
             ItemStack itemInHand = player.getInventory().getItem(event.getHand());
             if (itemInHand != null) {
             	if(!instance.getSettings().isRestrictedItem(itemInHand.getType())) return;
-            	Claim claim2 = instance.getMain().getClaim(entity.getLocation().getChunk());
+            	Claim claim2 = instance.getMain().getClaimAt(entity.getLocation());
             	if(claim2 == null) return;
-                if (!claim.getPermissionForPlayer("Items", player)) {
+                if (!claim.getPermissionForPlayer(ClaimPermission.ITEMS, player)) {
                     event.setCancelled(true);
                     instance.getMain().sendMessage(player,instance.getLanguage().getMessage("items"), instance.getSettings().getSetting("protection-message"));
                     return;
@@ -795,16 +720,15 @@ public class ClaimEvents implements Listener {
      */
 	@EventHandler(priority = EventPriority.LOWEST)
     public void onPlayerInteractEntity2(PlayerInteractEntityEvent event) {
-        Chunk chunk = event.getRightClicked().getLocation().getChunk();
-        if(instance.getMain().checkIfClaimExists(chunk)) {
+        Claim claim = instance.getMain().getClaimAt(event.getRightClicked().getLocation());
+        if(claim != null) {
         	Player player = event.getPlayer();
         	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-        	Claim claim = instance.getMain().getClaim(chunk);
         	Entity entity = event.getRightClicked();
         	
         	EntityType e = event.getRightClicked().getType();
         	if(!instance.getSettings().isRestrictedEntityType(e)) return;
-        	if(!claim.getPermissionForPlayer("Entities", player)) {
+        	if(!claim.getPermissionForPlayer(ClaimPermission.ENTITIES, player)) {
         		event.setCancelled(true);
         		instance.getMain().sendMessage(player,instance.getLanguage().getMessage("entities"), instance.getSettings().getSetting("protection-message"));
         		return;
@@ -813,9 +737,9 @@ public class ClaimEvents implements Listener {
             ItemStack itemInHand = player.getInventory().getItem(event.getHand());
             if (itemInHand != null) {
             	if(!instance.getSettings().isRestrictedItem(itemInHand.getType())) return;
-            	Claim claim2 = instance.getMain().getClaim(entity.getLocation().getChunk());
+            	Claim claim2 = instance.getMain().getClaimAt(entity.getLocation());
             	if(claim2 == null) return;
-                if (!claim.getPermissionForPlayer("Items", player)) {
+                if (!claim.getPermissionForPlayer(ClaimPermission.ITEMS, player)) {
                     event.setCancelled(true);
                     instance.getMain().sendMessage(player,instance.getLanguage().getMessage("items"), instance.getSettings().getSetting("protection-message"));
                     return;
@@ -833,11 +757,11 @@ public class ClaimEvents implements Listener {
     public void onLiquidFlow(BlockFromToEvent event) {
     	Block block = event.getBlock();
     	Block toBlock = event.getToBlock();
-    	Chunk chunk = toBlock.getLocation().getChunk();
-    	if(block.getLocation().getChunk().equals(chunk)) return;
-    	if(instance.getMain().checkIfClaimExists(chunk)) {
-    		if(instance.getMain().getOwnerInClaim(chunk).equals(instance.getMain().getOwnerInClaim(block.getLocation().getChunk()))) return;
-    		if(instance.getMain().canPermCheck(chunk, "Liquids", "Natural")) return;
+    	Claim claim = instance.getMain().getClaimAt(toBlock);
+    	if(isSameChunk(block, toBlock)) return;
+    	if(claim != null) {
+    		if(claim.getOwner().equals(getOwner(instance.getMain().getClaimAt(block)))) return;
+    		if(claim.getPermission(ClaimPermission.LIQUIDS, ClaimPermission.Role.NATURAL)) return;
             if (block.isLiquid()) {
                 if (toBlock.getBlockData() instanceof Waterlogged) {
                     Waterlogged waterlogged = (Waterlogged) toBlock.getBlockData();
@@ -871,11 +795,12 @@ public class ClaimEvents implements Listener {
 	@EventHandler
     public void onDispense(BlockDispenseEvent event) {
     	Block block = event.getBlock();
-    	Chunk targetChunk = block.getRelative(((Directional) event.getBlock().getBlockData()).getFacing()).getLocation().getChunk();
-    	if(block.getLocation().getChunk().equals(targetChunk)) return;
-    	if(instance.getMain().checkIfClaimExists(targetChunk)) {
-    		if(instance.getMain().getOwnerInClaim(block.getLocation().getChunk()).equals(instance.getMain().getOwnerInClaim(targetChunk))) return;
-    		if(!instance.getMain().canPermCheck(targetChunk, "Redstone", "Natural")) {
+    	Block target = block.getRelative(((Directional) event.getBlock().getBlockData()).getFacing());
+    	if(isSameChunk(block, target)) return;
+    	Claim targetClaim = instance.getMain().getClaimAt(target);
+    	if(targetClaim != null) {
+    		if(targetClaim.getOwner().equals(getOwner(instance.getMain().getClaimAt(block)))) return;
+    		if(!targetClaim.getPermission(ClaimPermission.REDSTONE, ClaimPermission.Role.NATURAL)) {
     			event.setCancelled(true);
     		}
     	}
@@ -893,7 +818,7 @@ public class ClaimEvents implements Listener {
         if(!affectedBlocks.isEmpty()) {
             affectedBlocks.add(piston.getRelative(direction));
         }
-        if (!canPistonMoveBlock(affectedBlocks, direction, piston.getLocation().getChunk(),false)) {
+        if (!canPistonMoveBlock(affectedBlocks, direction, piston, false)) {
             event.setCancelled(true);
         }
     }
@@ -910,7 +835,7 @@ public class ClaimEvents implements Listener {
         if (event.isSticky() && !affectedBlocks.isEmpty()) {
             affectedBlocks.add(piston.getRelative(direction));
         }
-        if (!canPistonMoveBlock(affectedBlocks, direction, piston.getLocation().getChunk(),true)) {
+        if (!canPistonMoveBlock(affectedBlocks, direction, piston, true)) {
             event.setCancelled(true);
         }
     }
@@ -921,15 +846,14 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onFrostWalkerUse(EntityBlockFormEvent event) {
-    	Chunk chunk = event.getBlock().getLocation().getChunk();
-    	if(!instance.getMain().checkIfClaimExists(chunk)) return;
-    	Claim claim = instance.getMain().getClaim(chunk);
+    	Claim claim = instance.getMain().getClaimAt(event.getBlock());
+    	if(claim == null) return;
         if (event.getNewState().getType() == Material.FROSTED_ICE) {
             Entity entity = event.getEntity();
             if (entity instanceof Player) {
                 Player player = (Player) entity;
                 if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-                if(claim.getPermissionForPlayer("FrostWalker", player)) return;
+                if(claim.getPermissionForPlayer(ClaimPermission.FROSTWALKER, player)) return;
                 ItemStack boots = player.getInventory().getBoots();
                 if (boots != null && boots.containsEnchantment(Enchantment.FROST_WALKER)) {
                     event.setCancelled(true);
@@ -945,9 +869,9 @@ public class ClaimEvents implements Listener {
     @EventHandler
     public void onBlockSpread(BlockSpreadEvent event) {
         if (event.getNewState().getType() == Material.FIRE) {
-            Chunk chunk = event.getBlock().getLocation().getChunk();
-            if(!instance.getMain().checkIfClaimExists(chunk)) return;
-            if(instance.getMain().canPermCheck(chunk, "Firespread", "Natural")) return;
+            Claim claim = instance.getMain().getClaimAt(event.getBlock());
+            if(claim == null) return;
+            if(claim.getPermission(ClaimPermission.FIRESPREAD, ClaimPermission.Role.NATURAL)) return;
             event.setCancelled(true);
         }
     }
@@ -958,20 +882,19 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onBlockIgnite(BlockIgniteEvent event) {
-        Chunk chunk = event.getBlock().getLocation().getChunk();
-        if(!instance.getMain().checkIfClaimExists(chunk)) return;
-        Claim claim = instance.getMain().getClaim(chunk);
+        Claim claim = instance.getMain().getClaimAt(event.getBlock());
+        if(claim == null) return;
         Player player = event.getPlayer();
         if(player != null) {
         	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-			if(!claim.getPermissionForPlayer("Build", player)) {
+			if(!claim.getPermissionForPlayer(ClaimPermission.BUILD, player)) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
 				return;
 			}
 			return;
         }
-        if(instance.getMain().canPermCheck(chunk, "Firespread", "Natural")) return;
+        if(claim.getPermission(ClaimPermission.FIRESPREAD, ClaimPermission.Role.NATURAL)) return;
         event.setCancelled(true);
     }
     
@@ -981,9 +904,9 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onBlockBurn(BlockBurnEvent event) {
-        Chunk chunk = event.getBlock().getLocation().getChunk();
-        if(!instance.getMain().checkIfClaimExists(chunk)) return;
-        if(instance.getMain().canPermCheck(chunk, "Firespread", "Natural")) return;
+        Claim claim = instance.getMain().getClaimAt(event.getBlock());
+        if(claim == null) return;
+        if(claim.getPermission(ClaimPermission.FIRESPREAD, ClaimPermission.Role.NATURAL)) return;
         event.setCancelled(true);
     }
     
@@ -996,20 +919,19 @@ public class ClaimEvents implements Listener {
     	Entity entity = event.getEntity();
     	if(entity instanceof ArmorStand || entity instanceof ItemFrame || entity instanceof GlowItemFrame) {
             Entity damager = event.getDamager();
-            Chunk chunk = entity.getLocation().getChunk();
-            if (!instance.getMain().checkIfClaimExists(chunk)) return;
+            Claim claim = instance.getMain().getClaimAt(entity.getLocation());
+            if (claim == null) return;
             if (damager instanceof Player) {
-            	Claim claim = instance.getMain().getClaim(chunk);
             	Player player = (Player) damager;
             	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-                if (!claim.getPermissionForPlayer("Destroy", player)) {
+                if (!claim.getPermissionForPlayer(ClaimPermission.DESTROY, player)) {
                 	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
                     event.setCancelled(true);
                 }
             	return;
             }
             
-            if (!instance.getMain().canPermCheck(chunk, "Destroy", "Visitors")) {
+            if (!claim.getPermission(ClaimPermission.DESTROY, ClaimPermission.Role.VISITORS)) {
             	event.setCancelled(true);
             }
         }
@@ -1022,20 +944,20 @@ public class ClaimEvents implements Listener {
     @EventHandler(priority = EventPriority.LOWEST)
     public void onEntityDamageByEntity(EntityDamageByEntityEvent event) {
         Entity entity = event.getEntity();
-        Chunk chunk = entity.getLocation().getChunk();
+        Claim claim = instance.getMain().getClaimAt(entity.getLocation());
 
-        if(!instance.getMain().checkIfClaimExists(chunk)) return;
+        if(claim == null) return;
 
         if (!(entity instanceof Player) && !(entity instanceof Monster) && !(entity instanceof ArmorStand) && !(entity instanceof ItemFrame) ) {
             Entity damager = event.getDamager();
 
             if (damager instanceof Player) {
-                processDamageByPlayer((Player) damager, chunk, event);
+                processDamageByPlayer((Player) damager, claim, event);
             } else if (damager instanceof Projectile) {
                 Projectile projectile = (Projectile) damager;
                 ProjectileSource shooter = projectile.getShooter();
                 if (shooter instanceof Player) {
-                    processDamageByPlayer((Player) shooter, chunk, event);
+                    processDamageByPlayer((Player) shooter, claim, event);
                 }
             }
         }
@@ -1054,10 +976,9 @@ public class ClaimEvents implements Listener {
             Entity vehicle = event.getVehicle();
             EntityType vehicleType = vehicle.getType();
             if(!instance.getSettings().isRestrictedEntityType(vehicleType)) return;
-        	Chunk chunk = vehicle.getLocation().getChunk();
-            if (instance.getMain().checkIfClaimExists(chunk)) {
-            	Claim claim = instance.getMain().getClaim(chunk);
-            	if(claim.getPermissionForPlayer("Entities", player)) return;
+        	Claim claim = instance.getMain().getClaimAt(vehicle.getLocation());
+            if (claim != null) {
+            	if(claim.getPermissionForPlayer(ClaimPermission.ENTITIES, player)) return;
                 event.setCancelled(true);
                 instance.getMain().sendMessage(player,instance.getLanguage().getMessage("entities"), instance.getSettings().getSetting("protection-message"));
             }
@@ -1075,11 +996,10 @@ public class ClaimEvents implements Listener {
 
         if (entity.getType() == EntityType.PLAYER && block.getType() == Material.FARMLAND) {
             Player player = (Player) entity;
-            Chunk chunk = block.getLocation().getChunk();
-            if (instance.getMain().checkIfClaimExists(chunk)) {
-            	Claim claim = instance.getMain().getClaim(chunk);
+            Claim claim = instance.getMain().getClaimAt(block);
+            if (claim != null) {
             	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-                if(!claim.getPermissionForPlayer("Destroy", player)) {
+                if(!claim.getPermissionForPlayer(ClaimPermission.DESTROY, player)) {
                 	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
                     event.setCancelled(true);
                 }
@@ -1096,52 +1016,83 @@ public class ClaimEvents implements Listener {
      * Handles piston movement checks across claim boundaries.
      * @param blocks the list of blocks affected by the piston.
      * @param direction the direction of piston movement.
-     * @param pistonChunk the chunk where the piston is located.
+     * @param piston the piston block.
      * @param retractOrNot flag indicating whether the piston is retracting.
      * @return true if the piston can move the blocks, false otherwise.
      */
-    private boolean canPistonMoveBlock(List<Block> blocks, BlockFace direction, Chunk pistonChunk, boolean retractOrNot) {
-    	if(retractOrNot) {
-	        for (Block block : blocks) {
-	        	Chunk chunk = block.getLocation().getChunk();
-	            if (!chunk.equals(pistonChunk)) {
-	                if (instance.getMain().checkIfClaimExists(chunk)) {
-	                	if(instance.getMain().getOwnerInClaim(pistonChunk).equals(instance.getMain().getOwnerInClaim(chunk))) return true;
-	                	if(!instance.getMain().canPermCheck(chunk, "Redstone", "Natural")) {
-	                		return false;
-	                	}
-	                }
-	            }
-	        }
-	        return true;
-    	}
+    private boolean canPistonMoveBlock(List<Block> blocks, BlockFace direction, Block piston, boolean retractOrNot) {
+    	String world = piston.getWorld().getName();
+    	long pistonKey = ChunkKey.ofBlock(piston.getX(), piston.getZ());
+    	String pistonOwner = getOwner(instance.getMain().getClaim(world, pistonKey));
+    	int dx = retractOrNot ? 0 : direction.getModX();
+    	int dz = retractOrNot ? 0 : direction.getModZ();
+    	
+    	// Each distinct chunk is checked once, in the order of the blocks
+    	ChunkKeySet checked = new ChunkKeySet();
+    	checked.add(pistonKey);
         for (Block block : blocks) {
-            Chunk chunk = block.getRelative(direction).getLocation().getChunk();
-            if (!chunk.equals(pistonChunk)) {
-                if (instance.getMain().checkIfClaimExists(chunk)) {
-                	if(instance.getMain().getOwnerInClaim(pistonChunk).equals(instance.getMain().getOwnerInClaim(chunk))) return true;
-                	if(!instance.getMain().canPermCheck(chunk, "Redstone", "Natural")) {
-                		return false;
-                	}
-                }
+        	long key = ChunkKey.ofBlock(block.getX() + dx, block.getZ() + dz);
+        	if (!checked.add(key)) continue;
+            Claim claim = instance.getMain().getClaim(world, key);
+            if (claim != null) {
+            	if(pistonOwner.equals(claim.getOwner())) return true;
+            	if(!claim.getPermission(ClaimPermission.REDSTONE, ClaimPermission.Role.NATURAL)) {
+            		return false;
+            	}
             }
         }
         return true;
     }
     
+    /**
+     * Removes the blocks protected against explosions from an explosion block list.
+     * <p>
+     * The claim and the "Explosions" setting are resolved once per distinct chunk,
+     * then the list is filtered in a single pass.
+     * @param blocks the block list of the explosion.
+     * @param world the world of the explosion.
+     */
+    private void removeProtectedBlocks(List<Block> blocks, World world) {
+    	if (blocks.isEmpty()) return;
+    	String worldName = world.getName();
+    	ChunkDecisionCache protectedChunks = new ChunkDecisionCache(key -> {
+    		Claim claim = instance.getMain().getClaim(worldName, key);
+    		return claim != null && !claim.getPermission(ClaimPermission.EXPLOSIONS, ClaimPermission.Role.NATURAL);
+    	});
+    	blocks.removeIf(block -> protectedChunks.test(block.getX(), block.getZ()));
+    }
+    
     /**
      * Processes damage by a player to prevent unauthorized damage in claims.
      * @param player the player causing the damage.
-     * @param chunk the chunk where the damage occurs.
+     * @param claim the claim where the damage occurs.
      * @param event the entity damage by entity event.
      */
-    private void processDamageByPlayer(Player player, Chunk chunk, EntityDamageByEntityEvent event) {
+    private void processDamageByPlayer(Player player, Claim claim, EntityDamageByEntityEvent event) {
         if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-        Claim claim = instance.getMain().getClaim(chunk);
-        if(!claim.getPermissionForPlayer("Damages", player)) {
+        if(!claim.getPermissionForPlayer(ClaimPermission.DAMAGES, player)) {
             event.setCancelled(true);
             instance.getMain().sendMessage(player, instance.getLanguage().getMessage("damages"), instance.getSettings().getSetting("protection-message"));
         }
     }
     
+    /**
+     * Checks if two blocks are in the same chunk, from their coordinates only.
+     * @param a the first block.
+     * @param b the second block.
+     * @return true if both blocks are in the same chunk, false otherwise.
+     */
+    private static boolean isSameChunk(Block a, Block b) {
+    	return (a.getX() >> 4) == (b.getX() >> 4) && (a.getZ() >> 4) == (b.getZ() >> 4) && a.getWorld().equals(b.getWorld());
+    }
+    
+    /**
+     * Gets the owner of a claim, or an empty string if there is no claim.
+     * @param claim the claim, may be null.
+     * @return the owner of the claim, or an empty string.
+     */
+    private static String getOwner(Claim claim) {
+    	return claim == null ? "" : claim.getOwner();
+    }
+    
 }
@@ -6,10 +6,12 @@ import java.util.UUID;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
+import org.bukkit.Location;
 import org.bukkit.WeatherType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
@@ -19,6 +21,7 @@ import org.bukkit.event.player.PlayerTeleportEvent;
 import fr.xyness.SCS.SimpleClaimSystem;
 import fr.xyness.SCS.Types.CPlayer;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimPermission;
 import fr.xyness.SCS.Types.CustomSet;
 
 /**
@@ -36,6 +39,9 @@ public class ClaimEventsEnterLeave implements Listener {
     /** Set of players when they are rejected from a claim */
 	private Set<Player> playersRejected = new HashSet<>();
     
+    /** The sampled movement tracker, used instead of the move event when running */
+    private final ClaimMovementTracker tracker;
+    
     /** Instance of SimpleClaimSystem */
     private SimpleClaimSystem instance;
 
@@ -52,6 +58,7 @@ public class ClaimEventsEnterLeave implements Listener {
      */
     public ClaimEventsEnterLeave(SimpleClaimSystem instance) {
     	this.instance = instance;
+    	this.tracker = new ClaimMovementTracker(instance, this);
     }
     
     
@@ -78,6 +85,9 @@ public class ClaimEventsEnterLeave implements Listener {
         }
         Chunk chunk = player.getLocation().getChunk();
         handleWeatherSettings(player, chunk, chunk);
+        CPlayer cPlayer = instance.getPlayerMain().getCPlayer(player.getUniqueId());
+        if (cPlayer != null) cPlayer.setSampledChunk(chunk);
+        tracker.track(player);
         
         if (!instance.getMain().checkIfClaimExists(chunk)) return;
 
@@ -88,13 +98,14 @@ public class ClaimEventsEnterLeave implements Listener {
             return;
         }
         
-        if (!claim.getPermissionForPlayer("Enter",player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.enter")) {
+        if (!claim.getPermissionForPlayer(ClaimPermission.ENTER, player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.enter")) {
         	playersRejected.add(player);
         	instance.getMain().teleportPlayer(player, Bukkit.getWorlds().get(0).getSpawnLocation());
             return;
         }
         
         instance.getBossBars().activeBossBar(player,chunk);
+        if (cPlayer != null) cPlayer.setCurrentClaim(claim);
     }
 
     /**
@@ -106,11 +117,24 @@ public class ClaimEventsEnterLeave implements Listener {
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
         player.resetPlayerWeather();
+        tracker.untrack(player);
+        instance.getBossBars().removePlayer(player);
         instance.getPlayerMain().removeCPlayer(player.getUniqueId());
         instance.getMain().clearDataForPlayer(player);
         if(playersRejected.contains(player)) playersRejected.remove(player);
     }
 
+    /**
+     * Handles the player changed world event. Computes the player's permission profile again,
+     * as permissions can depend on the world.
+     *
+     * @param event the player changed world event.
+     */
+    @EventHandler
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        instance.getPlayerMain().refreshProfile(event.getPlayer());
+    }
+
     /**
      * Handles the player teleport event.
      *
@@ -121,13 +145,17 @@ public class ClaimEventsEnterLeave implements Listener {
         Chunk to = event.getTo().getChunk();
         Chunk from = event.getFrom().getChunk();
         Player player = event.getPlayer();
+        UUID playerId = player.getUniqueId();
+        CPlayer cPlayer = instance.getPlayerMain().getCPlayer(playerId);
         if (!instance.getMain().checkIfClaimExists(to)) {
         	instance.getBossBars().disableBossBar(player);
+        	if (cPlayer != null) {
+        		cPlayer.setCurrentClaim(null);
+        		cPlayer.setSampledChunk(to);
+        	}
         	return;
         }
 
-        UUID playerId = player.getUniqueId();
-        CPlayer cPlayer = instance.getPlayerMain().getCPlayer(playerId);
         if(cPlayer == null) return;
         
         String ownerTO = instance.getMain().getOwnerInClaim(to);
@@ -140,7 +168,7 @@ public class ClaimEventsEnterLeave implements Listener {
 	            return;
 	        }
 	        
-	        if (!claim.getPermissionForPlayer("Enter",player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.enter")) {
+	        if (!claim.getPermissionForPlayer(ClaimPermission.ENTER, player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.enter")) {
 	            cancelTeleport(event, player, "enter");
 	            return;
 	        }
@@ -154,6 +182,8 @@ public class ClaimEventsEnterLeave implements Listener {
         instance.getBossBars().activeBossBar(player, to);
         handleAutoFly(player, cPlayer, to, ownerTO);
         handleWeatherSettings(player, to, from);
+        cPlayer.setCurrentClaim(claim);
+        cPlayer.setSampledChunk(to);
         
         String world = player.getWorld().getName();
 
@@ -195,6 +225,8 @@ public class ClaimEventsEnterLeave implements Listener {
         handleWeatherSettings(player, to, null);
         instance.getBossBars().activeBossBar(player, to);
         handleAutoFly(player, cPlayer, to, ownerTO);
+        cPlayer.setCurrentClaim(instance.getMain().getClaim(to));
+        cPlayer.setSampledChunk(to);
 
         if (cPlayer.getClaimAuto().equals("addchunk")) {
             handleAutoAddChunk(player, cPlayer, to, world);
@@ -221,36 +253,106 @@ public class ClaimEventsEnterLeave implements Listener {
         if (!hasChangedChunk(event)) return;
 
         Chunk to = event.getTo().getChunk();
-        Chunk from = event.getFrom().getChunk();
         Player player = event.getPlayer();
-        UUID playerId = player.getUniqueId();
-        String playerName = player.getName();
-        CPlayer cPlayer = instance.getPlayerMain().getCPlayer(playerId);
+        CPlayer cPlayer = instance.getPlayerMain().getCPlayer(player.getUniqueId());
         if(cPlayer == null) return;
-        String ownerTO = instance.getMain().getOwnerInClaim(to);
-        String ownerFROM = instance.getMain().getOwnerInClaim(from);
 
         Claim claim = instance.getMain().getClaim(to);
+        
+        // With the sampled tracker, only the access checks are done on the event
+        if (tracker.isRunning()) {
+        	if (claim != null) isRejected(event, player, claim);
+        	return;
+        }
+
+        // Crossing chunks inside the same claim, with unchanged settings, needs no claim handling
+        if (cPlayer.isClaimTransition(claim)) {
+        	if (claim != null && isRejected(event, player, claim)) return;
+        	handleClaimTransition(player, cPlayer, claim, event.getFrom().getChunk(), to);
+        }
+
+        cPlayer.setSampledChunk(to);
+        handleChunkChange(player, cPlayer, to);
+    }
+
+    
+    // ********************
+    // *  Others Methods  *
+    // ********************
+    
+    
+    /**
+     * Gets the sampled movement tracker of this listener.
+     *
+     * @return The tracker.
+     */
+    public ClaimMovementTracker getTracker() {
+        return tracker;
+    }
+    
+    /**
+     * Handles a chunk change found by the sampled movement tracker.
+     *
+     * @param player  The player.
+     * @param cPlayer The custom player object.
+     * @param from    The chunk of the previous sample.
+     * @param to      The chunk the player is in.
+     */
+    void handleSampledMove(Player player, CPlayer cPlayer, Chunk from, Chunk to) {
+        cPlayer.setSampledChunk(to);
+        Claim claim = instance.getMain().getClaim(to);
+        if (cPlayer.isClaimTransition(claim)) {
+        	handleClaimTransition(player, cPlayer, claim, from, to);
+        }
+        handleChunkChange(player, cPlayer, to);
+    }
+    
+    /**
+     * Checks if a moving player is banned from a claim or not allowed to enter it, and rejects them if so.
+     *
+     * @param event  The player move event.
+     * @param player The player.
+     * @param claim  The claim the player moves into.
+     * @return True if the player was rejected from the claim, false otherwise.
+     */
+    private boolean isRejected(PlayerMoveEvent event, Player player, Claim claim) {
+        if (instance.getMain().checkBan(claim, player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.ban")) {
+        	playersRejected.add(player);
+        	instance.getMain().teleportPlayer(player, event.getFrom());
+            instance.getMain().sendMessage(player, instance.getLanguage().getMessage("player-banned"), instance.getSettings().getSetting("protection-message"));
+            return true;
+        }
+        if (!claim.getPermissionForPlayer(ClaimPermission.ENTER, player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.enter")) {
+        	playersRejected.add(player);
+        	instance.getMain().teleportPlayer(player, event.getFrom());
+        	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("enter"), instance.getSettings().getSetting("protection-message"));
+        	return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Handles a claim transition of a moving player: entering, leaving, going from a claim
+     * to another, or the settings of the current claim having changed.
+     *
+     * @param player  The player.
+     * @param cPlayer The custom player object.
+     * @param claim   The claim the player moves into, or null for the wilderness.
+     * @param from    The chunk the player moves from.
+     * @param to      The chunk the player moves into.
+     */
+    private void handleClaimTransition(Player player, CPlayer cPlayer, Claim claim, Chunk from, Chunk to) {
+        String playerName = player.getName();
+        String ownerTO = claim == null ? "" : claim.getOwner();
+        String ownerFROM = instance.getMain().getOwnerInClaim(from);
+        
         if(claim != null) {
-	        if (instance.getMain().checkBan(claim, player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.ban")) {
-	        	playersRejected.add(player);
-	        	instance.getMain().teleportPlayer(player, event.getFrom());
-	            instance.getMain().sendMessage(player, instance.getLanguage().getMessage("player-banned"), instance.getSettings().getSetting("protection-message"));
-	            return;
-	        }
-	        if (!claim.getPermissionForPlayer("Enter",player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.enter")) {
-	        	playersRejected.add(player);
-	        	instance.getMain().teleportPlayer(player, event.getFrom());
-	        	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("enter"), instance.getSettings().getSetting("protection-message"));
-	        	return;
-	        }
-	        
-	        if (cPlayer.getClaimAutofly() && (ownerTO.equals(playerName) || claim.getPermissionForPlayer("Fly",player)) && !instance.isFolia()) {
+	        if (cPlayer.getClaimAutofly() && (ownerTO.equals(playerName) || claim.getPermissionForPlayer(ClaimPermission.FLY, player)) && !instance.isFolia()) {
 	            instance.getPlayerMain().activePlayerFly(player);
 	            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
 	                instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-enabled"), "CHAT");
 	            }
-	        } else if (!claim.getPermissionForPlayer("Fly",player) && !ownerTO.equals(playerName) && cPlayer.getClaimFly() && !instance.isFolia()) {
+	        } else if (!claim.getPermissionForPlayer(ClaimPermission.FLY, player) && !ownerTO.equals(playerName) && cPlayer.getClaimFly() && !instance.isFolia()) {
 	            instance.getPlayerMain().removePlayerFly(player);
 	            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
 	                instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-disabled"), "CHAT");
@@ -263,13 +365,24 @@ public class ClaimEventsEnterLeave implements Listener {
         handleWeatherSettings(player,to,from);
 
         instance.getBossBars().activeBossBar(player, to);
-
-        String world = player.getWorld().getName();
         
         if (!ownerTO.equals(ownerFROM)) {
             handleEnterLeaveMessages(player, to, from, ownerTO, ownerFROM);
         }
         
+        cPlayer.setCurrentClaim(claim);
+    }
+    
+    /**
+     * Handles the auto claiming modes and the automap of a player changing chunk.
+     *
+     * @param player  The player.
+     * @param cPlayer The custom player object.
+     * @param to      The chunk the player moves into.
+     */
+    private void handleChunkChange(Player player, CPlayer cPlayer, Chunk to) {
+        String world = player.getWorld().getName();
+        
         if (cPlayer.getClaimAuto().equals("addchunk")) {
             handleAutoAddChunk(player, cPlayer, to, world);
         } else if (cPlayer.getClaimAuto().equals("delchunk")) {
@@ -284,12 +397,6 @@ public class ClaimEventsEnterLeave implements Listener {
             handleAutoMap(player, cPlayer, to, world);
         }
     }
-
-    
-    // ********************
-    // *  Others Methods  *
-    // ********************
-    
     
     /**
      * Cancels the teleport event and sends a message to the player.
@@ -312,7 +419,7 @@ public class ClaimEventsEnterLeave implements Listener {
      * @return True if the teleport is blocked, false otherwise.
      */
     private boolean isTeleportBlocked(PlayerTeleportEvent event, Player player, Claim claim) {
-        if (!instance.getPlayerMain().checkPermPlayer(player, "scs.bypass") && !claim.getPermissionForPlayer("Teleportations",player)) {
+        if (!instance.getPlayerMain().checkPermPlayer(player, "scs.bypass") && !claim.getPermissionForPlayer(ClaimPermission.TELEPORTATIONS, player)) {
             switch (event.getCause()) {
                 case ENDER_PEARL:
                 case CHORUS_FRUIT:
@@ -333,9 +440,9 @@ public class ClaimEventsEnterLeave implements Listener {
     private void handleWeatherSettings(Player player, Chunk to, Chunk from) {
     	Claim claimTo = instance.getMain().getClaim(to);
     	Claim claimFrom = instance.getMain().getClaim(from);
-        if (instance.getMain().checkIfClaimExists(to) && !claimTo.getPermissionForPlayer("Weather",player)) {
+        if (instance.getMain().checkIfClaimExists(to) && !claimTo.getPermissionForPlayer(ClaimPermission.WEATHER, player)) {
             player.setPlayerWeather(WeatherType.CLEAR);
-        } else if (instance.getMain().checkIfClaimExists(from) && !claimFrom.getPermissionForPlayer("Weather",player)) {
+        } else if (instance.getMain().checkIfClaimExists(from) && !claimFrom.getPermissionForPlayer(ClaimPermission.WEATHER, player)) {
             player.resetPlayerWeather();
         }
     }
@@ -350,12 +457,12 @@ public class ClaimEventsEnterLeave implements Listener {
      */
     private void handleAutoFly(Player player, CPlayer cPlayer, Chunk chunk, String owner) {
     	Claim claim = instance.getMain().getClaim(chunk);
-        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || claim != null && claim.getPermissionForPlayer("Fly", player)) && !instance.isFolia()) {
+        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || claim != null && claim.getPermissionForPlayer(ClaimPermission.FLY, player)) && !instance.isFolia()) {
             instance.getPlayerMain().activePlayerFly(player);
             if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-enabled"), "CHAT");
             }
-        } else if (claim != null && !claim.getPermissionForPlayer("Fly", player) && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
+        } else if (claim != null && !claim.getPermissionForPlayer(ClaimPermission.FLY, player) && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
             instance.getPlayerMain().removePlayerFly(player);
             if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-disabled"), "CHAT");
@@ -378,7 +485,7 @@ public class ClaimEventsEnterLeave implements Listener {
         } else {
         	Claim claim = cPlayer.getTargetClaimChunk();
         	if(claim == null) return;
-            if(claim.getChunks().size() == 1) {
+            if(claim.getChunksCount() == 1) {
             	player.sendMessage(instance.getLanguage().getMessage("cannot-remove-only-remaining-chunk"));
             	return;
             }
@@ -433,7 +540,7 @@ public class ClaimEventsEnterLeave implements Listener {
             	}
             }
             Set<Chunk> chunks = new HashSet<>(claim.getChunks());
-            if(!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(playerName).size()+1)) {
+            if(!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(playerName)+1)) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks"));
             	return;
             }
@@ -457,7 +564,7 @@ public class ClaimEventsEnterLeave implements Listener {
             			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("add-chunk-successful")
             					.replace("%chunk%", "["+chunk.getWorld().getName()+";"+String.valueOf(chunk.getX())+";"+String.valueOf(chunk.getZ())+"]")
             					.replace("%claim-name%", claim.getName())));
-            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
+            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayClaim(player, claim, true, false);
             			return;
             		} else {
             			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
@@ -826,10 +933,8 @@ public class ClaimEventsEnterLeave implements Listener {
      * @return true if the player has changed chunk, false otherwise.
      */
     private boolean hasChangedChunk(PlayerMoveEvent event) {
-        int fromChunkX = event.getFrom().getChunk().getX();
-        int fromChunkZ = event.getFrom().getChunk().getZ();
-        int toChunkX = event.getTo().getChunk().getX();
-        int toChunkZ = event.getTo().getChunk().getZ();
-        return fromChunkX != toChunkX || fromChunkZ != toChunkZ;
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        return (from.getBlockX() >> 4) != (to.getBlockX() >> 4) || (from.getBlockZ() >> 4) != (to.getBlockZ() >> 4);
     }
 }
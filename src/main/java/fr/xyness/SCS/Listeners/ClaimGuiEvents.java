@@ -39,6 +39,7 @@ import fr.xyness.SCS.Guis.AdminGestion.AdminGestionClaimsProtectedAreasGui;
 import fr.xyness.SCS.Guis.AdminGestion.AdminGestionMainGui;
 import fr.xyness.SCS.Types.CPlayer;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimPermission;
 
 /**
  * Event listener for claim guis events.
@@ -540,7 +541,7 @@ public class ClaimGuiEvents implements Listener {
         if(clickedSlot >= 0 && clickedSlot <= 44) {
         	String chunk = cPlayer.getMapString(clickedSlot);
         	if (!instance.getPlayerMain().checkPermPlayer(player, "scs.command.claim.delchunk")) return;
-        	if (claim.getChunks().size() == 1) return;
+        	if (claim.getChunksCount() == 1) return;
         	instance.getMain().removeClaimChunk(claim, chunk)
     		.thenAccept(success -> {
     			if (success) {
@@ -676,7 +677,7 @@ public class ClaimGuiEvents implements Listener {
             	if(instance.getPlayerMain().checkPermPlayer(player, "scs.command.claim.tp")) {
             		Claim claim = cPlayer.getMapClaim(clickedSlot);
             		if(claim == null) return;
-            		if(!claim.getPermissionForPlayer("GuiTeleport",player) && !claim.getOwner().equals(player.getName())) return;
+            		if(!claim.getPermissionForPlayer(ClaimPermission.GUI_TELEPORT, player) && !claim.getOwner().equals(player.getName())) return;
             		player.closeInventory();
 		        	instance.getMain().goClaim(player, cPlayer.getMapLoc(clickedSlot));
 		        	return;
@@ -813,7 +814,7 @@ public class ClaimGuiEvents implements Listener {
         	Claim claim = cPlayer.getMapClaim(clickedSlot);
         	if(event.getClick() == ClickType.LEFT) {
         		if(instance.getPlayerMain().checkPermPlayer(player, "scs.command.claim.tp")) {
-		            if(!claim.getPermissionForPlayer("GuiTeleport",player) && !claim.getOwner().equals(player.getName())) return;
+		            if(!claim.getPermissionForPlayer(ClaimPermission.GUI_TELEPORT, player) && !claim.getOwner().equals(player.getName())) return;
 		            instance.executeEntitySync(player, () -> player.closeInventory());
 		        	instance.getMain().goClaim(player, cPlayer.getMapLoc(clickedSlot));
 		        	return;
@@ -844,7 +845,7 @@ public class ClaimGuiEvents implements Listener {
         		            return;
         		        }
                         // Check if player can claim with all these chunks (total)
-                        if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(playerName).size()+claim.getChunks().size())) {
+                        if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(playerName)+claim.getChunksCount())) {
                         	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks"));
                             return;
                         }
@@ -1481,7 +1482,7 @@ public class ClaimGuiEvents implements Listener {
         if(clickedSlot >= 0 && clickedSlot <= 44) {
         	String chunk = cPlayer.getMapString(clickedSlot);
         	if (!instance.getPlayerMain().checkPermPlayer(player, "scs.command.claim.delchunk")) return;
-        	if (claim.getChunks().size() == 1) return;
+        	if (claim.getChunksCount() == 1) return;
         	instance.getMain().removeClaimChunk(claim, chunk)
         		.thenAccept(success -> {
         			if (success) {
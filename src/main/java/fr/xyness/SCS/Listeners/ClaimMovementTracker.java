@@ -0,0 +1,172 @@
+package fr.xyness.SCS.Listeners;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import fr.xyness.SCS.SimpleClaimSystem;
+import fr.xyness.SCS.Types.CPlayer;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+
+/**
+ * This class handles the sampled movement tracker, an alternative to the move event for claim transitions.
+ * <p>
+ * Instead of reacting to every move event, the chunk of each online player is polled once per interval,
+ * and the enter/leave handling of {@link ClaimEventsEnterLeave} only runs for the players whose chunk changed.
+ * On Bukkit, all players are polled in one pass on the main thread. On Folia, each player is polled by a task
+ * of its entity scheduler, so the polls are batched in the tick of the region owning the player.
+ * Bans and enter denial are not sampled, they stay on the move event.
+ */
+public class ClaimMovementTracker {
+
+	
+    // ***************
+    // *  Variables  *
+    // ***************
+    
+	
+    /** The listener dispatching the claim transitions */
+    private final ClaimEventsEnterLeave listener;
+    
+    /** The interval between two samples, in ticks */
+    private long interval;
+    
+    /** Whether the tracker is running */
+    private volatile boolean running = false;
+    
+    /** BukkitTask of the tracker. */
+    private BukkitTask BukkitTaskTracker = null;
+    
+    /** ScheduledTasks of the tracker, by player (Folia). */
+    private final Map<UUID, ScheduledTask> ScheduledTasksTracker = new ConcurrentHashMap<>();
+    
+    /** Location reused by the main thread pass (Bukkit) */
+    private final Location location = new Location(null, 0, 0, 0);
+    
+    /** Instance of SimpleClaimSystem */
+    private SimpleClaimSystem instance;
+    
+    
+    // ******************
+    // *  Constructors  *
+    // ******************
+    
+    
+    /**
+     * Constructor for ClaimMovementTracker.
+     *
+     * @param instance The instance of the SimpleClaimSystem plugin.
+     * @param listener The listener dispatching the claim transitions.
+     */
+    public ClaimMovementTracker(SimpleClaimSystem instance, ClaimEventsEnterLeave listener) {
+        this.instance = instance;
+        this.listener = listener;
+    }
+    
+    
+    // ********************
+    // *  Others Methods  *
+    // ********************
+    
+    
+    /**
+     * Checks if the tracker is running, meaning claim transitions are sampled instead of
+     * being handled on the move event.
+     *
+     * @return True if the tracker is running
+     */
+    public boolean isRunning() {
+        return running;
+    }
+    
+    /**
+     * Starts the tracker if the "movement-tracker" setting is "sampled", stopping it first if it was running.
+     */
+    public void start() {
+        stop();
+        if (!"sampled".equalsIgnoreCase(instance.getSettings().getSetting("movement-tracker"))) return;
+        
+        interval = 5;
+        try {
+            interval = Long.parseLong(instance.getSettings().getSetting("movement-tracker-interval"));
+        } catch (NumberFormatException e) {
+            instance.info(ChatColor.RED + "'movement-tracker-interval' must be a correct number (integer and > 0). Using default value.");
+        }
+        if (interval < 1) interval = 5;
+        
+        running = true;
+        if (instance.isFolia()) {
+            Bukkit.getOnlinePlayers().forEach(this::track);
+        } else {
+            BukkitTaskTracker = Bukkit.getScheduler().runTaskTimer(instance, () -> {
+                for (Player player : Bukkit.getOnlinePlayers()) {
+                    sample(player, location);
+                }
+            }, interval, interval);
+        }
+    }
+    
+    /**
+     * Stops the tracker.
+     */
+    public void stop() {
+        running = false;
+        if (BukkitTaskTracker != null) {
+            BukkitTaskTracker.cancel();
+            BukkitTaskTracker = null;
+        }
+        ScheduledTasksTracker.values().forEach(ScheduledTask::cancel);
+        ScheduledTasksTracker.clear();
+    }
+    
+    /**
+     * Starts polling a player on its entity scheduler (Folia only, Bukkit polls all players in one pass).
+     *
+     * @param player The player.
+     */
+    public void track(Player player) {
+        if (!running || !instance.isFolia()) return;
+        UUID playerId = player.getUniqueId();
+        Location scratch = new Location(null, 0, 0, 0);
+        ScheduledTask task = player.getScheduler().runAtFixedRate(instance, t -> sample(player, scratch),
+                () -> ScheduledTasksTracker.remove(playerId), interval, interval);
+        if (task == null) return;
+        ScheduledTask old = ScheduledTasksTracker.put(playerId, task);
+        if (old != null) old.cancel();
+    }
+    
+    /**
+     * Stops polling a player.
+     *
+     * @param player The player.
+     */
+    public void untrack(Player player) {
+        ScheduledTask task = ScheduledTasksTracker.remove(player.getUniqueId());
+        if (task != null) task.cancel();
+    }
+    
+    /**
+     * Samples the chunk of a player and dispatches the claim handling if it changed since the last sample.
+     *
+     * @param player  The player.
+     * @param scratch A location to copy the player's location into, owned by the calling thread.
+     */
+    private void sample(Player player, Location scratch) {
+        CPlayer cPlayer = instance.getPlayerMain().getCPlayer(player.getUniqueId());
+        if (cPlayer == null) return;
+        player.getLocation(scratch);
+        int chunkX = scratch.getBlockX() >> 4;
+        int chunkZ = scratch.getBlockZ() >> 4;
+        Chunk from = cPlayer.getSampledChunk();
+        if (from != null && from.getX() == chunkX && from.getZ() == chunkZ && from.getWorld().equals(scratch.getWorld())) return;
+        Chunk to = scratch.getChunk();
+        listener.handleSampledMove(player, cPlayer, from == null ? to : from, to);
+    }
+}
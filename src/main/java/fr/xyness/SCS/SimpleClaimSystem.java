@@ -22,11 +22,11 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.bukkit.Bukkit;
+import org.bukkit.Material;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.boss.BarColor;
 import org.bukkit.boss.BarStyle;
@@ -108,6 +108,33 @@ public class SimpleClaimSystem extends JavaPlugin {
     /** Instance of ClaimBossBar for players bossbar */
     private ClaimBossBar claimBossBarInstance;
     
+    /** Instance of ClaimMovementTracker for sampled claim transitions */
+    private ClaimMovementTracker claimMovementTrackerInstance;
+    
+    /** Instance of ClaimWriteQueue for claim updates */
+    private ClaimWriteQueue claimWriteQueueInstance;
+    
+    /** Instance of ClaimSnapshot for the binary snapshot of the claims */
+    private ClaimSnapshot claimSnapshotInstance;
+    
+    /** Instance of DatabaseWriter for the database writes */
+    private DatabaseWriter databaseWriterInstance;
+    
+    /** Instance of IOExecutor for the blocking tasks */
+    private IOExecutor ioExecutorInstance;
+    
+    /** Instance of ClaimChangeBus for the claim changes */
+    private ClaimChangeBus claimChangeBusInstance;
+    
+    /** Instance of ClaimMapReconciler for the web maps markers */
+    private ClaimMapReconciler claimMapReconcilerInstance;
+    
+    /** Instance of ClaimParticleRenderer for the claim borders particles */
+    private ClaimParticleRenderer claimParticleRendererInstance;
+    
+    /** Instance of ClaimBorderBlocks for the claim borders shown with blocks */
+    private ClaimBorderBlocks claimBorderBlocksInstance;
+    
     /** Instance of SimpleClaimSystem for useful methods */
     private SimpleClaimSystem instance;
     
@@ -169,9 +196,27 @@ public class SimpleClaimSystem extends JavaPlugin {
      */
     @Override
     public void onDisable() {
+        // Drop the claim changes not delivered
+        if (claimChangeBusInstance != null) claimChangeBusInstance.clearAll();
+        if (claimMapReconcilerInstance != null) claimMapReconcilerInstance.stop();
+        if (claimParticleRendererInstance != null) claimParticleRendererInstance.clearAll();
+        if (claimBorderBlocksInstance != null) claimBorderBlocksInstance.clearAll();
+        // Finish the blocking tasks
+        if (ioExecutorInstance != null) ioExecutorInstance.stop();
+        // Write the pending claim updates
+        if (claimWriteQueueInstance != null) claimWriteQueueInstance.stop();
+        // Write the claims snapshot
+        if (claimSnapshotInstance != null) {
+        	claimSnapshotInstance.stop();
+        	if (dataSource != null) claimSnapshotInstance.save();
+        }
+        // Commit the queued writes
+        if (databaseWriterInstance != null) databaseWriterInstance.stop();
         if (dataSource != null) {
             dataSource.close();
         }
+        // Stop the movement tracker
+        if (claimMovementTrackerInstance != null) claimMovementTrackerInstance.stop();
         // Disable players bossbar (prevent for /reload)
         Bukkit.getOnlinePlayers().forEach(p -> claimBossBarInstance.disableBossBar(p));
         info("==========================================================================");
@@ -223,6 +268,13 @@ public class SimpleClaimSystem extends JavaPlugin {
             // Unregister all handlers
             if(reload) {
                 HandlerList.unregisterAll(this);
+                claimWriteQueueInstance.stop();
+                claimSnapshotInstance.stop();
+                claimSnapshotInstance.reset();
+                claimChangeBusInstance.stop();
+                claimMapReconcilerInstance.stop();
+                claimParticleRendererInstance.stop();
+                claimBorderBlocksInstance.stop();
                 claimInstance.clearAll();
                 claimSettingsInstance.clearAll();
                 cPlayerMainInstance.clearAll();
@@ -234,6 +286,18 @@ public class SimpleClaimSystem extends JavaPlugin {
             	cPlayerMainInstance = new CPlayerMain(this);
             	claimLanguageInstance = new ClaimLanguage(this);
             	claimBossBarInstance = new ClaimBossBar(this);
+            	claimWriteQueueInstance = new ClaimWriteQueue(this);
+            	claimSnapshotInstance = new ClaimSnapshot(this);
+            	databaseWriterInstance = new DatabaseWriter(this);
+            	ioExecutorInstance = new IOExecutor();
+            	claimChangeBusInstance = new ClaimChangeBus(this);
+            	claimMapReconcilerInstance = new ClaimMapReconciler(this);
+            	claimParticleRendererInstance = new ClaimParticleRenderer(this);
+            	claimBorderBlocksInstance = new ClaimBorderBlocks(this);
+            	claimChangeBusInstance.subscribe(claimMapReconcilerInstance::onChanges);
+            	claimChangeBusInstance.subscribe(claimParticleRendererInstance::onChanges);
+            	claimChangeBusInstance.subscribe(claimInstance::updateAutomaps);
+            	claimChangeBusInstance.subscribe(claimBossBarInstance::updateBossBars);
             	bStatsInstance = new ClaimbStats();
             	bStatsInstance.enableMetrics(this);
             }
@@ -404,6 +468,8 @@ public class SimpleClaimSystem extends JavaPlugin {
                     		
                     		sql = "UPDATE scs_claims_1 SET owner_uuid = '" + ClaimMain.SERVER_UUID.toString() + "' WHERE owner_uuid = 'none';";
                     		stmt.executeUpdate(sql);
+                    		
+                    		createClaimTables(stmt, false);
                     } catch (SQLException e) {
                         info(ChatColor.RED + "Error creating tables, using local db.");
                         configC = "false";
@@ -421,16 +487,9 @@ public class SimpleClaimSystem extends JavaPlugin {
                 }
             }
             if (configC.equals("false")) {
-                HikariConfig configH = new HikariConfig();
-                configH.setJdbcUrl("jdbc:sqlite:plugins/SimpleClaimSystem/storage.db");
-                configH.addDataSourceProperty("cachePrepStmts", "true");
-                configH.addDataSourceProperty("prepStmtCacheSize", "250");
-                configH.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
-                configH.setPoolName("SQLitePool");
-                configH.setMaximumPoolSize(10);
+                // Readers only, the writes go through the single writer
+                HikariConfig configH = getSQLiteConfig("SQLitePool", 4);
                 configH.setMinimumIdle(2);
-                configH.setIdleTimeout(60000);
-                configH.setMaxLifetime(600000);
                 dataSource = new HikariDataSource(configH);
                 try (Connection connection = dataSource.getConnection()) {
                     try (Statement stmt = connection.createStatement()) {
@@ -460,6 +519,7 @@ public class SimpleClaimSystem extends JavaPlugin {
                         stmt.executeUpdate(sql);
                 		sql = "UPDATE scs_claims_1 SET owner_uuid = '" + ClaimMain.SERVER_UUID.toString() + "' WHERE owner_uuid = 'none';";
                 		stmt.executeUpdate(sql);
+                		createClaimTables(stmt, true);
                     } catch (SQLException e) {
                         info(ChatColor.RED + "Error creating tables, disabling plugin");
                         status[0] = false;
@@ -480,6 +540,11 @@ public class SimpleClaimSystem extends JavaPlugin {
                 	claimInstance.convertLocalToNewLocal();
                 }
             }
+            
+            // Single writer for SQLite, direct writes for MySQL
+            databaseWriterInstance.start(configC.equals("false") ? new HikariDataSource(getSQLiteConfig("SQLiteWriter", 1)) : null);
+            ioExecutorInstance.setLimit(dataSource.getMaximumPoolSize());
+            claimInstance.convertToNormalizedSchema();
             claimSettingsInstance.addSetting("database", configC);
             
             // Auto-purge settings
@@ -614,6 +679,57 @@ public class SimpleClaimSystem extends JavaPlugin {
             // Check the keep chunks loaded
             claimSettingsInstance.addSetting("keep-chunks-loaded", getConfig().getString("keep-chunks-loaded"));
             
+            // Check the permissions refresh
+            claimSettingsInstance.addSetting("permissions-refresh", getConfig().getString("permissions-refresh"));
+            try {
+            	cPlayerMainInstance.startProfilesRefresh(Integer.parseInt(getConfig().getString("permissions-refresh")));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'permissions-refresh' must be a correct number (integer and >= 0). Using default value.");
+            	cPlayerMainInstance.startProfilesRefresh(60);
+            }
+            
+            // Check the write queue
+            claimSettingsInstance.addSetting("database-write-interval", getConfig().getString("database-write-interval"));
+            claimSettingsInstance.addSetting("database-write-max-pending", getConfig().getString("database-write-max-pending"));
+            try {
+            	claimWriteQueueInstance.start(Integer.parseInt(getConfig().getString("database-write-interval")), Integer.parseInt(getConfig().getString("database-write-max-pending")));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'database-write-interval' and 'database-write-max-pending' must be correct numbers (integer and >= 0). Using default value.");
+            	claimWriteQueueInstance.start(20, 100);
+            }
+            
+            // Check the claims snapshot
+            claimSettingsInstance.addSetting("claims-snapshot", getConfig().getString("claims-snapshot"));
+            claimSettingsInstance.addSetting("snapshot-interval", getConfig().getString("snapshot-interval"));
+            try {
+            	claimSnapshotInstance.start(claimSettingsInstance.getBooleanSetting("claims-snapshot"), Integer.parseInt(getConfig().getString("snapshot-interval")));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'snapshot-interval' must be a correct number (integer and >= 0). Using default value.");
+            	claimSnapshotInstance.start(claimSettingsInstance.getBooleanSetting("claims-snapshot"), 10);
+            }
+            
+            // Check the claim changes delivery
+            claimSettingsInstance.addSetting("change-flush-interval", getConfig().getString("change-flush-interval"));
+            try {
+            	claimChangeBusInstance.start(Integer.parseInt(getConfig().getString("change-flush-interval")));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'change-flush-interval' must be a correct number (integer and >= 0). Using default value.");
+            	claimChangeBusInstance.start(5);
+            }
+            
+            // Check the web maps updates
+            claimSettingsInstance.addSetting("map-updates-per-tick", getConfig().getString("map-updates-per-tick"));
+            try {
+            	claimMapReconcilerInstance.start(Integer.parseInt(getConfig().getString("map-updates-per-tick")));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'map-updates-per-tick' must be a correct number (integer and > 0). Using default value.");
+            	claimMapReconcilerInstance.start(200);
+            }
+            
+            // Check the movement tracker
+            claimSettingsInstance.addSetting("movement-tracker", getConfig().getString("movement-tracker"));
+            claimSettingsInstance.addSetting("movement-tracker-interval", getConfig().getString("movement-tracker-interval"));
+            
             // Check the max length of the claim name
             claimSettingsInstance.addSetting("max-length-claim-name", getConfig().getString("max-length-claim-name"));
             
@@ -626,6 +742,59 @@ public class SimpleClaimSystem extends JavaPlugin {
             // Add claim particles setting
             claimSettingsInstance.addSetting("claim-particles", getConfig().getString("claim-particles"));
             
+            // Check the claim particles rendering
+            claimSettingsInstance.addSetting("particles-per-tick", getConfig().getString("particles-per-tick"));
+            claimSettingsInstance.addSetting("particles-view-distance", getConfig().getString("particles-view-distance"));
+            claimSettingsInstance.addSetting("particles-band-height", getConfig().getString("particles-band-height"));
+            int particlesPerTick = 1000;
+            try {
+            	particlesPerTick = Integer.parseInt(getConfig().getString("particles-per-tick"));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'particles-per-tick' must be a correct number (integer and > 0). Using default value.");
+            }
+            int particlesViewDistance = 32;
+            try {
+            	particlesViewDistance = Integer.parseInt(getConfig().getString("particles-view-distance"));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'particles-view-distance' must be a correct number (integer and > 0). Using default value.");
+            }
+            int particlesBandHeight = 8;
+            try {
+            	particlesBandHeight = Integer.parseInt(getConfig().getString("particles-band-height"));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'particles-band-height' must be a correct number (integer and >= 0). Using default value.");
+            }
+            claimParticleRendererInstance.start(particlesPerTick, particlesViewDistance, particlesBandHeight);
+            
+            // Check the claim borders mode
+            configC = getConfig().getString("claim-border-mode").toLowerCase();
+            if(!configC.equals("particles") && !configC.equals("blocks")) {
+            	info(ChatColor.RED + "'claim-border-mode' must be 'PARTICLES' or 'BLOCKS'. Using default value.");
+            	configC = "particles";
+            }
+            claimSettingsInstance.addSetting("claim-border-mode", configC);
+            claimSettingsInstance.addSetting("border-blocks-type", getConfig().getString("border-blocks-type"));
+            claimSettingsInstance.addSetting("border-blocks-duration", getConfig().getString("border-blocks-duration"));
+            claimSettingsInstance.addSetting("border-blocks-distance", getConfig().getString("border-blocks-distance"));
+            Material borderBlock = Material.matchMaterial(getConfig().getString("border-blocks-type"));
+            if (borderBlock == null || !borderBlock.isBlock()) {
+            	info(ChatColor.RED + "'border-blocks-type' must be a correct block type. Using default value.");
+            	borderBlock = Material.GLOWSTONE;
+            }
+            int borderBlocksDuration = 15;
+            try {
+            	borderBlocksDuration = Integer.parseInt(getConfig().getString("border-blocks-duration"));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'border-blocks-duration' must be a correct number (integer and > 0). Using default value.");
+            }
+            int borderBlocksDistance = 64;
+            try {
+            	borderBlocksDistance = Integer.parseInt(getConfig().getString("border-blocks-distance"));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'border-blocks-distance' must be a correct number (integer and > 0). Using default value.");
+            }
+            claimBorderBlocksInstance.start(borderBlock, borderBlocksDuration, borderBlocksDistance);
+            
             // Add claim fly disabled on damage setting
             claimSettingsInstance.addSetting("claim-fly-disabled-on-damage", getConfig().getString("claim-fly-disabled-on-damage"));
             
@@ -722,6 +891,7 @@ public class SimpleClaimSystem extends JavaPlugin {
             }
             claimSettingsInstance.addSetting("bossbar-color", barColor);
             claimSettingsInstance.addSetting("bossbar-style", barStyle);
+            claimSettingsInstance.addSetting("bossbar-placeholders-refresh", getConfig().getString("bossbar-settings.placeholders-refresh"));
             
             // Add teleportation delay moving setting
             claimSettingsInstance.addSetting("teleportation-delay-moving", getConfig().getString("teleportation-delay-moving"));
@@ -769,7 +939,13 @@ public class SimpleClaimSystem extends JavaPlugin {
             cPlayerMainInstance.setPlayersConfigSettings(playersSettings);
             
             // Register listener for entering/leaving claims
-            getServer().getPluginManager().registerEvents(new ClaimEventsEnterLeave(this), this);
+            ClaimEventsEnterLeave claimEventsEnterLeave = new ClaimEventsEnterLeave(this);
+            getServer().getPluginManager().registerEvents(claimEventsEnterLeave, this);
+            
+            // Start the movement tracker (if sampled)
+            if (claimMovementTrackerInstance != null) claimMovementTrackerInstance.stop();
+            claimMovementTrackerInstance = claimEventsEnterLeave.getTracker();
+            claimMovementTrackerInstance.start();
             
             // Register listener for guis
             getServer().getPluginManager().registerEvents(new ClaimGuiEvents(this), this);
@@ -867,6 +1043,15 @@ public class SimpleClaimSystem extends JavaPlugin {
             // Clear bossbars
             claimBossBarInstance.clearAll();
             
+            // Write the pending claim updates before the data source is replaced
+            claimWriteQueueInstance.stop();
+            claimSnapshotInstance.stop();
+            claimSnapshotInstance.reset();
+            claimChangeBusInstance.stop();
+            claimMapReconcilerInstance.stop();
+            claimParticleRendererInstance.stop();
+            claimBorderBlocksInstance.stop();
+            
             // Update config if necessary
             updateConfigWithDefaults();
             // Check Folia
@@ -983,6 +1168,7 @@ public class SimpleClaimSystem extends JavaPlugin {
                     		    "player_head TEXT NOT NULL, " +
                     		    "player_textures TEXT NOT NULL)";
                         stmt.executeUpdate(sql);
+                        createClaimTables(stmt, false);
                     } catch (SQLException e) {
                         info(ChatColor.RED + "Error creating tables, using local db.");
                         configC = "false";
@@ -1000,16 +1186,9 @@ public class SimpleClaimSystem extends JavaPlugin {
                 }
             }
             if (configC.equals("false")) {
-                HikariConfig configH = new HikariConfig();
-                configH.setJdbcUrl("jdbc:sqlite:plugins/SimpleClaimSystem/storage.db");
-                configH.addDataSourceProperty("cachePrepStmts", "true");
-                configH.addDataSourceProperty("prepStmtCacheSize", "250");
-                configH.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
-                configH.setPoolName("SQLitePool");
-                configH.setMaximumPoolSize(10);
+                // Readers only, the writes go through the single writer
+                HikariConfig configH = getSQLiteConfig("SQLitePool", 4);
                 configH.setMinimumIdle(2);
-                configH.setIdleTimeout(60000);
-                configH.setMaxLifetime(600000);
                 dataSource = new HikariDataSource(configH);
                 try (Connection connection = dataSource.getConnection()) {
                     try (Statement stmt = connection.createStatement()) {
@@ -1037,6 +1216,7 @@ public class SimpleClaimSystem extends JavaPlugin {
                     		    "player_head TEXT NOT NULL, " +
                     		    "player_textures TEXT NOT NULL)";
                         stmt.executeUpdate(sql);
+                        createClaimTables(stmt, true);
                     } catch (SQLException e) {
                         info(ChatColor.RED + "Error creating tables.");
                         status[0] = false;
@@ -1057,6 +1237,11 @@ public class SimpleClaimSystem extends JavaPlugin {
                 	claimInstance.convertLocalToNewLocal();
                 }
             }
+            
+            // Single writer for SQLite, direct writes for MySQL
+            databaseWriterInstance.start(configC.equals("false") ? new HikariDataSource(getSQLiteConfig("SQLiteWriter", 1)) : null);
+            ioExecutorInstance.setLimit(dataSource.getMaximumPoolSize());
+            claimInstance.convertToNormalizedSchema();
             claimSettingsInstance.addSetting("database", configC);
             
             // Auto-purge settings
@@ -1152,6 +1337,57 @@ public class SimpleClaimSystem extends JavaPlugin {
             // Check the keep chunks loaded
             claimSettingsInstance.addSetting("keep-chunks-loaded", getConfig().getString("keep-chunks-loaded"));
             
+            // Check the permissions refresh
+            claimSettingsInstance.addSetting("permissions-refresh", getConfig().getString("permissions-refresh"));
+            try {
+            	cPlayerMainInstance.startProfilesRefresh(Integer.parseInt(getConfig().getString("permissions-refresh")));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'permissions-refresh' must be a correct number (integer and >= 0). Using default value.");
+            	cPlayerMainInstance.startProfilesRefresh(60);
+            }
+            
+            // Check the write queue
+            claimSettingsInstance.addSetting("database-write-interval", getConfig().getString("database-write-interval"));
+            claimSettingsInstance.addSetting("database-write-max-pending", getConfig().getString("database-write-max-pending"));
+            try {
+            	claimWriteQueueInstance.start(Integer.parseInt(getConfig().getString("database-write-interval")), Integer.parseInt(getConfig().getString("database-write-max-pending")));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'database-write-interval' and 'database-write-max-pending' must be correct numbers (integer and >= 0). Using default value.");
+            	claimWriteQueueInstance.start(20, 100);
+            }
+            
+            // Check the claims snapshot
+            claimSettingsInstance.addSetting("claims-snapshot", getConfig().getString("claims-snapshot"));
+            claimSettingsInstance.addSetting("snapshot-interval", getConfig().getString("snapshot-interval"));
+            try {
+            	claimSnapshotInstance.start(claimSettingsInstance.getBooleanSetting("claims-snapshot"), Integer.parseInt(getConfig().getString("snapshot-interval")));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'snapshot-interval' must be a correct number (integer and >= 0). Using default value.");
+            	claimSnapshotInstance.start(claimSettingsInstance.getBooleanSetting("claims-snapshot"), 10);
+            }
+            
+            // Check the claim changes delivery
+            claimSettingsInstance.addSetting("change-flush-interval", getConfig().getString("change-flush-interval"));
+            try {
+            	claimChangeBusInstance.start(Integer.parseInt(getConfig().getString("change-flush-interval")));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'change-flush-interval' must be a correct number (integer and >= 0). Using default value.");
+            	claimChangeBusInstance.start(5);
+            }
+            
+            // Check the web maps updates
+            claimSettingsInstance.addSetting("map-updates-per-tick", getConfig().getString("map-updates-per-tick"));
+            try {
+            	claimMapReconcilerInstance.start(Integer.parseInt(getConfig().getString("map-updates-per-tick")));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'map-updates-per-tick' must be a correct number (integer and > 0). Using default value.");
+            	claimMapReconcilerInstance.start(200);
+            }
+            
+            // Check the movement tracker
+            claimSettingsInstance.addSetting("movement-tracker", getConfig().getString("movement-tracker"));
+            claimSettingsInstance.addSetting("movement-tracker-interval", getConfig().getString("movement-tracker-interval"));
+            
             // Check the max length of the claim name
             claimSettingsInstance.addSetting("max-length-claim-name", getConfig().getString("max-length-claim-name"));
             
@@ -1164,6 +1400,59 @@ public class SimpleClaimSystem extends JavaPlugin {
             // Add claim particles setting
             claimSettingsInstance.addSetting("claim-particles", getConfig().getString("claim-particles"));
             
+            // Check the claim particles rendering
+            claimSettingsInstance.addSetting("particles-per-tick", getConfig().getString("particles-per-tick"));
+            claimSettingsInstance.addSetting("particles-view-distance", getConfig().getString("particles-view-distance"));
+            claimSettingsInstance.addSetting("particles-band-height", getConfig().getString("particles-band-height"));
+            int particlesPerTick = 1000;
+            try {
+            	particlesPerTick = Integer.parseInt(getConfig().getString("particles-per-tick"));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'particles-per-tick' must be a correct number (integer and > 0). Using default value.");
+            }
+            int particlesViewDistance = 32;
+            try {
+            	particlesViewDistance = Integer.parseInt(getConfig().getString("particles-view-distance"));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'particles-view-distance' must be a correct number (integer and > 0). Using default value.");
+            }
+            int particlesBandHeight = 8;
+            try {
+            	particlesBandHeight = Integer.parseInt(getConfig().getString("particles-band-height"));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'particles-band-height' must be a correct number (integer and >= 0). Using default value.");
+            }
+            claimParticleRendererInstance.start(particlesPerTick, particlesViewDistance, particlesBandHeight);
+            
+            // Check the claim borders mode
+            configC = getConfig().getString("claim-border-mode").toLowerCase();
+            if(!configC.equals("particles") && !configC.equals("blocks")) {
+            	info(ChatColor.RED + "'claim-border-mode' must be 'PARTICLES' or 'BLOCKS'. Using default value.");
+            	configC = "particles";
+            }
+            claimSettingsInstance.addSetting("claim-border-mode", configC);
+            claimSettingsInstance.addSetting("border-blocks-type", getConfig().getString("border-blocks-type"));
+            claimSettingsInstance.addSetting("border-blocks-duration", getConfig().getString("border-blocks-duration"));
+            claimSettingsInstance.addSetting("border-blocks-distance", getConfig().getString("border-blocks-distance"));
+            Material borderBlock = Material.matchMaterial(getConfig().getString("border-blocks-type"));
+            if (borderBlock == null || !borderBlock.isBlock()) {
+            	info(ChatColor.RED + "'border-blocks-type' must be a correct block type. Using default value.");
+            	borderBlock = Material.GLOWSTONE;
+            }
+            int borderBlocksDuration = 15;
+            try {
+            	borderBlocksDuration = Integer.parseInt(getConfig().getString("border-blocks-duration"));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'border-blocks-duration' must be a correct number (integer and > 0). Using default value.");
+            }
+            int borderBlocksDistance = 64;
+            try {
+            	borderBlocksDistance = Integer.parseInt(getConfig().getString("border-blocks-distance"));
+            } catch (NumberFormatException e) {
+            	info(ChatColor.RED + "'border-blocks-distance' must be a correct number (integer and > 0). Using default value.");
+            }
+            claimBorderBlocksInstance.start(borderBlock, borderBlocksDuration, borderBlocksDistance);
+            
             // Add claim fly disabled on damage setting
             claimSettingsInstance.addSetting("claim-fly-disabled-on-damage", getConfig().getString("claim-fly-disabled-on-damage"));
             
@@ -1260,6 +1549,7 @@ public class SimpleClaimSystem extends JavaPlugin {
             }
             claimSettingsInstance.addSetting("bossbar-color", barColor);
             claimSettingsInstance.addSetting("bossbar-style", barStyle);
+            claimSettingsInstance.addSetting("bossbar-placeholders-refresh", getConfig().getString("bossbar-settings.placeholders-refresh"));
             
             // Add teleportation delay moving setting
             claimSettingsInstance.addSetting("teleportation-delay-moving", getConfig().getString("teleportation-delay-moving"));
@@ -1341,6 +1631,9 @@ public class SimpleClaimSystem extends JavaPlugin {
             // Load bossbar default settings
             claimBossBarInstance.loadBossbarSettings();
             
+            // Restart the movement tracker (if sampled)
+            if (claimMovementTrackerInstance != null) claimMovementTrackerInstance.start();
+            
             // Add players setting and active their bossbar (/reload prevention)
             Bukkit.getOnlinePlayers().forEach(p -> {
             	cPlayerMainInstance.addPlayerPermSetting(p);
@@ -1359,6 +1652,116 @@ public class SimpleClaimSystem extends JavaPlugin {
         return status[0];
     }
     
+    /**
+     * Creates the tables of the normalized claims schema and their indexes.
+     * <p>
+     * Claims are stored in scs_claims_2 with a surrogate id, and their chunks, members and bans
+     * in their own tables referencing that id, so a chunk owner lookup or a membership change
+     * only touches indexed rows instead of rewriting encoded lists.
+     * The scs_meta table holds the generation of the claims snapshot.
+     * 
+     * @param stmt The statement of the bootstrap connection
+     * @param sqlite True if the database is SQLite, false for MySQL
+     * @throws SQLException If a table cannot be created
+     */
+    static void createClaimTables(Statement stmt, boolean sqlite) throws SQLException {
+    	if (sqlite) {
+    		stmt.executeUpdate("CREATE TABLE IF NOT EXISTS scs_claims_2 " +
+    			    "(id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+    			    "id_claim INT NOT NULL, " +
+    			    "owner_uuid VARCHAR(36) NOT NULL, " +
+    			    "owner_name VARCHAR(36) NOT NULL, " +
+    			    "claim_name VARCHAR(255) NOT NULL, " +
+    			    "claim_description VARCHAR(255) NOT NULL, " +
+    			    "world_name VARCHAR(255) NOT NULL, " +
+    			    "location VARCHAR(255) NOT NULL, " +
+    			    "permissions VARCHAR(510) NOT NULL, " +
+    			    "for_sale TINYINT(1) NOT NULL DEFAULT 0, " +
+    			    "sale_price DOUBLE NOT NULL DEFAULT 0)");
+    		stmt.executeUpdate("CREATE INDEX IF NOT EXISTS scs_claims_2_owner ON scs_claims_2 (owner_uuid, claim_name)");
+    		stmt.executeUpdate("CREATE TABLE IF NOT EXISTS scs_claim_chunks " +
+    			    "(claim_id INT NOT NULL, " +
+    			    "world_name VARCHAR(255) NOT NULL, " +
+    			    "x INT NOT NULL, " +
+    			    "z INT NOT NULL, " +
+    			    "PRIMARY KEY (world_name, x, z))");
+    		stmt.executeUpdate("CREATE INDEX IF NOT EXISTS scs_claim_chunks_claim ON scs_claim_chunks (claim_id)");
+    		stmt.executeUpdate("CREATE TABLE IF NOT EXISTS scs_claim_members " +
+    			    "(claim_id INT NOT NULL, " +
+    			    "member_uuid VARCHAR(36) NOT NULL, " +
+    			    "PRIMARY KEY (claim_id, member_uuid))");
+    		stmt.executeUpdate("CREATE INDEX IF NOT EXISTS scs_claim_members_member ON scs_claim_members (member_uuid)");
+    		stmt.executeUpdate("CREATE TABLE IF NOT EXISTS scs_claim_bans " +
+    			    "(claim_id INT NOT NULL, " +
+    			    "banned_uuid VARCHAR(36) NOT NULL, " +
+    			    "PRIMARY KEY (claim_id, banned_uuid))");
+    		stmt.executeUpdate("CREATE INDEX IF NOT EXISTS scs_claim_bans_banned ON scs_claim_bans (banned_uuid)");
+    		stmt.executeUpdate("CREATE TABLE IF NOT EXISTS scs_meta " +
+    			    "(meta_key VARCHAR(64) PRIMARY KEY, " +
+    			    "meta_value BIGINT NOT NULL)");
+    	} else {
+    		stmt.executeUpdate("CREATE TABLE IF NOT EXISTS scs_claims_2 ("
+    			    + "id INT AUTO_INCREMENT PRIMARY KEY, "
+    			    + "id_claim INT NOT NULL, "
+    			    + "owner_uuid VARCHAR(36) NOT NULL, "
+    			    + "owner_name VARCHAR(36) NOT NULL, "
+    			    + "claim_name VARCHAR(255) NOT NULL, "
+    			    + "claim_description VARCHAR(255) NOT NULL, "
+    			    + "world_name VARCHAR(255) NOT NULL, "
+    			    + "location VARCHAR(255) NOT NULL, "
+    			    + "permissions VARCHAR(510) NOT NULL, "
+    			    + "for_sale TINYINT(1) NOT NULL DEFAULT 0, "
+    			    + "sale_price DOUBLE NOT NULL DEFAULT 0, "
+    			    + "INDEX scs_claims_2_owner (owner_uuid, claim_name))");
+    		stmt.executeUpdate("CREATE TABLE IF NOT EXISTS scs_claim_chunks ("
+    			    + "claim_id INT NOT NULL, "
+    			    + "world_name VARCHAR(255) NOT NULL, "
+    			    + "x INT NOT NULL, "
+    			    + "z INT NOT NULL, "
+    			    + "PRIMARY KEY (world_name, x, z), "
+    			    + "INDEX scs_claim_chunks_claim (claim_id))");
+    		stmt.executeUpdate("CREATE TABLE IF NOT EXISTS scs_claim_members ("
+    			    + "claim_id INT NOT NULL, "
+    			    + "member_uuid VARCHAR(36) NOT NULL, "
+    			    + "PRIMARY KEY (claim_id, member_uuid), "
+    			    + "INDEX scs_claim_members_member (member_uuid))");
+    		stmt.executeUpdate("CREATE TABLE IF NOT EXISTS scs_claim_bans ("
+    			    + "claim_id INT NOT NULL, "
+    			    + "banned_uuid VARCHAR(36) NOT NULL, "
+    			    + "PRIMARY KEY (claim_id, banned_uuid), "
+    			    + "INDEX scs_claim_bans_banned (banned_uuid))");
+    		stmt.executeUpdate("CREATE TABLE IF NOT EXISTS scs_meta ("
+    			    + "meta_key VARCHAR(64) PRIMARY KEY, "
+    			    + "meta_value BIGINT NOT NULL)");
+    	}
+    }
+    
+    /**
+     * Creates the configuration of a pool of the SQLite database.
+     * <p>
+     * Connections use WAL mode, so the readers are not blocked by the writer, with synchronous=NORMAL,
+     * and wait for the database lock instead of failing with SQLITE_BUSY.
+     * 
+     * @param poolName The name of the pool
+     * @param size The maximum size of the pool
+     * @return The configuration
+     */
+    private HikariConfig getSQLiteConfig(String poolName, int size) {
+        HikariConfig configH = new HikariConfig();
+        configH.setJdbcUrl("jdbc:sqlite:plugins/SimpleClaimSystem/storage.db");
+        configH.addDataSourceProperty("cachePrepStmts", "true");
+        configH.addDataSourceProperty("prepStmtCacheSize", "250");
+        configH.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        configH.addDataSourceProperty("journal_mode", "WAL");
+        configH.addDataSourceProperty("synchronous", "NORMAL");
+        configH.addDataSourceProperty("busy_timeout", "10000");
+        configH.setPoolName(poolName);
+        configH.setMaximumPoolSize(size);
+        configH.setIdleTimeout(60000);
+        configH.setMaxLifetime(600000);
+        return configH;
+    }
+    
     /**
      * Returns the data source for database connections.
      * 
@@ -1418,7 +1821,7 @@ public class SimpleClaimSystem extends JavaPlugin {
         if (isFolia) {
             Bukkit.getAsyncScheduler().runDelayed(instance, task -> gTask.run(), delay, TimeUnit.MILLISECONDS);
         } else {
-            Bukkit.getScheduler().runTaskLaterAsynchronously(instance, gTask, (delay/1000)*20);
+            Bukkit.getScheduler().runTaskLaterAsynchronously(instance, gTask, (delay/1000)*20);
         }
     }
     
@@ -1802,6 +2205,87 @@ public class SimpleClaimSystem extends JavaPlugin {
         return claimPurgeInstance;
     }
     
+    /**
+     * Returns the ClaimMovementTracker instance.
+     * 
+     * @return The ClaimMovementTracker instance
+     */
+    public ClaimMovementTracker getMovementTracker() {
+        return claimMovementTrackerInstance;
+    }
+    
+    /**
+     * Returns the ClaimWriteQueue instance.
+     * 
+     * @return The ClaimWriteQueue instance
+     */
+    public ClaimWriteQueue getWriteQueue() {
+        return claimWriteQueueInstance;
+    }
+    
+    /**
+     * Returns the ClaimSnapshot instance.
+     * 
+     * @return The ClaimSnapshot instance
+     */
+    public ClaimSnapshot getSnapshot() {
+        return claimSnapshotInstance;
+    }
+    
+    /**
+     * Returns the DatabaseWriter instance.
+     * 
+     * @return The DatabaseWriter instance
+     */
+    public DatabaseWriter getWriter() {
+        return databaseWriterInstance;
+    }
+    
+    /**
+     * Returns the IOExecutor instance.
+     * 
+     * @return The IOExecutor instance
+     */
+    public IOExecutor getIOExecutor() {
+        return ioExecutorInstance;
+    }
+    
+    /**
+     * Returns the ClaimChangeBus instance.
+     * 
+     * @return The ClaimChangeBus instance
+     */
+    public ClaimChangeBus getChangeBus() {
+        return claimChangeBusInstance;
+    }
+    
+    /**
+     * Returns the ClaimMapReconciler instance.
+     * 
+     * @return The ClaimMapReconciler instance
+     */
+    public ClaimMapReconciler getMapReconciler() {
+        return claimMapReconcilerInstance;
+    }
+    
+    /**
+     * Returns the ClaimParticleRenderer instance.
+     * 
+     * @return The ClaimParticleRenderer instance
+     */
+    public ClaimParticleRenderer getParticleRenderer() {
+        return claimParticleRendererInstance;
+    }
+    
+    /**
+     * Returns the ClaimBorderBlocks instance.
+     * 
+     * @return The ClaimBorderBlocks instance
+     */
+    public ClaimBorderBlocks getBorderBlocks() {
+        return claimBorderBlocksInstance;
+    }
+    
     /**
      * Gets the offline player asynchronously.
      * 
@@ -1809,7 +2293,7 @@ public class SimpleClaimSystem extends JavaPlugin {
      * @param callback The callback.
      */
     public void getOfflinePlayer(String playerName, Consumer<OfflinePlayer> callback) {
-    	CompletableFuture.runAsync(() -> {
+    	ioExecutorInstance.execute(() -> {
     		
     		OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerName);
     		executeSync(() -> {
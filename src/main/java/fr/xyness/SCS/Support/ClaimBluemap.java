@@ -1,12 +1,9 @@
 package fr.xyness.SCS.Support;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.Bukkit;
-import org.bukkit.Chunk;
-import org.bukkit.Location;
 import org.bukkit.World;
 
 import com.flowpowered.math.vector.Vector2d;
@@ -17,13 +14,18 @@ import de.bluecolored.bluemap.api.markers.ExtrudeMarker;
 import de.bluecolored.bluemap.api.markers.MarkerSet;
 import de.bluecolored.bluemap.api.math.Color;
 import de.bluecolored.bluemap.api.math.Shape;
+import fr.xyness.SCS.ClaimMapReconciler;
 import fr.xyness.SCS.SimpleClaimSystem;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimPolygon;
 
 /**
  * This class integrates claims with the BlueMap plugin, allowing claims to be displayed as markers on the BlueMap.
+ * <p>
+ * Each group of connected chunks of a claim is one extruded marker, outlined by {@link ClaimPolygon} with its holes.
+ * The markers are published by the {@link ClaimMapReconciler}.
  */
-public class ClaimBluemap {
+public class ClaimBluemap implements ClaimMapReconciler.Target {
 	
 	
 	// ***************
@@ -35,7 +37,7 @@ public class ClaimBluemap {
 	private BlueMapAPI api;
 	
 	/** A map storing the MarkerSets for each world. */
-	private Map<World, MarkerSet> markerSets = new HashMap<>();
+	private Map<World, MarkerSet> markerSets = new ConcurrentHashMap<>();
 	
     /** Instance of SimpleClaimSystem */
     private SimpleClaimSystem instance;
@@ -66,114 +68,139 @@ public class ClaimBluemap {
 	
 	
 	/**
-	 * Loads the claims into Bluemap
+	 * Creates the marker sets of the worlds, the claims are then published by the reconciler
 	 */
 	public void load() {
-		Set<Claim> claims = instance.getMain().getAllClaims();
 		instance.executeAsync(() -> {
 			for (World w : Bukkit.getWorlds()) {
 				MarkerSet markerSet = MarkerSet.builder()
 		                .label("Claims")
 		                .build();
 				markerSets.put(w, markerSet);
-				for(Claim claim : claims) {
-					if (claim.getLocation().getWorld().equals(w)) {
-						createClaimZone(claim);
-					}
-				}
 				api.getWorld(w).ifPresent(world -> {
 				    for (BlueMapMap map : world.getMaps()) {
 				        map.getMarkerSets().put("Claims", markerSet);
 				    }
 				});
 			}
+			instance.getMapReconciler().addTarget(this);
 		});
 		instance.getLogger().info("Claims added to BlueMap.");
 	}
 	
 	/**
-	 * Creates a marker on the BlueMap for the specified chunks.
+	 * Creates or redraws a marker on the BlueMap.
 	 *
-	 * @param claim The claim to create the marker for.
+	 * @param world The name of the world
+	 * @param markerId The id of the marker
+	 * @param polygon The outline of the marker
+	 * @param label The label of the marker
+	 * @return True if the marker is drawn, false if the world has no marker set
 	 */
-	public void createClaimZone(Claim claim) {
-	    // Get data
-	    String name = claim.getName();
-	    String owner = claim.getOwner();
-	    Set<Chunk> chunks = claim.getChunks();
-	    String hoverText = instance.getSettings().getSetting("bluemap-claim-hover-text")
-	            .replace("%claim-name%", name)
-	            .replace("%owner%", owner);
+	@Override
+	public boolean drawMarker(String world, String markerId, ClaimPolygon polygon, String label) {
+	    MarkerSet markerSet = getMarkerSet(world);
+	    if (markerSet == null) return false;
 	    String fcolor = "80" + instance.getSettings().getSetting("bluemap-claim-fill-color");
 	    String lcolor = "80" + instance.getSettings().getSetting("bluemap-claim-border-color");
 	    Color fillColor = new Color((int) Long.parseLong(fcolor, 16));
 	    Color strokeColor = new Color((int) Long.parseLong(lcolor, 16));
-
-	    chunks.forEach(chunk -> {
-	    	String markerId = "chunk_" + chunk.getX() + "_" + chunk.getZ();
-		    MarkerSet markerSet = markerSets.get(chunk.getWorld());
-		    if (markerSet == null) return;
-		    
-		    Location loc1 = new Location(chunk.getWorld(), chunk.getX() * 16, 0, chunk.getZ() * 16);
-		    Location loc2 = new Location(chunk.getWorld(), (chunk.getX() * 16) + 16, 0, chunk.getZ() * 16);
-		    Location loc3 = new Location(chunk.getWorld(), (chunk.getX() * 16) + 16, 0, (chunk.getZ() * 16) + 16);
-		    Location loc4 = new Location(chunk.getWorld(), chunk.getX() * 16, 0, (chunk.getZ() * 16) + 16);
-		    
-		    Shape shape = new Shape(new Vector2d[] {
-		    	    new Vector2d(loc1.getX(), loc1.getZ()),
-		    	    new Vector2d(loc2.getX(), loc2.getZ()),
-		    	    new Vector2d(loc3.getX(), loc3.getZ()),
-		    	    new Vector2d(loc4.getX(), loc4.getZ())
-		    	});
-		    
-		    ExtrudeMarker marker = ExtrudeMarker.builder()
-		            .label(hoverText)
-		            .detail(hoverText)
-		            .depthTestEnabled(false)
-		            .shape(shape, -64, 320)
-		            .position(loc1.getX(), -64, loc1.getZ())
-		            .fillColor(fillColor)
-		            .lineColor(strokeColor)
-		            .lineWidth(5)
-		            .build();
-
-		    markerSet.getMarkers().put(markerId, marker);
-	    });
+	    ClaimPolygon.Ring outer = polygon.getOuter();
+	    Shape[] holes = new Shape[polygon.getHoles().size()];
+	    for (int i = 0; i < holes.length; i++) {
+	    	holes[i] = toShape(polygon.getHoles().get(i));
+	    }
+	    
+	    ExtrudeMarker marker = ExtrudeMarker.builder()
+	            .label(label)
+	            .detail(label)
+	            .depthTestEnabled(false)
+	            .shape(toShape(outer), -64, 320)
+	            .holes(holes)
+	            .position((double) outer.getX(0), -64, (double) outer.getZ(0))
+	            .fillColor(fillColor)
+	            .lineColor(strokeColor)
+	            .lineWidth(5)
+	            .build();
+	    markerSet.getMarkers().put(markerId, marker);
+	    return true;
 	}
 	
 	/**
-	 * Updates the tooltip name of the specified chunks on the BlueMap.
+	 * Updates the label of a marker on the BlueMap.
 	 *
-	 * @param claim The claim to update the name for
+	 * @param world The name of the world
+	 * @param markerId The id of the marker
+	 * @param label The new label
 	 */
-	public void updateName(Claim claim) {
-    	String t = instance.getSettings().getSetting("bluemap-claim-hover-text")
-    			.replace("%claim-name%", claim.getName())
-    			.replace("%owner%", claim.getOwner());
-		claim.getChunks().forEach(chunk -> {
-			String markerId = "chunk_" + chunk.getX() + "_" + chunk.getZ();
-			MarkerSet markerSet = markerSets.get(chunk.getWorld());
-			if (markerSet == null) return;
-	    	ExtrudeMarker marker = (ExtrudeMarker) markerSet.get(markerId);
-	    	if (marker != null) {
-	    		marker.setLabel(t);
-	    		marker.setDetail(t);
-	    	}
-		});
+	@Override
+	public void updateLabel(String world, String markerId, String label) {
+		MarkerSet markerSet = getMarkerSet(world);
+		if (markerSet == null) return;
+    	ExtrudeMarker marker = (ExtrudeMarker) markerSet.get(markerId);
+    	if (marker != null) {
+    		marker.setLabel(label);
+    		marker.setDetail(label);
+    	}
 	}
 	
 	/**
-	 * Deletes the marker for the specified chunks from the BlueMap.
+	 * Deletes a marker from the BlueMap.
 	 *
-	 * @param chunks The chunks to delete the marker for.
+	 * @param world The name of the world
+	 * @param markerId The id of the marker
 	 */
-	public void deleteMarker(Set<Chunk> chunks) {
-		chunks.parallelStream().forEach(chunk -> {
-			String markerId = "chunk_" + chunk.getX() + "_" + chunk.getZ();
-			MarkerSet markerSet = markerSets.get(chunk.getWorld());
-			if (markerSet == null) return;
-			markerSet.remove(markerId);
-		});
+	@Override
+	public void deleteMarker(String world, String markerId) {
+		MarkerSet markerSet = getMarkerSet(world);
+		if (markerSet == null) return;
+		markerSet.remove(markerId);
+	}
+	
+	/**
+	 * Deletes all the markers of the claims from the BlueMap.
+	 */
+	@Override
+	public void clearMarkers() {
+		markerSets.values().forEach(markerSet -> markerSet.getMarkers().clear());
+	}
+	
+	/**
+	 * Gets the label of a claim on the BlueMap.
+	 *
+	 * @param claim The claim
+	 * @return The hover text
+	 */
+	@Override
+	public String getLabel(Claim claim) {
+		return instance.getSettings().getSetting("bluemap-claim-hover-text")
+	            .replace("%claim-name%", claim.getName())
+	            .replace("%owner%", claim.getOwner());
+	}
+	
+	/**
+	 * Gets the marker set of a world.
+	 *
+	 * @param world The name of the world
+	 * @return The marker set, or null if there is none
+	 */
+	private MarkerSet getMarkerSet(String world) {
+		World w = Bukkit.getWorld(world);
+		return w == null ? null : markerSets.get(w);
+	}
+	
+	/**
+	 * Converts a ring of an outline to a BlueMap shape.
+	 *
+	 * @param ring The ring
+	 * @return The shape
+	 */
+	private Shape toShape(ClaimPolygon.Ring ring) {
+		Vector2d[] points = new Vector2d[ring.size()];
+		for (int i = 0; i < points.length; i++) {
+			points[i] = new Vector2d(ring.getX(i), ring.getZ(i));
+		}
+		return new Shape(points);
 	}
 	
 }
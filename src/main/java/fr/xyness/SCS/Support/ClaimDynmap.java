@@ -1,19 +1,22 @@
 package fr.xyness.SCS.Support;
 
-import java.util.Set;
+import java.util.ArrayList;
 
-import org.bukkit.Chunk;
-import org.bukkit.World;
 import org.dynmap.markers.AreaMarker;
 import org.dynmap.markers.MarkerSet;
 
+import fr.xyness.SCS.ClaimMapReconciler;
 import fr.xyness.SCS.SimpleClaimSystem;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimPolygon;
 
 /**
  * This class handles the integration with Dynmap for visualizing claims on the map.
+ * <p>
+ * Each group of connected chunks of a claim is one area marker, outlined by {@link ClaimPolygon}.
+ * The markers are published by the {@link ClaimMapReconciler} on the main thread, the Dynmap marker API is not thread-safe.
  */
-public class ClaimDynmap {
+public class ClaimDynmap implements ClaimMapReconciler.Target {
 	
 	
 	// ***************
@@ -43,6 +46,7 @@ public class ClaimDynmap {
     public ClaimDynmap(MarkerSet m2, SimpleClaimSystem instance) {
     	this.markerSet = m2;
     	this.instance = instance;
+    	instance.getMapReconciler().addTarget(this);
     }
     
     
@@ -52,73 +56,87 @@ public class ClaimDynmap {
     
     
     /**
-     * Creates an area marker on the Dynmap for given claim.
+     * Creates or redraws an area marker on the Dynmap.
+     * Dynmap areas have no holes, they are joined to the outline.
      *
-     * @param claim The claim to be marked
+     * @param world The name of the world
+     * @param markerId The id of the marker
+     * @param polygon The outline of the marker
+     * @param label The label of the marker
+     * @return True if the marker is drawn
      */
-	public void createClaimZone(Claim claim) {
-		if(markerSet == null) return;
-    	String t = instance.getSettings().getSetting("dynmap-claim-hover-text")
-    			.replace("%claim-name%", claim.getName())
-    			.replace("%owner%", claim.getOwner());
+	@Override
+	public boolean drawMarker(String world, String markerId, ClaimPolygon polygon, String label) {
+		if(markerSet == null) return false;
     	int linestyle = Integer.parseInt(instance.getSettings().getSetting("dynmap-claim-border-color"), 16);
     	int fillstyle = Integer.parseInt(instance.getSettings().getSetting("dynmap-claim-fill-color"), 16);
-    	claim.getChunks().parallelStream().forEach(chunk -> {
-    		String markerId = "chunk_" + chunk.getX() + "_" + chunk.getZ();
-    	    AreaMarker existingMarker = markerSet.findAreaMarker(markerId);
-    	    if (existingMarker != null) return;
-    	    World world = chunk.getWorld();
-    	    int x = chunk.getX() * 16;
-    	    int z = chunk.getZ() * 16;
-    	    double[] xCorners = {x, x + 16, x + 16, x};
-    	    double[] zCorners = {z, z, z + 16, z + 16};
-    	    AreaMarker marker = markerSet.createAreaMarker(
-    	        markerId,
-    	        t,
-    	        false,
-    	        world.getName(),
-    	        xCorners,
-    	        zCorners,
-    	        false
-    	    );
-    	    marker.setLineStyle(3, 1.0, linestyle);
-    	    marker.setFillStyle(0.5, fillstyle);
-    	});
+		ClaimPolygon.Ring ring = polygon.toJoinedRing();
+		double[] xCorners = new double[ring.size()];
+		double[] zCorners = new double[ring.size()];
+		for (int i = 0; i < ring.size(); i++) {
+			xCorners[i] = ring.getX(i);
+			zCorners[i] = ring.getZ(i);
+		}
+		AreaMarker marker = markerSet.findAreaMarker(markerId);
+		if (marker == null) {
+			marker = markerSet.createAreaMarker(markerId, label, false, world, xCorners, zCorners, false);
+			if (marker == null) return false;
+		} else {
+			marker.setCornerLocations(xCorners, zCorners);
+			marker.setLabel(label);
+		}
+		marker.setLineStyle(3, 1.0, linestyle);
+		marker.setFillStyle(0.5, fillstyle);
+		return true;
 	}
 	
 	/**
-     * Updates the tooltip name of given claim on the Dynmap.
+     * Updates the label of an area marker on the Dynmap.
      *
-     * @param claim The claim to update the name for
+     * @param world The name of the world
+     * @param markerId The id of the marker
+     * @param label The new label
      */
-	public void updateName(Claim claim) {
+	@Override
+	public void updateLabel(String world, String markerId, String label) {
 		if(markerSet == null) return;
-    	String t = instance.getSettings().getSetting("dynmap-claim-hover-text")
-    			.replace("%claim-name%", claim.getName())
-    			.replace("%owner%", claim.getOwner());
-		claim.getChunks().parallelStream().forEach(chunk -> {
-			String markerId = "chunk_" + chunk.getX() + "_" + chunk.getZ();
-			AreaMarker marker = markerSet.findAreaMarker(markerId);
-		    if (marker != null) {
-		        marker.setLabel(t);
-		    }
-		});
+		AreaMarker marker = markerSet.findAreaMarker(markerId);
+		if (marker != null) marker.setLabel(label);
 	}
 	
 	/**
-     * Deletes an area marker for given chunks from the Dynmap.
+     * Deletes an area marker from the Dynmap.
      *
-     * @param chunks The chunks whose marker needs deletion.
+     * @param world The name of the world
+     * @param markerId The id of the marker
      */
-	public void deleteMarker(Set<Chunk> chunks) {
+	@Override
+	public void deleteMarker(String world, String markerId) {
+		if(markerSet == null) return;
+		AreaMarker marker = markerSet.findAreaMarker(markerId);
+		if (marker != null) marker.deleteMarker();
+	}
+	
+	/**
+	 * Deletes all the area markers of the claims from the Dynmap.
+	 */
+	@Override
+	public void clearMarkers() {
 		if(markerSet == null) return;
-		chunks.forEach(chunk -> {
-			String markerId = "chunk_" + chunk.getX() + "_" + chunk.getZ();
-		    AreaMarker marker = markerSet.findAreaMarker(markerId);
-		    if (marker != null) {
-		        marker.deleteMarker();
-		    }
-		});
+		new ArrayList<>(markerSet.getAreaMarkers()).forEach(AreaMarker::deleteMarker);
+	}
+	
+	/**
+	 * Gets the label of a claim on the Dynmap.
+	 *
+	 * @param claim The claim
+	 * @return The hover text
+	 */
+	@Override
+	public String getLabel(Claim claim) {
+		return instance.getSettings().getSetting("dynmap-claim-hover-text")
+    			.replace("%claim-name%", claim.getName())
+    			.replace("%owner%", claim.getOwner());
 	}
 	
 }
@@ -1,16 +1,17 @@
 package fr.xyness.SCS.Support;
 
-import java.util.Collection;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.Bukkit;
-import org.bukkit.Chunk;
 import org.bukkit.World;
 
+import fr.xyness.SCS.ClaimMapReconciler;
 import fr.xyness.SCS.SimpleClaimSystem;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimPolygon;
 import net.pl3x.map.core.Pl3xMap;
 import net.pl3x.map.core.event.EventHandler;
 import net.pl3x.map.core.event.EventListener;
@@ -19,15 +20,19 @@ import net.pl3x.map.core.markers.Point;
 import net.pl3x.map.core.markers.layer.Layer;
 import net.pl3x.map.core.markers.layer.SimpleLayer;
 import net.pl3x.map.core.markers.marker.Marker;
-import net.pl3x.map.core.markers.marker.Rectangle;
+import net.pl3x.map.core.markers.marker.Polygon;
+import net.pl3x.map.core.markers.marker.Polyline;
 import net.pl3x.map.core.markers.option.Options;
 import net.pl3x.map.core.registry.Registry;
 import net.pl3x.map.core.util.Colors;
 
 /**
  * This class integrates claims with the Pl3xMap plugin, allowing claims to be displayed as markers on the Pl3xMap.
+ * <p>
+ * Each group of connected chunks of a claim is one polygon marker, outlined by {@link ClaimPolygon} with its holes.
+ * The markers are published by the {@link ClaimMapReconciler}.
  */
-public class ClaimPl3xMap implements EventListener {
+public class ClaimPl3xMap implements EventListener, ClaimMapReconciler.Target {
 
 	
     // ***************
@@ -36,7 +41,7 @@ public class ClaimPl3xMap implements EventListener {
 
 	
     // Store layers for each world
-    private final Map<World, SimpleLayer> layers = new HashMap<>();
+    private final Map<World, SimpleLayer> layers = new ConcurrentHashMap<>();
     
     /** Instance of SimpleClaimSystem */
     private SimpleClaimSystem instance;
@@ -54,6 +59,7 @@ public class ClaimPl3xMap implements EventListener {
     public ClaimPl3xMap(SimpleClaimSystem instance) {
     	this.instance = instance;
         Pl3xMap.api().getEventRegistry().register(this);
+        instance.getMapReconciler().addTarget(this);
     }
 
     
@@ -66,33 +72,17 @@ public class ClaimPl3xMap implements EventListener {
      * Event handler for the Pl3xMapEnabledEvent.
      * 
      * This method is triggered when Pl3xMap is enabled. It initializes the layers for each world
-     * and creates markers for all existing claims.
+     * and asks the reconciler to publish all the claims.
      * 
      * @param event The Pl3xMapEnabledEvent that triggers this handler.
      */
     @EventHandler
     public void onPl3xMapEnabled(Pl3xMapEnabledEvent event) {
         instance.executeAsync(() -> {
-            Registry<net.pl3x.map.core.world.World> worldRegistry = Pl3xMap.api().getWorldRegistry();
-            Set<Claim> claims = instance.getMain().getAllClaims();
             for (World world : Bukkit.getWorlds()) {
-                String worldName = world.getName();
-                String layerId = "claims_" + world.getName();
-                net.pl3x.map.core.world.World mapWorld = worldRegistry.get(worldName);
-                if (mapWorld != null) {
-                    Layer layer = new SimpleLayer(layerId, () -> "Claims");
-                    layer.setPriority(1);
-                    layer.setZIndex(1);
-                    layer.setLiveUpdate(true);
-                    mapWorld.getLayerRegistry().register(layer);
-                    layers.put(world, (SimpleLayer) layer);
-                    for (Claim claim : claims) {
-                        if (claim.getLocation().getWorld().equals(world)) {
-                        	createClaimZone(claim);
-                        }
-                    }
-                }
+                getLayer(world);
             }
+            instance.getMapReconciler().refresh();
             instance.getLogger().info("Claims added to Pl3xMap.");
         });
     }
@@ -104,101 +94,144 @@ public class ClaimPl3xMap implements EventListener {
 
     
     /**
-     * Creates a marker on the Pl3xMap for the specified claim.
+     * Creates or redraws a polygon marker on the Pl3xMap.
      *
-     * @param claim The claim to create the marker for.
+     * @param world The name of the world
+     * @param markerId The id of the marker
+     * @param polygon The outline of the marker
+     * @param label The label of the marker
+     * @return True if the marker is drawn, false if Pl3xMap does not render the world yet
      */
-    public void createClaimZone(Claim claim) {
-        String hoverText = instance.getSettings().getSetting("pl3xmap-claim-hover-text")
-                .replace("%claim-name%", claim.getName())
-                .replace("%owner%", claim.getOwner());
-
-        String fillColor = instance.getSettings().getSetting("pl3xmap-claim-fill-color");
-        String strokeColor = instance.getSettings().getSetting("pl3xmap-claim-border-color");
-        claim.getChunks().parallelStream().forEach(chunk -> {
-            String markerId = "chunk_" + chunk.getX() + "_" + chunk.getZ();
-
-            Point point1 = Point.of(chunk.getX() * 16, chunk.getZ() * 16);
-            Point point2 = Point.of((chunk.getX() * 16) + 16, (chunk.getZ() * 16) + 16);
-
-            Rectangle rectangle = new Rectangle(markerId, point1, point2);
-
-            Options options = Options.builder()
-                    .tooltipContent(hoverText)
-                    .fillColor(Colors.setAlpha(0xFF, Integer.parseInt(fillColor, 16)))
-                    .strokeColor(Colors.setAlpha(0xFF, Integer.parseInt(strokeColor, 16)))
-                    .strokeWeight(2)
-                    .fill(true)
-                    .stroke(true)
-                    .build();
+    @Override
+    public boolean drawMarker(String world, String markerId, ClaimPolygon polygon, String label) {
+        World w = Bukkit.getWorld(world);
+        if (w == null) return false;
+        SimpleLayer layer = getLayer(w);
+        if (layer == null) return false;
+
+        // The first line is the outline, the others are the holes
+        List<Polyline> lines = new ArrayList<>();
+        lines.add(toPolyline(markerId + "_outer", polygon.getOuter()));
+        for (int i = 0; i < polygon.getHoles().size(); i++) {
+            lines.add(toPolyline(markerId + "_hole_" + i, polygon.getHoles().get(i)));
+        }
+        Polygon marker = new Polygon(markerId, lines);
+        marker.setOptions(getOptions(label));
+        layer.removeMarker(markerId);
+        layer.addMarker(marker);
+        return true;
+    }
 
-            rectangle.setOptions(options);
-            World world = chunk.getWorld();
-            SimpleLayer targetLayer = layers.get(world);
-            if(targetLayer == null) {
-                String worldName = world.getName();
-                String layerId = "claims_" + world.getName();
-                Registry<net.pl3x.map.core.world.World> worldRegistry = Pl3xMap.api().getWorldRegistry();
-                net.pl3x.map.core.world.World mapWorld = worldRegistry.get(worldName);
-                if (mapWorld != null) {
-                    Layer layer = new SimpleLayer(layerId, () -> "Claims");
-                    layer.setPriority(1);
-                    layer.setZIndex(1);
-                    layer.setLiveUpdate(true);
-                    mapWorld.getLayerRegistry().register(layer);
-                    layers.put(world, (SimpleLayer) layer);
-                    layers.get(world).addMarker(rectangle);
-                }
-            } else {
-            	layers.get(chunk.getWorld()).addMarker(rectangle);
+    /**
+     * Updates the label of a marker on the Pl3xMap.
+     *
+     * @param world The name of the world
+     * @param markerId The id of the marker
+     * @param label The new label
+     */
+    @Override
+    public void updateLabel(String world, String markerId, String label) {
+        World w = Bukkit.getWorld(world);
+        if (w == null) return;
+        SimpleLayer layer = layers.get(w);
+        if (layer == null) return;
+        for (Marker<?> marker : layer.getMarkers()) {
+            if (marker.getKey().equals(markerId)) {
+                marker.setOptions(getOptions(label));
+                break;
             }
-            
-        });
+        }
     }
-
+    
+    /**
+     * Deletes a marker from the Pl3xMap.
+     *
+     * @param world The name of the world
+     * @param markerId The id of the marker
+     */
+    @Override
+    public void deleteMarker(String world, String markerId) {
+        World w = Bukkit.getWorld(world);
+        if (w == null) return;
+        SimpleLayer layer = layers.get(w);
+        if (layer != null) layer.removeMarker(markerId);
+    }
+    
+    /**
+     * Deletes all the markers of the claims from the Pl3xMap.
+     */
+    @Override
+    public void clearMarkers() {
+        layers.values().forEach(SimpleLayer::clearMarkers);
+    }
+    
     /**
-     * Updates the tooltip name of the specified chunk on the Pl3xMap.
+     * Gets the label of a claim on the Pl3xMap.
      *
-     * @param claim the claim to update the name for
+     * @param claim The claim
+     * @return The hover text
      */
-    public void updateName(Claim claim) {
-        String hoverText = instance.getSettings().getSetting("pl3xmap-claim-hover-text")
+    @Override
+    public String getLabel(Claim claim) {
+        return instance.getSettings().getSetting("pl3xmap-claim-hover-text")
                 .replace("%claim-name%", claim.getName())
                 .replace("%owner%", claim.getOwner());
-        String fillColor = instance.getSettings().getSetting("pl3xmap-claim-fill-color");
-        String strokeColor = instance.getSettings().getSetting("pl3xmap-claim-border-color");
-        claim.getChunks().parallelStream().forEach(chunk -> {
-            String markerId = "chunk_" + chunk.getX() + "_" + chunk.getZ();
-            Collection<Marker<?>> markers = layers.get(chunk.getWorld()).getMarkers();
-            for (Marker<?> marker : markers) {
-                if (marker.getKey().equals(markerId)) {
-                    Options newOptions = Options.builder()
-                            .tooltipContent(hoverText)
-                            .fillColor(Colors.setAlpha(0xFF, Integer.parseInt(fillColor, 16)))
-                            .strokeColor(Colors.setAlpha(0xFF, Integer.parseInt(strokeColor, 16)))
-                            .strokeWeight(2)
-                            .fill(true)
-                            .stroke(true)
-                            .build();
-                    marker.setOptions(newOptions);
-                    break;
-                }
-            }
-        });
     }
-
+    
     /**
-     * Deletes the marker for the specified chunks from the Pl3xMap.
+     * Gets the layer of a world, registering it if needed.
      *
-     * @param chunks The chunks to delete the marker for.
+     * @param world The world
+     * @return The layer, or null if Pl3xMap does not render the world
      */
-    public void deleteMarker(Set<Chunk> chunks) {
-        chunks.parallelStream().forEach(chunk -> {
-            String markerId = "chunk_" + chunk.getX() + "_" + chunk.getZ();
-            SimpleLayer layer = layers.get(chunk.getWorld());
-            if (layer != null) {
-            	layer.getMarkers().removeIf(marker -> marker.getKey().equals(markerId));
-            }
-        });
+    private SimpleLayer getLayer(World world) {
+        SimpleLayer targetLayer = layers.get(world);
+        if (targetLayer != null) return targetLayer;
+        String worldName = world.getName();
+        String layerId = "claims_" + world.getName();
+        Registry<net.pl3x.map.core.world.World> worldRegistry = Pl3xMap.api().getWorldRegistry();
+        net.pl3x.map.core.world.World mapWorld = worldRegistry.get(worldName);
+        if (mapWorld == null) return null;
+        Layer layer = new SimpleLayer(layerId, () -> "Claims");
+        layer.setPriority(1);
+        layer.setZIndex(1);
+        layer.setLiveUpdate(true);
+        mapWorld.getLayerRegistry().register(layer);
+        layers.put(world, (SimpleLayer) layer);
+        return (SimpleLayer) layer;
+    }
+    
+    /**
+     * Converts a ring of an outline to a Pl3xMap line.
+     *
+     * @param key The key of the line
+     * @param ring The ring
+     * @return The line
+     */
+    private Polyline toPolyline(String key, ClaimPolygon.Ring ring) {
+        List<Point> points = new ArrayList<>(ring.size());
+        for (int i = 0; i < ring.size(); i++) {
+            points.add(Point.of(ring.getX(i), ring.getZ(i)));
+        }
+        return new Polyline(key, points);
+    }
+    
+    /**
+     * Gets the marker options for a label.
+     *
+     * @param hoverText The label
+     * @return The options
+     */
+    private Options getOptions(String hoverText) {
+        String fillColor = instance.getSettings().getSetting("pl3xmap-claim-fill-color");
+        String strokeColor = instance.getSettings().getSetting("pl3xmap-claim-border-color");
+        return Options.builder()
+                .tooltipContent(hoverText)
+                .fillColor(Colors.setAlpha(0xFF, Integer.parseInt(fillColor, 16)))
+                .strokeColor(Colors.setAlpha(0xFF, Integer.parseInt(strokeColor, 16)))
+                .strokeWeight(2)
+                .fill(true)
+                .stroke(true)
+                .build();
     }
 }
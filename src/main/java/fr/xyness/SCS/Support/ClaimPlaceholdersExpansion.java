@@ -2,17 +2,15 @@ package fr.xyness.SCS.Support;
 
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 
-import java.util.Set;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.UUID;
 
 import org.bukkit.Bukkit;
-import org.bukkit.Chunk;
 import org.bukkit.entity.Player;
 
 import fr.xyness.SCS.SimpleClaimSystem;
 import fr.xyness.SCS.Types.CPlayer;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.PlaceholderSnapshot;
 
 /**
  * This class handles the integration with PlaceholderAPI for providing claim-related placeholders.
@@ -76,155 +74,137 @@ public class ClaimPlaceholdersExpansion extends PlaceholderExpansion {
         return "1.0";
     }
 
+    /**
+     * Resolves a placeholder from the player's placeholder snapshot and the claim of the chunk
+     * the player was in at their last chunk change, without switching thread or copying claims data.
+     */
     @Override
     public String onPlaceholderRequest(Player player, String identifier) {
         if (player == null) return "";
         
         CPlayer cPlayer = instance.getPlayerMain().getCPlayer(player.getUniqueId());
+        if (cPlayer == null) return "";
+        PlaceholderSnapshot snapshot = cPlayer.getPlaceholders();
         
-        CompletableFuture<String> future = CompletableFuture.supplyAsync(() -> {
-        	switch (identifier) {
-            case "player_claims_count":
-                return String.valueOf(cPlayer.getClaimsCount());
-                
-            case "claim_name":
-                Chunk chunk = player.getLocation().getChunk();
-                if (instance.getMain().checkIfClaimExists(chunk)) {
-                    return instance.getMain().getClaimNameByChunk(chunk);
-                }
-                return instance.getLanguage().getMessage("claim_name-if-no-claim");
-                
-            case "player_max_claims":
-                int maxClaims = cPlayer.getMaxClaims();
-                return maxClaims > 0 ? String.valueOf(maxClaims) : "∞";
-                
-            case "player_max_chunks_per_claim":
-                int maxChunks = cPlayer.getMaxChunksPerClaim();
-                return maxChunks > 0 ? String.valueOf(maxChunks) : "∞";
-                
-            case "player_max_chunks_total":
-                int maxChunksTotal = cPlayer.getMaxChunksTotal();
-                return maxChunksTotal > 0 ? String.valueOf(maxChunksTotal) : "∞";
-                
-            case "player_claim_distance":
-                int distance = cPlayer.getClaimDistance();
-                return distance > 0 ? String.valueOf(distance) : instance.getLanguage().getMessage("claim_distance-if-zero");
-                
-            case "player_remain_claims":
-                int max = cPlayer.getMaxClaims();
-                if (max == 0) return "∞";
-                int remainingClaims = max - cPlayer.getClaimsCount();
-                return remainingClaims >= 0 ? String.valueOf(remainingClaims) : "0";
-                
-            case "player_remain_chunks":
-                int max_chunks = cPlayer.getMaxChunksTotal();
-                if (max_chunks == 0) return "∞";
-                int remainingChunks = max_chunks - instance.getMain().getAllChunksFromAllClaims(player.getName()).size();
-                return remainingChunks >= 0 ? String.valueOf(remainingChunks) : "0";
-                
-            case "player_max_radius_claims":
-                int maxRadiusClaims = cPlayer.getMaxRadiusClaims();
-                return maxRadiusClaims > 0 ? String.valueOf(maxRadiusClaims) : "∞";
-                
-            case "player_teleportation_delay":
-                return String.valueOf(cPlayer.getDelay());
-                
-            case "player_max_members":
-                int maxMembers = cPlayer.getMaxMembers();
-                return maxMembers > 0 ? String.valueOf(maxMembers) : "∞";
-                
-            case "player_claim_cost":
-                return String.valueOf(cPlayer.getCost());
-                
-            case "player_claim_cost_multiplier":
-                return String.valueOf(cPlayer.getMultiplier());
-                
-            case "claim_owner":
-                chunk = player.getLocation().getChunk();
-                if (instance.getMain().checkIfClaimExists(chunk)) {
-                	Claim claim = instance.getMain().getClaim(chunk);
-                    return claim.getOwner();
-                }
-                return instance.getLanguage().getMessage("claim_owner-if-no-claim");
-                
-            case "claim_description":
-                chunk = player.getLocation().getChunk();
-                if (instance.getMain().checkIfClaimExists(chunk)) {
-                	Claim claim = instance.getMain().getClaim(chunk);
-                    return claim.getDescription();
-                }
-                return instance.getLanguage().getMessage("claim_description-if-no-claim");
-                
-            case "claim_is_in_sale":
-                chunk = player.getLocation().getChunk();
-                if (instance.getMain().checkIfClaimExists(chunk)) {
-                    return String.valueOf(instance.getMain().getClaim(chunk).getSale());
-                }
-                return instance.getLanguage().getMessage("claim_is_in_sale-if-no-claim");
-                
-            case "claim_sale_price":
-                chunk = player.getLocation().getChunk();
-                if (instance.getMain().checkIfClaimExists(chunk)) {
-                	Claim claim = instance.getMain().getClaim(chunk);
-                    if (claim.getSale()) {
-                        return String.valueOf(claim.getPrice());
-                    }
-                    return instance.getLanguage().getMessage("claim_sale_price-if-not-in-sale");
-                }
-                return instance.getLanguage().getMessage("claim_sale_price-if-no-claim");
-                
-            case "claim_members_count":
-                chunk = player.getLocation().getChunk();
-                if (instance.getMain().checkIfClaimExists(chunk)) {
-                	Claim claim = instance.getMain().getClaim(chunk);
-                    return String.valueOf(claim.getMembers().size());
-                }
-                return instance.getLanguage().getMessage("claim_members_count-if-no-claim");
-                
-            case "claim_members_online":
-                chunk = player.getLocation().getChunk();
-                if (instance.getMain().checkIfClaimExists(chunk)) {
-                	Claim claim = instance.getMain().getClaim(chunk);
-                	Set<String> members = instance.getMain().convertUUIDSetToStringSet(claim.getMembers());
-                	long onlineMembers = members.stream()
-                	        .filter(member -> Bukkit.getPlayer(member) != null)
-                	        .count();
-                	return String.valueOf(onlineMembers);
-                }
-                return instance.getLanguage().getMessage("claim_members_online-if-no-claim");
-                
-            case "claim_spawn":
-                chunk = player.getLocation().getChunk();
-                if (instance.getMain().checkIfClaimExists(chunk)) {
-                	Claim claim = instance.getMain().getClaim(chunk);
-                    return String.valueOf(instance.getMain().getClaimCoords(claim));
+        if (identifier.startsWith("claim_")) {
+        	return onClaimPlaceholderRequest(instance.getMain().getClaim(cPlayer.getSampledChunk()), identifier);
+        }
+        
+    	switch (identifier) {
+        case "player_claims_count":
+            return String.valueOf(cPlayer.getClaimsCount());
+            
+        case "player_max_claims":
+            int maxClaims = snapshot.getMaxClaims();
+            return maxClaims > 0 ? String.valueOf(maxClaims) : "∞";
+            
+        case "player_max_chunks_per_claim":
+            int maxChunks = snapshot.getMaxChunksPerClaim();
+            return maxChunks > 0 ? String.valueOf(maxChunks) : "∞";
+            
+        case "player_max_chunks_total":
+            int maxChunksTotal = snapshot.getMaxChunksTotal();
+            return maxChunksTotal > 0 ? String.valueOf(maxChunksTotal) : "∞";
+            
+        case "player_claim_distance":
+            int distance = snapshot.getClaimDistance();
+            return distance > 0 ? String.valueOf(distance) : instance.getLanguage().getMessage("claim_distance-if-zero");
+            
+        case "player_remain_claims":
+            int max = snapshot.getMaxClaims();
+            if (max == 0) return "∞";
+            int remainingClaims = max - cPlayer.getClaimsCount();
+            return remainingClaims >= 0 ? String.valueOf(remainingClaims) : "0";
+            
+        case "player_remain_chunks":
+            int max_chunks = snapshot.getMaxChunksTotal();
+            if (max_chunks == 0) return "∞";
+            int remainingChunks = max_chunks - snapshot.getChunksCount();
+            return remainingChunks >= 0 ? String.valueOf(remainingChunks) : "0";
+            
+        case "player_max_radius_claims":
+            int maxRadiusClaims = snapshot.getMaxRadiusClaims();
+            return maxRadiusClaims > 0 ? String.valueOf(maxRadiusClaims) : "∞";
+            
+        case "player_teleportation_delay":
+            return String.valueOf(snapshot.getDelay());
+            
+        case "player_max_members":
+            int maxMembers = snapshot.getMaxMembers();
+            return maxMembers > 0 ? String.valueOf(maxMembers) : "∞";
+            
+        case "player_claim_cost":
+            return String.valueOf(snapshot.getCost());
+            
+        case "player_claim_cost_multiplier":
+            return String.valueOf(snapshot.getMultiplier());
+            
+        default:
+            return null;
+    	}
+    }
+    
+    /**
+     * Resolves a placeholder about the claim the player is in.
+     *
+     * @param claim The claim the player is in, or null if none.
+     * @param identifier The identifier of the placeholder.
+     * @return The value of the placeholder, or null if the identifier is unknown.
+     */
+    private String onClaimPlaceholderRequest(Claim claim, String identifier) {
+    	switch (identifier) {
+        case "claim_name":
+            return claim != null ? claim.getName() : instance.getLanguage().getMessage("claim_name-if-no-claim");
+            
+        case "claim_owner":
+            return claim != null ? claim.getOwner() : instance.getLanguage().getMessage("claim_owner-if-no-claim");
+            
+        case "claim_description":
+            return claim != null ? claim.getDescription() : instance.getLanguage().getMessage("claim_description-if-no-claim");
+            
+        case "claim_is_in_sale":
+            return claim != null ? String.valueOf(claim.getSale()) : instance.getLanguage().getMessage("claim_is_in_sale-if-no-claim");
+            
+        case "claim_sale_price":
+            if (claim != null) {
+                if (claim.getSale()) {
+                    return String.valueOf(claim.getPrice());
                 }
-                return instance.getLanguage().getMessage("claim_spawn-if-no-claim");
-                
-            default:
-                if (identifier.startsWith("claim_setting_")) {
-                    chunk = player.getLocation().getChunk();
-                    if (instance.getMain().checkIfClaimExists(chunk)) {
-                    	Claim claim = instance.getMain().getClaim(chunk);
-                        String syntax = identifier.replaceFirst("claim_setting_", "");
-                        String[] parts = syntax.split("_");
-                        if(parts.length != 2) return instance.getLanguage().getMessage("status-disabled");
-                        String setting = parts[0];
-                        String role = parts[1];
-                        return claim.getPermission(setting,role) ? 
-                                instance.getLanguage().getMessage("status-enabled") : 
-                                instance.getLanguage().getMessage("status-disabled");
-                    }
-                    return instance.getLanguage().getMessage("claim_setting-if-no-claim");
+                return instance.getLanguage().getMessage("claim_sale_price-if-not-in-sale");
+            }
+            return instance.getLanguage().getMessage("claim_sale_price-if-no-claim");
+            
+        case "claim_members_count":
+            return claim != null ? String.valueOf(claim.getMembers().size()) : instance.getLanguage().getMessage("claim_members_count-if-no-claim");
+            
+        case "claim_members_online":
+            if (claim != null) {
+            	int onlineMembers = 0;
+            	for (UUID member : claim.getMembers()) {
+            		if (Bukkit.getPlayer(member) != null) onlineMembers++;
+            	}
+            	return String.valueOf(onlineMembers);
+            }
+            return instance.getLanguage().getMessage("claim_members_online-if-no-claim");
+            
+        case "claim_spawn":
+            return claim != null ? String.valueOf(instance.getMain().getClaimCoords(claim)) : instance.getLanguage().getMessage("claim_spawn-if-no-claim");
+            
+        default:
+            if (identifier.startsWith("claim_setting_")) {
+                if (claim != null) {
+                    String syntax = identifier.replaceFirst("claim_setting_", "");
+                    String[] parts = syntax.split("_");
+                    if(parts.length != 2) return instance.getLanguage().getMessage("status-disabled");
+                    String setting = parts[0];
+                    String role = parts[1];
+                    return claim.getPermission(setting,role) ? 
+                            instance.getLanguage().getMessage("status-enabled") : 
+                            instance.getLanguage().getMessage("status-disabled");
                 }
-                return null;
-        	}
-        });
-        
-        try {
-            return future.get(); // Return the result from the CompletableFuture
-        } catch (ExecutionException | InterruptedException e) {
-            return "";
-        }
+                return instance.getLanguage().getMessage("claim_setting-if-no-claim");
+            }
+            return null;
+    	}
     }
 }
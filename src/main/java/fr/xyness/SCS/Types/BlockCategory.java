@@ -0,0 +1,130 @@
+package fr.xyness.SCS.Types;
+
+import org.bukkit.Material;
+
+/**
+ * This enum handles the categories of interactable blocks protected by a claim permission.
+ * <p>
+ * The category of every material is computed once from its name and stored in a table
+ * indexed by the material ordinal, so classifying a clicked block is a single array read.
+ */
+public enum BlockCategory {
+
+	NONE(null, null, false),
+	BUTTON(ClaimPermission.BUTTONS, "buttons", false),
+	TRAPDOOR(ClaimPermission.TRAPDOORS, "trapdoors", false),
+	DOOR(ClaimPermission.DOORS, "doors", false),
+	FENCE_GATE(ClaimPermission.FENCEGATES, "fencegates", false),
+	LEVER(ClaimPermission.LEVERS, "levers", false),
+	REPEATER(ClaimPermission.REPEATERS_COMPARATORS, "repeaters", false),
+	COMPARATOR(ClaimPermission.REPEATERS_COMPARATORS, "comparators", false),
+	BELL(ClaimPermission.BELLS, "bells", false),
+	PRESSURE_PLATE(ClaimPermission.PLATES, "plates", true),
+	TRIPWIRE(ClaimPermission.TRIPWIRES, "tripwires", true);
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** The categories by material ordinal */
+	private static final BlockCategory[] TABLE;
+
+	static {
+		Material[] materials = Material.values();
+		TABLE = new BlockCategory[materials.length];
+		for (Material material : materials) {
+			TABLE[material.ordinal()] = classify(material);
+		}
+	}
+
+	/** The permission protecting the blocks of the category */
+	private final ClaimPermission permission;
+
+	/** The key of the message sent when the interaction is denied */
+	private final String message;
+
+	/** Whether the category is triggered by physical interactions (stepping on it) */
+	private final boolean physical;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Main constructor.
+	 *
+	 * @param permission The permission protecting the blocks
+	 * @param message The key of the denied message
+	 * @param physical Whether the category is triggered by physical interactions
+	 */
+	BlockCategory(ClaimPermission permission, String message, boolean physical) {
+		this.permission = permission;
+		this.message = message;
+		this.physical = physical;
+	}
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	/**
+	 * Gets the permission protecting the blocks of the category.
+	 *
+	 * @return The permission, or null for {@link #NONE}
+	 */
+	public ClaimPermission getPermission() { return this.permission; }
+
+	/**
+	 * Gets the key of the message sent when the interaction is denied.
+	 *
+	 * @return The message key, or null for {@link #NONE}
+	 */
+	public String getMessage() { return this.message; }
+
+	/**
+	 * Checks if the category is triggered by physical interactions.
+	 *
+	 * @return True for pressure plates and tripwires
+	 */
+	public boolean isPhysical() { return this.physical; }
+
+	/**
+	 * Gets the category of a material.
+	 *
+	 * @param material The material
+	 * @return The category
+	 */
+	public static BlockCategory of(Material material) {
+		return TABLE[material.ordinal()];
+	}
+
+	/**
+	 * Computes the category of a material from its name.
+	 *
+	 * @param material The material
+	 * @return The category
+	 */
+	private static BlockCategory classify(Material material) {
+		String name = material.name();
+		if (name.contains("BUTTON")) return BUTTON;
+		if (name.contains("TRAPDOOR")) return TRAPDOOR;
+		if (name.contains("DOOR")) return DOOR;
+		if (name.contains("FENCE_GATE")) return FENCE_GATE;
+		if (name.contains("PRESSURE_PLATE")) return PRESSURE_PLATE;
+		switch (material) {
+			case LEVER: return LEVER;
+			case REPEATER: return REPEATER;
+			case COMPARATOR: return COMPARATOR;
+			case BELL: return BELL;
+			case TRIPWIRE: return TRIPWIRE;
+			default: return NONE;
+		}
+	}
+
+}
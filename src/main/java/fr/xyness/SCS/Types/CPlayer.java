@@ -1,18 +1,16 @@
 package fr.xyness.SCS.Types;
 
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.regex.Matcher;
 
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.bukkit.permissions.PermissionAttachmentInfo;
 
-import fr.xyness.SCS.CPlayerMain;
 import fr.xyness.SCS.CScoreboard;
 import fr.xyness.SCS.SimpleClaimSystem;
+import fr.xyness.SCS.Types.PermissionProfile.Limit;
 
 /**
  * This class handles CPlayer object
@@ -55,6 +53,21 @@ public class CPlayer {
     /** Whether the player has claim fly enabled */
     private Boolean claim_fly;
     
+    /** The claim the player was in at the last handled claim transition, null for the wilderness */
+    private Claim currentClaim;
+    
+    /** The version of the current claim at the last handled claim transition */
+    private int currentClaimVersion;
+    
+    /** The chunk the player was in at the last handled chunk change */
+    private Chunk sampledChunk;
+    
+    /** The values of the player's placeholders */
+    private final PlaceholderSnapshot placeholders = new PlaceholderSnapshot();
+    
+    /** The player's compiled permissions */
+    private volatile PermissionProfile profile;
+    
     /** The current GUI page */
     private Integer gui_page;
     
@@ -79,6 +92,9 @@ public class CPlayer {
     /** The player's scoreboard */
     private CScoreboard scoreboard;
     
+    /** The last automap sent in the chat */
+    private String mapFrame;
+    
     /** Instance of SimpleClaimSystem */
     private final SimpleClaimSystem instance;
     
@@ -108,6 +124,7 @@ public class CPlayer {
         this.claim_auto = "";
         this.claim_fly = false;
         this.instance = instance;
+        refreshProfile();
     }
     
     
@@ -233,6 +250,23 @@ public class CPlayer {
      */
     public void setClaimFly(Boolean setting) { this.claim_fly = setting; }
     
+    /**
+     * Sets the claim the player is in, once the transition into it has been handled.
+     * 
+     * @param claim The claim, or null for the wilderness
+     */
+    public void setCurrentClaim(Claim claim) {
+    	this.currentClaim = claim;
+    	this.currentClaimVersion = claim == null ? 0 : claim.getVersion();
+    }
+    
+    /**
+     * Sets the chunk the player was in at the last handled chunk change.
+     * 
+     * @param chunk The chunk
+     */
+    public void setSampledChunk(Chunk chunk) { this.sampledChunk = chunk; }
+    
     /**
      * Sets the player's scoreboard.
      * 
@@ -240,6 +274,13 @@ public class CPlayer {
      */
     public void setScoreboard(CScoreboard scoreboard) { this.scoreboard = scoreboard; }
     
+    /**
+     * Sets the last automap sent in the chat.
+     * 
+     * @param mapFrame The map message, or null to send the next one anyway
+     */
+    public void setMapFrame(String mapFrame) { this.mapFrame = mapFrame; }
+    
     // Getters
     
     /**
@@ -357,6 +398,31 @@ public class CPlayer {
      */
     public Boolean getClaimFly() { return this.claim_fly; }
     
+    /**
+     * Checks if being in a claim is a transition for the player: entering, leaving,
+     * going from a claim to another, or the settings of the current claim having changed.
+     * 
+     * @param claim The claim the player is in, or null for the wilderness
+     * @return True if the claim differs from the last handled one
+     */
+    public boolean isClaimTransition(Claim claim) {
+    	return claim != this.currentClaim || (claim != null && claim.getVersion() != this.currentClaimVersion);
+    }
+    
+    /**
+     * Gets the chunk the player was in at the last handled chunk change.
+     * 
+     * @return The chunk, or null if the player was not sampled yet
+     */
+    public Chunk getSampledChunk() { return this.sampledChunk; }
+    
+    /**
+     * Gets the values of the player's placeholders.
+     * 
+     * @return The placeholder snapshot
+     */
+    public PlaceholderSnapshot getPlaceholders() { return this.placeholders; }
+    
     /**
      * Gets the player's scoreboard.
      * 
@@ -364,390 +430,105 @@ public class CPlayer {
      */
     public CScoreboard getScoreboard() { return this.scoreboard; }
     
+    /**
+     * Gets the last automap sent in the chat.
+     * 
+     * @return The map message, or null if none
+     */
+    public String getMapFrame() { return this.mapFrame; }
+    
+    /**
+     * Gets the player's permission profile.
+     * 
+     * @return The profile
+     */
+    public PermissionProfile getProfile() { return this.profile; }
+    
+    /**
+     * Computes the player's permission profile again, after its permissions or the groups changed.
+     */
+    public void refreshProfile() {
+        this.profile = PermissionProfile.compute(player, instance.getPlayerMain().getPlayerConfig(playerId),
+                instance.getSettings().getGroupsSettings(), instance.getSettings().getGroupsValues());
+        this.placeholders.setLimits(this);
+    }
+    
     /**
      * Gets the player's max claims.
      * 
      * @return The maximum number of claims
      */
-    public Integer getMaxClaims() {
-        if (player.hasPermission("scs.admin")) return 0;
-        
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("max-claims")) {
-            return (int) Math.round(playerConfig.get("max-claims"));
-        }
-
-        int n = player.getEffectivePermissions().stream()
-            .map(PermissionAttachmentInfo::getPermission)
-            .map(CPlayerMain.CLAIM_PATTERN::matcher)
-            .filter(Matcher::find)
-            .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
-            .max().orElse(-1);
-
-        if (n == -1) {
-            
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-            n = (int) Math.round(groupsSettings.get("default").get("max-claims"));
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                if (instance.getPlayerMain().checkPermPlayer(player, entry.getValue())) {
-                    n = Math.max(n, (int) Math.round(groupsSettings.get(entry.getKey()).get("max-claims")));
-                }
-            }
-        }
-
-        return n;
-    }
+    public Integer getMaxClaims() { return this.profile.getInt(Limit.MAX_CLAIMS); }
     
     /**
      * Gets the player's max radius claims.
      * 
      * @return The maximum radius claims
      */
-    public Integer getMaxRadiusClaims() {
-        if (player.hasPermission("scs.admin")) return 0;
-        
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("max-radius-claims")) {
-            return (int) Math.round(playerConfig.get("max-radius-claims"));
-        }
-
-        int n = player.getEffectivePermissions().stream()
-            .map(PermissionAttachmentInfo::getPermission)
-            .map(CPlayerMain.RADIUS_PATTERN::matcher)
-            .filter(Matcher::find)
-            .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
-            .max().orElse(-1);
-
-        if (n == -1) {
-
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-            n = (int) Math.round(groupsSettings.get("default").get("max-radius-claims"));
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                if (instance.getPlayerMain().checkPermPlayer(player, entry.getValue())) {
-                    n = Math.max(n, (int) Math.round(groupsSettings.get(entry.getKey()).get("max-radius-claims")));
-                }
-            }
-        }
-
-        return n;
-    }
+    public Integer getMaxRadiusClaims() { return this.profile.getInt(Limit.MAX_RADIUS_CLAIMS); }
     
     /**
      * Gets the teleportation delay for the player.
      * 
      * @return The teleportation delay
      */
-    public int getDelay() {
-        if (player.hasPermission("scs.admin")) return 0;
-        
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("teleportation-delay")) {
-            return (int) Math.round(playerConfig.get("teleportation-delay"));
-        }
-
-        int n = player.getEffectivePermissions().stream()
-            .map(PermissionAttachmentInfo::getPermission)
-            .map(CPlayerMain.DELAY_PATTERN::matcher)
-            .filter(Matcher::find)
-            .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
-            .min().orElse(-1);
-
-        if (n == -1) {
-
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-            n = (int) Math.round(groupsSettings.get("default").get("teleportation-delay"));
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                if (instance.getPlayerMain().checkPermPlayer(player, entry.getValue())) {
-                    n = Math.max(n, (int) Math.round(groupsSettings.get(entry.getKey()).get("teleportation-delay")));
-                }
-            }
-        }
-
-        return n;
-    }
+    public int getDelay() { return this.profile.getInt(Limit.DELAY); }
     
     /**
      * Gets the maximum number of members per claim for the player.
      * 
      * @return The maximum number of members
      */
-    public int getMaxMembers() {
-        if (player.hasPermission("scs.admin")) return 0;
-        
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("max-members")) {
-            return (int) Math.round(playerConfig.get("max-members"));
-        }
-
-        int n = player.getEffectivePermissions().stream()
-            .map(PermissionAttachmentInfo::getPermission)
-            .map(CPlayerMain.MEMBERS_PATTERN::matcher)
-            .filter(Matcher::find)
-            .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
-            .max().orElse(-1);
-
-        if (n == -1) {
-
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-            n = (int) Math.round(groupsSettings.get("default").get("max-members"));
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                if (instance.getPlayerMain().checkPermPlayer(player, entry.getValue())) {
-                    n = Math.max(n, (int) Math.round(groupsSettings.get(entry.getKey()).get("max-members")));
-                }
-            }
-        }
-
-        return n;
-    }
+    public int getMaxMembers() { return this.profile.getInt(Limit.MAX_MEMBERS); }
     
     /**
      * Gets the cost of a claim for the player.
      * 
      * @return The claim cost
      */
-    public double getCost() {
-        if (player.hasPermission("scs.admin")) return 0;
-        
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("claim-cost")) {
-            return (int) Math.round(playerConfig.get("claim-cost"));
-        }
-
-        int n = player.getEffectivePermissions().stream()
-            .map(PermissionAttachmentInfo::getPermission)
-            .map(CPlayerMain.COST_PATTERN::matcher)
-            .filter(Matcher::find)
-            .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
-            .max().orElse(-1);
-
-        if (n == -1) {
-
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-            n = (int) Math.round(groupsSettings.get("default").get("claim-cost"));
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                if (instance.getPlayerMain().checkPermPlayer(player, entry.getValue())) {
-                    n = Math.max(n, (int) Math.round(groupsSettings.get(entry.getKey()).get("claim-cost")));
-                }
-            }
-        }
-
-        return n;
-    }
+    public double getCost() { return this.profile.getDouble(Limit.COST); }
     
     /**
      * Gets the cost of a chunk for the player.
      * 
      * @return The chunk cost
      */
-    public double getChunkCost() {
-        if (player.hasPermission("scs.admin")) return 0;
-        
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("chunk-cost")) {
-            return (int) Math.round(playerConfig.get("chunk-cost"));
-        }
-
-        int n = player.getEffectivePermissions().stream()
-            .map(PermissionAttachmentInfo::getPermission)
-            .map(CPlayerMain.CHUNK_COST_PATTERN::matcher)
-            .filter(Matcher::find)
-            .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
-            .max().orElse(-1);
-
-        if (n == -1) {
-
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-            n = (int) Math.round(groupsSettings.get("default").get("chunk-cost"));
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                if (instance.getPlayerMain().checkPermPlayer(player, entry.getValue())) {
-                    n = Math.max(n, (int) Math.round(groupsSettings.get(entry.getKey()).get("chunk-cost")));
-                }
-            }
-        }
-
-        return n;
-    }
+    public double getChunkCost() { return this.profile.getDouble(Limit.CHUNK_COST); }
     
     /**
      * Gets the claim cost multiplier for the player.
      * 
      * @return The claim cost multiplier
      */
-    public double getMultiplier() {
-        if (player.hasPermission("scs.admin")) return 0;
-        
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("claim-cost-multiplier")) {
-            return playerConfig.get("claim-cost-multiplier");
-        }
-
-        double n = player.getEffectivePermissions().stream()
-            .map(PermissionAttachmentInfo::getPermission)
-            .map(CPlayerMain.MULTIPLIER_PATTERN::matcher)
-            .filter(Matcher::find)
-            .mapToDouble(matcher -> Double.parseDouble(matcher.group(1)))
-            .min().orElse(-1);
-
-        if (n == -1) {
-
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-            n = groupsSettings.get("default").get("claim-cost-multiplier");
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                if (instance.getPlayerMain().checkPermPlayer(player, entry.getValue())) {
-                    n = Math.min(n, groupsSettings.get(entry.getKey()).get("claim-cost-multiplier"));
-                }
-            }
-        }
-
-        return n;
-    }
+    public double getMultiplier() { return this.profile.getDouble(Limit.MULTIPLIER); }
     
     /**
      * Gets the chunk cost multiplier for the player.
      * 
      * @return The chunk cost multiplier
      */
-    public double getChunkMultiplier() {
-        if (player.hasPermission("scs.admin")) return 0;
-        
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("chunk-cost-multiplier")) {
-            return playerConfig.get("chunk-cost-multiplier");
-        }
-
-        double n = player.getEffectivePermissions().stream()
-            .map(PermissionAttachmentInfo::getPermission)
-            .map(CPlayerMain.CHUNK_MULTIPLIER_PATTERN::matcher)
-            .filter(Matcher::find)
-            .mapToDouble(matcher -> Double.parseDouble(matcher.group(1)))
-            .min().orElse(-1);
-
-        if (n == -1) {
-
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-            n = groupsSettings.get("default").get("chunk-cost-multiplier");
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                if (instance.getPlayerMain().checkPermPlayer(player, entry.getValue())) {
-                    n = Math.min(n, groupsSettings.get(entry.getKey()).get("chunk-cost-multiplier"));
-                }
-            }
-        }
-
-        return n;
-    }
+    public double getChunkMultiplier() { return this.profile.getDouble(Limit.CHUNK_MULTIPLIER); }
     
     /**
      * Gets the maximum number of chunks per claim for the player
      * 
      * @return The maximum number of chunks
      */
-    public int getMaxChunksPerClaim() {
-        if (player.hasPermission("scs.admin")) return 0;
-        
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("max-chunks-per-claim")) {
-            return (int) Math.round(playerConfig.get("max-chunks-per-claim"));
-        }
-
-        int n = player.getEffectivePermissions().stream()
-            .map(PermissionAttachmentInfo::getPermission)
-            .map(CPlayerMain.CHUNKS_PATTERN::matcher)
-            .filter(Matcher::find)
-            .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
-            .max().orElse(-1);
-
-        if (n == -1) {
-
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-            n = (int) Math.round(groupsSettings.get("default").get("max-chunks-per-claim"));
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                if (instance.getPlayerMain().checkPermPlayer(player, entry.getValue())) {
-                    n = Math.max(n, (int) Math.round(groupsSettings.get(entry.getKey()).get("max-chunks-per-claim")));
-                }
-            }
-        }
-
-        return n;
-    }
+    public int getMaxChunksPerClaim() { return this.profile.getInt(Limit.MAX_CHUNKS_PER_CLAIM); }
     
     /**
      * Gets the claim distance
      * 
      * @return The claim distance
      */
-    public int getClaimDistance() {
-        if (player.hasPermission("scs.admin")) return 0;
-        
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("claim-distance")) {
-            return (int) Math.round(playerConfig.get("claim-distance"));
-        }
-
-        int n = player.getEffectivePermissions().stream()
-            .map(PermissionAttachmentInfo::getPermission)
-            .map(CPlayerMain.DISTANCE_PATTERN::matcher)
-            .filter(Matcher::find)
-            .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
-            .min().orElse(-1);
-
-        if (n == -1) {
-
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-            n = (int) Math.round(groupsSettings.get("default").get("claim-distance"));
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                if (instance.getPlayerMain().checkPermPlayer(player, entry.getValue())) {
-                    n = Math.max(n, (int) Math.round(groupsSettings.get(entry.getKey()).get("claim-distance")));
-                }
-            }
-        }
-
-        return n;
-    }
+    public int getClaimDistance() { return this.profile.getInt(Limit.CLAIM_DISTANCE); }
     
     /**
      * Gets the max chunks total
      * 
      * @return The max chunks total
      */
-    public int getMaxChunksTotal() {
-        if (player.hasPermission("scs.admin")) return 0;
-        
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("max-chunks-total")) {
-            return (int) Math.round(playerConfig.get("max-chunks-total"));
-        }
-
-        int n = player.getEffectivePermissions().stream()
-            .map(PermissionAttachmentInfo::getPermission)
-            .map(CPlayerMain.CHUNKS_TOTAL_PATTERN::matcher)
-            .filter(Matcher::find)
-            .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
-            .max().orElse(-1);
-
-        if (n == -1) {
-
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-            n = (int) Math.round(groupsSettings.get("default").get("max-chunks-total"));
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                if (instance.getPlayerMain().checkPermPlayer(player, entry.getValue())) {
-                    n = Math.max(n, (int) Math.round(groupsSettings.get(entry.getKey()).get("max-chunks-total")));
-                }
-            }
-        }
-
-        return n;
-    }
+    public int getMaxChunksTotal() { return this.profile.getInt(Limit.MAX_CHUNKS_TOTAL); }
     
     /**
      * Checks if the player can claim more chunks.
@@ -755,7 +536,7 @@ public class CPlayer {
      * @return True if the player can claim more, false otherwise
      */
     public boolean canClaim() {
-        if (player.hasPermission("scs.admin")) return true;
+        if (this.profile.isAdmin()) return true;
         int maxClaims = getMaxClaims();
         return maxClaims > claims_count || maxClaims == 0;
     }
@@ -767,7 +548,7 @@ public class CPlayer {
      * @return True if the player can claim more, false otherwise
      */
     public boolean canClaimX(int n) {
-        if (player.hasPermission("scs.admin")) return true;
+        if (this.profile.isAdmin()) return true;
         int maxClaims = getMaxClaims();
         return maxClaims > claims_count+n || maxClaims == 0;
     }
@@ -779,7 +560,7 @@ public class CPlayer {
      * @return True if the player can claim the specified number of chunks, false otherwise
      */
     public boolean canClaimWithNumber(int n) {
-        if (player.hasPermission("scs.admin")) return true;
+        if (this.profile.isAdmin()) return true;
         int maxChunks = getMaxChunksPerClaim();
         return maxChunks >= n || maxChunks == 0;
     }
@@ -791,7 +572,7 @@ public class CPlayer {
      * @return True if the player can claim the specified number of chunks, false otherwise
      */
     public boolean canClaimTotalWithNumber(int total) {
-        if (player.hasPermission("scs.admin")) return true;
+        if (this.profile.isAdmin()) return true;
         int maxChunks = getMaxChunksTotal();
         return maxChunks >= total || maxChunks == 0;
     }
@@ -803,7 +584,7 @@ public class CPlayer {
      * @return True if the player can use the radius, false otherwise
      */
     public boolean canRadiusClaim(int r) {
-        if (player.hasPermission("scs.admin")) return true;
+        if (this.profile.isAdmin()) return true;
         int radius = getMaxRadiusClaims();
         return radius >= r || radius == 0;
     }
@@ -814,7 +595,7 @@ public class CPlayer {
      * @return The multiplied claim cost
      */
     public Double getMultipliedCost() {
-        if (player.hasPermission("scs.admin")) return 0.0;
+        if (this.profile.isAdmin()) return 0.0;
         Double cost = getCost();
         Double multiplier = getMultiplier();
         return cost * Math.pow(multiplier, claims_count);
@@ -826,7 +607,7 @@ public class CPlayer {
      * @return The multiplied chunk cost
      */
     public Double getChunkMultipliedCost(int nb_chunks) {
-        if (player.hasPermission("scs.admin")) return 0.0;
+        if (this.profile.isAdmin()) return 0.0;
         Double cost = getChunkCost();
         Double multiplier = getChunkMultiplier();
         return cost * Math.pow(multiplier, (nb_chunks - 1));
@@ -839,7 +620,7 @@ public class CPlayer {
      * @return The multiplied radius claim cost
      */
     public Double getRadiusMultipliedCost(int r) {
-        if (player.hasPermission("scs.admin")) return 0.0;
+        if (this.profile.isAdmin()) return 0.0;
         int n = claims_count;
         Double price = 0.0;
         Double cost = getCost();
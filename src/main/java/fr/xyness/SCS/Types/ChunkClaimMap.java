@@ -0,0 +1,276 @@
+package fr.xyness.SCS.Types;
+
+import java.util.Arrays;
+
+/**
+ * This class handles the claim index of one world, keyed by packed chunk keys (see {@link ChunkKey}).
+ * <p>
+ * It is an open-addressing table with linear probing over primitive arrays,
+ * so a lookup is a few array reads and never boxes or allocates.
+ */
+public class ChunkClaimMap {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** The key slots of the table */
+	private long[] keys;
+
+	/** The claim slots of the table */
+	private Claim[] values;
+
+	/** The number of chunks in the map */
+	private int size;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Creates an empty map.
+	 */
+	public ChunkClaimMap() {
+		this(16);
+	}
+
+	/**
+	 * Creates an empty map sized for the given number of chunks.
+	 *
+	 * @param expected The expected number of chunks
+	 */
+	public ChunkClaimMap(int expected) {
+		int capacity = 16;
+		while (capacity * 3 < expected * 4) capacity <<= 1;
+		this.keys = new long[capacity];
+		this.values = new Claim[capacity];
+		Arrays.fill(this.keys, ChunkKeySet.EMPTY);
+	}
+
+	/**
+	 * Creates a copy of another map.
+	 *
+	 * @param other The map to copy
+	 */
+	public ChunkClaimMap(ChunkClaimMap other) {
+		this.keys = other.keys.clone();
+		this.values = other.values.clone();
+		this.size = other.size;
+	}
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	/**
+	 * Functional interface used to visit the entries of the map.
+	 */
+	@FunctionalInterface
+	public interface EntryConsumer {
+
+		/**
+		 * Accepts an entry.
+		 *
+		 * @param key The packed chunk key
+		 * @param claim The claim
+		 */
+		void accept(long key, Claim claim);
+	}
+
+	/**
+	 * Functional interface used to test the entries of the map.
+	 */
+	@FunctionalInterface
+	public interface EntryPredicate {
+
+		/**
+		 * Tests an entry.
+		 *
+		 * @param key The packed chunk key
+		 * @param claim The claim
+		 * @return True if the entry matches
+		 */
+		boolean test(long key, Claim claim);
+	}
+
+	/**
+	 * Gets the number of chunks in the map.
+	 *
+	 * @return The size
+	 */
+	public int size() { return this.size; }
+
+	/**
+	 * Gets the claim of a chunk.
+	 *
+	 * @param key The packed chunk key
+	 * @return The claim, or null if the chunk is not claimed
+	 */
+	public Claim get(long key) {
+		long[] k = this.keys;
+		int mask = k.length - 1;
+		int i = ChunkKey.hash(key) & mask;
+		long current;
+		while ((current = k[i]) != ChunkKeySet.EMPTY) {
+			if (current == key) return this.values[i];
+			i = (i + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * Checks if a chunk is claimed.
+	 *
+	 * @param key The packed chunk key
+	 * @return True if the chunk is in the map
+	 */
+	public boolean containsKey(long key) {
+		return get(key) != null;
+	}
+
+	/**
+	 * Associates a chunk with a claim.
+	 *
+	 * @param key The packed chunk key
+	 * @param claim The claim
+	 * @return The previous claim of the chunk, or null
+	 */
+	public Claim put(long key, Claim claim) {
+		if ((this.size + 1) * 4 > this.keys.length * 3) rehash(this.keys.length << 1);
+		long[] k = this.keys;
+		int mask = k.length - 1;
+		int i = ChunkKey.hash(key) & mask;
+		long current;
+		while ((current = k[i]) != ChunkKeySet.EMPTY) {
+			if (current == key) {
+				Claim previous = this.values[i];
+				this.values[i] = claim;
+				return previous;
+			}
+			i = (i + 1) & mask;
+		}
+		k[i] = key;
+		this.values[i] = claim;
+		this.size++;
+		return null;
+	}
+
+	/**
+	 * Removes a chunk from the map.
+	 *
+	 * @param key The packed chunk key
+	 * @return The removed claim, or null
+	 */
+	public Claim remove(long key) {
+		long[] k = this.keys;
+		int mask = k.length - 1;
+		int i = ChunkKey.hash(key) & mask;
+		long current;
+		while ((current = k[i]) != ChunkKeySet.EMPTY) {
+			if (current == key) {
+				Claim previous = this.values[i];
+				shiftKeys(i);
+				this.size--;
+				return previous;
+			}
+			i = (i + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * Removes all chunks.
+	 */
+	public void clear() {
+		Arrays.fill(this.keys, ChunkKeySet.EMPTY);
+		Arrays.fill(this.values, null);
+		this.size = 0;
+	}
+
+	/**
+	 * Calls the action for every entry of the map.
+	 *
+	 * @param action The action
+	 */
+	public void forEach(EntryConsumer action) {
+		long[] k = this.keys;
+		Claim[] v = this.values;
+		for (int i = 0; i < k.length; i++) {
+			if (k[i] != ChunkKeySet.EMPTY) action.accept(k[i], v[i]);
+		}
+	}
+
+	/**
+	 * Checks if any entry of the map matches, stopping at the first match.
+	 *
+	 * @param predicate The predicate
+	 * @return True if an entry matches
+	 */
+	public boolean anyMatch(EntryPredicate predicate) {
+		long[] k = this.keys;
+		Claim[] v = this.values;
+		for (int i = 0; i < k.length; i++) {
+			if (k[i] != ChunkKeySet.EMPTY && predicate.test(k[i], v[i])) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Closes the gap left by a removed slot (backward shift deletion).
+	 *
+	 * @param pos The freed slot
+	 */
+	private void shiftKeys(int pos) {
+		long[] k = this.keys;
+		Claim[] v = this.values;
+		int mask = k.length - 1;
+		int last;
+		long current;
+		while (true) {
+			pos = ((last = pos) + 1) & mask;
+			while (true) {
+				if ((current = k[pos]) == ChunkKeySet.EMPTY) {
+					k[last] = ChunkKeySet.EMPTY;
+					v[last] = null;
+					return;
+				}
+				int slot = ChunkKey.hash(current) & mask;
+				if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) break;
+				pos = (pos + 1) & mask;
+			}
+			k[last] = current;
+			v[last] = v[pos];
+		}
+	}
+
+	/**
+	 * Grows the table.
+	 *
+	 * @param capacity The new capacity, a power of two
+	 */
+	private void rehash(int capacity) {
+		long[] oldKeys = this.keys;
+		Claim[] oldValues = this.values;
+		long[] k = new long[capacity];
+		Claim[] v = new Claim[capacity];
+		Arrays.fill(k, ChunkKeySet.EMPTY);
+		int mask = capacity - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			long key = oldKeys[j];
+			if (key == ChunkKeySet.EMPTY) continue;
+			int i = ChunkKey.hash(key) & mask;
+			while (k[i] != ChunkKeySet.EMPTY) i = (i + 1) & mask;
+			k[i] = key;
+			v[i] = oldValues[j];
+		}
+		this.keys = k;
+		this.values = v;
+	}
+
+}
@@ -0,0 +1,90 @@
+package fr.xyness.SCS.Types;
+
+import java.util.function.LongPredicate;
+
+/**
+ * This class handles a per-event cache of a decision taken for each chunk of a world.
+ * <p>
+ * Block lists of explosions and pistons hit the same few chunks many times, so the decision
+ * (usually "is this chunk in a claim denying the action") is resolved once per distinct chunk,
+ * and the following blocks of the chunk only cost a key comparison or a set lookup.
+ * An instance is meant to live for a single event, it is not thread-safe.
+ */
+public class ChunkDecisionCache {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** The resolver, called once per distinct chunk key */
+	private final LongPredicate resolver;
+
+	/** The chunks resolved to true */
+	private final ChunkKeySet accepted = new ChunkKeySet();
+
+	/** The chunks resolved to false */
+	private final ChunkKeySet rejected = new ChunkKeySet();
+
+	/** The last chunk tested, consecutive blocks are usually in the same chunk */
+	private long lastKey = ChunkKeySet.EMPTY;
+
+	/** The decision of the last chunk tested */
+	private boolean lastDecision;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Main constructor.
+	 *
+	 * @param resolver The decision for a packed chunk key
+	 */
+	public ChunkDecisionCache(LongPredicate resolver) {
+		this.resolver = resolver;
+	}
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	/**
+	 * Gets the decision for the chunk containing block coordinates.
+	 *
+	 * @param blockX The block X coordinate
+	 * @param blockZ The block Z coordinate
+	 * @return The decision of the chunk
+	 */
+	public boolean test(int blockX, int blockZ) {
+		return testChunk(ChunkKey.ofBlock(blockX, blockZ));
+	}
+
+	/**
+	 * Gets the decision for a chunk.
+	 *
+	 * @param key The packed chunk key
+	 * @return The decision of the chunk
+	 */
+	private boolean testChunk(long key) {
+		if (key == this.lastKey) return this.lastDecision;
+		boolean decision;
+		if (this.accepted.contains(key)) {
+			decision = true;
+		} else if (this.rejected.contains(key)) {
+			decision = false;
+		} else {
+			decision = this.resolver.test(key);
+			(decision ? this.accepted : this.rejected).add(key);
+		}
+		this.lastKey = key;
+		this.lastDecision = decision;
+		return decision;
+	}
+
+}
@@ -0,0 +1,95 @@
+package fr.xyness.SCS.Types;
+
+import org.bukkit.Chunk;
+
+/**
+ * This class handles packing chunk coordinates into a single long.
+ * <p>
+ * The X coordinate is stored in the low 32 bits and the Z coordinate in the high 32 bits,
+ * so a key can be built and decoded without loading or allocating a Bukkit chunk.
+ */
+public final class ChunkKey {
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    /**
+     * Utility class, not instantiable.
+     */
+    private ChunkKey() {}
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+    /**
+     * Packs chunk coordinates into a key.
+     *
+     * @param x The chunk X coordinate
+     * @param z The chunk Z coordinate
+     * @return The packed key
+     */
+    public static long of(int x, int z) {
+        return (x & 0xFFFFFFFFL) | ((long) z << 32);
+    }
+
+    /**
+     * Packs the coordinates of a chunk into a key.
+     *
+     * @param chunk The chunk
+     * @return The packed key
+     */
+    public static long of(Chunk chunk) {
+        return of(chunk.getX(), chunk.getZ());
+    }
+
+    /**
+     * Packs the coordinates of the chunk containing a block into a key.
+     *
+     * @param blockX The block X coordinate
+     * @param blockZ The block Z coordinate
+     * @return The packed key
+     */
+    public static long ofBlock(int blockX, int blockZ) {
+        return of(blockX >> 4, blockZ >> 4);
+    }
+
+    /**
+     * Gets the chunk X coordinate of a key.
+     *
+     * @param key The packed key
+     * @return The chunk X coordinate
+     */
+    public static int getX(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Gets the chunk Z coordinate of a key.
+     *
+     * @param key The packed key
+     * @return The chunk Z coordinate
+     */
+    public static int getZ(long key) {
+        return (int) (key >>> 32);
+    }
+
+    /**
+     * Mixes a key into a well distributed hash for open addressing tables.
+     *
+     * @param key The packed key
+     * @return The mixed hash
+     */
+    static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+}
@@ -0,0 +1,244 @@
+package fr.xyness.SCS.Types;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * This class handles a set of packed chunk keys (see {@link ChunkKey}).
+ * <p>
+ * It is an open-addressing table with linear probing over a primitive long array,
+ * so adding, removing and testing keys never boxes or allocates.
+ */
+public class ChunkKeySet {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Marker for an empty slot, the chunk (0, Integer.MIN_VALUE) is outside any world border */
+	static final long EMPTY = Long.MIN_VALUE;
+
+	/** The slots of the table */
+	private long[] keys;
+
+	/** The number of keys in the set */
+	private int size;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Creates an empty set.
+	 */
+	public ChunkKeySet() {
+		this(8);
+	}
+
+	/**
+	 * Creates an empty set sized for the given number of keys.
+	 *
+	 * @param expected The expected number of keys
+	 */
+	public ChunkKeySet(int expected) {
+		int capacity = 8;
+		while (capacity * 3 < expected * 4) capacity <<= 1;
+		this.keys = new long[capacity];
+		Arrays.fill(this.keys, EMPTY);
+	}
+
+	/**
+	 * Creates a copy of another set.
+	 *
+	 * @param other The set to copy
+	 */
+	public ChunkKeySet(ChunkKeySet other) {
+		this.keys = other.keys.clone();
+		this.size = other.size;
+	}
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	/**
+	 * Gets the number of keys in the set.
+	 *
+	 * @return The size
+	 */
+	public int size() { return this.size; }
+
+	/**
+	 * Checks if the set is empty.
+	 *
+	 * @return True if there is no key
+	 */
+	public boolean isEmpty() { return this.size == 0; }
+
+	/**
+	 * Checks if the set contains a key.
+	 *
+	 * @param key The packed chunk key
+	 * @return True if the key is present
+	 */
+	public boolean contains(long key) {
+		long[] k = this.keys;
+		int mask = k.length - 1;
+		int i = ChunkKey.hash(key) & mask;
+		long current;
+		while ((current = k[i]) != EMPTY) {
+			if (current == key) return true;
+			i = (i + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if the set contains chunk coordinates.
+	 *
+	 * @param x The chunk X coordinate
+	 * @param z The chunk Z coordinate
+	 * @return True if the chunk is present
+	 */
+	public boolean contains(int x, int z) {
+		return contains(ChunkKey.of(x, z));
+	}
+
+	/**
+	 * Adds a key to the set.
+	 *
+	 * @param key The packed chunk key
+	 * @return True if the key was not already present
+	 */
+	public boolean add(long key) {
+		if ((this.size + 1) * 4 > this.keys.length * 3) rehash(this.keys.length << 1);
+		long[] k = this.keys;
+		int mask = k.length - 1;
+		int i = ChunkKey.hash(key) & mask;
+		long current;
+		while ((current = k[i]) != EMPTY) {
+			if (current == key) return false;
+			i = (i + 1) & mask;
+		}
+		k[i] = key;
+		this.size++;
+		return true;
+	}
+
+	/**
+	 * Adds all keys of another set.
+	 *
+	 * @param other The other set
+	 */
+	public void addAll(ChunkKeySet other) {
+		for (long key : other.keys) {
+			if (key != EMPTY) add(key);
+		}
+	}
+
+	/**
+	 * Removes a key from the set.
+	 *
+	 * @param key The packed chunk key
+	 * @return True if the key was present
+	 */
+	public boolean remove(long key) {
+		long[] k = this.keys;
+		int mask = k.length - 1;
+		int i = ChunkKey.hash(key) & mask;
+		long current;
+		while ((current = k[i]) != EMPTY) {
+			if (current == key) {
+				shiftKeys(i);
+				this.size--;
+				return true;
+			}
+			i = (i + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes all keys.
+	 */
+	public void clear() {
+		Arrays.fill(this.keys, EMPTY);
+		this.size = 0;
+	}
+
+	/**
+	 * Calls the action for every key of the set.
+	 *
+	 * @param action The action
+	 */
+	public void forEach(LongConsumer action) {
+		for (long key : this.keys) {
+			if (key != EMPTY) action.accept(key);
+		}
+	}
+
+	/**
+	 * Copies the keys into a new array.
+	 *
+	 * @return The keys
+	 */
+	public long[] toArray() {
+		long[] result = new long[this.size];
+		int j = 0;
+		for (long key : this.keys) {
+			if (key != EMPTY) result[j++] = key;
+		}
+		return result;
+	}
+
+	/**
+	 * Closes the gap left by a removed slot (backward shift deletion).
+	 *
+	 * @param pos The freed slot
+	 */
+	private void shiftKeys(int pos) {
+		long[] k = this.keys;
+		int mask = k.length - 1;
+		int last;
+		long current;
+		while (true) {
+			pos = ((last = pos) + 1) & mask;
+			while (true) {
+				if ((current = k[pos]) == EMPTY) {
+					k[last] = EMPTY;
+					return;
+				}
+				int slot = ChunkKey.hash(current) & mask;
+				if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) break;
+				pos = (pos + 1) & mask;
+			}
+			k[last] = current;
+		}
+	}
+
+	/**
+	 * Grows the table.
+	 *
+	 * @param capacity The new capacity, a power of two
+	 */
+	private void rehash(int capacity) {
+		long[] old = this.keys;
+		long[] k = new long[capacity];
+		Arrays.fill(k, EMPTY);
+		int mask = capacity - 1;
+		for (long key : old) {
+			if (key == EMPTY) continue;
+			int i = ChunkKey.hash(key) & mask;
+			while (k[i] != EMPTY) i = (i + 1) & mask;
+			k[i] = key;
+		}
+		this.keys = k;
+	}
+
+}
@@ -1,14 +1,18 @@
 package fr.xyness.SCS.Types;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 
 /**
@@ -25,17 +29,23 @@ public class Claim {
 	/** The id associated with this claim */
 	private int id;
 	
+	/** The id of the row of this claim in the database, 0 until it is stored */
+	private volatile int storageId;
+	
 	/** The UUID of the owner */
 	private UUID uuid_owner;
 	
-    /** The chunks associated with this claim */
-    private Set<Chunk> chunks;
+    /** The name of the world of this claim */
+    private String world;
+    
+    /** The packed keys of the chunks associated with this claim, replaced on every change and never modified once published */
+    private volatile ChunkKeySet chunks;
     
     /** The owner of the claim */
     private String owner;
     
-    /** Members who have access to the claim */
-    private Set<UUID> members;
+    /** Members who have access to the claim, replaced on every change and never modified once published */
+    private volatile Set<UUID> members;
     
     /** Location of the claim */
     private Location location;
@@ -46,8 +56,11 @@ public class Claim {
     /** Description of the claim */
     private String description;
     
-    /** Permissions associated with the claim */
-    private Map<String,LinkedHashMap<String, Boolean>> permissions;
+    /** Permission masks associated with the claim, by role ordinal (see {@link ClaimPermission}) */
+    private volatile long[] permissions;
+    
+    /** Version of the claim settings, changed whenever the owner, name, members, bans, sale or permissions change */
+    private final AtomicInteger version = new AtomicInteger();
     
     /** Whether the claim is for sale */
     private boolean sale;
@@ -55,8 +68,8 @@ public class Claim {
     /** Price of the claim if for sale */
     private Double price;
     
-    /** Banned members from the claim */
-    private Set<UUID> bans;
+    /** Banned members from the claim, replaced on every change and never modified once published */
+    private volatile Set<UUID> bans;
     
     
     // ******************
@@ -80,17 +93,39 @@ public class Claim {
      * @param bans Banned members from the claim
      */
     public Claim(UUID uuid_owner, Set<Chunk> chunks, String owner, Set<UUID> members, Location location, String name, String description, Map<String,LinkedHashMap<String, Boolean>> permissions, boolean sale, Double price, Set<UUID> bans, int id) {
+    	this(uuid_owner, chunks.isEmpty() ? location.getWorld().getName() : chunks.iterator().next().getWorld().getName(), new ChunkKeySet(chunks.size()), owner, members, location, name, description, permissions, sale, price, bans, id);
+    	chunks.forEach(c -> this.chunks.add(ChunkKey.of(c)));
+    }
+    
+    /**
+     * Constructor from packed chunk keys, used when the chunks are not loaded.
+     * 
+     * @param uuid_owner The UUID of the owner
+     * @param world The name of the world of the claim
+     * @param chunks The packed keys of the chunks associated with this claim
+     * @param owner The owner of the claim
+     * @param members Members who have access to the claim
+     * @param location Location of the claim
+     * @param name Name of the claim
+     * @param description Description of the claim
+     * @param permissions Permissions associated with the claim
+     * @param sale Whether the claim is for sale
+     * @param price Price of the claim if for sale
+     * @param bans Banned members from the claim
+     */
+    public Claim(UUID uuid_owner, String world, ChunkKeySet chunks, String owner, Set<UUID> members, Location location, String name, String description, Map<String,LinkedHashMap<String, Boolean>> permissions, boolean sale, Double price, Set<UUID> bans, int id) {
     	this.uuid_owner = uuid_owner;
+    	this.world = world;
     	this.chunks = chunks;
         this.owner = owner;
-        this.members = new HashSet<>(members);
+        this.members = publish(members);
         this.location = location;
         this.name = name;
         this.description = description;
-        this.permissions = new HashMap<>(permissions);
+        this.permissions = compilePermissions(permissions);
         this.sale = sale;
         this.price = price;
-        this.bans = new HashSet<>(bans);
+        this.bans = publish(bans);
         this.id = id;
     }
     
@@ -109,33 +144,44 @@ public class Claim {
      */
     public void setId(int id) { this.id = id; }
     
+    /**
+     * Sets the id of the row of this claim in the database
+     * 
+     * @param storageId The new storage id
+     */
+    public void setStorageId(int storageId) { this.storageId = storageId; }
+    
     /**
      * Sets the UUID of the owner
      * 
      * @param uuid_owner The new UUID
      */
-    public void setUUID(UUID uuid_owner) { this.uuid_owner = uuid_owner; }
+    public void setUUID(UUID uuid_owner) { this.uuid_owner = uuid_owner; this.version.incrementAndGet(); }
     
     /**
      * Sets the chunk for this claim.
      * 
      * @param chunk The new chunk
      */
-    public void setChunks(Set<Chunk> chunks) { this.chunks = chunks; }
+    public void setChunks(Set<Chunk> chunks) {
+    	ChunkKeySet keys = new ChunkKeySet(chunks.size());
+    	chunks.forEach(c -> keys.add(ChunkKey.of(c)));
+    	this.chunks = keys;
+    }
     
     /**
      * Sets the owner of this claim.
      * 
      * @param owner The new owner
      */
-    public void setOwner(String owner) { this.owner = owner; }
+    public void setOwner(String owner) { this.owner = owner; this.version.incrementAndGet(); }
     
     /**
      * Sets the members who have access to this claim.
      * 
      * @param members The new set of members
      */
-    public void setMembers(Set<UUID> members) { this.members = members; }
+    public void setMembers(Set<UUID> members) { this.members = publish(members); this.version.incrementAndGet(); }
     
     /**
      * Sets the location of this claim.
@@ -149,7 +195,7 @@ public class Claim {
      * 
      * @param name The new name
      */
-    public void setName(String name) { this.name = name; }
+    public void setName(String name) { this.name = name; this.version.incrementAndGet(); }
     
     /**
      * Sets the description of this claim.
@@ -163,28 +209,28 @@ public class Claim {
      * 
      * @param permissions The new permissions
      */
-    public void setPermissions(Map<String,LinkedHashMap<String, Boolean>> permissions) { this.permissions = permissions; }
+    public void setPermissions(Map<String,LinkedHashMap<String, Boolean>> permissions) { this.permissions = compilePermissions(permissions); this.version.incrementAndGet(); }
     
     /**
      * Sets whether this claim is for sale.
      * 
      * @param sale The new sale status
      */
-    public void setSale(boolean sale) { this.sale = sale; }
+    public void setSale(boolean sale) { this.sale = sale; this.version.incrementAndGet(); }
     
     /**
      * Sets the price of this claim if for sale.
      * 
      * @param price The new price
      */
-    public void setPrice(Double price) { this.price = price; }
+    public void setPrice(Double price) { this.price = price; this.version.incrementAndGet(); }
     
     /**
      * Sets the members who are banned from this claim.
      * 
      * @param bans The new set of banned members
      */
-    public void setBans(Set<UUID> bans) { this.bans = bans; }
+    public void setBans(Set<UUID> bans) { this.bans = publish(bans); this.version.incrementAndGet(); }
     
     // Getters
     
@@ -195,6 +241,13 @@ public class Claim {
      */
     public int getId() { return this.id; }
     
+    /**
+     * Gets the id of the row of this claim in the database
+     * 
+     * @return The storage id, or 0 if the claim is not stored yet
+     */
+    public int getStorageId() { return this.storageId; }
+    
     /**
      * Gets the UUID of the owner
      * 
@@ -203,11 +256,82 @@ public class Claim {
     public UUID getUUID() { return this.uuid_owner; }
     
     /**
-     * Gets the chunk associated with this claim.
+     * Gets the chunks associated with this claim.
+     * <p>
+     * The chunks are looked up in the world, which loads them. Prefer {@link #getChunkKeys()}
+     * or {@link #containsChunk(Chunk)} when only the coordinates are needed.
+     * 
+     * @return A new set of the chunks
+     */
+    public Set<Chunk> getChunks() {
+    	Set<Chunk> result = new HashSet<>();
+    	World w = getWorld();
+    	if (w == null) return result;
+    	this.chunks.forEach(key -> result.add(w.getChunkAt(ChunkKey.getX(key), ChunkKey.getZ(key))));
+    	return result;
+    }
+    
+    /**
+     * Gets the version of the claim settings.
+     * <p>
+     * The value changes whenever the owner, the name, the members, the bans,
+     * the sale or the permissions of the claim change.
+     * 
+     * @return The version
+     */
+    public int getVersion() { return this.version.get(); }
+    
+    /**
+     * Gets the packed keys of the chunks associated with this claim.
+     * <p>
+     * The returned set is a snapshot, it must not be modified.
+     * 
+     * @return The chunk keys
+     */
+    public ChunkKeySet getChunkKeys() { return this.chunks; }
+    
+    /**
+     * Gets the number of chunks associated with this claim.
+     * 
+     * @return The number of chunks
+     */
+    public int getChunksCount() { return this.chunks.size(); }
+    
+    /**
+     * Gets the name of the world of this claim.
+     * 
+     * @return The world name
+     */
+    public String getWorldName() { return this.world; }
+    
+    /**
+     * Gets the world of this claim.
+     * 
+     * @return The world, or null if it is not loaded
+     */
+    public World getWorld() { return Bukkit.getWorld(this.world); }
+    
+    /**
+     * Checks if a chunk is part of this claim.
+     * 
+     * @param chunk The chunk
+     * @return True if the chunk belongs to this claim
+     */
+    public boolean containsChunk(Chunk chunk) {
+    	return chunk.getWorld().getName().equals(this.world) && this.chunks.contains(chunk.getX(), chunk.getZ());
+    }
+    
+    /**
+     * Checks if chunk coordinates are part of this claim.
      * 
-     * @return The chunk
+     * @param world The world name
+     * @param x The chunk X coordinate
+     * @param z The chunk Z coordinate
+     * @return True if the chunk belongs to this claim
      */
-    public Set<Chunk> getChunks() { return this.chunks; }
+    public boolean containsChunk(String world, int x, int z) {
+    	return world.equals(this.world) && this.chunks.contains(x, z);
+    }
     
     /**
      * Gets the owner of this claim.
@@ -218,6 +342,8 @@ public class Claim {
     
     /**
      * Gets the members who have access to this claim.
+     * <p>
+     * The returned set is a read-only snapshot.
      * 
      * @return The members
      */
@@ -245,11 +371,20 @@ public class Claim {
     public String getDescription() { return this.description; }
     
     /**
-     * Gets the permissions associated with this claim.
+     * Gets the permissions associated with this claim, as used for serialization.
+     * <p>
+     * The map is built from the permission masks, changes to it are not applied to the claim.
      * 
-     * @return The permissions
+     * @return A new map of the permissions, by lower-cased role
      */
-    public Map<String,LinkedHashMap<String, Boolean>> getPermissions() { return this.permissions; }
+    public Map<String,LinkedHashMap<String, Boolean>> getPermissions() {
+    	long[] masks = this.permissions;
+    	Map<String,LinkedHashMap<String, Boolean>> result = new HashMap<>();
+    	for (ClaimPermission.Role role : ClaimPermission.getRoles()) {
+    		result.put(role.getName(), ClaimPermission.toMap(role, masks[role.ordinal()]));
+    	}
+    	return result;
+    }
     
     /**
      * Gets a specific permission associated with this claim.
@@ -259,7 +394,20 @@ public class Claim {
      * @return The permission value
      */
     public boolean getPermission(String permission, String role) {
-    	return this.permissions.getOrDefault(role == null ? "natural" : role.toLowerCase(), new LinkedHashMap<>()).getOrDefault(permission, false);
+    	ClaimPermission perm = ClaimPermission.fromName(permission);
+    	ClaimPermission.Role r = ClaimPermission.Role.fromName(role);
+    	return perm != null && r != null && getPermission(perm, r);
+    }
+    
+    /**
+     * Gets a specific permission associated with this claim.
+     * 
+     * @param permission The permission
+     * @param role The role
+     * @return The permission value
+     */
+    public boolean getPermission(ClaimPermission permission, ClaimPermission.Role role) {
+    	return (this.permissions[role.ordinal()] & permission.getMask()) != 0;
     }
     
     /**
@@ -270,8 +418,22 @@ public class Claim {
      * @return The permission value
      */
     public boolean getPermissionForPlayer(String permission, Player player) {
-    	if (this.owner.equals(player.getName()) && !permission.equalsIgnoreCase("weather")) return true;
-    	return this.permissions.getOrDefault(isMember(player.getUniqueId()) ? "members" : "visitors", new LinkedHashMap<>()).getOrDefault(permission, false);
+    	ClaimPermission perm = ClaimPermission.fromName(permission);
+    	if (perm == null) return this.uuid_owner.equals(player.getUniqueId()) && !permission.equalsIgnoreCase("weather");
+    	return getPermissionForPlayer(perm, player);
+    }
+    
+    /**
+     * Gets a specific permission for a player associated with this claim.
+     * 
+     * @param permission The permission
+     * @param player The target player
+     * @return The permission value
+     */
+    public boolean getPermissionForPlayer(ClaimPermission permission, Player player) {
+    	UUID uuid = player.getUniqueId();
+    	if (permission != ClaimPermission.WEATHER && this.uuid_owner.equals(uuid)) return true;
+    	return getPermission(permission, isMember(uuid) ? ClaimPermission.Role.MEMBERS : ClaimPermission.Role.VISITORS);
     }
     
     /**
@@ -290,6 +452,8 @@ public class Claim {
     
     /**
      * Gets the members who are banned from this claim.
+     * <p>
+     * The returned set is a read-only snapshot.
      * 
      * @return The banned members
      */
@@ -304,7 +468,52 @@ public class Claim {
      * @param value The new permission value
      */
     public void updatePermission(String role, String permission, Boolean value) {
-    	this.permissions.getOrDefault(role == null ? "natural" : role, new LinkedHashMap<>()).put(permission, value);
+    	ClaimPermission perm = ClaimPermission.fromName(permission);
+    	ClaimPermission.Role r = ClaimPermission.Role.fromName(role);
+    	if (perm != null && r != null) updatePermission(r, perm, Boolean.TRUE.equals(value));
+    }
+    
+    /**
+     * Updates a specific permission for this claim.
+     * 
+     * @param role The role
+     * @param permission The permission
+     * @param value The new permission value
+     */
+    public synchronized void updatePermission(ClaimPermission.Role role, ClaimPermission permission, boolean value) {
+    	long[] masks = this.permissions.clone();
+    	if (value) {
+    		masks[role.ordinal()] |= permission.getMask();
+    	} else {
+    		masks[role.ordinal()] &= ~permission.getMask();
+    	}
+    	this.permissions = masks;
+    	this.version.incrementAndGet();
+    }
+    
+    /**
+     * Copies a set of players into a read-only set that can be published.
+     * 
+     * @param players The players
+     * @return The read-only copy
+     */
+    private static Set<UUID> publish(Set<UUID> players) {
+    	return Collections.unmodifiableSet(new HashSet<>(players));
+    }
+    
+    /**
+     * Compiles permission maps into masks.
+     * 
+     * @param permissions The permissions, by lower-cased role
+     * @return The masks, by role ordinal
+     */
+    private static long[] compilePermissions(Map<String,LinkedHashMap<String, Boolean>> permissions) {
+    	long[] masks = new long[ClaimPermission.Role.values().length];
+    	permissions.forEach((role, values) -> {
+    		ClaimPermission.Role r = ClaimPermission.Role.fromName(role);
+    		if (r != null) masks[r.ordinal()] = ClaimPermission.toMask(values);
+    	});
+    	return masks;
     }
     
     /**
@@ -312,35 +521,59 @@ public class Claim {
      * 
      * @param member The member to add
      */
-    public void addMember(UUID member) { this.members.add(member); }
+    public synchronized void addMember(UUID member) {
+    	Set<UUID> newMembers = new HashSet<>(this.members);
+    	newMembers.add(member);
+    	this.members = Collections.unmodifiableSet(newMembers);
+    	this.version.incrementAndGet();
+    }
     
     /**
      * Removes a member from the claim.
      * 
      * @param member The member to remove
      */
-    public void removeMember(UUID member) { this.members.remove(member); }
+    public synchronized void removeMember(UUID member) {
+    	Set<UUID> newMembers = new HashSet<>(this.members);
+    	newMembers.remove(member);
+    	this.members = Collections.unmodifiableSet(newMembers);
+    	this.version.incrementAndGet();
+    }
     
     /**
      * Adds a player to the banned list of this claim.
      * 
      * @param member The player to ban
      */
-    public void addBan(UUID ban) { this.bans.add(ban); }
+    public synchronized void addBan(UUID ban) {
+    	Set<UUID> newBans = new HashSet<>(this.bans);
+    	newBans.add(ban);
+    	this.bans = Collections.unmodifiableSet(newBans);
+    	this.version.incrementAndGet();
+    }
     
     /**
      * Removes a player from the banned list of this claim.
      * 
      * @param member The player to unban
      */
-    public void removeBan(UUID ban) { this.bans.remove(ban); }
+    public synchronized void removeBan(UUID ban) {
+    	Set<UUID> newBans = new HashSet<>(this.bans);
+    	newBans.remove(ban);
+    	this.bans = Collections.unmodifiableSet(newBans);
+    	this.version.incrementAndGet();
+    }
     
     /**
      * Adds a chunk to the claim.
      * 
      * @param chunk The chunk to add
      */
-    public void addChunk(Chunk chunk) { this.chunks.add(chunk); }
+    public void addChunk(Chunk chunk) { 
+    	ChunkKeySet keys = new ChunkKeySet(this.chunks);
+    	keys.add(ChunkKey.of(chunk));
+    	this.chunks = keys;
+    }
     
     /**
      * Adds chunks to the claim.
@@ -348,10 +581,38 @@ public class Claim {
      * @param chunks The chunks to add
      */
     public void addChunks(Set<Chunk> chunks) { 
-        if (!(this.chunks instanceof HashSet)) {
-            this.chunks = new HashSet<>(this.chunks);
-        }
-    	this.chunks.addAll(chunks); 
+    	ChunkKeySet keys = new ChunkKeySet(this.chunks);
+    	chunks.forEach(c -> keys.add(ChunkKey.of(c)));
+    	this.chunks = keys;
+    }
+    
+    /**
+     * Adds chunk keys to the claim.
+     * 
+     * @param keys The packed chunk keys to add
+     */
+    public void addChunkKeys(ChunkKeySet keys) { 
+    	ChunkKeySet newKeys = new ChunkKeySet(this.chunks);
+    	newKeys.addAll(keys);
+    	this.chunks = newKeys;
+    }
+    
+    /**
+     * Removes a chunk from the claim.
+     * 
+     * @param chunk The chunk to remove
+     */
+    public void removeChunk(Chunk chunk) { removeChunk(ChunkKey.of(chunk)); }
+    
+    /**
+     * Removes a chunk from the claim.
+     * 
+     * @param key The packed key of the chunk to remove
+     */
+    public void removeChunk(long key) { 
+    	ChunkKeySet keys = new ChunkKeySet(this.chunks);
+    	keys.remove(key);
+    	this.chunks = keys;
     }
     
     /**
@@ -0,0 +1,181 @@
+package fr.xyness.SCS.Types;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class handles the claims of one owner (a player, or the server for protected areas).
+ * <p>
+ * Besides the set of claims, it keeps a case-insensitive name index and a bitmap of the used ids,
+ * so name lookups and id allocation do not have to walk every claim of the owner.
+ * <p>
+ * The set and the name index are replaced on every change and never modified once published,
+ * so they can be read from any thread while a writer updates the catalog.
+ */
+public class ClaimCatalog {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** The claims of the owner */
+	private volatile CustomSet<Claim> claims = new CustomSet<>();
+
+	/** The claims by lower-cased name */
+	private volatile Map<String, Claim> byName = new HashMap<>();
+
+	/** The ids used by the claims */
+	private final BitSet ids = new BitSet();
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	/**
+	 * Gets the claims of the owner.
+	 * <p>
+	 * The returned set is a snapshot, it must not be modified.
+	 *
+	 * @return The claims
+	 */
+	public CustomSet<Claim> getClaims() { return this.claims; }
+
+	/**
+	 * Gets the number of claims.
+	 *
+	 * @return The size
+	 */
+	public int size() { return this.claims.size(); }
+
+	/**
+	 * Checks if the owner has no claim.
+	 *
+	 * @return True if empty
+	 */
+	public boolean isEmpty() { return this.claims.isEmpty(); }
+
+	/**
+	 * Checks if a claim is in the catalog.
+	 *
+	 * @param claim The claim
+	 * @return True if present
+	 */
+	public boolean contains(Claim claim) { return this.claims.contains(claim); }
+
+	/**
+	 * Adds a claim to the catalog.
+	 *
+	 * @param claim The claim
+	 * @return True if the claim was not already present
+	 */
+	public synchronized boolean add(Claim claim) {
+		if (this.claims.contains(claim)) return false;
+		CustomSet<Claim> newClaims = new CustomSet<>(this.claims);
+		newClaims.add(claim);
+		Map<String, Claim> newByName = new HashMap<>(this.byName);
+		newByName.put(claim.getName().toLowerCase(), claim);
+		if (claim.getId() >= 0) this.ids.set(claim.getId());
+		this.byName = newByName;
+		this.claims = newClaims;
+		return true;
+	}
+
+	/**
+	 * Adds claims to the catalog, publishing the new set and name index once.
+	 *
+	 * @param claims The claims
+	 */
+	public synchronized void addAll(Collection<Claim> claims) {
+		CustomSet<Claim> newClaims = new CustomSet<>(this.claims);
+		Map<String, Claim> newByName = new HashMap<>(this.byName);
+		for (Claim claim : claims) {
+			if (!newClaims.add(claim)) continue;
+			newByName.put(claim.getName().toLowerCase(), claim);
+			if (claim.getId() >= 0) this.ids.set(claim.getId());
+		}
+		this.byName = newByName;
+		this.claims = newClaims;
+	}
+
+	/**
+	 * Removes a claim from the catalog.
+	 *
+	 * @param claim The claim
+	 * @return True if the claim was present
+	 */
+	public synchronized boolean remove(Claim claim) {
+		if (!this.claims.contains(claim)) return false;
+		CustomSet<Claim> newClaims = new CustomSet<>(this.claims);
+		newClaims.remove(claim);
+		Map<String, Claim> newByName = new HashMap<>(this.byName);
+		newByName.remove(claim.getName().toLowerCase(), claim);
+		if (claim.getId() >= 0 && !hasId(newClaims, claim.getId())) this.ids.clear(claim.getId());
+		this.claims = newClaims;
+		this.byName = newByName;
+		return true;
+	}
+
+	/**
+	 * Checks if an id is used by one of some claims.
+	 *
+	 * @param claims The claims
+	 * @param id The id
+	 * @return True if a claim has the id
+	 */
+	private static boolean hasId(Collection<Claim> claims, int id) {
+		for (Claim claim : claims) {
+			if (claim.getId() == id) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Renames a claim of the catalog.
+	 *
+	 * @param claim The claim
+	 * @param name The new name
+	 */
+	public synchronized void rename(Claim claim, String name) {
+		Map<String, Claim> newByName = new HashMap<>(this.byName);
+		newByName.remove(claim.getName().toLowerCase(), claim);
+		claim.setName(name);
+		if (this.claims.contains(claim)) newByName.put(name.toLowerCase(), claim);
+		this.byName = newByName;
+	}
+
+	/**
+	 * Gets a claim by its name, case-insensitively.
+	 *
+	 * @param name The name
+	 * @return The claim, or null if none exists
+	 */
+	public Claim getByName(String name) {
+		return this.byName.get(name.toLowerCase());
+	}
+
+	/**
+	 * Checks if a name is used by a claim, case-insensitively.
+	 *
+	 * @param name The name
+	 * @return True if the name is used
+	 */
+	public boolean hasName(String name) {
+		return this.byName.containsKey(name.toLowerCase());
+	}
+
+	/**
+	 * Gets the next id for a new claim, one above the highest used id.
+	 *
+	 * @return The next id
+	 */
+	public synchronized int nextId() {
+		return this.ids.length();
+	}
+
+}
@@ -0,0 +1,350 @@
+package fr.xyness.SCS.Types;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * This class handles the spatial index of the claimed chunks of one world.
+ * <p>
+ * Chunks are bucketed in square cells of {@value #CELL_SIZE} x {@value #CELL_SIZE} chunks,
+ * so a range query only visits the cells overlapping the searched rectangle
+ * instead of every claimed chunk of the server. It is also the chunk lookup table:
+ * a point lookup finds the cell, then the chunk inside it.
+ * <p>
+ * The cells are kept in an open-addressing table over primitive arrays, so a lookup never boxes.
+ */
+public class ClaimGrid {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Shift from chunk coordinates to cell coordinates */
+	private static final int CELL_SHIFT = 5;
+
+	/** Side of a cell, in chunks */
+	public static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+	/** The packed cell key slots of the cell table */
+	private long[] cellKeys;
+
+	/** The cell slots of the cell table */
+	private ChunkClaimMap[] cells;
+
+	/** The number of cells */
+	private int cellCount;
+
+	/** The number of claimed chunks */
+	private int size;
+
+	/** The cells created by this grid, the others are shared with the grid it was copied from */
+	private final Set<ChunkClaimMap> ownedCells;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Creates an empty grid.
+	 */
+	public ClaimGrid() {
+		this.cellKeys = new long[16];
+		this.cells = new ChunkClaimMap[16];
+		Arrays.fill(this.cellKeys, ChunkKeySet.EMPTY);
+		this.ownedCells = new HashSet<>();
+	}
+
+	/**
+	 * Creates a copy of another grid.
+	 * <p>
+	 * The cells are shared until they are modified, so copying a grid only costs its number of cells,
+	 * not its number of chunks.
+	 *
+	 * @param other The grid to copy
+	 */
+	public ClaimGrid(ClaimGrid other) {
+		this.cellKeys = other.cellKeys.clone();
+		this.cells = other.cells.clone();
+		this.cellCount = other.cellCount;
+		this.size = other.size;
+		this.ownedCells = new HashSet<>();
+	}
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	/**
+	 * Gets the number of claimed chunks.
+	 *
+	 * @return The size
+	 */
+	public int size() { return this.size; }
+
+	/**
+	 * Gets the claim of a chunk.
+	 *
+	 * @param key The packed chunk key
+	 * @return The claim, or null if the chunk is not claimed
+	 */
+	public Claim get(long key) {
+		ChunkClaimMap map = getCell(cellOf(key));
+		return map == null ? null : map.get(key);
+	}
+
+	/**
+	 * Adds a claimed chunk to the grid.
+	 *
+	 * @param key The packed chunk key
+	 * @param claim The claim
+	 */
+	public void put(long key, Claim claim) {
+		long cell = cellOf(key);
+		ChunkClaimMap map = writableCell(cell);
+		if (map == null) {
+			map = new ChunkClaimMap();
+			putCell(cell, map);
+			ownedCells.add(map);
+		}
+		if (map.put(key, claim) == null) size++;
+	}
+
+	/**
+	 * Removes a claimed chunk from the grid.
+	 *
+	 * @param key The packed chunk key
+	 */
+	public void remove(long key) {
+		long cell = cellOf(key);
+		ChunkClaimMap map = getCell(cell);
+		if (map == null || map.get(key) == null) return;
+		map = writableCell(cell);
+		map.remove(key);
+		size--;
+		if (map.size() == 0) {
+			removeCell(cell);
+			ownedCells.remove(map);
+		}
+	}
+
+	/**
+	 * Removes all chunks.
+	 */
+	public void clear() {
+		Arrays.fill(cellKeys, ChunkKeySet.EMPTY);
+		Arrays.fill(cells, null);
+		cellCount = 0;
+		size = 0;
+		ownedCells.clear();
+	}
+
+	/**
+	 * Checks if a chunk inside a rectangle belongs to a claim of another owner.
+	 *
+	 * @param minX The minimum chunk X coordinate (inclusive)
+	 * @param minZ The minimum chunk Z coordinate (inclusive)
+	 * @param maxX The maximum chunk X coordinate (inclusive)
+	 * @param maxZ The maximum chunk Z coordinate (inclusive)
+	 * @param owner The owner whose claims are ignored, or null to match any claim
+	 * @return True if a matching chunk is found
+	 */
+	public boolean hasForeignClaim(int minX, int minZ, int maxX, int maxZ, String owner) {
+		return anyMatch(minX, minZ, maxX, maxZ, (key, claim) -> owner == null || !claim.getOwner().equals(owner));
+	}
+
+	/**
+	 * Gets all the claims having at least one chunk inside a rectangle.
+	 *
+	 * @param minX The minimum chunk X coordinate (inclusive)
+	 * @param minZ The minimum chunk Z coordinate (inclusive)
+	 * @param maxX The maximum chunk X coordinate (inclusive)
+	 * @param maxZ The maximum chunk Z coordinate (inclusive)
+	 * @return The set of claims intersecting the rectangle
+	 */
+	public Set<Claim> getClaimsIn(int minX, int minZ, int maxX, int maxZ) {
+		Set<Claim> result = new CustomSet<>();
+		anyMatch(minX, minZ, maxX, maxZ, (key, claim) -> {
+			result.add(claim);
+			return false;
+		});
+		return result;
+	}
+
+	/**
+	 * Visits the chunks inside a rectangle until the predicate matches.
+	 *
+	 * @param minX The minimum chunk X coordinate (inclusive)
+	 * @param minZ The minimum chunk Z coordinate (inclusive)
+	 * @param maxX The maximum chunk X coordinate (inclusive)
+	 * @param maxZ The maximum chunk Z coordinate (inclusive)
+	 * @param predicate The predicate, only called for chunks inside the rectangle
+	 * @return True if a chunk matches
+	 */
+	private boolean anyMatch(int minX, int minZ, int maxX, int maxZ, ChunkClaimMap.EntryPredicate predicate) {
+		ChunkClaimMap.EntryPredicate inside = (key, claim) -> {
+			int x = ChunkKey.getX(key);
+			int z = ChunkKey.getZ(key);
+			return x >= minX && x <= maxX && z >= minZ && z <= maxZ && predicate.test(key, claim);
+		};
+		int minCellX = minX >> CELL_SHIFT;
+		int minCellZ = minZ >> CELL_SHIFT;
+		int maxCellX = maxX >> CELL_SHIFT;
+		int maxCellZ = maxZ >> CELL_SHIFT;
+		long cellsInRect = (long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1);
+
+		// Very large rectangles: walking the existing cells is cheaper
+		if (cellsInRect > cellCount) {
+			long[] k = cellKeys;
+			for (int i = 0; i < k.length; i++) {
+				long cell = k[i];
+				if (cell == ChunkKeySet.EMPTY) continue;
+				int cx = ChunkKey.getX(cell);
+				int cz = ChunkKey.getZ(cell);
+				if (cx < minCellX || cx > maxCellX || cz < minCellZ || cz > maxCellZ) continue;
+				if (cells[i].anyMatch(inside)) return true;
+			}
+			return false;
+		}
+
+		for (int cx = minCellX; cx <= maxCellX; cx++) {
+			for (int cz = minCellZ; cz <= maxCellZ; cz++) {
+				ChunkClaimMap map = getCell(ChunkKey.of(cx, cz));
+				if (map != null && map.anyMatch(inside)) return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets a cell that can be modified, copying it first if it is shared with another grid.
+	 *
+	 * @param cell The packed cell key
+	 * @return The cell, or null if it does not exist
+	 */
+	private ChunkClaimMap writableCell(long cell) {
+		ChunkClaimMap map = getCell(cell);
+		if (map == null || ownedCells.contains(map)) return map;
+		map = new ChunkClaimMap(map);
+		putCell(cell, map);
+		ownedCells.add(map);
+		return map;
+	}
+
+	/**
+	 * Gets a cell.
+	 *
+	 * @param cell The packed cell key
+	 * @return The cell, or null if it does not exist
+	 */
+	private ChunkClaimMap getCell(long cell) {
+		long[] k = cellKeys;
+		int mask = k.length - 1;
+		int i = ChunkKey.hash(cell) & mask;
+		long current;
+		while ((current = k[i]) != ChunkKeySet.EMPTY) {
+			if (current == cell) return cells[i];
+			i = (i + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * Adds or replaces a cell.
+	 *
+	 * @param cell The packed cell key
+	 * @param map The cell
+	 */
+	private void putCell(long cell, ChunkClaimMap map) {
+		if ((cellCount + 1) * 4 > cellKeys.length * 3) rehashCells(cellKeys.length << 1);
+		long[] k = cellKeys;
+		int mask = k.length - 1;
+		int i = ChunkKey.hash(cell) & mask;
+		long current;
+		while ((current = k[i]) != ChunkKeySet.EMPTY) {
+			if (current == cell) {
+				cells[i] = map;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		k[i] = cell;
+		cells[i] = map;
+		cellCount++;
+	}
+
+	/**
+	 * Removes a cell, closing the gap it leaves (backward shift deletion).
+	 *
+	 * @param cell The packed cell key
+	 */
+	private void removeCell(long cell) {
+		long[] k = cellKeys;
+		ChunkClaimMap[] v = cells;
+		int mask = k.length - 1;
+		int pos = ChunkKey.hash(cell) & mask;
+		long current;
+		while ((current = k[pos]) != cell) {
+			if (current == ChunkKeySet.EMPTY) return;
+			pos = (pos + 1) & mask;
+		}
+		cellCount--;
+		int last;
+		while (true) {
+			pos = ((last = pos) + 1) & mask;
+			while (true) {
+				if ((current = k[pos]) == ChunkKeySet.EMPTY) {
+					k[last] = ChunkKeySet.EMPTY;
+					v[last] = null;
+					return;
+				}
+				int slot = ChunkKey.hash(current) & mask;
+				if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) break;
+				pos = (pos + 1) & mask;
+			}
+			k[last] = current;
+			v[last] = v[pos];
+		}
+	}
+
+	/**
+	 * Grows the cell table.
+	 *
+	 * @param capacity The new capacity, a power of two
+	 */
+	private void rehashCells(int capacity) {
+		long[] oldKeys = cellKeys;
+		ChunkClaimMap[] oldCells = cells;
+		long[] k = new long[capacity];
+		ChunkClaimMap[] v = new ChunkClaimMap[capacity];
+		Arrays.fill(k, ChunkKeySet.EMPTY);
+		int mask = capacity - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			long cell = oldKeys[j];
+			if (cell == ChunkKeySet.EMPTY) continue;
+			int i = ChunkKey.hash(cell) & mask;
+			while (k[i] != ChunkKeySet.EMPTY) i = (i + 1) & mask;
+			k[i] = cell;
+			v[i] = oldCells[j];
+		}
+		cellKeys = k;
+		cells = v;
+	}
+
+	/**
+	 * Gets the packed cell key of a chunk.
+	 *
+	 * @param key The packed chunk key
+	 * @return The packed cell key
+	 */
+	private static long cellOf(long key) {
+		return ChunkKey.of(ChunkKey.getX(key) >> CELL_SHIFT, ChunkKey.getZ(key) >> CELL_SHIFT);
+	}
+
+}
@@ -0,0 +1,223 @@
+package fr.xyness.SCS.Types;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This enum handles the claim permissions (the claim settings), each one owning a bit of a permission mask.
+ * <p>
+ * A claim stores one mask per {@link Role}, so checking a permission is a single bit test.
+ * The string maps used by the database and the GUIs are built from the masks, following
+ * the layout of the default values compiled by {@link #compile(Map)}.
+ */
+public enum ClaimPermission {
+
+	BUILD("Build"),
+	DESTROY("Destroy"),
+	BUTTONS("Buttons"),
+	ITEMS("Items"),
+	INTERACT_BLOCKS("InteractBlocks"),
+	LEVERS("Levers"),
+	PLATES("Plates"),
+	DOORS("Doors"),
+	TRAPDOORS("Trapdoors"),
+	FENCEGATES("Fencegates"),
+	TRIPWIRES("Tripwires"),
+	REPEATERS_COMPARATORS("RepeatersComparators"),
+	BELLS("Bells"),
+	ENTITIES("Entities"),
+	FROSTWALKER("Frostwalker"),
+	TELEPORTATIONS("Teleportations"),
+	DAMAGES("Damages"),
+	FLY("Fly"),
+	WEATHER("Weather"),
+	GUI_TELEPORT("GuiTeleport"),
+	PORTALS("Portals"),
+	ENTER("Enter"),
+	ITEMS_PICKUP("ItemsPickup"),
+	ITEMS_DROP("ItemsDrop"),
+	SPECIAL_BLOCKS("SpecialBlocks"),
+	ELYTRA("Elytra"),
+	EXPLOSIONS("Explosions"),
+	LIQUIDS("Liquids"),
+	REDSTONE("Redstone"),
+	FIRESPREAD("Firespread"),
+	MONSTERS("Monsters"),
+	PVP("Pvp");
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** The permissions by configuration key */
+	private static final Map<String, ClaimPermission> BY_NAME = new HashMap<>();
+
+	/** The default values by role, in configuration order */
+	private static volatile Map<Role, LinkedHashMap<String, Boolean>> layout = new EnumMap<>(Role.class);
+
+	static {
+		for (ClaimPermission permission : values()) {
+			BY_NAME.put(permission.name, permission);
+		}
+	}
+
+	/** The configuration key of the permission */
+	private final String name;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Main constructor.
+	 *
+	 * @param name The configuration key of the permission
+	 */
+	ClaimPermission(String name) {
+		this.name = name;
+	}
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	/**
+	 * This enum handles the roles a claim stores permissions for.
+	 */
+	public enum Role {
+
+		NATURAL("natural"),
+		VISITORS("visitors"),
+		MEMBERS("members");
+
+		/** The key of the role in the permission maps */
+		private final String name;
+
+		/**
+		 * Main constructor.
+		 *
+		 * @param name The key of the role
+		 */
+		Role(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Gets the key of the role.
+		 *
+		 * @return The key
+		 */
+		public String getName() { return this.name; }
+
+		/**
+		 * Gets a role by its key, case-insensitively.
+		 *
+		 * @param name The key, null for the natural role
+		 * @return The role, or null if none exists
+		 */
+		public static Role fromName(String name) {
+			if (name == null) return NATURAL;
+			switch (name.toLowerCase()) {
+				case "natural": return NATURAL;
+				case "visitors": return VISITORS;
+				case "members": return MEMBERS;
+				default: return null;
+			}
+		}
+	}
+
+	/**
+	 * Gets the configuration key of the permission.
+	 *
+	 * @return The key
+	 */
+	public String getName() { return this.name; }
+
+	/**
+	 * Gets the bit of the permission in a permission mask.
+	 *
+	 * @return The bit
+	 */
+	public long getMask() { return 1L << ordinal(); }
+
+	/**
+	 * Gets a permission by its configuration key.
+	 *
+	 * @param name The key
+	 * @return The permission, or null if none exists
+	 */
+	public static ClaimPermission fromName(String name) {
+		return BY_NAME.get(name);
+	}
+
+	/**
+	 * Compiles the layout of the permission maps from the default values of the settings.
+	 *
+	 * @param defaults The default values, by lower-cased role
+	 */
+	public static void compile(Map<String, LinkedHashMap<String, Boolean>> defaults) {
+		Map<Role, LinkedHashMap<String, Boolean>> newLayout = new EnumMap<>(Role.class);
+		defaults.forEach((role, values) -> {
+			Role r = Role.fromName(role);
+			if (r != null) newLayout.put(r, new LinkedHashMap<>(values));
+		});
+		layout = newLayout;
+	}
+
+	/**
+	 * Gets the roles of the compiled layout.
+	 *
+	 * @return The roles
+	 */
+	public static List<Role> getRoles() {
+		return Collections.unmodifiableList(new ArrayList<>(layout.keySet()));
+	}
+
+	/**
+	 * Compiles a permission map into a mask.
+	 *
+	 * @param values The values by configuration key
+	 * @return The mask
+	 */
+	public static long toMask(Map<String, Boolean> values) {
+		long mask = 0L;
+		if (values == null) return mask;
+		for (Map.Entry<String, Boolean> entry : values.entrySet()) {
+			ClaimPermission permission = fromName(entry.getKey());
+			if (permission != null && Boolean.TRUE.equals(entry.getValue())) mask |= permission.getMask();
+		}
+		return mask;
+	}
+
+	/**
+	 * Builds the permission map of a role from a mask, in configuration order.
+	 * <p>
+	 * Keys unknown to this enum keep their default value, so the serialized strings stay aligned.
+	 *
+	 * @param role The role
+	 * @param mask The mask
+	 * @return A new permission map
+	 */
+	public static LinkedHashMap<String, Boolean> toMap(Role role, long mask) {
+		LinkedHashMap<String, Boolean> result = new LinkedHashMap<>();
+		LinkedHashMap<String, Boolean> defaults = layout.get(role);
+		if (defaults == null) return result;
+		defaults.forEach((key, value) -> {
+			ClaimPermission permission = fromName(key);
+			result.put(key, permission == null ? value : (mask & permission.getMask()) != 0);
+		});
+		return result;
+	}
+
+}
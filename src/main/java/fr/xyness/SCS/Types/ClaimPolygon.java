@@ -0,0 +1,355 @@
+package fr.xyness.SCS.Types;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class handles the outline of a group of connected chunks, as one outer ring and its holes.
+ * <p>
+ * The outlines are traced along the edges of the chunk grid: each claimed chunk side facing an
+ * unclaimed chunk is an edge, and the edges are chained into rings keeping only the corners.
+ * Chunks touching only by a corner are separate groups. The outer ring runs clockwise on the map
+ * (x to the east, z to the south) and the holes counterclockwise.
+ * The coordinates of the rings are block coordinates.
+ */
+public class ClaimPolygon {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** The X steps of the directions east, south, west and north */
+	private static final int[] DX = {1, 0, -1, 0};
+
+	/** The Z steps of the directions east, south, west and north */
+	private static final int[] DZ = {0, 1, 0, -1};
+
+	/** The outer ring */
+	private final Ring outer;
+
+	/** The holes */
+	private final List<Ring> holes;
+
+	/** The number of chunks of the group */
+	private final int chunks;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Main constructor.
+	 *
+	 * @param outer The outer ring
+	 * @param holes The holes
+	 * @param chunks The number of chunks of the group
+	 */
+	private ClaimPolygon(Ring outer, List<Ring> holes, int chunks) {
+		this.outer = outer;
+		this.holes = Collections.unmodifiableList(holes);
+		this.chunks = chunks;
+	}
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	/**
+	 * A closed ring of corners, the last corner is joined to the first one.
+	 */
+	public static class Ring {
+
+		/** The X block coordinates of the corners */
+		private final int[] x;
+
+		/** The Z block coordinates of the corners */
+		private final int[] z;
+
+		/**
+		 * Main constructor.
+		 *
+		 * @param x The X block coordinates of the corners
+		 * @param z The Z block coordinates of the corners
+		 */
+		private Ring(int[] x, int[] z) {
+			this.x = x;
+			this.z = z;
+		}
+
+		/**
+		 * Gets the number of corners.
+		 *
+		 * @return The number of corners
+		 */
+		public int size() { return this.x.length; }
+
+		/**
+		 * Gets the X block coordinate of a corner.
+		 *
+		 * @param i The index of the corner
+		 * @return The X block coordinate
+		 */
+		public int getX(int i) { return this.x[i]; }
+
+		/**
+		 * Gets the Z block coordinate of a corner.
+		 *
+		 * @param i The index of the corner
+		 * @return The Z block coordinate
+		 */
+		public int getZ(int i) { return this.z[i]; }
+
+		/**
+		 * Gets twice the signed area of the ring, positive for a clockwise ring on the map.
+		 *
+		 * @return Twice the signed area, in square blocks
+		 */
+		public long getDoubleArea() {
+			long area = 0;
+			for (int i = 0, n = this.x.length; i < n; i++) {
+				int j = (i + 1) % n;
+				area += (long) this.x[i] * this.z[j] - (long) this.x[j] * this.z[i];
+			}
+			return area;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Ring)) return false;
+			Ring other = (Ring) o;
+			return Arrays.equals(this.x, other.x) && Arrays.equals(this.z, other.z);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * Arrays.hashCode(this.x) + Arrays.hashCode(this.z);
+		}
+	}
+
+	/**
+	 * Traces the outlines of a set of chunks, one polygon per group of chunks connected by their sides.
+	 *
+	 * @param chunks The packed chunk keys
+	 * @return The polygons, the largest first
+	 */
+	public static List<ClaimPolygon> trace(ChunkKeySet chunks) {
+		List<ClaimPolygon> polygons = new ArrayList<>();
+		ChunkKeySet visited = new ChunkKeySet(chunks.size());
+		for (long start : chunks.toArray()) {
+			if (visited.contains(start)) continue;
+
+			// Collect the group of the chunk
+			ChunkKeySet group = new ChunkKeySet();
+			long[] stack = new long[16];
+			int top = 0;
+			stack[top++] = start;
+			visited.add(start);
+			while (top > 0) {
+				long key = stack[--top];
+				group.add(key);
+				int x = ChunkKey.getX(key);
+				int z = ChunkKey.getZ(key);
+				for (int d = 0; d < 4; d++) {
+					long next = ChunkKey.of(x + DX[d], z + DZ[d]);
+					if (!chunks.contains(next) || !visited.add(next)) continue;
+					if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+					stack[top++] = next;
+				}
+			}
+			polygons.add(traceGroup(group));
+		}
+		polygons.sort((a, b) -> Integer.compare(b.chunks, a.chunks));
+		return polygons;
+	}
+
+	/**
+	 * Traces the outline of a group of chunks connected by their sides.
+	 *
+	 * @param group The packed chunk keys of the group
+	 * @return The polygon
+	 */
+	private static ClaimPolygon traceGroup(ChunkKeySet group) {
+		// The used edges, by direction, keyed by their starting corner
+		ChunkKeySet[] used = {new ChunkKeySet(), new ChunkKeySet(), new ChunkKeySet(), new ChunkKeySet()};
+		Ring outer = null;
+		List<Ring> holes = new ArrayList<>();
+		for (long key : group.toArray()) {
+			int x = ChunkKey.getX(key);
+			int z = ChunkKey.getZ(key);
+			// The four sides of the chunk, as edges starting from a corner: north, east, south and west
+			int[][] sides = {{x, z, 0}, {x + 1, z, 1}, {x + 1, z + 1, 2}, {x, z + 1, 3}};
+			for (int[] side : sides) {
+				if ((edges(group, side[0], side[1]) & (1 << side[2])) == 0) continue;
+				if (used[side[2]].contains(ChunkKey.of(side[0], side[1]))) continue;
+				Ring ring = traceRing(group, used, side[0], side[1], side[2]);
+				if (ring.getDoubleArea() > 0) {
+					outer = ring;
+				} else {
+					holes.add(ring);
+				}
+			}
+		}
+		return new ClaimPolygon(outer, holes, group.size());
+	}
+
+	/**
+	 * Traces a ring from one of its edges.
+	 *
+	 * @param group The packed chunk keys of the group
+	 * @param used The used edges, by direction
+	 * @param startX The X grid coordinate of the starting corner
+	 * @param startZ The Z grid coordinate of the starting corner
+	 * @param startDir The direction of the first edge
+	 * @return The ring
+	 */
+	private static Ring traceRing(ChunkKeySet group, ChunkKeySet[] used, int startX, int startZ, int startDir) {
+		int[] xs = new int[8];
+		int[] zs = new int[8];
+		int n = 0;
+		int x = startX, z = startZ, dir = startDir;
+		while (true) {
+			used[dir].add(ChunkKey.of(x, z));
+			x += DX[dir];
+			z += DZ[dir];
+			int mask = edges(group, x, z);
+			int next;
+			if (Integer.bitCount(mask) > 1) {
+				// Two chunks of the group meet only by this corner, turn left to go on with the other chunk
+				next = (dir + 3) & 3;
+			} else {
+				next = Integer.numberOfTrailingZeros(mask);
+			}
+			if (next != dir) {
+				if (n == xs.length) {
+					xs = Arrays.copyOf(xs, n * 2);
+					zs = Arrays.copyOf(zs, n * 2);
+				}
+				xs[n] = x << 4;
+				zs[n] = z << 4;
+				n++;
+			}
+			if (x == startX && z == startZ && next == startDir) break;
+			dir = next;
+		}
+		return new Ring(Arrays.copyOf(xs, n), Arrays.copyOf(zs, n));
+	}
+
+	/**
+	 * Gets the outline edges starting from a corner of the chunk grid.
+	 * <p>
+	 * The corner (x, z) is the north-west corner of the chunk (x, z). An edge keeps the claimed chunk on its right.
+	 *
+	 * @param group The packed chunk keys of the group
+	 * @param x The X grid coordinate of the corner
+	 * @param z The Z grid coordinate of the corner
+	 * @return The mask of the directions of the edges (1 east, 2 south, 4 west, 8 north)
+	 */
+	private static int edges(ChunkKeySet group, int x, int z) {
+		boolean nw = group.contains(ChunkKey.of(x - 1, z - 1));
+		boolean ne = group.contains(ChunkKey.of(x, z - 1));
+		boolean sw = group.contains(ChunkKey.of(x - 1, z));
+		boolean se = group.contains(ChunkKey.of(x, z));
+		int mask = 0;
+		if (se && !ne) mask |= 1;
+		if (sw && !se) mask |= 2;
+		if (nw && !sw) mask |= 4;
+		if (ne && !nw) mask |= 8;
+		return mask;
+	}
+
+	/**
+	 * Gets the outer ring.
+	 *
+	 * @return The outer ring
+	 */
+	public Ring getOuter() {
+		return this.outer;
+	}
+
+	/**
+	 * Gets the holes.
+	 *
+	 * @return The holes
+	 */
+	public List<Ring> getHoles() {
+		return this.holes;
+	}
+
+	/**
+	 * Gets the number of chunks of the group.
+	 *
+	 * @return The number of chunks
+	 */
+	public int getChunkCount() {
+		return this.chunks;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof ClaimPolygon)) return false;
+		ClaimPolygon other = (ClaimPolygon) o;
+		return this.outer.equals(other.outer) && this.holes.equals(other.holes);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * this.outer.hashCode() + this.holes.hashCode();
+	}
+
+	/**
+	 * Gets the outline as a single ring, each hole joined to the outer ring by a bridge and back.
+	 * <p>
+	 * For the maps whose areas have no holes: filled with the even-odd rule, the bridges cancel out.
+	 *
+	 * @return The joined ring
+	 */
+	public Ring toJoinedRing() {
+		if (this.holes.isEmpty()) return this.outer;
+		int total = this.outer.size();
+		for (Ring hole : this.holes) total += hole.size() + 2;
+		int[] xs = new int[total];
+		int[] zs = new int[total];
+		int n = this.outer.size();
+		System.arraycopy(this.outer.x, 0, xs, 0, n);
+		System.arraycopy(this.outer.z, 0, zs, 0, n);
+		for (Ring hole : this.holes) {
+			// Bridge from the closest corners
+			int bestI = 0, bestJ = 0;
+			long best = Long.MAX_VALUE;
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < hole.size(); j++) {
+					long dx = xs[i] - hole.x[j];
+					long dz = zs[i] - hole.z[j];
+					long distance = dx * dx + dz * dz;
+					if (distance < best) {
+						best = distance;
+						bestI = i;
+						bestJ = j;
+					}
+				}
+			}
+			int m = hole.size();
+			System.arraycopy(xs, bestI + 1, xs, bestI + m + 3, n - bestI - 1);
+			System.arraycopy(zs, bestI + 1, zs, bestI + m + 3, n - bestI - 1);
+			for (int k = 0; k <= m; k++) {
+				xs[bestI + 1 + k] = hole.x[(bestJ + k) % m];
+				zs[bestI + 1 + k] = hole.z[(bestJ + k) % m];
+			}
+			xs[bestI + m + 2] = xs[bestI];
+			zs[bestI + m + 2] = zs[bestI];
+			n += m + 2;
+		}
+		return new Ring(xs, zs);
+	}
+
+}
@@ -0,0 +1,214 @@
+package fr.xyness.SCS.Types;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.PermissionAttachmentInfo;
+
+import fr.xyness.SCS.CPlayerMain;
+
+/**
+ * This class handles the compiled permissions of a player: the numeric limits.
+ * <p>
+ * A profile is computed in a single pass over the effective permissions of the player, then
+ * read without any permission lookup. It is immutable, a new profile is computed when the
+ * permissions or the groups of the player may have changed.
+ * <p>
+ * The bypass permissions are not part of the profile: they guard the claim protections,
+ * so they are always checked live and a revoked permission applies immediately.
+ */
+public class PermissionProfile {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/**
+	 * This enum handles the numeric limits of a profile.
+	 */
+	public enum Limit {
+
+		MAX_CLAIMS("max-claims", CPlayerMain.CLAIM_PATTERN, false, false, true),
+		MAX_RADIUS_CLAIMS("max-radius-claims", CPlayerMain.RADIUS_PATTERN, false, false, true),
+		DELAY("teleportation-delay", CPlayerMain.DELAY_PATTERN, true, false, true),
+		MAX_MEMBERS("max-members", CPlayerMain.MEMBERS_PATTERN, false, false, true),
+		COST("claim-cost", CPlayerMain.COST_PATTERN, false, false, true),
+		CHUNK_COST("chunk-cost", CPlayerMain.CHUNK_COST_PATTERN, false, false, true),
+		MULTIPLIER("claim-cost-multiplier", CPlayerMain.MULTIPLIER_PATTERN, true, true, false),
+		CHUNK_MULTIPLIER("chunk-cost-multiplier", CPlayerMain.CHUNK_MULTIPLIER_PATTERN, true, true, false),
+		MAX_CHUNKS_PER_CLAIM("max-chunks-per-claim", CPlayerMain.CHUNKS_PATTERN, false, false, true),
+		CLAIM_DISTANCE("claim-distance", CPlayerMain.DISTANCE_PATTERN, true, false, true),
+		MAX_CHUNKS_TOTAL("max-chunks-total", CPlayerMain.CHUNKS_TOTAL_PATTERN, false, false, true);
+
+		/** The key of the limit in the groups and players settings */
+		private final String key;
+
+		/** The pattern of the permission giving the limit */
+		private final Pattern pattern;
+
+		/** Whether the lowest permission value wins */
+		private final boolean minPermission;
+
+		/** Whether the lowest group value wins */
+		private final boolean minGroup;
+
+		/** Whether the limit is rounded to an integer */
+		private final boolean integer;
+
+		/**
+		 * Main constructor.
+		 *
+		 * @param key The key of the limit in the settings
+		 * @param pattern The pattern of the permission
+		 * @param minPermission Whether the lowest permission value wins
+		 * @param minGroup Whether the lowest group value wins
+		 * @param integer Whether the limit is rounded to an integer
+		 */
+		Limit(String key, Pattern pattern, boolean minPermission, boolean minGroup, boolean integer) {
+			this.key = key;
+			this.pattern = pattern;
+			this.minPermission = minPermission;
+			this.minGroup = minGroup;
+			this.integer = integer;
+		}
+
+		/**
+		 * Rounds a value if the limit is an integer.
+		 *
+		 * @param value The value
+		 * @return The rounded value
+		 */
+		private double round(double value) {
+			return this.integer ? Math.round(value) : value;
+		}
+	}
+
+	/** The limits by ordinal */
+	private final double[] limits;
+
+	/** Whether the player had scs.admin when the limits were computed */
+	private final boolean admin;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Main constructor.
+	 *
+	 * @param limits The limits by ordinal
+	 * @param admin Whether the player has scs.admin
+	 */
+	private PermissionProfile(double[] limits, boolean admin) {
+		this.limits = limits;
+		this.admin = admin;
+	}
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	/**
+	 * Computes the profile of a player.
+	 * <p>
+	 * For each limit, the player settings win, then the permissions, then the groups
+	 * (the default group and every group the player has the permission of).
+	 *
+	 * @param player The player
+	 * @param playerConfig The settings of the player, or null if none
+	 * @param groupsSettings The settings by group
+	 * @param groups The permission by group
+	 * @return The profile
+	 */
+	public static PermissionProfile compute(Player player, Map<String, Double> playerConfig, Map<String, Map<String, Double>> groupsSettings, LinkedHashMap<String, String> groups) {
+		Limit[] values = Limit.values();
+		double[] limits = new double[values.length];
+		if (player.hasPermission("scs.admin")) {
+			return new PermissionProfile(limits, true);
+		}
+
+		// Permissions, in one pass
+		boolean[] found = new boolean[values.length];
+		for (PermissionAttachmentInfo info : player.getEffectivePermissions()) {
+			String permission = info.getPermission();
+			if (!permission.contains("scs.")) continue;
+			for (Limit limit : values) {
+				Matcher matcher = limit.pattern.matcher(permission);
+				if (!matcher.find()) continue;
+				double value = limit.round(Double.parseDouble(matcher.group(1)));
+				int i = limit.ordinal();
+				if (!found[i]) {
+					limits[i] = value;
+					found[i] = true;
+				} else {
+					limits[i] = limit.minPermission ? Math.min(limits[i], value) : Math.max(limits[i], value);
+				}
+			}
+		}
+
+		// Groups, for the limits without permission
+		Map<String, Double> defaults = groupsSettings.get("default");
+		for (Limit limit : values) {
+			int i = limit.ordinal();
+			if (found[i] || defaults == null) continue;
+			Double value = defaults.get(limit.key);
+			if (value != null) limits[i] = limit.round(value);
+		}
+		for (Map.Entry<String, String> entry : groups.entrySet()) {
+			Map<String, Double> settings = groupsSettings.get(entry.getKey());
+			if (settings == null || !player.hasPermission(entry.getValue())) continue;
+			for (Limit limit : values) {
+				int i = limit.ordinal();
+				Double value = settings.get(limit.key);
+				if (found[i] || value == null) continue;
+				double rounded = limit.round(value);
+				limits[i] = limit.minGroup ? Math.min(limits[i], rounded) : Math.max(limits[i], rounded);
+			}
+		}
+
+		// Player settings
+		if (playerConfig != null) {
+			for (Limit limit : values) {
+				Double value = playerConfig.get(limit.key);
+				if (value != null) limits[limit.ordinal()] = limit.round(value);
+			}
+		}
+
+		return new PermissionProfile(limits, false);
+	}
+
+	/**
+	 * Gets a limit as an integer.
+	 *
+	 * @param limit The limit
+	 * @return The value, 0 for unlimited (or for admins)
+	 */
+	public int getInt(Limit limit) { return (int) this.limits[limit.ordinal()]; }
+
+	/**
+	 * Gets a limit.
+	 *
+	 * @param limit The limit
+	 * @return The value, 0 for admins
+	 */
+	public double getDouble(Limit limit) { return this.limits[limit.ordinal()]; }
+
+	/**
+	 * Checks if the player had scs.admin when the limits were computed.
+	 * <p>
+	 * Only meant for the limits, protection checks use the live permission.
+	 *
+	 * @return True if the player is an admin
+	 */
+	public boolean isAdmin() { return this.admin; }
+
+}
@@ -0,0 +1,147 @@
+package fr.xyness.SCS.Types;
+
+/**
+ * This class handles the values of the placeholders of a player that are costly to compute.
+ * <p>
+ * The values are updated when they change (claims or chunks of the player modified, limits loaded),
+ * so a placeholder request only reads a field, from any thread.
+ */
+public class PlaceholderSnapshot {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** The number of chunks of all the claims of the player */
+	private volatile int chunksCount;
+
+	/** The maximum number of claims */
+	private volatile int maxClaims;
+
+	/** The maximum number of chunks per claim */
+	private volatile int maxChunksPerClaim;
+
+	/** The maximum number of chunks in total */
+	private volatile int maxChunksTotal;
+
+	/** The minimum distance between claims */
+	private volatile int claimDistance;
+
+	/** The maximum radius of radius claims */
+	private volatile int maxRadiusClaims;
+
+	/** The teleportation delay */
+	private volatile int delay;
+
+	/** The maximum number of members per claim */
+	private volatile int maxMembers;
+
+	/** The cost of a claim */
+	private volatile double cost;
+
+	/** The cost multiplier of a claim */
+	private volatile double multiplier;
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	/**
+	 * Sets the number of chunks of all the claims of the player.
+	 *
+	 * @param chunksCount The number of chunks
+	 */
+	public void setChunksCount(int chunksCount) { this.chunksCount = chunksCount; }
+
+	/**
+	 * Loads the limits of the player.
+	 *
+	 * @param cPlayer The player
+	 */
+	public void setLimits(CPlayer cPlayer) {
+		this.maxClaims = cPlayer.getMaxClaims();
+		this.maxChunksPerClaim = cPlayer.getMaxChunksPerClaim();
+		this.maxChunksTotal = cPlayer.getMaxChunksTotal();
+		this.claimDistance = cPlayer.getClaimDistance();
+		this.maxRadiusClaims = cPlayer.getMaxRadiusClaims();
+		this.delay = cPlayer.getDelay();
+		this.maxMembers = cPlayer.getMaxMembers();
+		this.cost = cPlayer.getCost();
+		this.multiplier = cPlayer.getMultiplier();
+	}
+
+	/**
+	 * Gets the number of chunks of all the claims of the player.
+	 *
+	 * @return The number of chunks
+	 */
+	public int getChunksCount() { return this.chunksCount; }
+
+	/**
+	 * Gets the maximum number of claims.
+	 *
+	 * @return The maximum, 0 for unlimited
+	 */
+	public int getMaxClaims() { return this.maxClaims; }
+
+	/**
+	 * Gets the maximum number of chunks per claim.
+	 *
+	 * @return The maximum, 0 for unlimited
+	 */
+	public int getMaxChunksPerClaim() { return this.maxChunksPerClaim; }
+
+	/**
+	 * Gets the maximum number of chunks in total.
+	 *
+	 * @return The maximum, 0 for unlimited
+	 */
+	public int getMaxChunksTotal() { return this.maxChunksTotal; }
+
+	/**
+	 * Gets the minimum distance between claims.
+	 *
+	 * @return The distance
+	 */
+	public int getClaimDistance() { return this.claimDistance; }
+
+	/**
+	 * Gets the maximum radius of radius claims.
+	 *
+	 * @return The maximum, 0 for unlimited
+	 */
+	public int getMaxRadiusClaims() { return this.maxRadiusClaims; }
+
+	/**
+	 * Gets the teleportation delay.
+	 *
+	 * @return The delay
+	 */
+	public int getDelay() { return this.delay; }
+
+	/**
+	 * Gets the maximum number of members per claim.
+	 *
+	 * @return The maximum, 0 for unlimited
+	 */
+	public int getMaxMembers() { return this.maxMembers; }
+
+	/**
+	 * Gets the cost of a claim.
+	 *
+	 * @return The cost
+	 */
+	public double getCost() { return this.cost; }
+
+	/**
+	 * Gets the cost multiplier of a claim.
+	 *
+	 * @return The multiplier
+	 */
+	public double getMultiplier() { return this.multiplier; }
+
+}
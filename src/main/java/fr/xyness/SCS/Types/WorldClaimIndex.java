@@ -0,0 +1,102 @@
+package fr.xyness.SCS.Types;
+
+/**
+ * This class handles the claim index of one world, backed by its spatial grid.
+ * <p>
+ * An index is never modified once it is published. Writers build a modified copy with {@link #copy()}
+ * and swap it in, so readers on any thread get a consistent view without locking.
+ * The copy shares the grid cells it does not modify, so a write costs the cells it touches
+ * and the cell table, not every claimed chunk of the world.
+ */
+public class WorldClaimIndex {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** The spatial grid, used for chunk lookups and range queries */
+	private final ClaimGrid grid;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Creates an empty index.
+	 */
+	public WorldClaimIndex() {
+		this.grid = new ClaimGrid();
+	}
+
+	/**
+	 * Creates a copy of another index.
+	 *
+	 * @param other The index to copy
+	 */
+	private WorldClaimIndex(WorldClaimIndex other) {
+		this.grid = new ClaimGrid(other.grid);
+	}
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	/**
+	 * Creates a copy of this index that can be modified.
+	 *
+	 * @return The copy
+	 */
+	public WorldClaimIndex copy() {
+		return new WorldClaimIndex(this);
+	}
+
+	/**
+	 * Gets the spatial grid.
+	 *
+	 * @return The grid
+	 */
+	public ClaimGrid getGrid() { return this.grid; }
+
+	/**
+	 * Gets the claim of a chunk.
+	 *
+	 * @param key The packed chunk key
+	 * @return The claim, or null if the chunk is not claimed
+	 */
+	public Claim get(long key) {
+		return this.grid.get(key);
+	}
+
+	/**
+	 * Associates a chunk with a claim.
+	 *
+	 * @param key The packed chunk key
+	 * @param claim The claim
+	 */
+	public void put(long key, Claim claim) {
+		this.grid.put(key, claim);
+	}
+
+	/**
+	 * Removes a chunk.
+	 *
+	 * @param key The packed chunk key
+	 */
+	public void remove(long key) {
+		this.grid.remove(key);
+	}
+
+	/**
+	 * Gets the number of claimed chunks.
+	 *
+	 * @return The size
+	 */
+	public int size() { return this.grid.size(); }
+
+}
@@ -0,0 +1,146 @@
+package fr.xyness.SCS;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * This class generates synthetic claims in a temporary SQLite database, in the normalized schema.
+ */
+public final class ClaimFixtures {
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    /**
+     * Utility class, not instantiable.
+     */
+    private ClaimFixtures() {}
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+    /**
+     * Creates an empty SQLite database with the claim tables, in a temporary file deleted on exit.
+     *
+     * @return The file of the database
+     * @throws IOException If the file cannot be created
+     * @throws SQLException If the tables cannot be created
+     */
+    public static File createDatabase() throws IOException, SQLException {
+    	File file = File.createTempFile("scs-claims", ".db");
+    	file.deleteOnExit();
+    	try (Connection connection = open(file);
+    			Statement stmt = connection.createStatement()) {
+    		SimpleClaimSystem.createClaimTables(stmt, true);
+    	}
+    	return file;
+    }
+
+    /**
+     * Opens a connection to a SQLite database.
+     *
+     * @param file The file of the database
+     * @return The connection
+     * @throws SQLException If the database cannot be opened
+     */
+    public static Connection open(File file) throws SQLException {
+    	return DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+    }
+
+    /**
+     * Inserts synthetic claims, in one transaction.
+     * <p>
+     * The claims are owned by 100 players and lie on a grid, each in its own 4x4 area of chunks
+     * so no chunk is claimed twice. Each claim has 1 to 9 chunks, 0 to 3 members and 0 or 1 ban.
+     *
+     * @param connection The connection
+     * @param count The number of claims
+     * @param seed The seed of the generator
+     * @return The total number of chunks inserted
+     * @throws SQLException If a claim cannot be inserted
+     */
+    public static int generate(Connection connection, int count, long seed) throws SQLException {
+    	Random random = new Random(seed);
+    	UUID[] owners = new UUID[100];
+    	for (int i = 0; i < owners.length; i++) {
+    		owners[i] = new UUID(seed, i);
+    	}
+    	int side = (int) Math.ceil(Math.sqrt(count));
+    	int chunksCount = 0;
+    	boolean autoCommit = connection.getAutoCommit();
+    	connection.setAutoCommit(false);
+    	try (PreparedStatement claimStmt = connection.prepareStatement(
+    			"INSERT INTO scs_claims_2 (id_claim, owner_uuid, owner_name, claim_name, claim_description, world_name, location, permissions, for_sale, sale_price) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+    			Statement.RETURN_GENERATED_KEYS);
+    			PreparedStatement chunkStmt = connection.prepareStatement("INSERT INTO scs_claim_chunks (claim_id, world_name, x, z) VALUES (?, ?, ?, ?)");
+    			PreparedStatement memberStmt = connection.prepareStatement("INSERT INTO scs_claim_members (claim_id, member_uuid) VALUES (?, ?)");
+    			PreparedStatement banStmt = connection.prepareStatement("INSERT INTO scs_claim_bans (claim_id, banned_uuid) VALUES (?, ?)")) {
+    		for (int i = 0; i < count; i++) {
+    			int owner = i % owners.length;
+    			int baseX = (i % side) * 4;
+    			int baseZ = (i / side) * 4;
+    			claimStmt.setInt(1, i / owners.length + 1);
+    			claimStmt.setString(2, owners[owner].toString());
+    			claimStmt.setString(3, "player" + owner);
+    			claimStmt.setString(4, "claim-" + (i / owners.length + 1));
+    			claimStmt.setString(5, "Synthetic claim");
+    			claimStmt.setString(6, "world");
+    			claimStmt.setString(7, (baseX * 16 + 8) + ";64;" + (baseZ * 16 + 8) + ";0;0");
+    			claimStmt.setString(8, "natural:1;visitors:0;members:1");
+    			claimStmt.setBoolean(9, false);
+    			claimStmt.setDouble(10, 0);
+    			claimStmt.executeUpdate();
+    			int storageId;
+    			try (ResultSet keys = claimStmt.getGeneratedKeys()) {
+    				keys.next();
+    				storageId = keys.getInt(1);
+    			}
+    			int chunks = 1 + random.nextInt(9);
+    			for (int c = 0; c < chunks; c++) {
+    				chunkStmt.setInt(1, storageId);
+    				chunkStmt.setString(2, "world");
+    				chunkStmt.setInt(3, baseX + c % 3);
+    				chunkStmt.setInt(4, baseZ + c / 3);
+    				chunkStmt.addBatch();
+    			}
+    			chunksCount += chunks;
+    			int members = random.nextInt(4);
+    			for (int m = 0; m < members; m++) {
+    				memberStmt.setInt(1, storageId);
+    				memberStmt.setString(2, owners[(owner + m + 1) % owners.length].toString());
+    				memberStmt.addBatch();
+    			}
+    			if (random.nextBoolean()) {
+    				banStmt.setInt(1, storageId);
+    				banStmt.setString(2, UUID.randomUUID().toString());
+    				banStmt.addBatch();
+    			}
+    		}
+    		chunkStmt.executeBatch();
+    		memberStmt.executeBatch();
+    		banStmt.executeBatch();
+    		connection.commit();
+    	} catch (SQLException e) {
+    		connection.rollback();
+    		throw e;
+    	} finally {
+    		connection.setAutoCommit(autoCommit);
+    	}
+    	return chunksCount;
+    }
+
+}
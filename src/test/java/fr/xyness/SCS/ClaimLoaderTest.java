@@ -0,0 +1,51 @@
+package fr.xyness.SCS;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import fr.xyness.SCS.Types.ChunkKey;
+import fr.xyness.SCS.Types.ChunkKeySet;
+
+/**
+ * Tests of the queries of the claim loader, on synthetic claims in SQLite.
+ */
+public class ClaimLoaderTest {
+
+	/** Number of synthetic claims */
+	private static final int CLAIMS = 500;
+
+	@Test
+	public void streamsSyntheticClaims() throws Exception {
+		File database = ClaimFixtures.createDatabase();
+		try (Connection connection = ClaimFixtures.open(database)) {
+			int chunks = ClaimFixtures.generate(connection, CLAIMS, 1L);
+
+			Map<Integer, ChunkKeySet> claimsChunks = ClaimMain.loadClaimChunks(connection);
+			int rows = 0;
+			try (PreparedStatement stmt = ClaimMain.prepareStreaming(connection, "SELECT * FROM scs_claims_2");
+					ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					ChunkKeySet keys = claimsChunks.get(rs.getInt("id"));
+					assertTrue(keys != null && !keys.isEmpty(), "claim without chunks");
+					String[] location = rs.getString("location").split(";");
+					long key = ChunkKey.ofBlock(Integer.parseInt(location[0]), Integer.parseInt(location[2]));
+					assertTrue(keys.contains(key), "location outside of the claim");
+					rows++;
+				}
+			}
+
+			assertEquals(CLAIMS, rows);
+			assertEquals(CLAIMS, claimsChunks.size());
+			assertEquals(chunks, claimsChunks.values().stream().mapToInt(ChunkKeySet::size).sum());
+		}
+	}
+
+}
@@ -0,0 +1,202 @@
+package fr.xyness.SCS;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Tests of the single SQLite writer, on a temporary database.
+ */
+public class DatabaseWriterTest {
+
+	/** Number of concurrent writers */
+	private static final int THREADS = 4;
+
+	/** The write of the tests */
+	private static final String INSERT = "INSERT INTO scs_scratch (id, value) VALUES (?, ?)";
+
+	@Test
+	public void commitsConcurrentWrites() throws Exception {
+		File database = createDatabase();
+		DatabaseWriter writer = new DatabaseWriter(null);
+		writer.start(new HikariDataSource(config(database, "SQLiteWriter", 1)));
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<CompletableFuture<Void>>> queued = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				int id = i;
+				queued.add(executor.submit(() -> writer.submit(connection -> insert(connection, id))));
+			}
+			for (Future<CompletableFuture<Void>> future : queued) {
+				future.get().join();
+			}
+		} finally {
+			executor.shutdown();
+			writer.stop();
+		}
+		assertEquals(200, writer.getWritesCount());
+		assertTrue(writer.getTransactionsCount() <= 200);
+		assertEquals(200, count(database));
+	}
+
+	@Test
+	public void failingWriteIsRolledBackAlone() throws Exception {
+		File database = createDatabase();
+		DatabaseWriter writer = new DatabaseWriter(null);
+		writer.start(new HikariDataSource(config(database, "SQLiteWriter", 1)));
+		try {
+			CompletableFuture<Void> first = writer.submit(connection -> insert(connection, 1));
+			CompletableFuture<Void> duplicate = writer.submit(connection -> {
+				insert(connection, 2);
+				insert(connection, 1);
+			});
+			CompletableFuture<Void> last = writer.submit(connection -> insert(connection, 3));
+			first.join();
+			last.join();
+			assertThrows(CompletionException.class, duplicate::join);
+		} finally {
+			writer.stop();
+		}
+		assertEquals(2, count(database));
+	}
+
+	@Test
+	public void writesAfterStopFail() throws Exception {
+		File database = createDatabase();
+		DatabaseWriter writer = new DatabaseWriter(null);
+		writer.start(new HikariDataSource(config(database, "SQLiteWriter", 1)));
+		writer.stop();
+		CompletionException e = assertThrows(CompletionException.class, () -> writer.submit(connection -> insert(connection, 1)).join());
+		assertTrue(e.getCause() instanceof SQLNonTransientConnectionException);
+		assertEquals(0, count(database));
+	}
+
+	/**
+	 * Stops the writer while writes are being submitted: each write is either committed
+	 * by the final drain or fails, none is left waiting.
+	 */
+	@Test
+	public void stopCompletesRacingWrites() throws Exception {
+		File database = createDatabase();
+		DatabaseWriter writer = new DatabaseWriter(null);
+		writer.start(new HikariDataSource(config(database, "SQLiteWriter", 1)));
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<List<CompletableFuture<Void>>>> submitters = new ArrayList<>();
+		try {
+			for (int t = 0; t < THREADS; t++) {
+				int first = t * 1000;
+				submitters.add(executor.submit(() -> {
+					List<CompletableFuture<Void>> futures = new ArrayList<>();
+					for (int i = 0; i < 1000; i++) {
+						int id = first + i;
+						futures.add(writer.submit(connection -> insert(connection, id)));
+					}
+					return futures;
+				}));
+			}
+			writer.stop();
+			int committed = 0;
+			for (Future<List<CompletableFuture<Void>>> submitter : submitters) {
+				for (CompletableFuture<Void> future : submitter.get(30, TimeUnit.SECONDS)) {
+					try {
+						future.get(30, TimeUnit.SECONDS);
+						committed++;
+					} catch (ExecutionException e) {
+						assertTrue(e.getCause() instanceof SQLNonTransientConnectionException);
+					}
+				}
+			}
+			assertEquals(committed, count(database));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Creates a temporary database with the claim tables and a scratch table.
+	 *
+	 * @return The file of the database
+	 * @throws Exception If the database cannot be created
+	 */
+	static File createDatabase() throws Exception {
+		File database = ClaimFixtures.createDatabase();
+		try (Connection connection = ClaimFixtures.open(database);
+				Statement stmt = connection.createStatement()) {
+			stmt.executeUpdate("CREATE TABLE scs_scratch (id INT PRIMARY KEY, value VARCHAR(36) NOT NULL)");
+		}
+		return database;
+	}
+
+	/**
+	 * Creates the configuration of a pool of a test database, with the settings of the plugin pools.
+	 *
+	 * @param database The file of the database
+	 * @param poolName The name of the pool
+	 * @param size The maximum size of the pool
+	 * @return The configuration
+	 */
+	static HikariConfig config(File database, String poolName, int size) {
+		HikariConfig config = new HikariConfig();
+		config.setJdbcUrl("jdbc:sqlite:" + database.getAbsolutePath());
+		config.addDataSourceProperty("journal_mode", "WAL");
+		config.addDataSourceProperty("synchronous", "NORMAL");
+		config.addDataSourceProperty("busy_timeout", "10000");
+		config.setPoolName(poolName);
+		config.setMaximumPoolSize(size);
+		return config;
+	}
+
+	/**
+	 * Inserts a row into the scratch table.
+	 *
+	 * @param connection The connection
+	 * @param id The id of the row
+	 * @throws SQLException If the row cannot be inserted
+	 */
+	static void insert(Connection connection, int id) throws SQLException {
+		try (PreparedStatement stmt = connection.prepareStatement(INSERT)) {
+			stmt.setInt(1, id);
+			stmt.setString(2, "row-" + id);
+			stmt.executeUpdate();
+		}
+	}
+
+	/**
+	 * Counts the rows of the scratch table.
+	 *
+	 * @param database The file of the database
+	 * @return The number of rows
+	 * @throws SQLException If the table cannot be read
+	 */
+	private static long count(File database) throws SQLException {
+		try (Connection connection = ClaimFixtures.open(database);
+				Statement stmt = connection.createStatement();
+				ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM scs_scratch")) {
+			rs.next();
+			return rs.getLong(1);
+		}
+	}
+
+}
@@ -0,0 +1,117 @@
+package fr.xyness.SCS.Types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the packed chunk keys and of the primitive tables built on them.
+ */
+public class ChunkClaimMapTest {
+
+	/**
+	 * Creates a claim without chunks, enough to be stored in the tables.
+	 *
+	 * @param id The id of the claim
+	 * @return The claim
+	 */
+	static Claim claim(int id) {
+		return new Claim(UUID.randomUUID(), "world", new ChunkKeySet(), "owner", Set.of(), null, "claim-" + id, "", Map.of(), false, 0.0, Set.of(), id);
+	}
+
+	@Test
+	public void keysRoundTripNegativeCoordinates() {
+		int[] values = { 0, 1, -1, 31, -32, 1875000, -1875000, Integer.MAX_VALUE, Integer.MIN_VALUE + 1 };
+		for (int x : values) {
+			for (int z : values) {
+				long key = ChunkKey.of(x, z);
+				assertEquals(x, ChunkKey.getX(key));
+				assertEquals(z, ChunkKey.getZ(key));
+			}
+		}
+		assertEquals(ChunkKey.of(-1, -1), ChunkKey.ofBlock(-1, -16));
+		assertEquals(ChunkKey.of(0, -2), ChunkKey.ofBlock(15, -17));
+	}
+
+	@Test
+	public void keySetMatchesHashSet() {
+		Random random = new Random(42);
+		ChunkKeySet set = new ChunkKeySet();
+		Set<Long> expected = new HashSet<>();
+		for (int i = 0; i < 20000; i++) {
+			long key = ChunkKey.of(random.nextInt(64) - 32, random.nextInt(64) - 32);
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(key), set.remove(key));
+			} else {
+				assertEquals(expected.add(key), set.add(key));
+			}
+		}
+		assertEquals(expected.size(), set.size());
+		for (int x = -32; x < 32; x++) {
+			for (int z = -32; z < 32; z++) {
+				assertEquals(expected.contains(ChunkKey.of(x, z)), set.contains(x, z));
+			}
+		}
+	}
+
+	@Test
+	public void keySetCopyIsIndependent() {
+		ChunkKeySet set = new ChunkKeySet();
+		set.add(ChunkKey.of(1, 2));
+		ChunkKeySet copy = new ChunkKeySet(set);
+		copy.add(ChunkKey.of(3, 4));
+		copy.remove(ChunkKey.of(1, 2));
+		assertTrue(set.contains(1, 2));
+		assertFalse(set.contains(3, 4));
+		assertEquals(1, set.size());
+	}
+
+	@Test
+	public void claimMapMatchesHashMap() {
+		Random random = new Random(7);
+		Claim[] claims = { claim(1), claim(2), claim(3) };
+		ChunkClaimMap map = new ChunkClaimMap();
+		Map<Long, Claim> expected = new HashMap<>();
+		for (int i = 0; i < 50000; i++) {
+			long key = ChunkKey.of(random.nextInt(100) - 50, random.nextInt(100) - 50);
+			if (random.nextInt(3) == 0) {
+				assertSame(expected.remove(key), map.remove(key));
+			} else {
+				Claim claim = claims[random.nextInt(claims.length)];
+				assertSame(expected.put(key, claim), map.put(key, claim));
+			}
+		}
+		assertEquals(expected.size(), map.size());
+		expected.forEach((key, claim) -> assertSame(claim, map.get(key)));
+		int[] visited = new int[1];
+		map.forEach((key, claim) -> {
+			assertSame(expected.get(key), claim);
+			visited[0]++;
+		});
+		assertEquals(expected.size(), visited[0]);
+	}
+
+	@Test
+	public void claimMapMissingChunk() {
+		ChunkClaimMap map = new ChunkClaimMap();
+		assertNull(map.get(ChunkKey.of(0, 0)));
+		map.put(ChunkKey.of(0, 0), claim(1));
+		assertNull(map.get(ChunkKey.of(0, 1)));
+		assertFalse(map.containsKey(ChunkKey.of(1, 0)));
+		map.clear();
+		assertEquals(0, map.size());
+		assertNull(map.get(ChunkKey.of(0, 0)));
+	}
+
+}
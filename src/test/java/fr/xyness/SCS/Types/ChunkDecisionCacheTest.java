@@ -0,0 +1,88 @@
+package fr.xyness.SCS.Types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the per-event chunk decision cache.
+ */
+public class ChunkDecisionCacheTest {
+
+	/**
+	 * A block of an explosion list, only its coordinates matter here.
+	 */
+	private static final class TestBlock {
+		final int x;
+		final int z;
+
+		TestBlock(int x, int z) {
+			this.x = x;
+			this.z = z;
+		}
+	}
+
+	@Test
+	public void resolvesEachChunkOnce() {
+		int[] calls = new int[1];
+		ChunkDecisionCache cache = new ChunkDecisionCache(key -> {
+			calls[0]++;
+			return ChunkKey.getX(key) == 0;
+		});
+		assertTrue(cache.test(0, 0));
+		assertTrue(cache.test(15, 15));
+		assertFalse(cache.test(16, 0));
+		assertTrue(cache.test(3, -3 + 16));
+		assertFalse(cache.test(-1, 0));
+		assertFalse(cache.test(31, 2));
+		assertTrue(cache.test(8, 8));
+		assertEquals(3, calls[0]);
+	}
+
+	/**
+	 * Filters a block list as the explosion listeners do: the blocks of chunks claimed by a claim
+	 * denying explosions are removed, the others are kept, each chunk being resolved once.
+	 */
+	@Test
+	public void filtersBlocksOfProtectedChunks() {
+		WorldClaimIndex index = new WorldClaimIndex();
+		Claim protectedClaim = ChunkClaimMapTest.claim(1);
+		Claim openClaim = ChunkClaimMapTest.claim(2);
+		openClaim.updatePermission(ClaimPermission.Role.NATURAL, ClaimPermission.EXPLOSIONS, true);
+		index.put(ChunkKey.of(-1, 0), protectedClaim);
+		index.put(ChunkKey.of(0, 0), protectedClaim);
+		index.put(ChunkKey.of(0, -1), openClaim);
+
+		// Blocks spread over the chunks (-1, -1), unclaimed, (0, -1), (-1, 0) and (0, 0)
+		Random random = new Random(5);
+		List<TestBlock> blocks = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			blocks.add(new TestBlock(random.nextInt(32) - 16, random.nextInt(32) - 16));
+		}
+		int[] lookups = new int[1];
+		ChunkDecisionCache protectedChunks = new ChunkDecisionCache(key -> {
+			lookups[0]++;
+			Claim c = index.get(key);
+			return c != null && !c.getPermission(ClaimPermission.EXPLOSIONS, ClaimPermission.Role.NATURAL);
+		});
+		List<TestBlock> kept = new ArrayList<>(blocks);
+		kept.removeIf(block -> protectedChunks.test(block.x, block.z));
+
+		int removed = 0;
+		for (TestBlock block : blocks) {
+			boolean inProtectedClaim = block.z >= 0;
+			assertEquals(!inProtectedClaim, kept.contains(block));
+			if (inProtectedClaim) removed++;
+		}
+		assertEquals(blocks.size() - removed, kept.size());
+		assertTrue(removed > 0 && removed < blocks.size());
+		assertEquals(4, lookups[0]);
+	}
+
+}
@@ -0,0 +1,56 @@
+package fr.xyness.SCS.Types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the id allocation of the claim catalog.
+ */
+public class ClaimCatalogTest {
+
+	/**
+	 * Creates a claim without chunks.
+	 *
+	 * @param name The name of the claim
+	 * @param id The id of the claim
+	 * @return The claim
+	 */
+	private static Claim claim(String name, int id) {
+		return new Claim(UUID.randomUUID(), "world", new ChunkKeySet(), "owner", Set.of(), null, name, "", Map.of(), false, 0.0, Set.of(), id);
+	}
+
+	@Test
+	public void nextIdSkipsUsedIds() {
+		ClaimCatalog catalog = new ClaimCatalog();
+		Claim first = claim("first", 0);
+		catalog.add(first);
+		catalog.add(claim("second", 1));
+		assertEquals(2, catalog.nextId());
+		catalog.remove(first);
+		assertEquals(2, catalog.nextId());
+	}
+
+	/**
+	 * Ids loaded from the database may be shared by two claims, the id stays used
+	 * until the last of them is removed.
+	 */
+	@Test
+	public void sharedIdStaysUsed() {
+		ClaimCatalog catalog = new ClaimCatalog();
+		Claim first = claim("first", 0);
+		Claim second = claim("second", 0);
+		catalog.add(first);
+		catalog.add(second);
+		assertTrue(catalog.remove(first));
+		assertEquals(1, catalog.nextId());
+		assertTrue(catalog.remove(second));
+		assertEquals(0, catalog.nextId());
+	}
+
+}
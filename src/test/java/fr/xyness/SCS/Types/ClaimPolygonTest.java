@@ -0,0 +1,177 @@
+package fr.xyness.SCS.Types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the outlines traced from the chunks of a claim.
+ */
+public class ClaimPolygonTest {
+
+	/** Twice the area of a chunk, in square blocks */
+	private static final long CHUNK_AREA = 2 * 16 * 16;
+
+	/**
+	 * Creates a set of chunks.
+	 *
+	 * @param coordinates The X and Z chunk coordinates, in pairs
+	 * @return The packed chunk keys
+	 */
+	private static ChunkKeySet chunks(int... coordinates) {
+		ChunkKeySet set = new ChunkKeySet();
+		for (int i = 0; i < coordinates.length; i += 2) {
+			set.add(ChunkKey.of(coordinates[i], coordinates[i + 1]));
+		}
+		return set;
+	}
+
+	/**
+	 * Gets the corners of a ring as "x,z", rotated to start from the smallest corner,
+	 * so rings traced from another starting edge compare equal.
+	 *
+	 * @param ring The ring
+	 * @return The corners
+	 */
+	private static List<String> corners(ClaimPolygon.Ring ring) {
+		int start = 0;
+		for (int i = 1; i < ring.size(); i++) {
+			if (ring.getX(i) < ring.getX(start) || (ring.getX(i) == ring.getX(start) && ring.getZ(i) < ring.getZ(start))) start = i;
+		}
+		List<String> corners = new ArrayList<>();
+		for (int i = 0; i < ring.size(); i++) {
+			int j = (start + i) % ring.size();
+			corners.add(ring.getX(j) + "," + ring.getZ(j));
+		}
+		return corners;
+	}
+
+	@Test
+	public void lShapeKeepsOnlyCorners() {
+		List<ClaimPolygon> polygons = ClaimPolygon.trace(chunks(0, 0, 0, 1, 1, 1, 0, 2, 1, 2));
+		assertEquals(1, polygons.size());
+		ClaimPolygon polygon = polygons.get(0);
+		assertEquals(List.of("0,0", "16,0", "16,16", "32,16", "32,48", "0,48"), corners(polygon.getOuter()));
+		assertEquals(5 * CHUNK_AREA, polygon.getOuter().getDoubleArea());
+		assertTrue(polygon.getHoles().isEmpty());
+		assertEquals(5, polygon.getChunkCount());
+		assertSame(polygon.getOuter(), polygon.toJoinedRing());
+	}
+
+	@Test
+	public void ringHasCounterclockwiseHole() {
+		ClaimPolygon polygon = ClaimPolygon.trace(chunks(0, 0, 1, 0, 2, 0, 0, 1, 2, 1, 0, 2, 1, 2, 2, 2)).get(0);
+		assertEquals(List.of("0,0", "48,0", "48,48", "0,48"), corners(polygon.getOuter()));
+		assertEquals(1, polygon.getHoles().size());
+		ClaimPolygon.Ring hole = polygon.getHoles().get(0);
+		assertEquals(List.of("16,16", "16,32", "32,32", "32,16"), corners(hole));
+		assertEquals(-CHUNK_AREA, hole.getDoubleArea());
+	}
+
+	@Test
+	public void diagonalChunksAreSeparateGroups() {
+		List<ClaimPolygon> polygons = ClaimPolygon.trace(chunks(0, 0, 1, 1, -1, 1, 5, 5, 5, 6));
+		assertEquals(4, polygons.size());
+		assertEquals(2, polygons.get(0).getChunkCount());
+		assertEquals(List.of("80,80", "96,80", "96,112", "80,112"), corners(polygons.get(0).getOuter()));
+		List<String> squares = new ArrayList<>();
+		for (ClaimPolygon polygon : polygons.subList(1, 4)) {
+			assertEquals(1, polygon.getChunkCount());
+			assertTrue(polygon.getHoles().isEmpty());
+			squares.add(String.join(" ", corners(polygon.getOuter())));
+		}
+		Collections.sort(squares);
+		assertEquals(List.of("-16,16 0,16 0,32 -16,32", "0,0 16,0 16,16 0,16", "16,16 32,16 32,32 16,32"), squares);
+	}
+
+	/**
+	 * The chunks (1, 2) and (2, 1) of the group meet only by the corner (2, 2), where two edges start.
+	 * Turning left there closes the empty chunk (1, 1) as a hole and leaves the notch of (2, 2) in the outer ring.
+	 */
+	@Test
+	public void pinchCornerTurnsLeft() {
+		ClaimPolygon polygon = ClaimPolygon.trace(chunks(0, 0, 1, 0, 2, 0, 0, 1, 2, 1, 0, 2, 1, 2)).get(0);
+		assertEquals(List.of("0,0", "48,0", "48,32", "32,32", "32,48", "0,48"), corners(polygon.getOuter()));
+		assertEquals(8 * CHUNK_AREA, polygon.getOuter().getDoubleArea());
+		assertEquals(1, polygon.getHoles().size());
+		assertEquals(List.of("16,16", "16,32", "32,32", "32,16"), corners(polygon.getHoles().get(0)));
+	}
+
+	@Test
+	public void joinedRingBridgesEachHole() {
+		// Five chunks by three, with the chunks (1, 1) and (3, 1) left out
+		ChunkKeySet chunks = new ChunkKeySet();
+		for (int x = 0; x < 5; x++) {
+			for (int z = 0; z < 3; z++) {
+				if (z != 1 || (x != 1 && x != 3)) chunks.add(ChunkKey.of(x, z));
+			}
+		}
+		ClaimPolygon polygon = ClaimPolygon.trace(chunks).get(0);
+		assertEquals(2, polygon.getHoles().size());
+		ClaimPolygon.Ring outer = polygon.getOuter();
+		ClaimPolygon.Ring joined = polygon.toJoinedRing();
+		assertEquals(outer.size() + 2 * (4 + 2), joined.size());
+		// The bridges are walked both ways, so the area is the one of the claimed chunks
+		assertEquals(13 * CHUNK_AREA, joined.getDoubleArea());
+
+		// Each hole is spliced after a corner of the ring built so far, which may be a corner of a hole
+		// already joined: the bridge, the whole hole back to its first corner, and the bridge back.
+		// Removing the splices, the latest first, must give back the outer ring.
+		List<String> remaining = new ArrayList<>();
+		for (int i = 0; i < joined.size(); i++) {
+			remaining.add(joined.getX(i) + "," + joined.getZ(i));
+		}
+		List<ClaimPolygon.Ring> holes = new ArrayList<>(polygon.getHoles());
+		Collections.reverse(holes);
+		for (ClaimPolygon.Ring hole : holes) {
+			int m = hole.size();
+			int splice = -1;
+			for (int i = 1; i + m + 1 < remaining.size() && splice < 0; i++) {
+				if (!remaining.get(i + m + 1).equals(remaining.get(i - 1))) continue;
+				List<String> walked = remaining.subList(i, i + m);
+				if (remaining.get(i + m).equals(remaining.get(i)) && rotate(walked).equals(corners(hole))) splice = i;
+			}
+			assertTrue(splice > 0, "hole not spliced");
+			remaining.subList(splice, splice + m + 2).clear();
+		}
+		assertEquals(outer.size(), remaining.size());
+		assertEquals(corners(outer), rotate(remaining));
+	}
+
+	/**
+	 * Rotates "x,z" corners to start from the smallest corner, as {@link #corners(ClaimPolygon.Ring)} does.
+	 *
+	 * @param corners The corners
+	 * @return The rotated corners
+	 */
+	private static List<String> rotate(List<String> corners) {
+		int start = 0;
+		for (int i = 1; i < corners.size(); i++) {
+			if (compare(corners.get(i), corners.get(start)) < 0) start = i;
+		}
+		List<String> rotated = new ArrayList<>(corners.subList(start, corners.size()));
+		rotated.addAll(corners.subList(0, start));
+		return rotated;
+	}
+
+	/**
+	 * Compares two "x,z" corners by X then Z.
+	 *
+	 * @param a The first corner
+	 * @param b The second corner
+	 * @return The comparison
+	 */
+	private static int compare(String a, String b) {
+		String[] pa = a.split(",");
+		String[] pb = b.split(",");
+		int c = Integer.compare(Integer.parseInt(pa[0]), Integer.parseInt(pb[0]));
+		return c != 0 ? c : Integer.compare(Integer.parseInt(pa[1]), Integer.parseInt(pb[1]));
+	}
+
+}
@@ -0,0 +1,75 @@
+package fr.xyness.SCS.Types;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the version of the claim settings.
+ * <p>
+ * The movement listener checks the bans and the Enter permission only on claim transitions,
+ * so a player already in a claim is checked again only if these changes bump the version.
+ */
+public class ClaimVersionTest {
+
+	/** A player, not the owner */
+	private static final UUID PLAYER = UUID.randomUUID();
+
+	/**
+	 * Creates a claim without chunks.
+	 *
+	 * @return The claim
+	 */
+	private static Claim claim() {
+		return new Claim(UUID.randomUUID(), "world", new ChunkKeySet(), "owner", Set.of(), null, "claim", "", Map.of(), false, 0.0, Set.of(), 0);
+	}
+
+	/**
+	 * Asserts that a change of a claim bumps its version.
+	 *
+	 * @param name The name of the change
+	 * @param change The change
+	 */
+	private static void assertBumps(String name, Consumer<Claim> change) {
+		Claim claim = claim();
+		int version = claim.getVersion();
+		change.accept(claim);
+		assertTrue(claim.getVersion() != version, name + " does not bump the version");
+	}
+
+	@Test
+	public void banChangesBumpVersion() {
+		assertBumps("addBan", claim -> claim.addBan(PLAYER));
+		assertBumps("removeBan", claim -> claim.removeBan(PLAYER));
+		assertBumps("setBans", claim -> claim.setBans(Set.of(PLAYER)));
+	}
+
+	@Test
+	public void permissionChangesBumpVersion() {
+		assertBumps("updatePermission", claim -> claim.updatePermission(ClaimPermission.Role.VISITORS, ClaimPermission.ENTER, false));
+		assertBumps("updatePermission by name", claim -> claim.updatePermission("visitors", "Enter", false));
+		Map<String, LinkedHashMap<String, Boolean>> permissions = new HashMap<>();
+		permissions.put("visitors", new LinkedHashMap<>(Map.of("Enter", false)));
+		assertBumps("setPermissions", claim -> claim.setPermissions(permissions));
+	}
+
+	/**
+	 * The Enter permission of a player depends on being the owner or a member.
+	 */
+	@Test
+	public void roleChangesBumpVersion() {
+		assertBumps("addMember", claim -> claim.addMember(PLAYER));
+		assertBumps("removeMember", claim -> claim.removeMember(PLAYER));
+		assertBumps("setMembers", claim -> claim.setMembers(Set.of(PLAYER)));
+		assertBumps("setUUID", claim -> claim.setUUID(PLAYER));
+		assertBumps("setOwner", claim -> claim.setOwner("player"));
+	}
+
+}
@@ -0,0 +1,80 @@
+package fr.xyness.SCS.Types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the copy-on-write claim index of a world.
+ */
+public class WorldClaimIndexTest {
+
+	@Test
+	public void copiesDoNotChangePublishedIndexes() {
+		Random random = new Random(3);
+		Claim[] claims = { ChunkClaimMapTest.claim(1), ChunkClaimMapTest.claim(2) };
+		WorldClaimIndex index = new WorldClaimIndex();
+		Map<Long, Claim> expected = new HashMap<>();
+		List<WorldClaimIndex> published = new ArrayList<>();
+		List<Map<Long, Claim>> publishedExpected = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			WorldClaimIndex copy = index.copy();
+			for (int j = 0; j < 4; j++) {
+				long key = ChunkKey.of(random.nextInt(200) - 100, random.nextInt(200) - 100);
+				if (random.nextInt(3) == 0) {
+					copy.remove(key);
+					expected.remove(key);
+				} else {
+					Claim claim = claims[random.nextInt(claims.length)];
+					copy.put(key, claim);
+					expected.put(key, claim);
+				}
+			}
+			index = copy;
+			if (i % 500 == 0) {
+				published.add(index);
+				publishedExpected.add(new HashMap<>(expected));
+			}
+		}
+		published.add(index);
+		publishedExpected.add(expected);
+		for (int i = 0; i < published.size(); i++) {
+			WorldClaimIndex snapshot = published.get(i);
+			Map<Long, Claim> snapshotExpected = publishedExpected.get(i);
+			assertEquals(snapshotExpected.size(), snapshot.size());
+			for (int x = -100; x < 100; x++) {
+				for (int z = -100; z < 100; z++) {
+					long key = ChunkKey.of(x, z);
+					assertSame(snapshotExpected.get(key), snapshot.get(key));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void rangeQueriesCrossCells() {
+		Claim claim = ChunkClaimMapTest.claim(1);
+		WorldClaimIndex index = new WorldClaimIndex();
+		index.put(ChunkKey.of(-1, -1), claim);
+		index.put(ChunkKey.of(ClaimGrid.CELL_SIZE * 3, 5), claim);
+		assertTrue(index.getGrid().hasForeignClaim(-1, -1, 0, 0, null));
+		assertFalse(index.getGrid().hasForeignClaim(0, 0, ClaimGrid.CELL_SIZE * 3 - 1, 10, null));
+		assertFalse(index.getGrid().hasForeignClaim(-1, -1, 0, 0, "owner"));
+		assertEquals(1, index.getGrid().getClaimsIn(-10000, -10000, 10000, 10000).size());
+		index.remove(ChunkKey.of(-1, -1));
+		index.remove(ChunkKey.of(-1, -1));
+		assertNull(index.get(ChunkKey.of(-1, -1)));
+		assertEquals(1, index.size());
+	}
+
+}